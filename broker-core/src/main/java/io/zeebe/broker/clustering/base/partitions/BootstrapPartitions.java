@@ -25,8 +25,11 @@ import io.atomix.core.Atomix;
 import io.atomix.protocols.raft.partition.RaftPartition;
 import io.atomix.protocols.raft.partition.RaftPartitionGroup;
 import io.zeebe.broker.system.configuration.BrokerCfg;
+import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.distributedlog.StorageConfiguration;
 import io.zeebe.distributedlog.StorageConfigurationManager;
+import io.zeebe.engine.state.DefaultZeebeDbFactory;
+import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceName;
@@ -48,6 +51,7 @@ public class BootstrapPartitions implements Service<Void> {
 
   private final Injector<Atomix> atomixInjector = new Injector<>();
   private Atomix atomix;
+  private ZeebeDbFactory<ZbColumnFamilies> zeebeDbFactory;
 
   public BootstrapPartitions(final BrokerCfg brokerCfg) {
     this.brokerCfg = brokerCfg;
@@ -57,6 +61,10 @@ public class BootstrapPartitions implements Service<Void> {
   public void start(final ServiceStartContext startContext) {
     configurationManager = configurationManagerInjector.getValue();
     atomix = atomixInjector.getValue();
+    // one factory for all partitions, which share the block cache and the memtable budget
+    zeebeDbFactory =
+        DefaultZeebeDbFactory.defaultFactory(
+            brokerCfg.getData().getRocksDb().toRocksDbConfiguration());
 
     final RaftPartitionGroup partitionGroup =
         (RaftPartitionGroup) atomix.getPartitionService().getPartitionGroup(Partition.GROUP_NAME);
@@ -98,7 +106,8 @@ public class BootstrapPartitions implements Service<Void> {
             atomix.getEventService(),
             atomix.getCommunicationService(),
             configuration,
-            brokerCfg);
+            brokerCfg,
+            zeebeDbFactory);
 
     startContext.createService(partitionInstallServiceName, partitionInstallService).install();
   }
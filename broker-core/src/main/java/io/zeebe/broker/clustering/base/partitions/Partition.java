@@ -27,10 +27,12 @@ import io.zeebe.broker.logstreams.delete.LeaderLogStreamDeletionService;
 import io.zeebe.broker.logstreams.restore.BrokerRestoreServer;
 import io.zeebe.broker.logstreams.state.StatePositionSupplier;
 import io.zeebe.broker.system.configuration.BrokerCfg;
+import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.distributedlog.StorageConfiguration;
-import io.zeebe.engine.state.DefaultZeebeDbFactory;
 import io.zeebe.engine.state.StateStorageFactory;
+import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.logstreams.impl.delete.DeletionService;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.state.NoneSnapshotReplication;
@@ -41,6 +43,7 @@ import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
+import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import org.slf4j.Logger;
 
@@ -61,6 +64,7 @@ public class Partition implements Service<Partition> {
   private final int partitionId;
   private final RaftState state;
   private final StorageConfiguration configuration;
+  private final ZeebeDbFactory<ZbColumnFamilies> zeebeDbFactory;
   private final BrokerCfg brokerCfg;
   private final BrokerRestoreServer restoreServer;
 
@@ -73,12 +77,14 @@ public class Partition implements Service<Partition> {
       final StorageConfiguration configuration,
       BrokerCfg brokerCfg,
       ClusterEventService clusterEventService,
+      ZeebeDbFactory<ZbColumnFamilies> zeebeDbFactory,
       int partitionId,
       RaftState state,
       BrokerRestoreServer restoreServer) {
     this.configuration = configuration;
     this.brokerCfg = brokerCfg;
     this.clusterEventService = clusterEventService;
+    this.zeebeDbFactory = zeebeDbFactory;
     this.partitionId = partitionId;
     this.state = state;
     this.restoreServer = restoreServer;
@@ -159,11 +165,14 @@ public class Partition implements Service<Partition> {
             ? new StateReplication(clusterEventService, partitionId)
             : new NoneSnapshotReplication();
 
+    final DataCfg dataCfg = brokerCfg.getData();
     return new StateSnapshotController(
-        DefaultZeebeDbFactory.DEFAULT_DB_FACTORY,
+        zeebeDbFactory,
         stateStorage,
         stateReplication,
-        brokerCfg.getData().getMaxSnapshots());
+        dataCfg.getMaxSnapshots(),
+        dataCfg.getSnapshotReplicationMaxChunksInFlight(),
+        new ByteValue(dataCfg.getSnapshotReplicationMaxRate()).toBytes());
   }
 
   private boolean shouldReplicateSnapshots() {
@@ -172,6 +181,7 @@ public class Partition implements Service<Partition> {
 
   @Override
   public void stop(ServiceStopContext stopContext) {
+    snapshotController.stopReplication();
     stateReplication.close();
     restoreServer.close();
 
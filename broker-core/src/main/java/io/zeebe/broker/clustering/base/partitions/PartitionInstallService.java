@@ -35,8 +35,10 @@ import io.atomix.protocols.raft.partition.RaftPartition;
 import io.zeebe.broker.Loggers;
 import io.zeebe.broker.logstreams.restore.BrokerRestoreServer;
 import io.zeebe.broker.system.configuration.BrokerCfg;
+import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.distributedlog.StorageConfiguration;
 import io.zeebe.distributedlog.impl.DistributedLogstreamPartition;
+import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.logstreams.impl.service.LeaderOpenLogStreamAppenderService;
 import io.zeebe.logstreams.impl.service.LogStreamServiceNames;
 import io.zeebe.logstreams.log.LogStream;
@@ -66,6 +68,7 @@ public class PartitionInstallService extends Actor
   private final ClusterCommunicationService communicationService;
   private final BrokerCfg brokerCfg;
   private final RaftPartition partition;
+  private final ZeebeDbFactory<ZbColumnFamilies> zeebeDbFactory;
 
   private ServiceStartContext startContext;
   private ServiceName<LogStream> logStreamServiceName;
@@ -83,8 +86,10 @@ public class PartitionInstallService extends Actor
       ClusterEventService clusterEventService,
       ClusterCommunicationService communicationService,
       final StorageConfiguration configuration,
-      BrokerCfg brokerCfg) {
+      BrokerCfg brokerCfg,
+      ZeebeDbFactory<ZbColumnFamilies> zeebeDbFactory) {
     this.partition = partition;
+    this.zeebeDbFactory = zeebeDbFactory;
     this.configuration = configuration;
     this.partitionId = configuration.getPartitionId();
     this.clusterEventService = clusterEventService;
@@ -218,6 +223,7 @@ public class PartitionInstallService extends Actor
             configuration,
             brokerCfg,
             clusterEventService,
+            zeebeDbFactory,
             partitionId,
             RaftState.LEADER,
             restoreServer);
@@ -262,6 +268,7 @@ public class PartitionInstallService extends Actor
             configuration,
             brokerCfg,
             clusterEventService,
+            zeebeDbFactory,
             partitionId,
             RaftState.FOLLOWER,
             restoreServer);
@@ -41,6 +41,9 @@ public class EngineComponent implements Component {
         .dependency(
             TransportServiceNames.serverTransport(TransportServiceNames.COMMAND_API_SERVER_NAME),
             streamProcessorService.getCommandApiTransportInjector())
+        .dependency(
+            TransportServiceNames.COMMAND_API_MESSAGE_HANDLER,
+            streamProcessorService.getCommandApiMessageHandlerInjector())
         .dependency(
             ClusterBaseLayerServiceNames.TOPOLOGY_MANAGER_SERVICE,
             streamProcessorService.getTopologyManagerInjector())
@@ -22,10 +22,13 @@ import io.zeebe.broker.clustering.base.partitions.Partition;
 import io.zeebe.broker.clustering.base.topology.TopologyManager;
 import io.zeebe.broker.clustering.base.topology.TopologyPartitionListenerImpl;
 import io.zeebe.broker.engine.impl.DeploymentDistributorImpl;
+import io.zeebe.broker.engine.impl.JobsAvailableNotification;
 import io.zeebe.broker.engine.impl.PartitionCommandSenderImpl;
 import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.broker.system.configuration.ClusterCfg;
 import io.zeebe.broker.system.configuration.DataCfg;
+import io.zeebe.broker.transport.backpressure.RequestLimiter;
+import io.zeebe.broker.transport.commandapi.CommandApiMessageHandler;
 import io.zeebe.broker.transport.commandapi.CommandResponseWriterImpl;
 import io.zeebe.engine.processor.AsyncSnapshotingDirectorService;
 import io.zeebe.engine.processor.ProcessingContext;
@@ -42,6 +45,7 @@ import io.zeebe.servicecontainer.ServiceContainer;
 import io.zeebe.servicecontainer.ServiceGroupReference;
 import io.zeebe.servicecontainer.ServiceName;
 import io.zeebe.servicecontainer.ServiceStartContext;
+import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.transport.ServerTransport;
 import io.zeebe.util.DurationUtil;
 import io.zeebe.util.sched.ActorControl;
@@ -52,15 +56,19 @@ public class EngineService implements Service<EngineService> {
   public static final String PROCESSOR_NAME = "zb-stream-processor";
 
   private final Injector<ServerTransport> commandApiTransportInjector = new Injector<>();
+  private final Injector<CommandApiMessageHandler> commandApiMessageHandlerInjector =
+      new Injector<>();
   private final Injector<TopologyManager> topologyManagerInjector = new Injector<>();
   private final Injector<Atomix> atomixInjector = new Injector<>();
 
   private final ClusterCfg clusterCfg;
   private final ServiceContainer serviceContainer;
   private final Duration snapshotPeriod;
+  private final int maxBatchSize;
   private ServiceStartContext serviceContext;
 
   private ServerTransport commandApiTransport;
+  private CommandApiMessageHandler commandApiMessageHandler;
   private TopologyManager topologyManager;
   private Atomix atomix;
   private final ServiceGroupReference<Partition> partitionsGroupReference =
@@ -72,27 +80,41 @@ public class EngineService implements Service<EngineService> {
     this.serviceContainer = serviceContainer;
     final DataCfg dataCfg = brokerCfg.getData();
     this.snapshotPeriod = DurationUtil.parse(dataCfg.getSnapshotPeriod());
+    this.maxBatchSize = brokerCfg.getProcessing().getMaxBatchSize();
   }
 
   @Override
   public void start(final ServiceStartContext serviceContext) {
     this.serviceContext = serviceContext;
     this.commandApiTransport = commandApiTransportInjector.getValue();
+    this.commandApiMessageHandler = commandApiMessageHandlerInjector.getValue();
     this.topologyManager = topologyManagerInjector.getValue();
     this.atomix = atomixInjector.getValue();
+
+    commandApiTransport.registerChannelListener(commandApiMessageHandler.getRequestLimiter());
+  }
+
+  @Override
+  public void stop(final ServiceStopContext stopContext) {
+    commandApiTransport.removeChannelListener(commandApiMessageHandler.getRequestLimiter());
   }
 
   public void startEngineForPartition(
       final ServiceName<Partition> partitionServiceName, final Partition partition) {
 
     final LogStream logStream = partition.getLogStream();
+    final RequestLimiter requestLimiter =
+        commandApiMessageHandler.getRequestLimiter().getLimiter(logStream.getPartitionId());
+
     StreamProcessor.builder()
         .logStream(logStream)
         .actorScheduler(serviceContext.getScheduler())
         .additionalDependencies(partitionServiceName)
         .zeebeDb(partition.getZeebeDb())
+        .maxBatchSize(maxBatchSize)
         .serviceContainer(serviceContainer)
-        .commandResponseWriter(new CommandResponseWriterImpl(commandApiTransport.getOutput()))
+        .commandResponseWriter(
+            new CommandResponseWriterImpl(commandApiTransport.getOutput(), requestLimiter))
         .streamProcessorFactory(
             (processingContext) -> {
               final ActorControl actor = processingContext.getActor();
@@ -142,10 +164,11 @@ public class EngineService implements Service<EngineService> {
         new SubscriptionCommandSender(stream.getPartitionId(), partitionCommandSender);
 
     return EngineProcessors.createEngineProcessors(
-        processingContext,
-        clusterCfg.getPartitionsCount(),
-        subscriptionCommandSender,
-        deploymentDistributor);
+            processingContext,
+            clusterCfg.getPartitionsCount(),
+            subscriptionCommandSender,
+            deploymentDistributor)
+        .withListener(new JobsAvailableNotification(atomix, zeebeState.getJobState()));
   }
 
   @Override
@@ -157,6 +180,10 @@ public class EngineService implements Service<EngineService> {
     return commandApiTransportInjector;
   }
 
+  public Injector<CommandApiMessageHandler> getCommandApiMessageHandlerInjector() {
+    return commandApiMessageHandlerInjector;
+  }
+
   public ServiceGroupReference<Partition> getPartitionsGroupReference() {
     return partitionsGroupReference;
   }
@@ -0,0 +1,132 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.engine.impl;
+
+import io.atomix.cluster.ClusterMembershipEvent;
+import io.atomix.cluster.ClusterMembershipEventListener;
+import io.atomix.cluster.ClusterMembershipService;
+import io.atomix.core.Atomix;
+import io.zeebe.engine.processor.ReadonlyProcessingContext;
+import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
+import io.zeebe.engine.state.instance.JobState;
+import io.zeebe.gateway.impl.job.LongPollingActivateJobsHandler;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ScheduledTimer;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Notifies the gateways with long polling enabled about job types which became activatable. The
+ * notification is only installed while at least one member of the cluster announces that it
+ * listens on {@link LongPollingActivateJobsHandler#JOBS_AVAILABLE_TOPIC}.
+ *
+ * <p>A job type is sent at most once per {@link #NOTIFICATION_INTERVAL}. If jobs of the type become
+ * activatable again within the interval, the type is sent once more at the end of the interval, so
+ * that no notification is lost.
+ */
+public class JobsAvailableNotification
+    implements StreamProcessorLifecycleAware, ClusterMembershipEventListener {
+
+  private static final Duration NOTIFICATION_INTERVAL = Duration.ofMillis(100);
+
+  private final Atomix atomix;
+  private final JobState jobState;
+
+  private final Set<String> notifiedTypes = new HashSet<>();
+  private final Set<String> pendingTypes = new HashSet<>();
+
+  private ActorControl actor;
+  private ScheduledTimer intervalTimer;
+  private boolean isEnabled;
+
+  public JobsAvailableNotification(Atomix atomix, JobState jobState) {
+    this.atomix = atomix;
+    this.jobState = jobState;
+  }
+
+  @Override
+  public void onRecovered(ReadonlyProcessingContext context) {
+    actor = context.getActor();
+
+    // only notify about new jobs after reprocessing, to avoid waking up pollers for jobs which were
+    // already activatable before
+    atomix.getMembershipService().addListener(this);
+    updateNotification();
+  }
+
+  @Override
+  public void onClose() {
+    atomix.getMembershipService().removeListener(this);
+  }
+
+  @Override
+  public void event(ClusterMembershipEvent event) {
+    actor.call(this::updateNotification);
+  }
+
+  private void updateNotification() {
+    final ClusterMembershipService membershipService = atomix.getMembershipService();
+    final boolean hasListeners =
+        membershipService.getMembers().stream()
+            .anyMatch(
+                member ->
+                    member
+                        .properties()
+                        .containsKey(LongPollingActivateJobsHandler.JOBS_AVAILABLE_TOPIC));
+
+    if (hasListeners != isEnabled) {
+      isEnabled = hasListeners;
+      jobState.setJobsAvailableCallback(isEnabled ? this::onJobsAvailable : null);
+    }
+  }
+
+  private void onJobsAvailable(String type) {
+    if (notifiedTypes.add(type)) {
+      broadcast(type);
+      scheduleIntervalEnd();
+    } else {
+      pendingTypes.add(type);
+    }
+  }
+
+  private void onIntervalEnd() {
+    intervalTimer = null;
+    notifiedTypes.clear();
+
+    if (isEnabled) {
+      pendingTypes.forEach(this::broadcast);
+      notifiedTypes.addAll(pendingTypes);
+    }
+    pendingTypes.clear();
+
+    if (!notifiedTypes.isEmpty()) {
+      scheduleIntervalEnd();
+    }
+  }
+
+  private void scheduleIntervalEnd() {
+    if (intervalTimer == null) {
+      intervalTimer = actor.runDelayed(NOTIFICATION_INTERVAL, this::onIntervalEnd);
+    }
+  }
+
+  private void broadcast(String type) {
+    atomix.getEventService().broadcast(LongPollingActivateJobsHandler.JOBS_AVAILABLE_TOPIC, type);
+  }
+}
@@ -23,41 +23,98 @@ import io.zeebe.broker.clustering.base.topology.NodeInfo;
 import io.zeebe.broker.clustering.base.topology.TopologyManager;
 import io.zeebe.broker.clustering.base.topology.TopologyPartitionListenerImpl;
 import io.zeebe.engine.processor.workflow.message.command.PartitionCommandSender;
+import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandBatch;
 import io.zeebe.util.buffer.BufferWriter;
 import io.zeebe.util.sched.ActorControl;
-import org.agrona.MutableDirectBuffer;
+import io.zeebe.util.sched.ScheduledTimer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.agrona.collections.Int2ObjectHashMap;
-import org.agrona.concurrent.UnsafeBuffer;
 
+/**
+ * Collects the commands per receiver partition and sends them as one batch, when the batch is full
+ * or after a short linger time. The commands are not acknowledged, lost commands are sent again by
+ * the pending subscription checkers.
+ */
 public class PartitionCommandSenderImpl implements PartitionCommandSender {
 
+  static final int MAX_BATCH_LENGTH = 32 * 1024;
+  static final int MAX_BATCH_COMMAND_COUNT = 1024;
+  static final Duration BATCH_LINGER_TIME = Duration.ofMillis(1);
+
   private final Atomix atomix;
+  private final ActorControl actor;
 
   private final TopologyPartitionListenerImpl partitionListener;
 
+  private final Int2ObjectHashMap<PendingBatch> pendingBatchesByPartition =
+      new Int2ObjectHashMap<>();
+  private final List<PendingBatch> pendingBatches = new ArrayList<>();
+  private ScheduledTimer flushTimer;
+
   public PartitionCommandSenderImpl(
       Atomix atomix, final TopologyManager topologyManager, final ActorControl actor) {
     this.atomix = atomix;
+    this.actor = actor;
     this.partitionListener = new TopologyPartitionListenerImpl(actor);
     topologyManager.addTopologyPartitionListener(partitionListener);
   }
 
   public boolean sendCommand(final int receiverPartitionId, final BufferWriter command) {
+    PendingBatch pendingBatch = pendingBatchesByPartition.get(receiverPartitionId);
+    if (pendingBatch == null) {
+      pendingBatch = new PendingBatch(receiverPartitionId);
+      pendingBatchesByPartition.put(receiverPartitionId, pendingBatch);
+      pendingBatches.add(pendingBatch);
+    }
+
+    final SubscriptionCommandBatch batch = pendingBatch.batch;
+    if (!batch.isEmpty()
+        && (batch.getLengthWith(command) > MAX_BATCH_LENGTH
+            || batch.getCommandCount() >= MAX_BATCH_COMMAND_COUNT)) {
+      send(pendingBatch);
+    }
+    batch.addCommand(command);
+
+    if (flushTimer == null) {
+      flushTimer = actor.runDelayed(BATCH_LINGER_TIME, this::flush);
+    }
+    return true;
+  }
 
+  private void flush() {
+    flushTimer = null;
+
+    for (int i = 0; i < pendingBatches.size(); i++) {
+      final PendingBatch pendingBatch = pendingBatches.get(i);
+      if (!pendingBatch.batch.isEmpty()) {
+        send(pendingBatch);
+      }
+    }
+  }
+
+  private void send(final PendingBatch pendingBatch) {
     final Int2ObjectHashMap<NodeInfo> partitionLeaders = partitionListener.getPartitionLeaders();
-    final NodeInfo partitionLeader = partitionLeaders.get(receiverPartitionId);
-    if (partitionLeader == null) {
-      // retry when no leader is known
-      return true;
+    final NodeInfo partitionLeader = partitionLeaders.get(pendingBatch.receiverPartitionId);
+
+    // retry when no leader is known
+    if (partitionLeader != null) {
+      final byte[] bytes = pendingBatch.batch.toBytes();
+      atomix
+          .getCommunicationService()
+          .send("subscription", bytes, MemberId.from("" + partitionLeader.getNodeId()));
     }
 
-    final byte bytes[] = new byte[command.getLength()];
-    final MutableDirectBuffer buffer = new UnsafeBuffer(bytes);
-    command.write(buffer, 0);
+    pendingBatch.batch.reset();
+  }
 
-    atomix
-        .getCommunicationService()
-        .send("subscription", bytes, MemberId.from("" + partitionLeader.getNodeId()));
-    return true;
+  private static final class PendingBatch {
+    private final int receiverPartitionId;
+    private final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+
+    private PendingBatch(int receiverPartitionId) {
+      this.receiverPartitionId = receiverPartitionId;
+    }
   }
 }
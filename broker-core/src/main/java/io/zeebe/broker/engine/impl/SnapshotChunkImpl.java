@@ -17,6 +17,7 @@
  */
 package io.zeebe.broker.engine.impl;
 
+import io.zeebe.clustering.management.BooleanType;
 import io.zeebe.clustering.management.SnapshotChunkDecoder;
 import io.zeebe.clustering.management.SnapshotChunkEncoder;
 import io.zeebe.engine.util.SbeBufferWriterReader;
@@ -37,6 +38,7 @@ public class SnapshotChunkImpl
   private int totalCount;
   private String chunkName;
   private long checksum;
+  private boolean contentOmitted;
 
   private final DirectBuffer content = new UnsafeBuffer(0, 0);
 
@@ -47,6 +49,7 @@ public class SnapshotChunkImpl
     totalCount = chunk.getTotalCount();
     chunkName = chunk.getChunkName();
     checksum = chunk.getChecksum();
+    contentOmitted = chunk.isContentOmitted();
     content.wrap(chunk.getContent());
   }
 
@@ -78,6 +81,7 @@ public class SnapshotChunkImpl
         .totalCount(totalCount)
         .chunkName(chunkName)
         .checksum(checksum)
+        .contentOmitted(contentOmitted ? BooleanType.TRUE : BooleanType.FALSE)
         .putContent(content, 0, content.capacity());
   }
 
@@ -89,6 +93,7 @@ public class SnapshotChunkImpl
     totalCount = decoder.totalCount();
     chunkName = decoder.chunkName();
     checksum = decoder.checksum();
+    contentOmitted = decoder.contentOmitted() == BooleanType.TRUE;
     decoder.wrapContent(content);
   }
 
@@ -99,6 +104,7 @@ public class SnapshotChunkImpl
     snapshotPosition = SnapshotChunkDecoder.snapshotPositionNullValue();
     totalCount = SnapshotChunkDecoder.totalCountNullValue();
     checksum = SnapshotChunkDecoder.checksumNullValue();
+    contentOmitted = false;
 
     chunkName = "";
     content.wrap(0, 0);
@@ -129,6 +135,11 @@ public class SnapshotChunkImpl
     return BufferUtil.bufferAsArray(content);
   }
 
+  @Override
+  public boolean isContentOmitted() {
+    return contentOmitted;
+  }
+
   @Override
   public String toString() {
     return "SnapshotChunkImpl{"
@@ -141,6 +152,8 @@ public class SnapshotChunkImpl
         + '\''
         + ", checksum="
         + checksum
+        + ", contentOmitted="
+        + contentOmitted
         + "} "
         + super.toString();
   }
@@ -25,6 +25,7 @@ import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.engine.processor.CopiedRecords;
 import io.zeebe.engine.processor.EventFilter;
+import io.zeebe.exporter.api.BatchExporter;
 import io.zeebe.exporter.api.Exporter;
 import io.zeebe.exporter.api.context.Context;
 import io.zeebe.exporter.api.context.Controller;
@@ -40,7 +41,6 @@ import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.util.LangUtil;
 import io.zeebe.util.retry.AbortableRetryStrategy;
-import io.zeebe.util.retry.EndlessRetryStrategy;
 import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
@@ -48,6 +48,7 @@ import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.SchedulingHints;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -65,6 +66,10 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
 
   private static final Logger LOG = Loggers.EXPORTER_LOGGER;
 
+  // bounds of the batch of records which is read and exported at once
+  private static final int MAX_BATCH_SIZE = 100;
+  private static final int MAX_BATCH_BYTES = 1024 * 1024;
+
   private ActorScheduler actorScheduler;
   private final AtomicBoolean isOpened = new AtomicBoolean(false);
 
@@ -81,7 +86,6 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
 
   private final String name;
   private final RetryStrategy exportingRetryStrategy;
-  private final RetryStrategy recordWrapStrategy;
   private EventFilter eventFilter;
   private ExportersState state;
 
@@ -98,7 +102,6 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
     this.recordExporter = new RecordExporter(containers, partitionId);
     this.logStreamReader = context.getLogStreamReader();
     this.exportingRetryStrategy = new AbortableRetryStrategy(actor);
-    this.recordWrapStrategy = new EndlessRetryStrategy(actor);
 
     this.zeebeDb = context.getZeebeDb();
 
@@ -220,52 +223,56 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
     actor.submit(this::readNextEvent);
   }
 
-  private void skipRecord() {
-    metrics.eventSkipped();
-    actor.submit(this::readNextEvent);
-  }
-
   private void readNextEvent() {
     if (isOpened.get() && logStreamReader.hasNext() && !inExportingPhase) {
-      final LoggedEvent currentEvent = logStreamReader.next();
-      if (eventFilter == null || eventFilter.applies(currentEvent)) {
+      recordExporter.reset();
+      readBatch();
+
+      if (recordExporter.isEmpty()) {
+        actor.submit(this::readNextEvent);
+      } else {
         inExportingPhase = true;
-        exportEvent(currentEvent);
+        exportBatch();
+      }
+    }
+  }
+
+  private void readBatch() {
+    while (logStreamReader.hasNext() && !recordExporter.isFull()) {
+      final LoggedEvent event = logStreamReader.next();
+
+      if (eventFilter == null || eventFilter.applies(event)) {
+        try {
+          recordExporter.add(event);
+        } catch (final Exception e) {
+          // retry to read the event with the next batch
+          logStreamReader.seek(event.getPosition());
+          return;
+        }
       } else {
-        skipRecord();
+        recordExporter.skip(event);
+        metrics.eventSkipped();
       }
     }
   }
 
-  private void exportEvent(final LoggedEvent event) {
-    final ActorFuture<Boolean> wrapRetryFuture =
-        recordWrapStrategy.runWithRetry(
-            () -> {
-              recordExporter.wrap(event);
-              return true;
-            },
-            this::isClosed);
+  private void exportBatch() {
+    final ActorFuture<Boolean> retryFuture =
+        exportingRetryStrategy.runWithRetry(recordExporter::export, this::isClosed);
 
     actor.runOnCompletion(
-        wrapRetryFuture,
-        (b, t) -> {
-          assert t == null : "Throwable must be null";
-
-          final ActorFuture<Boolean> retryFuture =
-              exportingRetryStrategy.runWithRetry(recordExporter::export, this::isClosed);
-
-          actor.runOnCompletion(
-              retryFuture,
-              (bool, throwable) -> {
-                if (throwable != null) {
-                  LOG.error(ERROR_MESSAGE_EXPORTING_ABORTED, event, throwable);
-                  onFailure();
-                } else {
-                  metrics.eventExported();
-                  inExportingPhase = false;
-                  actor.submit(this::readNextEvent);
-                }
-              });
+        retryFuture,
+        (bool, throwable) -> {
+          if (throwable != null) {
+            LOG.error(ERROR_MESSAGE_EXPORTING_ABORTED, recordExporter.getFirstRecord(), throwable);
+            onFailure();
+          } else {
+            for (int i = 0; i < recordExporter.getRecordCount(); i++) {
+              metrics.eventExported();
+            }
+            inExportingPhase = false;
+            actor.submit(this::readNextEvent);
+          }
         });
   }
 
@@ -348,10 +355,11 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
       return context.getConfiguration().getId();
     }
 
-    private boolean acceptRecord(RecordMetadata metadata) {
+    private boolean acceptRecord(Record record) {
       final Context.RecordFilter filter = context.getFilter();
-      return filter.acceptType(metadata.getRecordType())
-          && filter.acceptValue(metadata.getValueType());
+      return position < record.getPosition()
+          && filter.acceptType(record.getRecordType())
+          && filter.acceptValue(record.getValueType());
     }
   }
 
@@ -361,51 +369,114 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
     private final List<ExporterContainer> containers;
     private final int partitionId;
 
-    private Record record;
-    private boolean shouldExport;
+    private final List<Record> records = new ArrayList<>();
+    private final List<Record> acceptedRecords = new ArrayList<>();
+    private long lastPosition;
+    private int batchBytes;
+    private boolean isFull;
+
+    // to continue with the failed exporter and record on retry
     private int exporterIndex;
+    private int recordIndex;
 
     RecordExporter(List<ExporterContainer> containers, int partitionId) {
       this.containers = containers;
       this.partitionId = partitionId;
     }
 
-    void wrap(LoggedEvent rawEvent) {
+    void reset() {
+      records.clear();
+      batchBytes = 0;
+      isFull = false;
+      exporterIndex = 0;
+      recordIndex = 0;
+    }
+
+    void add(LoggedEvent rawEvent) {
       rawEvent.readMetadata(rawMetadata);
 
-      shouldExport = EVENT_REGISTRY.containsKey(rawMetadata.getValueType());
-      if (shouldExport) {
-        record = CopiedRecords.createCopiedRecord(partitionId, rawEvent);
-        exporterIndex = 0;
+      if (EVENT_REGISTRY.containsKey(rawMetadata.getValueType())) {
+        records.add(CopiedRecords.createCopiedRecord(partitionId, rawEvent));
+
+        batchBytes += rawEvent.getMetadataLength() + rawEvent.getValueLength();
+        isFull = records.size() >= MAX_BATCH_SIZE || batchBytes >= MAX_BATCH_BYTES;
       }
+
+      lastPosition = rawEvent.getPosition();
     }
 
-    public boolean export() {
-      if (!shouldExport) {
-        return true;
-      }
+    void skip(LoggedEvent rawEvent) {
+      lastPosition = rawEvent.getPosition();
+    }
+
+    boolean isEmpty() {
+      return records.isEmpty();
+    }
+
+    boolean isFull() {
+      return isFull;
+    }
 
+    int getRecordCount() {
+      return records.size();
+    }
+
+    Record getFirstRecord() {
+      return records.isEmpty() ? null : records.get(0);
+    }
+
+    public boolean export() {
       final int exportersCount = containers.size();
 
-      // current error handling strategy is simply to repeat forever until the record can be
+      // current error handling strategy is simply to repeat forever until the records can be
       // successfully exported.
       while (exporterIndex < exportersCount) {
         final ExporterContainer container = containers.get(exporterIndex);
 
         try {
-          if (container.position < record.getPosition() && container.acceptRecord(rawMetadata)) {
-            container.exporter.export(record);
+          if (container.exporter instanceof BatchExporter) {
+            exportBatch(container, (BatchExporter) container.exporter);
+          } else {
+            exportRecords(container);
           }
 
           exporterIndex++;
+          recordIndex = 0;
         } catch (final Exception ex) {
-          container.context.getLogger().error("Error exporting record {}", record, ex);
+          container
+              .context
+              .getLogger()
+              .error("Error exporting record {}", records.get(recordIndex), ex);
           return false;
         }
       }
 
       return true;
     }
+
+    private void exportBatch(ExporterContainer container, BatchExporter exporter) {
+      acceptedRecords.clear();
+      for (int i = 0; i < records.size(); i++) {
+        final Record record = records.get(i);
+        if (container.acceptRecord(record)) {
+          acceptedRecords.add(record);
+        }
+      }
+
+      if (!acceptedRecords.isEmpty()) {
+        exporter.exportBatch(acceptedRecords, lastPosition);
+      }
+    }
+
+    private void exportRecords(ExporterContainer container) {
+      while (recordIndex < records.size()) {
+        final Record record = records.get(recordIndex);
+        if (container.acceptRecord(record)) {
+          container.exporter.export(record);
+        }
+        recordIndex++;
+      }
+    }
   }
 
   private static class ExporterEventFilter implements EventFilter {
@@ -135,14 +135,19 @@ public class SystemContext implements AutoCloseable {
 
     final int cpuThreads = cfg.getCpuThreadCount();
     final int ioThreads = cfg.getIoThreadCount();
+    final int pinnedThreads = cfg.getPinnedThreadCount();
 
     Loggers.SYSTEM_LOGGER.info(
-        "Scheduler configuration: Threads{cpu-bound: {}, io-bound: {}}.", cpuThreads, ioThreads);
+        "Scheduler configuration: Threads{cpu-bound: {}, io-bound: {}, pinned: {}}.",
+        cpuThreads,
+        ioThreads,
+        pinnedThreads);
 
     return ActorScheduler.newActorScheduler()
         .setActorClock(clock)
         .setCpuBoundActorThreadCount(cpuThreads)
         .setIoBoundActorThreadCount(ioThreads)
+        .setPinnedActorThreadCount(pinnedThreads)
         .setSchedulerName(brokerId)
         .build();
   }
@@ -0,0 +1,116 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.configuration;
+
+import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_BACKPRESSURE_ENABLED;
+
+import io.zeebe.util.Environment;
+
+public class BackpressureCfg implements ConfigurationEntry {
+
+  private boolean enabled = true;
+  private int initialLimit = 100;
+  private int minLimit = 1;
+  private int maxLimit = 1000;
+  private double backoffRatio = 0.9;
+  private String expectedLatency = "200ms";
+  private String requestTimeout = "30s";
+
+  @Override
+  public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
+    environment.getBool(ENV_BACKPRESSURE_ENABLED).ifPresent(v -> enabled = v);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getInitialLimit() {
+    return initialLimit;
+  }
+
+  public void setInitialLimit(int initialLimit) {
+    this.initialLimit = initialLimit;
+  }
+
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  public void setMinLimit(int minLimit) {
+    this.minLimit = minLimit;
+  }
+
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  public void setMaxLimit(int maxLimit) {
+    this.maxLimit = maxLimit;
+  }
+
+  public double getBackoffRatio() {
+    return backoffRatio;
+  }
+
+  public void setBackoffRatio(double backoffRatio) {
+    this.backoffRatio = backoffRatio;
+  }
+
+  public String getExpectedLatency() {
+    return expectedLatency;
+  }
+
+  public void setExpectedLatency(String expectedLatency) {
+    this.expectedLatency = expectedLatency;
+  }
+
+  public String getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  public void setRequestTimeout(String requestTimeout) {
+    this.requestTimeout = requestTimeout;
+  }
+
+  @Override
+  public String toString() {
+    return "BackpressureCfg{"
+        + "enabled="
+        + enabled
+        + ", initialLimit="
+        + initialLimit
+        + ", minLimit="
+        + minLimit
+        + ", maxLimit="
+        + maxLimit
+        + ", backoffRatio="
+        + backoffRatio
+        + ", expectedLatency='"
+        + expectedLatency
+        + '\''
+        + ", requestTimeout='"
+        + requestTimeout
+        + '\''
+        + '}';
+  }
+}
@@ -29,6 +29,8 @@ public class BrokerCfg {
   private ClusterCfg cluster = new ClusterCfg();
   private ThreadsCfg threads = new ThreadsCfg();
   private DataCfg data = new DataCfg();
+  private BackpressureCfg backpressure = new BackpressureCfg();
+  private ProcessingCfg processing = new ProcessingCfg();
   private List<ExporterCfg> exporters = new ArrayList<>();
   private EmbeddedGatewayCfg gateway = new EmbeddedGatewayCfg();
 
@@ -42,6 +44,8 @@ public class BrokerCfg {
     cluster.init(this, brokerBase, environment);
     threads.init(this, brokerBase, environment);
     data.init(this, brokerBase, environment);
+    backpressure.init(this, brokerBase, environment);
+    processing.init(this, brokerBase, environment);
     exporters.forEach(e -> e.init(this, brokerBase, environment));
     gateway.init(this, brokerBase, environment);
   }
@@ -86,6 +90,22 @@ public class BrokerCfg {
     this.data = logs;
   }
 
+  public BackpressureCfg getBackpressure() {
+    return backpressure;
+  }
+
+  public void setBackpressure(final BackpressureCfg backpressure) {
+    this.backpressure = backpressure;
+  }
+
+  public ProcessingCfg getProcessing() {
+    return processing;
+  }
+
+  public void setProcessing(final ProcessingCfg processing) {
+    this.processing = processing;
+  }
+
   public List<ExporterCfg> getExporters() {
     return exporters;
   }
@@ -114,6 +134,10 @@ public class BrokerCfg {
         + threads
         + ", data="
         + data
+        + ", backpressure="
+        + backpressure
+        + ", processing="
+        + processing
         + ", exporters="
         + exporters
         + ", gateway="
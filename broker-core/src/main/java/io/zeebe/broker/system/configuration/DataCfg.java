@@ -33,13 +33,20 @@ public class DataCfg implements ConfigurationEntry {
 
   private String snapshotReplicationPeriod = "5m";
 
+  private int snapshotReplicationMaxChunksInFlight = 2;
+
+  private String snapshotReplicationMaxRate = "0";
+
   private String raftSegmentSize;
 
   private int maxSnapshots = 3;
 
+  private RocksDbCfg rocksDb = new RocksDbCfg();
+
   @Override
   public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
     applyEnvironment(environment);
+    rocksDb.init(globalConfig, brokerBase, environment);
     directories.replaceAll(d -> ConfigurationUtil.toAbsolutePath(d, brokerBase));
   }
 
@@ -79,6 +86,22 @@ public class DataCfg implements ConfigurationEntry {
     this.snapshotReplicationPeriod = snapshotReplicationPeriod;
   }
 
+  public int getSnapshotReplicationMaxChunksInFlight() {
+    return snapshotReplicationMaxChunksInFlight;
+  }
+
+  public void setSnapshotReplicationMaxChunksInFlight(int snapshotReplicationMaxChunksInFlight) {
+    this.snapshotReplicationMaxChunksInFlight = snapshotReplicationMaxChunksInFlight;
+  }
+
+  public String getSnapshotReplicationMaxRate() {
+    return snapshotReplicationMaxRate;
+  }
+
+  public void setSnapshotReplicationMaxRate(String snapshotReplicationMaxRate) {
+    this.snapshotReplicationMaxRate = snapshotReplicationMaxRate;
+  }
+
   public void setMaxSnapshots(final int maxSnapshots) {
     this.maxSnapshots = maxSnapshots;
   }
@@ -95,6 +118,14 @@ public class DataCfg implements ConfigurationEntry {
     this.raftSegmentSize = raftSegmentSize;
   }
 
+  public RocksDbCfg getRocksDb() {
+    return rocksDb;
+  }
+
+  public void setRocksDb(RocksDbCfg rocksDb) {
+    this.rocksDb = rocksDb;
+  }
+
   @Override
   public String toString() {
     return "DataCfg{"
@@ -109,9 +140,16 @@ public class DataCfg implements ConfigurationEntry {
         + ", snapshotReplicationPeriod='"
         + snapshotReplicationPeriod
         + '\''
+        + ", snapshotReplicationMaxChunksInFlight="
+        + snapshotReplicationMaxChunksInFlight
+        + ", snapshotReplicationMaxRate='"
+        + snapshotReplicationMaxRate
+        + '\''
         + ", maxSnapshots='"
         + maxSnapshots
         + '\''
+        + ", rocksDb="
+        + rocksDb
         + '}';
   }
 }
@@ -30,4 +30,7 @@ public class EnvironmentConstants {
   public static final String ENV_CLUSTER_NAME = "ZEEBE_CLUSTER_NAME";
   public static final String ENV_EMBED_GATEWAY = "ZEEBE_EMBED_GATEWAY";
   public static final String ENV_DEBUG_EXPORTER = "ZEEBE_DEBUG";
+  public static final String ENV_BACKPRESSURE_ENABLED = "ZEEBE_BACKPRESSURE_ENABLED";
+  public static final String ENV_PROCESSING_MAX_BATCH_SIZE = "ZEEBE_PROCESSING_MAX_BATCH_SIZE";
+  public static final String ENV_ROCKSDB_BLOCK_CACHE_SIZE = "ZEEBE_ROCKSDB_BLOCK_CACHE_SIZE";
 }
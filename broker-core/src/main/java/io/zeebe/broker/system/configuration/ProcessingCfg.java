@@ -0,0 +1,45 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.configuration;
+
+import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_PROCESSING_MAX_BATCH_SIZE;
+
+import io.zeebe.util.Environment;
+
+public class ProcessingCfg implements ConfigurationEntry {
+
+  private int maxBatchSize = 1;
+
+  @Override
+  public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
+    environment.getInt(ENV_PROCESSING_MAX_BATCH_SIZE).ifPresent(v -> maxBatchSize = v);
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public void setMaxBatchSize(int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  @Override
+  public String toString() {
+    return "ProcessingCfg{" + "maxBatchSize=" + maxBatchSize + '}';
+  }
+}
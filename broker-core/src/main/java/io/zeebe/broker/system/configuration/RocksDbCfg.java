@@ -0,0 +1,97 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.configuration;
+
+import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_ROCKSDB_BLOCK_CACHE_SIZE;
+
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.util.ByteValue;
+import io.zeebe.util.Environment;
+
+public class RocksDbCfg implements ConfigurationEntry {
+
+  private String blockCacheSize = "64M";
+
+  private int bloomFilterBitsPerKey = 10;
+
+  private String writeBufferSize = "8M";
+
+  private String writeBufferManagerSize = "32M";
+
+  @Override
+  public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
+    environment.get(ENV_ROCKSDB_BLOCK_CACHE_SIZE).ifPresent(v -> blockCacheSize = v);
+  }
+
+  public RocksDbConfiguration toRocksDbConfiguration() {
+    return new RocksDbConfiguration()
+        .setBlockCacheSize(new ByteValue(blockCacheSize).toBytes())
+        .setBloomFilterBitsPerKey(bloomFilterBitsPerKey)
+        .setWriteBufferSize(new ByteValue(writeBufferSize).toBytes())
+        .setWriteBufferManagerSize(new ByteValue(writeBufferManagerSize).toBytes());
+  }
+
+  public String getBlockCacheSize() {
+    return blockCacheSize;
+  }
+
+  public void setBlockCacheSize(String blockCacheSize) {
+    this.blockCacheSize = blockCacheSize;
+  }
+
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public void setBloomFilterBitsPerKey(int bloomFilterBitsPerKey) {
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+  }
+
+  public String getWriteBufferSize() {
+    return writeBufferSize;
+  }
+
+  public void setWriteBufferSize(String writeBufferSize) {
+    this.writeBufferSize = writeBufferSize;
+  }
+
+  public String getWriteBufferManagerSize() {
+    return writeBufferManagerSize;
+  }
+
+  public void setWriteBufferManagerSize(String writeBufferManagerSize) {
+    this.writeBufferManagerSize = writeBufferManagerSize;
+  }
+
+  @Override
+  public String toString() {
+    return "RocksDbCfg{"
+        + "blockCacheSize='"
+        + blockCacheSize
+        + '\''
+        + ", bloomFilterBitsPerKey="
+        + bloomFilterBitsPerKey
+        + ", writeBufferSize='"
+        + writeBufferSize
+        + '\''
+        + ", writeBufferManagerSize='"
+        + writeBufferManagerSize
+        + '\''
+        + '}';
+  }
+}
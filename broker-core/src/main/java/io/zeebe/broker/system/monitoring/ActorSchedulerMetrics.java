@@ -0,0 +1,116 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.monitoring;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.ActorTask;
+import io.zeebe.util.sched.ActorTaskStatistics;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports the scheduling statistics of the actors of all registered schedulers, aggregated by actor
+ * name. The statistics are read when the metrics are scraped, so the actor threads only maintain
+ * plain counters.
+ */
+public class ActorSchedulerMetrics extends Collector {
+
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+  private static final List<String> LABEL_NAMES = Collections.singletonList("actor");
+
+  private static final ActorSchedulerMetrics INSTANCE = new ActorSchedulerMetrics().register();
+
+  private final Set<ActorScheduler> schedulers = ConcurrentHashMap.newKeySet();
+
+  public static void addScheduler(ActorScheduler scheduler) {
+    INSTANCE.schedulers.add(scheduler);
+  }
+
+  public static void removeScheduler(ActorScheduler scheduler) {
+    INSTANCE.schedulers.remove(scheduler);
+  }
+
+  @Override
+  public List<MetricFamilySamples> collect() {
+    final Map<String, long[]> statisticsByActor = new HashMap<>();
+
+    for (ActorScheduler scheduler : schedulers) {
+      for (ActorTask task : scheduler.getScheduledTasks()) {
+        final ActorTaskStatistics statistics = task.getStatistics();
+        final long[] values = statisticsByActor.computeIfAbsent(task.getName(), n -> new long[5]);
+
+        values[0] += statistics.getExecutionTimeNanos();
+        values[1] += statistics.getExecutionCount();
+        values[2] += statistics.getJobCount();
+        values[3] += statistics.getQueueWaitTimeNanos();
+        values[4] += statistics.getStealCount();
+      }
+    }
+
+    final CounterMetricFamily executionTime =
+        new CounterMetricFamily(
+            "zeebe_actor_execution_time_seconds_total",
+            "Time the actor was executed by an actor thread",
+            LABEL_NAMES);
+    final CounterMetricFamily executions =
+        new CounterMetricFamily(
+            "zeebe_actor_executions_total",
+            "Number of times the actor was picked up by an actor thread",
+            LABEL_NAMES);
+    final CounterMetricFamily jobs =
+        new CounterMetricFamily(
+            "zeebe_actor_jobs_total", "Number of jobs executed by the actor", LABEL_NAMES);
+    final CounterMetricFamily queueWaitTime =
+        new CounterMetricFamily(
+            "zeebe_actor_queue_wait_time_seconds_total",
+            "Time the actor was waiting in a task queue before it was executed",
+            LABEL_NAMES);
+    final CounterMetricFamily steals =
+        new CounterMetricFamily(
+            "zeebe_actor_steals_total",
+            "Number of times the actor was stolen from the queue of another actor thread",
+            LABEL_NAMES);
+
+    statisticsByActor.forEach(
+        (name, values) -> {
+          final List<String> labelValues = Collections.singletonList(name);
+
+          executionTime.addMetric(labelValues, values[0] / NANOS_PER_SECOND);
+          executions.addMetric(labelValues, values[1]);
+          jobs.addMetric(labelValues, values[2]);
+          queueWaitTime.addMetric(labelValues, values[3] / NANOS_PER_SECOND);
+          steals.addMetric(labelValues, values[4]);
+        });
+
+    final List<MetricFamilySamples> samples = new ArrayList<>();
+    samples.add(executionTime);
+    samples.add(executions);
+    samples.add(jobs);
+    samples.add(queueWaitTime);
+    samples.add(steals);
+    return samples;
+  }
+}
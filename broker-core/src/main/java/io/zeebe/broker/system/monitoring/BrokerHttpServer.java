@@ -22,6 +22,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.prometheus.client.CollectorRegistry;
+import io.zeebe.util.sched.ActorScheduler;
 
 public class BrokerHttpServer implements AutoCloseable {
 
@@ -33,7 +34,8 @@ public class BrokerHttpServer implements AutoCloseable {
       String host,
       int port,
       CollectorRegistry metricsRegistry,
-      BrokerHealthCheckService brokerHealthCheckService) {
+      BrokerHealthCheckService brokerHealthCheckService,
+      ActorScheduler actorScheduler) {
     bossGroup = new NioEventLoopGroup(1);
     workerGroup = new NioEventLoopGroup();
 
@@ -42,7 +44,8 @@ public class BrokerHttpServer implements AutoCloseable {
             .group(bossGroup, workerGroup)
             .channel(NioServerSocketChannel.class)
             .childHandler(
-                new BrokerHttpServerInitializer(metricsRegistry, brokerHealthCheckService))
+                new BrokerHttpServerInitializer(
+                    metricsRegistry, brokerHealthCheckService, actorScheduler))
             .bind(host, port)
             .syncUninterruptibly()
             .channel();
@@ -17,6 +17,9 @@
  */
 package io.zeebe.broker.system.monitoring;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
@@ -25,6 +28,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
@@ -33,9 +37,15 @@ import io.netty.handler.codec.http.QueryStringDecoder;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.common.TextFormat;
 import io.zeebe.broker.Loggers;
+import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.ActorTask;
+import io.zeebe.util.sched.ActorTaskStatistics;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -44,14 +54,21 @@ public class BrokerHttpServerHandler extends ChannelInboundHandlerAdapter {
 
   private static final String BROKER_READY_STATUS_URI = "/ready";
   private static final String METRICS_URI = "/metrics";
+  private static final String ACTORS_URI = "/actors";
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
   private final CollectorRegistry metricsRegistry;
   private BrokerHealthCheckService brokerHealthCheckService;
+  private final ActorScheduler actorScheduler;
 
   public BrokerHttpServerHandler(
-      CollectorRegistry metricsRegistry, BrokerHealthCheckService brokerHealthCheckService) {
+      CollectorRegistry metricsRegistry,
+      BrokerHealthCheckService brokerHealthCheckService,
+      ActorScheduler actorScheduler) {
     this.metricsRegistry = metricsRegistry;
     this.brokerHealthCheckService = brokerHealthCheckService;
+    this.actorScheduler = actorScheduler;
   }
 
   @Override
@@ -82,6 +99,8 @@ public class BrokerHttpServerHandler extends ChannelInboundHandlerAdapter {
       response = getReadyStatus();
     } else if (METRICS_URI.equals(queryStringDecoder.path())) {
       response = getMetrics(queryStringDecoder);
+    } else if (ACTORS_URI.equals(queryStringDecoder.path())) {
+      response = getActorStatistics();
     } else {
       response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_FOUND);
     }
@@ -120,6 +139,43 @@ public class BrokerHttpServerHandler extends ChannelInboundHandlerAdapter {
     return response;
   }
 
+  private DefaultFullHttpResponse getActorStatistics() {
+    final List<ActorTask> tasks = new ArrayList<>(actorScheduler.getScheduledTasks());
+    tasks.sort(
+        Comparator.comparingLong((ActorTask t) -> t.getStatistics().getExecutionTimeNanos())
+            .reversed());
+
+    final ArrayNode actors = OBJECT_MAPPER.createArrayNode();
+    for (ActorTask task : tasks) {
+      final ActorTaskStatistics statistics = task.getStatistics();
+      final ObjectNode actor = actors.addObject();
+
+      actor.put("name", task.getName());
+      actor.put("threadGroup", task.getActorThreadGroup().getGroupName());
+      actor.put("lifecyclePhase", String.valueOf(task.getLifecyclePhase()));
+      actor.put("executionTimeNanos", statistics.getExecutionTimeNanos());
+      actor.put("executionCount", statistics.getExecutionCount());
+      actor.put("jobCount", statistics.getJobCount());
+      actor.put("queueWaitTimeNanos", statistics.getQueueWaitTimeNanos());
+      actor.put("stealCount", statistics.getStealCount());
+    }
+
+    final ByteBuf buf = Unpooled.buffer();
+    try (ByteBufOutputStream os = new ByteBufOutputStream(buf)) {
+      OBJECT_MAPPER.writeValue((OutputStream) os, actors);
+    } catch (IOException e) {
+      Loggers.SYSTEM_LOGGER.warn("Failed to respond to actors request", e);
+      return new DefaultFullHttpResponse(
+          HttpVersion.HTTP_1_1, HttpResponseStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    final DefaultFullHttpResponse response =
+        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, buf);
+    response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+
+    return response;
+  }
+
   private static Set<String> metricsFilter(QueryStringDecoder queryStringDecoder) {
     final List<String> names = queryStringDecoder.parameters().get("name[]");
     if (names != null && !names.isEmpty()) {
@@ -21,22 +21,29 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.prometheus.client.CollectorRegistry;
+import io.zeebe.util.sched.ActorScheduler;
 
 public class BrokerHttpServerInitializer extends ChannelInitializer<SocketChannel> {
 
   private final CollectorRegistry metricsRegistry;
   private BrokerHealthCheckService brokerHealthCheckService;
+  private final ActorScheduler actorScheduler;
 
   public BrokerHttpServerInitializer(
-      CollectorRegistry metricsRegistry, BrokerHealthCheckService brokerHealthCheckService) {
+      CollectorRegistry metricsRegistry,
+      BrokerHealthCheckService brokerHealthCheckService,
+      ActorScheduler actorScheduler) {
     this.metricsRegistry = metricsRegistry;
     this.brokerHealthCheckService = brokerHealthCheckService;
+    this.actorScheduler = actorScheduler;
   }
 
   @Override
   protected void initChannel(SocketChannel ch) {
     ch.pipeline()
         .addLast("codec", new HttpServerCodec())
-        .addLast("request", new BrokerHttpServerHandler(metricsRegistry, brokerHealthCheckService));
+        .addLast(
+            "request",
+            new BrokerHttpServerHandler(metricsRegistry, brokerHealthCheckService, actorScheduler));
   }
 }
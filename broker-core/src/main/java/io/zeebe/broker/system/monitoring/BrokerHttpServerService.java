@@ -21,6 +21,7 @@ import io.prometheus.client.CollectorRegistry;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
+import io.zeebe.util.sched.ActorScheduler;
 
 public class BrokerHttpServerService implements Service<BrokerHttpServer> {
 
@@ -29,6 +30,7 @@ public class BrokerHttpServerService implements Service<BrokerHttpServer> {
   private final CollectorRegistry metricsRegistry;
   private BrokerHealthCheckService brokerHealthCheckService;
 
+  private ActorScheduler scheduler;
   private BrokerHttpServer brokerHttpServer;
 
   public BrokerHttpServerService(
@@ -44,14 +46,19 @@ public class BrokerHttpServerService implements Service<BrokerHttpServer> {
 
   @Override
   public void start(ServiceStartContext startContext) {
+    scheduler = startContext.getScheduler();
+    ActorSchedulerMetrics.addScheduler(scheduler);
+
     startContext.run(
         () ->
             brokerHttpServer =
-                new BrokerHttpServer(host, port, metricsRegistry, brokerHealthCheckService));
+                new BrokerHttpServer(
+                    host, port, metricsRegistry, brokerHealthCheckService, scheduler));
   }
 
   @Override
   public void stop(ServiceStopContext stopContext) {
+    ActorSchedulerMetrics.removeScheduler(scheduler);
     stopContext.run(brokerHttpServer::close);
   }
 
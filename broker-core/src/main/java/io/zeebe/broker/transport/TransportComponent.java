@@ -58,7 +58,7 @@ public class TransportComponent implements Component {
     context.addRequiredStartAction(commandApiFuture);
 
     final CommandApiMessageHandlerService messageHandlerService =
-        new CommandApiMessageHandlerService();
+        new CommandApiMessageHandlerService(context.getBrokerConfiguration().getBackpressure());
     serviceContainer
         .createService(COMMAND_API_MESSAGE_HANDLER, messageHandlerService)
         .groupReference(
@@ -0,0 +1,197 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import io.zeebe.broker.system.configuration.BackpressureCfg;
+import io.zeebe.util.DurationUtil;
+import java.util.function.LongSupplier;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.Long2LongHashMap;
+
+/**
+ * Limits the number of in-flight requests of a partition using an additive-increase /
+ * multiplicative-decrease strategy on the observed latency between writing a command and sending
+ * its response:
+ *
+ * <ul>
+ *   <li>if the latency of a request exceeds the expected latency, the limit is multiplied by the
+ *       backoff ratio
+ *   <li>otherwise, if at least half of the limit is in use, the limit is increased by one
+ * </ul>
+ *
+ * <p>Requests which are not released within the request timeout, e.g. because their command was
+ * never answered, are expired when the limit is reached, so that they can't exhaust the limit.
+ *
+ * <p>Requests are acquired by the command API and released by the stream processor, so all methods
+ * are synchronized.
+ */
+public class AimdRequestLimiter implements RequestLimiter {
+
+  private static final long NO_REQUEST = -1L;
+
+  private final Int2ObjectHashMap<Long2LongHashMap> inflightRequests = new Int2ObjectHashMap<>();
+  private final LongSupplier nanoClock;
+  private final BackpressureMetrics metrics;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final long expectedLatencyNanos;
+  private final long requestTimeoutNanos;
+
+  private int limit;
+  private int inflightCount;
+  // a lower bound of the start time of all in-flight requests
+  private long oldestStartTime = Long.MAX_VALUE;
+
+  public AimdRequestLimiter(int partitionId, BackpressureCfg cfg) {
+    this(cfg, new BackpressureMetrics(partitionId), System::nanoTime);
+  }
+
+  public AimdRequestLimiter(
+      BackpressureCfg cfg, BackpressureMetrics metrics, LongSupplier nanoClock) {
+    this.minLimit = Math.max(1, cfg.getMinLimit());
+    this.maxLimit = Math.max(minLimit, cfg.getMaxLimit());
+    this.backoffRatio = cfg.getBackoffRatio();
+    this.expectedLatencyNanos = DurationUtil.parse(cfg.getExpectedLatency()).toNanos();
+    this.requestTimeoutNanos = DurationUtil.parse(cfg.getRequestTimeout()).toNanos();
+    this.limit = Math.min(maxLimit, Math.max(minLimit, cfg.getInitialLimit()));
+    this.metrics = metrics;
+    this.nanoClock = nanoClock;
+
+    metrics.setLimit(limit);
+    metrics.setInflight(inflightCount);
+  }
+
+  @Override
+  public synchronized boolean tryAcquire(int streamId, long requestId) {
+    final long now = nanoClock.getAsLong();
+    if (inflightCount >= limit && now - oldestStartTime >= requestTimeoutNanos) {
+      expireRequests(now);
+    }
+
+    if (inflightCount >= limit) {
+      metrics.dropped();
+      return false;
+    }
+
+    final Long2LongHashMap requests =
+        inflightRequests.computeIfAbsent(streamId, id -> new Long2LongHashMap(NO_REQUEST));
+    final long previous = requests.put(requestId, now);
+    if (previous == NO_REQUEST) {
+      inflightCount++;
+      metrics.setInflight(inflightCount);
+    }
+    oldestStartTime = Math.min(oldestStartTime, now);
+
+    return true;
+  }
+
+  @Override
+  public synchronized void onResponse(int streamId, long requestId) {
+    final long startTime = release(streamId, requestId);
+    if (startTime != NO_REQUEST) {
+      adjustLimit(nanoClock.getAsLong() - startTime);
+    }
+  }
+
+  @Override
+  public synchronized void onIgnore(int streamId, long requestId) {
+    release(streamId, requestId);
+  }
+
+  @Override
+  public synchronized void onStreamClosed(int streamId) {
+    final Long2LongHashMap requests = inflightRequests.remove(streamId);
+    if (requests != null && !requests.isEmpty()) {
+      inflightCount -= requests.size();
+      metrics.setInflight(inflightCount);
+    }
+  }
+
+  private void expireRequests(long now) {
+    long oldestRemaining = Long.MAX_VALUE;
+
+    for (final Long2LongHashMap requests : inflightRequests.values()) {
+      final Long2LongHashMap.EntryIterator iterator = requests.entrySet().iterator();
+      while (iterator.hasNext()) {
+        iterator.next();
+        final long startTime = iterator.getLongValue();
+        if (now - startTime >= requestTimeoutNanos) {
+          iterator.remove();
+          inflightCount--;
+        } else {
+          oldestRemaining = Math.min(oldestRemaining, startTime);
+        }
+      }
+    }
+
+    oldestStartTime = oldestRemaining;
+    metrics.setInflight(inflightCount);
+  }
+
+  private long release(int streamId, long requestId) {
+    final Long2LongHashMap requests = inflightRequests.get(streamId);
+    if (requests == null) {
+      return NO_REQUEST;
+    }
+
+    // the request may not be known, e.g. because it was acquired before a leader change
+    final long startTime = requests.remove(requestId);
+    if (startTime != NO_REQUEST) {
+      inflightCount--;
+      metrics.setInflight(inflightCount);
+    }
+
+    return startTime;
+  }
+
+  private void adjustLimit(long latency) {
+    final int newLimit;
+    if (latency > expectedLatencyNanos) {
+      newLimit = Math.max(minLimit, (int) (limit * backoffRatio));
+    } else if (inflightCount * 2 >= limit) {
+      newLimit = Math.min(maxLimit, limit + 1);
+    } else {
+      newLimit = limit;
+    }
+
+    if (newLimit != limit) {
+      limit = newLimit;
+      metrics.setLimit(limit);
+    }
+  }
+
+  @Override
+  public synchronized void reset() {
+    inflightRequests.clear();
+    inflightCount = 0;
+    oldestStartTime = Long.MAX_VALUE;
+    metrics.setInflight(inflightCount);
+  }
+
+  @Override
+  public synchronized int getLimit() {
+    return limit;
+  }
+
+  @Override
+  public synchronized int getInflightCount() {
+    return inflightCount;
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+public class NoopRequestLimiter implements RequestLimiter {
+
+  public static final NoopRequestLimiter INSTANCE = new NoopRequestLimiter();
+
+  @Override
+  public boolean tryAcquire(int streamId, long requestId) {
+    return true;
+  }
+
+  @Override
+  public void onResponse(int streamId, long requestId) {
+    // nothing to do
+  }
+
+  @Override
+  public void onIgnore(int streamId, long requestId) {
+    // nothing to do
+  }
+
+  @Override
+  public void onStreamClosed(int streamId) {
+    // nothing to do
+  }
+
+  @Override
+  public void reset() {
+    // nothing to do
+  }
+
+  @Override
+  public int getLimit() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public int getInflightCount() {
+    return 0;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import io.zeebe.broker.system.configuration.BackpressureCfg;
+import io.zeebe.transport.RemoteAddress;
+import io.zeebe.transport.TransportListener;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Holds the {@link RequestLimiter} of each partition. It is shared between the command API, which
+ * acquires requests, and the stream processors, which release them when they send a response. As a
+ * listener of the command API transport, it releases the requests of closed streams.
+ */
+public final class PartitionAwareRequestLimiter implements TransportListener {
+
+  private final Map<Integer, RequestLimiter> limiters = new ConcurrentHashMap<>();
+  private final IntFunction<RequestLimiter> limiterFactory;
+
+  private PartitionAwareRequestLimiter(IntFunction<RequestLimiter> limiterFactory) {
+    this.limiterFactory = limiterFactory;
+  }
+
+  public static PartitionAwareRequestLimiter newNoopLimiter() {
+    return new PartitionAwareRequestLimiter(partitionId -> NoopRequestLimiter.INSTANCE);
+  }
+
+  public static PartitionAwareRequestLimiter newLimiter(BackpressureCfg cfg) {
+    if (cfg.isEnabled()) {
+      return new PartitionAwareRequestLimiter(
+          partitionId -> new AimdRequestLimiter(partitionId, cfg));
+    } else {
+      return newNoopLimiter();
+    }
+  }
+
+  public RequestLimiter getLimiter(int partitionId) {
+    return limiters.computeIfAbsent(partitionId, limiterFactory::apply);
+  }
+
+  public boolean tryAcquire(int partitionId, int streamId, long requestId) {
+    return getLimiter(partitionId).tryAcquire(streamId, requestId);
+  }
+
+  public void onResponse(int partitionId, int streamId, long requestId) {
+    getLimiter(partitionId).onResponse(streamId, requestId);
+  }
+
+  public void onIgnore(int partitionId, int streamId, long requestId) {
+    getLimiter(partitionId).onIgnore(streamId, requestId);
+  }
+
+  @Override
+  public void onConnectionEstablished(RemoteAddress remoteAddress) {
+    // nothing to do
+  }
+
+  @Override
+  public void onConnectionClosed(RemoteAddress remoteAddress) {
+    final int streamId = remoteAddress.getStreamId();
+    limiters.values().forEach(limiter -> limiter.onStreamClosed(streamId));
+  }
+
+  public void resetPartition(int partitionId) {
+    getLimiter(partitionId).reset();
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+/**
+ * Admission control for the commands of a single partition. A request must be acquired before its
+ * command is written to the log, and is released when the response to the command is sent or when
+ * the command is finished without a response.
+ */
+public interface RequestLimiter {
+
+  /**
+   * @param streamId the id of the stream the request was received on
+   * @param requestId the id of the request
+   * @return true if the request can be processed, false if it should be rejected
+   */
+  boolean tryAcquire(int streamId, long requestId);
+
+  /**
+   * Releases an acquired request. Called when the response for the request is sent.
+   *
+   * @param streamId the id of the stream the request was received on
+   * @param requestId the id of the request
+   */
+  void onResponse(int streamId, long requestId);
+
+  /**
+   * Releases an acquired request without taking its latency into account. Called when the command
+   * of the request could not be written.
+   *
+   * @param streamId the id of the stream the request was received on
+   * @param requestId the id of the request
+   */
+  void onIgnore(int streamId, long requestId);
+
+  /**
+   * Releases all acquired requests of the given stream. Called when the stream is closed, since the
+   * responses of its requests can't be sent anymore.
+   *
+   * @param streamId the id of the closed stream
+   */
+  void onStreamClosed(int streamId);
+
+  /** Drops all in-flight requests, e.g. when the leadership of the partition changed. */
+  void reset();
+
+  int getLimit();
+
+  int getInflightCount();
+}
@@ -18,6 +18,7 @@
 package io.zeebe.broker.transport.commandapi;
 
 import io.zeebe.broker.Loggers;
+import io.zeebe.broker.transport.backpressure.PartitionAwareRequestLimiter;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.log.LogStreamWriterImpl;
@@ -66,7 +67,14 @@ public class CommandApiMessageHandler implements ServerMessageHandler, ServerReq
 
   protected final EnumMap<ValueType, UnpackedObject> recordsByType = new EnumMap<>(ValueType.class);
 
+  private final PartitionAwareRequestLimiter requestLimiter;
+
   public CommandApiMessageHandler() {
+    this(PartitionAwareRequestLimiter.newNoopLimiter());
+  }
+
+  public CommandApiMessageHandler(final PartitionAwareRequestLimiter requestLimiter) {
+    this.requestLimiter = requestLimiter;
     initEventTypeMap();
   }
 
@@ -133,6 +141,13 @@ public class CommandApiMessageHandler implements ServerMessageHandler, ServerReq
           .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
     }
 
+    final int streamId = requestAddress.getStreamId();
+    if (!requestLimiter.tryAcquire(partitionId, streamId, requestId)) {
+      return errorResponseWriter
+          .resourceExhausted(partitionId)
+          .tryWriteResponseOrLogFailure(output, streamId, requestId);
+    }
+
     eventMetadata.recordType(RecordType.COMMAND);
     eventMetadata.intent(Intent.fromProtocolValue(eventType, intent));
     eventMetadata.valueType(eventType);
@@ -151,15 +166,33 @@ public class CommandApiMessageHandler implements ServerMessageHandler, ServerReq
             .value(buffer, eventOffset, eventLength)
             .tryWrite();
 
-    return eventPosition >= 0;
+    if (eventPosition < 0) {
+      // the request is retried, so it must not count against the limit in the meantime
+      requestLimiter.onIgnore(partitionId, streamId, requestId);
+      return false;
+    }
+
+    return true;
   }
 
   public void addPartition(LogStream logStream) {
-    cmdQueue.add(() -> leadingStreams.put(logStream.getPartitionId(), logStream));
+    cmdQueue.add(
+        () -> {
+          leadingStreams.put(logStream.getPartitionId(), logStream);
+          requestLimiter.resetPartition(logStream.getPartitionId());
+        });
   }
 
   public void removePartition(LogStream logStream) {
-    cmdQueue.add(() -> leadingStreams.remove(logStream.getPartitionId()));
+    cmdQueue.add(
+        () -> {
+          leadingStreams.remove(logStream.getPartitionId());
+          requestLimiter.resetPartition(logStream.getPartitionId());
+        });
+  }
+
+  public PartitionAwareRequestLimiter getRequestLimiter() {
+    return requestLimiter;
   }
 
   @Override
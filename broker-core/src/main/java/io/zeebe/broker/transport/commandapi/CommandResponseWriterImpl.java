@@ -21,6 +21,8 @@ import static io.zeebe.protocol.record.ExecuteCommandResponseEncoder.keyNullValu
 import static io.zeebe.protocol.record.ExecuteCommandResponseEncoder.partitionIdNullValue;
 import static io.zeebe.protocol.record.ExecuteCommandResponseEncoder.valueHeaderLength;
 
+import io.zeebe.broker.transport.backpressure.NoopRequestLimiter;
+import io.zeebe.broker.transport.backpressure.RequestLimiter;
 import io.zeebe.engine.processor.CommandResponseWriter;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.record.ExecuteCommandResponseEncoder;
@@ -54,9 +56,15 @@ public class CommandResponseWriterImpl implements CommandResponseWriter, BufferW
 
   protected final ServerResponse response = new ServerResponse();
   protected final ServerOutput output;
+  private final RequestLimiter requestLimiter;
 
   public CommandResponseWriterImpl(final ServerOutput output) {
+    this(output, NoopRequestLimiter.INSTANCE);
+  }
+
+  public CommandResponseWriterImpl(final ServerOutput output, final RequestLimiter requestLimiter) {
     this.output = output;
+    this.requestLimiter = requestLimiter;
   }
 
   public CommandResponseWriterImpl recordType(RecordType recordType) {
@@ -105,12 +113,24 @@ public class CommandResponseWriterImpl implements CommandResponseWriter, BufferW
     try {
       response.reset().remoteStreamId(remoteStreamId).requestId(requestId).writer(this);
 
-      return output.sendResponse(response);
+      final boolean isSent = output.sendResponse(response);
+      if (isSent) {
+        requestLimiter.onResponse(remoteStreamId, requestId);
+      } else {
+        // release the request, since its response may never be sent, e.g. if the stream is closed
+        requestLimiter.onIgnore(remoteStreamId, requestId);
+      }
+      return isSent;
     } finally {
       reset();
     }
   }
 
+  @Override
+  public void onNoResponse(int requestStreamId, long requestId) {
+    requestLimiter.onIgnore(requestStreamId, requestId);
+  }
+
   @Override
   public void write(final MutableDirectBuffer buffer, int offset) {
     // protocol header
@@ -0,0 +1,209 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.engine.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.core.Atomix;
+import io.zeebe.broker.clustering.base.topology.NodeInfo;
+import io.zeebe.broker.clustering.base.topology.TopologyManager;
+import io.zeebe.broker.clustering.base.topology.TopologyPartitionListener;
+import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandBatch;
+import io.zeebe.transport.SocketAddress;
+import io.zeebe.util.buffer.BufferWriter;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ScheduledTimer;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class PartitionCommandSenderImplTest {
+
+  private static final int PARTITION_ID = 1;
+  private static final MemberId LEADER_ID = MemberId.from("2");
+
+  private ActorControl actor;
+  private ClusterCommunicationService communicationService;
+  private PartitionCommandSenderImpl sender;
+
+  @Before
+  public void setUp() {
+    actor = mock(ActorControl.class);
+    doAnswer(
+            i -> {
+              ((Runnable) i.getArgument(0)).run();
+              return null;
+            })
+        .when(actor)
+        .submit(any());
+    when(actor.runDelayed(any(), any(Runnable.class))).thenReturn(mock(ScheduledTimer.class));
+
+    communicationService = mock(ClusterCommunicationService.class);
+    final Atomix atomix = mock(Atomix.class);
+    when(atomix.getCommunicationService()).thenReturn(communicationService);
+
+    final TopologyManager topologyManager = mock(TopologyManager.class);
+    sender = new PartitionCommandSenderImpl(atomix, topologyManager, actor);
+
+    final ArgumentCaptor<TopologyPartitionListener> listenerCaptor =
+        ArgumentCaptor.forClass(TopologyPartitionListener.class);
+    verify(topologyManager).addTopologyPartitionListener(listenerCaptor.capture());
+
+    final NodeInfo leader = new NodeInfo(2, new SocketAddress("foo", 4242));
+    leader.addLeader(PARTITION_ID);
+    listenerCaptor.getValue().onPartitionUpdated(PARTITION_ID, leader);
+  }
+
+  @Test
+  public void shouldSendCommandsAfterLingerTime() {
+    // given
+    sender.sendCommand(PARTITION_ID, new TestCommand(1, 10));
+    sender.sendCommand(PARTITION_ID, new TestCommand(2, 10));
+
+    final Runnable flush = captureScheduledFlush();
+    verify(communicationService, never()).send(any(), any(), any(MemberId.class));
+
+    // when
+    flush.run();
+
+    // then
+    final List<SubscriptionCommandBatch> batches = captureSentBatches(1);
+    assertCommands(batches.get(0), 1, 2);
+  }
+
+  @Test
+  public void shouldSendBatchWhenMaxCommandCountIsReached() {
+    // given
+    for (int i = 0; i < PartitionCommandSenderImpl.MAX_BATCH_COMMAND_COUNT; i++) {
+      sender.sendCommand(PARTITION_ID, new TestCommand(1, 10));
+    }
+    verify(communicationService, never()).send(any(), any(), any(MemberId.class));
+
+    // when
+    sender.sendCommand(PARTITION_ID, new TestCommand(2, 10));
+
+    // then
+    final List<SubscriptionCommandBatch> batches = captureSentBatches(1);
+    assertThat(batches.get(0).getCommandCount())
+        .isEqualTo(PartitionCommandSenderImpl.MAX_BATCH_COMMAND_COUNT);
+  }
+
+  @Test
+  public void shouldSendBatchWhenMaxLengthIsReached() {
+    // given
+    final int commandLength = PartitionCommandSenderImpl.MAX_BATCH_LENGTH / 3;
+    sender.sendCommand(PARTITION_ID, new TestCommand(1, commandLength));
+    sender.sendCommand(PARTITION_ID, new TestCommand(2, commandLength));
+    verify(communicationService, never()).send(any(), any(), any(MemberId.class));
+
+    // when
+    sender.sendCommand(PARTITION_ID, new TestCommand(3, commandLength));
+
+    // then
+    final List<SubscriptionCommandBatch> batches = captureSentBatches(1);
+    assertCommands(batches.get(0), 1, 2);
+    assertThat(batches.get(0).getLength())
+        .isLessThanOrEqualTo(PartitionCommandSenderImpl.MAX_BATCH_LENGTH);
+  }
+
+  @Test
+  public void shouldSendRemainingCommandsAfterLingerTime() {
+    // given
+    for (int i = 0; i <= PartitionCommandSenderImpl.MAX_BATCH_COMMAND_COUNT; i++) {
+      sender.sendCommand(PARTITION_ID, new TestCommand(1, 10));
+    }
+
+    final Runnable flush = captureScheduledFlush();
+
+    // when
+    flush.run();
+
+    // then
+    final List<SubscriptionCommandBatch> batches = captureSentBatches(2);
+    assertThat(batches.get(0).getCommandCount())
+        .isEqualTo(PartitionCommandSenderImpl.MAX_BATCH_COMMAND_COUNT);
+    assertThat(batches.get(1).getCommandCount()).isEqualTo(1);
+  }
+
+  private Runnable captureScheduledFlush() {
+    final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(actor).runDelayed(eq(PartitionCommandSenderImpl.BATCH_LINGER_TIME), captor.capture());
+    return captor.getValue();
+  }
+
+  private List<SubscriptionCommandBatch> captureSentBatches(int count) {
+    final ArgumentCaptor<byte[]> bytesCaptor = ArgumentCaptor.forClass(byte[].class);
+    verify(communicationService, times(count))
+        .send(eq("subscription"), bytesCaptor.capture(), eq(LEADER_ID));
+
+    return bytesCaptor.getAllValues().stream()
+        .map(
+            bytes -> {
+              final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+              batch.wrap(new UnsafeBuffer(bytes));
+              return batch;
+            })
+        .collect(Collectors.toList());
+  }
+
+  private static void assertCommands(SubscriptionCommandBatch batch, int... expectedValues) {
+    assertThat(batch.getCommandCount()).isEqualTo(expectedValues.length);
+
+    final DirectBuffer commandView = new UnsafeBuffer(0, 0);
+    for (int i = 0; i < expectedValues.length; i++) {
+      batch.wrapCommand(i, commandView);
+      assertThat(commandView.getByte(0)).isEqualTo((byte) expectedValues[i]);
+    }
+  }
+
+  /** A command of the given length, whose bytes are all set to the given value. */
+  private static final class TestCommand implements BufferWriter {
+    private final int value;
+    private final int length;
+
+    private TestCommand(int value, int length) {
+      this.value = value;
+      this.length = length;
+    }
+
+    @Override
+    public int getLength() {
+      return length;
+    }
+
+    @Override
+    public void write(MutableDirectBuffer buffer, int offset) {
+      buffer.setMemory(offset, length, (byte) value);
+    }
+  }
+}
@@ -30,6 +30,7 @@ import io.zeebe.broker.exporter.util.ControlledTestExporter;
 import io.zeebe.broker.exporter.util.PojoConfigurationExporter;
 import io.zeebe.broker.exporter.util.PojoConfigurationExporter.PojoExporterConfiguration;
 import io.zeebe.engine.Loggers;
+import io.zeebe.exporter.api.BatchExporter;
 import io.zeebe.exporter.api.context.Context;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
@@ -47,6 +48,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -212,6 +214,38 @@ public class ExporterDirectorTest {
         .contains(deploymentEvent, jobEvent);
   }
 
+  @Test
+  public void shouldExportRecordsInBatches() {
+    // given
+    final BatchTestExporter batchExporter = new BatchTestExporter();
+    final ExporterDescriptor descriptor =
+        spy(
+            new ExporterDescriptor(
+                "batch-exporter", BatchTestExporter.class, Collections.emptyMap()));
+    doAnswer(c -> batchExporter).when(descriptor).newInstance();
+
+    final long deploymentEvent1 = writeEvent();
+    final long deploymentEvent2 = writeEvent();
+    final long incidentEvent = rule.writeEvent(IncidentIntent.CREATED, new IncidentRecord());
+
+    // when
+    startExporterDirector(Arrays.asList(exporterDescriptors.get(0), descriptor));
+
+    // then
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 3);
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(deploymentEvent1, deploymentEvent2, incidentEvent);
+
+    waitUntil(() -> batchExporter.records.size() == 2);
+    assertThat(batchExporter.records)
+        .extracting(Record::getPosition)
+        .containsExactly(deploymentEvent1, deploymentEvent2);
+    assertThat(batchExporter.lastPositions).isSorted();
+    assertThat(batchExporter.lastPositions.get(batchExporter.lastPositions.size() - 1))
+        .isGreaterThanOrEqualTo(deploymentEvent2);
+  }
+
   @Test
   public void shouldRetryExportingOnException() {
     // given
@@ -385,6 +419,33 @@ public class ExporterDirectorTest {
     assertThat(exporters.get(1).getExportedRecords()).isEmpty();
   }
 
+  public static class BatchTestExporter implements BatchExporter {
+    private final List<Record> records = new CopyOnWriteArrayList<>();
+    private final List<Long> lastPositions = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void configure(Context context) {
+      context.setFilter(
+          new Context.RecordFilter() {
+            @Override
+            public boolean acceptType(RecordType recordType) {
+              return true;
+            }
+
+            @Override
+            public boolean acceptValue(ValueType valueType) {
+              return valueType == ValueType.DEPLOYMENT;
+            }
+          });
+    }
+
+    @Override
+    public void exportBatch(List<Record> records, long lastPosition) {
+      this.records.addAll(records);
+      lastPositions.add(lastPosition);
+    }
+  }
+
   private long writeEvent() {
     final DeploymentRecord event = new DeploymentRecord();
     return rule.writeEvent(DeploymentIntent.CREATED, event);
@@ -56,6 +56,39 @@ public class BrokerHttpServerTest {
     }
   }
 
+  @Test
+  public void shouldGetActorMetrics() throws IOException {
+    final String url = baseUrl + "/metrics";
+
+    try (CloseableHttpClient client = HttpClients.createDefault()) {
+      final HttpGet request = new HttpGet(url);
+      try (CloseableHttpResponse response = client.execute(request)) {
+        assertThat(response.getStatusLine().getStatusCode()).isEqualTo(200);
+        assertThat(EntityUtils.toString(response.getEntity()))
+            .contains("zeebe_actor_execution_time_seconds_total")
+            .contains("zeebe_actor_jobs_total")
+            .contains("zeebe_actor_queue_wait_time_seconds_total")
+            .contains("zeebe_actor_steals_total");
+      }
+    }
+  }
+
+  @Test
+  public void shouldGetActorStatistics() throws IOException {
+    final String url = baseUrl + "/actors";
+
+    try (CloseableHttpClient client = HttpClients.createDefault()) {
+      final HttpGet request = new HttpGet(url);
+      try (CloseableHttpResponse response = client.execute(request)) {
+        assertThat(response.getStatusLine().getStatusCode()).isEqualTo(200);
+        assertThat(EntityUtils.toString(response.getEntity()))
+            .contains("\"name\"")
+            .contains("\"executionTimeNanos\"")
+            .contains("\"stealCount\"");
+      }
+    }
+  }
+
   @Test
   public void shouldGetReadyStatus() throws IOException {
     final String url = baseUrl + "/ready";
@@ -23,6 +23,7 @@ import static io.zeebe.broker.system.configuration.ClusterCfg.DEFAULT_NODE_ID;
 import static io.zeebe.broker.system.configuration.ClusterCfg.DEFAULT_PARTITIONS_COUNT;
 import static io.zeebe.broker.system.configuration.ClusterCfg.DEFAULT_REPLICATION_FACTOR;
 import static io.zeebe.broker.system.configuration.DataCfg.DEFAULT_DIRECTORY;
+import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_BACKPRESSURE_ENABLED;
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_CLUSTER_NAME;
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_CLUSTER_SIZE;
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_DEBUG_EXPORTER;
@@ -34,6 +35,7 @@ import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_NODE
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_PARTITIONS_COUNT;
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_PORT_OFFSET;
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_REPLICATION_FACTOR;
+import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_ROCKSDB_BLOCK_CACHE_SIZE;
 import static io.zeebe.broker.system.configuration.NetworkCfg.DEFAULT_COMMAND_API_PORT;
 import static io.zeebe.broker.system.configuration.NetworkCfg.DEFAULT_HOST;
 import static io.zeebe.broker.system.configuration.NetworkCfg.DEFAULT_INTERNAL_API_PORT;
@@ -48,6 +50,7 @@ import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.broker.system.configuration.EmbeddedGatewayCfg;
 import io.zeebe.broker.system.configuration.ExporterCfg;
 import io.zeebe.broker.system.configuration.NetworkCfg;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
 import io.zeebe.util.Environment;
 import io.zeebe.util.TomlConfigurationReader;
 import java.io.ByteArrayInputStream;
@@ -215,6 +218,52 @@ public class ConfigurationTest {
     assertDefaultDebugLogExporter(true);
   }
 
+  @Test
+  public void shouldEnableBackpressureByDefault() {
+    // when
+    final BrokerCfg cfg = readConfig("default");
+
+    // then
+    assertThat(cfg.getBackpressure().isEnabled()).isTrue();
+  }
+
+  @Test
+  public void shouldDisableBackpressureFromEnvironment() {
+    // given
+    environment.put(ENV_BACKPRESSURE_ENABLED, "false");
+
+    // when
+    final BrokerCfg cfg = readConfig("default");
+
+    // then
+    assertThat(cfg.getBackpressure().isEnabled()).isFalse();
+  }
+
+  @Test
+  public void shouldReadRocksDbConfiguration() {
+    // when
+    final BrokerCfg cfg = readConfig("rocksdb-cfg");
+
+    // then
+    final RocksDbConfiguration configuration = cfg.getData().getRocksDb().toRocksDbConfiguration();
+    assertThat(configuration.getBlockCacheSize()).isEqualTo(64 * 1024 * 1024);
+    assertThat(configuration.getBloomFilterBitsPerKey()).isEqualTo(0);
+    assertThat(configuration.getWriteBufferSize()).isEqualTo(4 * 1024 * 1024);
+    assertThat(configuration.getWriteBufferManagerSize()).isEqualTo(32 * 1024 * 1024);
+  }
+
+  @Test
+  public void shouldSetRocksDbBlockCacheSizeFromEnvironment() {
+    // given
+    environment.put(ENV_ROCKSDB_BLOCK_CACHE_SIZE, "1G");
+
+    // when
+    final BrokerCfg cfg = readConfig("default");
+
+    // then
+    assertThat(cfg.getData().getRocksDb().getBlockCacheSize()).isEqualTo("1G");
+  }
+
   @Test
   public void shouldUseDefaultHost() {
     assertDefaultHost(DEFAULT_HOST);
@@ -0,0 +1,70 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system;
+
+import static io.zeebe.broker.test.EmbeddedBrokerConfigurator.setPartitionCount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.broker.test.EmbeddedBrokerRule;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
+import io.zeebe.test.broker.protocol.commandapi.CommandApiRule;
+import io.zeebe.test.util.TestUtil;
+import io.zeebe.test.util.record.RecordingExporter;
+import io.zeebe.util.sched.ActorTask;
+import io.zeebe.util.sched.PinnedThreadGroup;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class PinnedThreadsTest {
+
+  public EmbeddedBrokerRule brokerRule =
+      new EmbeddedBrokerRule(setPartitionCount(3), cfg -> cfg.getThreads().setPinnedThreadCount(2));
+  public CommandApiRule apiRule = new CommandApiRule(brokerRule::getAtomix);
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(brokerRule).around(apiRule);
+
+  @Test
+  public void shouldProcessOnPartitionsSharingAPinnedThread() {
+    // given
+    apiRule
+        .partitionClient()
+        .deploy(Bpmn.createExecutableProcess("process").startEvent().endEvent().done());
+    TestUtil.waitUntil(() -> RecordingExporter.deploymentRecords().withPartitionId(2).exists());
+
+    // when
+    final WorkflowInstanceCreationRecord creation =
+        apiRule.partitionClient(2).createWorkflowInstance(r -> r.setBpmnProcessId("process"));
+
+    // then
+    assertThat(Protocol.decodePartitionId(creation.getWorkflowInstanceKey())).isEqualTo(2);
+
+    final List<ActorTask> streamProcessors =
+        brokerRule.getBroker().getBrokerContext().getScheduler().getScheduledTasks().stream()
+            .filter(t -> t.getName().equals("stream-processor"))
+            .collect(Collectors.toList());
+
+    assertThat(streamProcessors)
+        .hasSize(3)
+        .allMatch(t -> t.getActorThreadGroup() instanceof PinnedThreadGroup);
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.broker.system.configuration.BackpressureCfg;
+import java.time.Duration;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AimdRequestLimiterTest {
+
+  private static final int STREAM_ID = 1;
+
+  private final BackpressureCfg cfg = new BackpressureCfg();
+  private long currentTime;
+  private AimdRequestLimiter limiter;
+
+  @Before
+  public void setUp() {
+    cfg.setInitialLimit(4);
+    cfg.setMinLimit(2);
+    cfg.setMaxLimit(6);
+    cfg.setBackoffRatio(0.5);
+    cfg.setExpectedLatency("100ms");
+    cfg.setRequestTimeout("10s");
+
+    limiter = new AimdRequestLimiter(cfg, new BackpressureMetrics(0), () -> currentTime);
+  }
+
+  @Test
+  public void shouldRejectRequestsAboveLimit() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      assertThat(limiter.tryAcquire(STREAM_ID, i)).isTrue();
+    }
+
+    // when
+    final boolean acquired = limiter.tryAcquire(STREAM_ID, 4);
+
+    // then
+    assertThat(acquired).isFalse();
+    assertThat(limiter.getInflightCount()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldReleaseRequestOnResponse() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      limiter.tryAcquire(STREAM_ID, i);
+    }
+
+    // when
+    limiter.onResponse(STREAM_ID, 0);
+
+    // then
+    assertThat(limiter.getInflightCount()).isEqualTo(3);
+    assertThat(limiter.tryAcquire(STREAM_ID, 4)).isTrue();
+  }
+
+  @Test
+  public void shouldIncreaseLimitOnLowLatency() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 0);
+    limiter.tryAcquire(STREAM_ID, 1);
+    limiter.tryAcquire(STREAM_ID, 2);
+
+    // when
+    currentTime += Duration.ofMillis(10).toNanos();
+    limiter.onResponse(STREAM_ID, 0);
+
+    // then
+    assertThat(limiter.getLimit()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldNotIncreaseLimitAboveMaximum() {
+    // given
+    for (int i = 0; i < 10; i++) {
+      limiter.tryAcquire(STREAM_ID, i);
+      limiter.tryAcquire(STREAM_ID, i + 100);
+      limiter.tryAcquire(STREAM_ID, i + 200);
+      limiter.tryAcquire(STREAM_ID, i + 300);
+
+      // when
+      limiter.onResponse(STREAM_ID, i);
+      limiter.onResponse(STREAM_ID, i + 100);
+      limiter.onResponse(STREAM_ID, i + 200);
+      limiter.onResponse(STREAM_ID, i + 300);
+    }
+
+    // then
+    assertThat(limiter.getLimit()).isEqualTo(6);
+  }
+
+  @Test
+  public void shouldDecreaseLimitOnHighLatency() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 0);
+
+    // when
+    currentTime += Duration.ofMillis(150).toNanos();
+    limiter.onResponse(STREAM_ID, 0);
+
+    // then
+    assertThat(limiter.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotDecreaseLimitBelowMinimum() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 0);
+    limiter.tryAcquire(STREAM_ID, 1);
+
+    // when
+    currentTime += Duration.ofMillis(150).toNanos();
+    limiter.onResponse(STREAM_ID, 0);
+    limiter.onResponse(STREAM_ID, 1);
+
+    // then
+    assertThat(limiter.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotAdjustLimitOnIgnoredRequest() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 0);
+
+    // when
+    currentTime += Duration.ofMillis(150).toNanos();
+    limiter.onIgnore(STREAM_ID, 0);
+
+    // then
+    assertThat(limiter.getLimit()).isEqualTo(4);
+    assertThat(limiter.getInflightCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldDistinguishRequestsOfDifferentStreams() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 0);
+    limiter.tryAcquire(STREAM_ID + 1, 0);
+
+    // when
+    limiter.onResponse(STREAM_ID, 0);
+
+    // then
+    assertThat(limiter.getInflightCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldDropInflightRequestsOnReset() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 0);
+    limiter.tryAcquire(STREAM_ID, 1);
+
+    // when
+    limiter.reset();
+    limiter.onResponse(STREAM_ID, 0);
+
+    // then
+    assertThat(limiter.getInflightCount()).isEqualTo(0);
+    assertThat(limiter.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldExpireRequestWithoutResponse() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 0);
+    currentTime += Duration.ofSeconds(5).toNanos();
+    for (int i = 1; i < 4; i++) {
+      limiter.tryAcquire(STREAM_ID, i);
+    }
+
+    // when
+    currentTime += Duration.ofSeconds(5).toNanos();
+    final boolean acquired = limiter.tryAcquire(STREAM_ID, 4);
+
+    // then
+    assertThat(acquired).isTrue();
+    assertThat(limiter.getInflightCount()).isEqualTo(4);
+    assertThat(limiter.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldNotExpireRequestBeforeTimeout() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      limiter.tryAcquire(STREAM_ID, i);
+    }
+
+    // when
+    currentTime += Duration.ofSeconds(9).toNanos();
+    final boolean acquired = limiter.tryAcquire(STREAM_ID, 4);
+
+    // then
+    assertThat(acquired).isFalse();
+    assertThat(limiter.getInflightCount()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldIgnoreResponseOfExpiredRequest() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      limiter.tryAcquire(STREAM_ID, i);
+    }
+    currentTime += Duration.ofSeconds(10).toNanos();
+    limiter.tryAcquire(STREAM_ID, 4);
+
+    // when
+    limiter.onResponse(STREAM_ID, 0);
+
+    // then
+    assertThat(limiter.getInflightCount()).isEqualTo(1);
+    assertThat(limiter.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldReleaseRequestsOfClosedStream() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 0);
+    limiter.tryAcquire(STREAM_ID, 1);
+    limiter.tryAcquire(STREAM_ID + 1, 0);
+
+    // when
+    limiter.onStreamClosed(STREAM_ID);
+
+    // then
+    assertThat(limiter.getInflightCount()).isEqualTo(1);
+  }
+}
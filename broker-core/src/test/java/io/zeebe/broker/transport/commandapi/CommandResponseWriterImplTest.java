@@ -20,12 +20,18 @@ package io.zeebe.broker.transport.commandapi;
 import static io.zeebe.util.StringUtil.getBytes;
 import static io.zeebe.util.VarDataUtil.readBytes;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.zeebe.broker.transport.backpressure.RequestLimiter;
 import io.zeebe.protocol.record.ExecuteCommandResponseDecoder;
 import io.zeebe.protocol.record.MessageHeaderDecoder;
 import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.JobIntent;
+import io.zeebe.transport.ServerOutput;
 import io.zeebe.util.buffer.DirectBufferWriter;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Before;
@@ -91,4 +97,41 @@ public class CommandResponseWriterImplTest {
     final byte[] event = readBytes(responseDecoder::getValue, responseDecoder::valueLength);
     assertThat(event).isEqualTo(EVENT);
   }
+
+  @Test
+  public void shouldReleaseRequestIfResponseIsSent() {
+    // given
+    final ServerOutput output = mock(ServerOutput.class);
+    when(output.sendResponse(any())).thenReturn(true);
+    final RequestLimiter requestLimiter = mock(RequestLimiter.class);
+    responseWriter = new CommandResponseWriterImpl(output, requestLimiter);
+
+    eventWriter.wrap(new UnsafeBuffer(EVENT), 0, EVENT.length);
+    responseWriter.partitionId(PARTITION_ID).key(KEY).valueWriter(eventWriter);
+
+    // when
+    responseWriter.tryWriteResponse(3, 4L);
+
+    // then
+    verify(requestLimiter).onResponse(3, 4L);
+  }
+
+  @Test
+  public void shouldReleaseRequestIfResponseIsNotSent() {
+    // given
+    final ServerOutput output = mock(ServerOutput.class);
+    when(output.sendResponse(any())).thenReturn(false);
+    final RequestLimiter requestLimiter = mock(RequestLimiter.class);
+    responseWriter = new CommandResponseWriterImpl(output, requestLimiter);
+
+    eventWriter.wrap(new UnsafeBuffer(EVENT), 0, EVENT.length);
+    responseWriter.partitionId(PARTITION_ID).key(KEY).valueWriter(eventWriter);
+
+    // when
+    final boolean isSent = responseWriter.tryWriteResponse(3, 4L);
+
+    // then
+    assertThat(isSent).isFalse();
+    verify(requestLimiter).onIgnore(3, 4L);
+  }
 }
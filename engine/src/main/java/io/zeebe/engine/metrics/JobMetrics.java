@@ -38,6 +38,15 @@ public class JobMetrics {
           .labelNames("partition")
           .register();
 
+  private static final Gauge TIMED_OUT_JOBS_BACKLOG =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("job_timeout_backlog")
+          .help(
+              "Number of timed out jobs for which no time out command was written yet, counted up to 10000")
+          .labelNames("partition")
+          .register();
+
   private final String partitionIdLabel;
 
   public JobMetrics(int partitionId) {
@@ -78,4 +87,8 @@ public class JobMetrics {
     jobEvent("canceled");
     jobFinished();
   }
+
+  public void timedOutJobsBacklog(int backlog) {
+    TIMED_OUT_JOBS_BACKLOG.labels(partitionIdLabel).set(backlog);
+  }
 }
@@ -0,0 +1,55 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+
+public class MessageMetrics {
+
+  private static final Counter EXPIRED_MESSAGES =
+      Counter.build()
+          .namespace("zeebe")
+          .name("expired_messages_total")
+          .help("Number of expired messages for which a delete command was written")
+          .labelNames("partition")
+          .register();
+
+  private static final Gauge EXPIRED_MESSAGES_BACKLOG =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("expired_messages_backlog")
+          .help(
+              "Number of expired messages for which no delete command was written yet, counted up to 10000")
+          .labelNames("partition")
+          .register();
+
+  private final String partitionIdLabel;
+
+  public MessageMetrics(int partitionId) {
+    this.partitionIdLabel = String.valueOf(partitionId);
+  }
+
+  public void messagesExpired(int count) {
+    EXPIRED_MESSAGES.labels(partitionIdLabel).inc(count);
+  }
+
+  public void expiredMessagesBacklog(int backlog) {
+    EXPIRED_MESSAGES_BACKLOG.labels(partitionIdLabel).set(backlog);
+  }
+}
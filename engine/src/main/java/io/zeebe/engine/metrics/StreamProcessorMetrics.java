@@ -18,6 +18,10 @@
 package io.zeebe.engine.metrics;
 
 import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.Intent;
 
 public class StreamProcessorMetrics {
 
@@ -29,6 +33,49 @@ public class StreamProcessorMetrics {
           .labelNames("action", "partition")
           .register();
 
+  private static final Histogram PROCESSING_DELAY =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("stream_processor_processing_delay_seconds")
+          .help(
+              "Time between writing an event and starting to process it, including the time to commit it")
+          .labelNames("partition")
+          .register();
+
+  private static final Histogram PROCESSING_DURATION =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("stream_processor_processing_duration_seconds")
+          .help("Time to process an event, by value type and intent")
+          .buckets(0.0001, 0.0005, 0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1)
+          .labelNames("valueType", "intent", "partition")
+          .register();
+
+  private static final Histogram RESPONSE_LATENCY =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("stream_processor_response_latency_seconds")
+          .help(
+              "Time between the end of processing and sending the responses, including the time to write the follow-up events")
+          .labelNames("partition")
+          .register();
+
+  private static final Gauge REPROCESSING_POSITION =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("stream_processor_reprocessing_position")
+          .help("Position of the last event which was reprocessed on recovery")
+          .labelNames("partition")
+          .register();
+
+  private static final Gauge RECOVERY_DURATION =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("stream_processor_recovery_duration_seconds")
+          .help("Time it took to reprocess the events of the last recovery")
+          .labelNames("partition")
+          .register();
+
   private final String partitionIdLabel;
 
   public StreamProcessorMetrics(int partitionId) {
@@ -39,15 +86,52 @@ public class StreamProcessorMetrics {
     STREAM_PROCESSOR_EVENTS.labels(action, partitionIdLabel).inc();
   }
 
-  public void eventProcessed() {
-    event("processed");
+  private void events(String action, int count) {
+    STREAM_PROCESSOR_EVENTS.labels(action, partitionIdLabel).inc(count);
   }
 
-  public void eventWritten() {
-    event("written");
+  public void eventsProcessed(int count) {
+    events("processed", count);
+  }
+
+  public void eventsWritten(int count) {
+    events("written", count);
   }
 
   public void eventSkipped() {
     event("skipped");
   }
+
+  public void eventsSkipped(int count) {
+    if (count > 0) {
+      events("skipped", count);
+    }
+  }
+
+  public void processingDelay(long delayMillis) {
+    PROCESSING_DELAY.labels(partitionIdLabel).observe(delayMillis / 1000.0);
+  }
+
+  public void processingDuration(ValueType valueType, Intent intent, long durationNanos) {
+    PROCESSING_DURATION
+        .labels(valueType.name(), intent.name(), partitionIdLabel)
+        .observe(durationNanos / 1e9);
+  }
+
+  public void responsesSent(long processingEndNanos) {
+    RESPONSE_LATENCY
+        .labels(partitionIdLabel)
+        .observe((System.nanoTime() - processingEndNanos) / 1e9);
+  }
+
+  public void eventReprocessed(long position) {
+    event("reprocessed");
+    REPROCESSING_POSITION.labels(partitionIdLabel).set(position);
+  }
+
+  public void recoveryFinished(long recoveryStartNanos) {
+    RECOVERY_DURATION
+        .labels(partitionIdLabel)
+        .set((System.nanoTime() - recoveryStartNanos) / 1e9);
+  }
 }
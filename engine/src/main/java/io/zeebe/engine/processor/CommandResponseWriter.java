@@ -43,4 +43,10 @@ public interface CommandResponseWriter {
   CommandResponseWriter valueWriter(BufferWriter value);
 
   boolean tryWriteResponse(int requestStreamId, long requestId);
+
+  /**
+   * Called when the command of the given request is finished without a response, e.g. because it
+   * was skipped.
+   */
+  void onNoResponse(int requestStreamId, long requestId);
 }
@@ -42,6 +42,7 @@ public class ProcessingContext implements ReadonlyProcessingContext {
   private DbContext dbContext;
 
   private BooleanSupplier abortCondition;
+  private int maxBatchSize = 1;
 
   public ProcessingContext actor(ActorControl actor) {
     this.actor = actor;
@@ -88,6 +89,11 @@ public class ProcessingContext implements ReadonlyProcessingContext {
     return this;
   }
 
+  public ProcessingContext maxBatchSize(int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+    return this;
+  }
+
   public ProcessingContext logStreamWriter(TypedStreamWriter logStreamWriter) {
     this.logStreamWriter = logStreamWriter;
     return this;
@@ -141,4 +147,8 @@ public class ProcessingContext implements ReadonlyProcessingContext {
   public BooleanSupplier getAbortCondition() {
     return abortCondition;
   }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
 }
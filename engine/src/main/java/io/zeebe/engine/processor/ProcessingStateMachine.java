@@ -28,15 +28,18 @@ import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.protocol.impl.record.UnifiedRecordValue;
 import io.zeebe.protocol.impl.record.value.error.ErrorRecord;
+import io.zeebe.protocol.record.RecordMetadataEncoder;
 import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.RejectionType;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.ErrorIntent;
+import io.zeebe.protocol.record.intent.Intent;
 import io.zeebe.util.exception.RecoverableException;
 import io.zeebe.util.retry.AbortableRetryStrategy;
 import io.zeebe.util.retry.RecoverableRetryStrategy;
 import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
 import java.util.Map;
@@ -81,6 +84,16 @@ import org.slf4j.Logger;
  *                                       +-----+
  *
  * </pre>
+ *
+ * <p>If the max batch size is greater than one, processEvent() continues with the next committed
+ * events after processing an event, until the batch is full or no more events are available. All
+ * events of a batch are processed in the same transaction, their follow-up events are written
+ * together and their responses are sent together. An event which replaces the default side effect
+ * (the response) closes the batch. If an additional event of the batch can't be processed, the
+ * whole batch is rolled back and the events are processed one by one until the failed event is
+ * passed, so that the usual error handling applies to it. Like a single event, an event is only
+ * added to a batch if the last error record was committed. The metrics of a batch are recorded
+ * once the batch is committed, so that the events of a rolled back batch are not counted twice.
  */
 public final class ProcessingStateMachine {
 
@@ -103,6 +116,13 @@ public final class ProcessingStateMachine {
   private static final String PROCESSING_ERROR_MESSAGE =
       "Expected to process event '%s' without errors, but exception occurred with message '%s' .";
 
+  private static final String ERROR_MESSAGE_PROCESSING_BATCH_FAILED =
+      "Expected to process event '{}' as part of a batch, but caught an exception. Roll back the batch and process the events one by one.";
+  private static final String ERROR_MESSAGE_WRITE_BATCH_FAILED =
+      "Expected to write the follow up events of the batch which ends with event '{}', but exception was thrown. Roll back the batch and process the events one by one.";
+  private static final String ERROR_MESSAGE_BATCH_EXCEEDS_FRAME_LENGTH =
+      "Expected follow up events of the batch to fit into a single frame of %d bytes, but were %d bytes";
+
   private static final String LOG_ERROR_EVENT_COMMITTED =
       "Error event was committed, we continue with processing.";
   private static final String LOG_ERROR_EVENT_WRITTEN =
@@ -133,9 +153,11 @@ public final class ProcessingStateMachine {
 
   private final TypedEventImpl typedEvent = new TypedEventImpl();
   protected final TypedResponseWriterImpl responseWriter;
+  private final CommandResponseWriter commandResponseWriter;
   private SideEffectProducer sideEffectProducer;
 
   private final StreamProcessorMetrics metrics;
+  private final int maxBatchSize;
 
   public ProcessingStateMachine(ProcessingContext context, BooleanSupplier shouldProcessNext) {
 
@@ -149,16 +171,24 @@ public final class ProcessingStateMachine {
     this.zeebeState = context.getZeebeState();
     this.dbContext = context.getDbContext();
     this.abortCondition = context.getAbortCondition();
+    this.maxBatchSize = context.getMaxBatchSize();
 
     this.writeRetryStrategy = new AbortableRetryStrategy(actor);
     this.sideEffectsRetryStrategy = new AbortableRetryStrategy(actor);
     this.updateStateRetryStrategy = new RecoverableRetryStrategy(actor);
     this.shouldProcessNext = shouldProcessNext;
 
+    this.commandResponseWriter = context.getCommandResponseWriter();
     this.responseWriter =
-        new TypedResponseWriterImpl(context.getCommandResponseWriter(), logStream.getPartitionId());
+        new TypedResponseWriterImpl(commandResponseWriter, logStream.getPartitionId());
 
     this.metrics = new StreamProcessorMetrics(logStream.getPartitionId());
+
+    final int maxObservations = Math.max(1, maxBatchSize);
+    this.batchProcessingDelays = new long[maxObservations];
+    this.batchValueTypes = new ValueType[maxObservations];
+    this.batchIntents = new Intent[maxObservations];
+    this.batchProcessingDurations = new long[maxObservations];
   }
 
   // current iteration
@@ -173,6 +203,21 @@ public final class ProcessingStateMachine {
   private boolean onErrorHandling;
   private long errorRecordPosition = -1;
 
+  // current batch
+  private long batchStartPosition = -1L;
+  private int batchSize;
+  private int batchSkippedCount;
+  // after a failed batch, events up to this position are processed one by one
+  private long singleEventProcessingPosition = -1L;
+  private long processingEndNanos;
+
+  // processing metrics of the current batch, recorded once the batch is committed
+  private final long[] batchProcessingDelays;
+  private final ValueType[] batchValueTypes;
+  private final Intent[] batchIntents;
+  private final long[] batchProcessingDurations;
+  private int batchObservationCount;
+
   private void skipRecord() {
     actor.submit(this::readNextEvent);
     metrics.eventSkipped();
@@ -182,7 +227,7 @@ public final class ProcessingStateMachine {
     if (shouldProcessNext.getAsBoolean()
         && logStreamReader.hasNext()
         && currentProcessor == null
-        && logStream.getCommitPosition() >= errorRecordPosition) {
+        && isErrorRecordCommitted()) {
 
       if (onErrorHandling) {
         LOG.info(LOG_ERROR_EVENT_COMMITTED);
@@ -199,12 +244,18 @@ public final class ProcessingStateMachine {
     }
   }
 
+  /** @return true if the last written error record is committed, or no error record was written */
+  private boolean isErrorRecordCommitted() {
+    return logStream.getCommitPosition() >= errorRecordPosition;
+  }
+
   private void processEvent(final LoggedEvent event) {
     metadata.reset();
     event.readMetadata(metadata);
 
     currentProcessor = chooseNextProcessor(event);
     if (currentProcessor == null) {
+      onNoResponse();
       skipRecord();
       return;
     }
@@ -215,11 +266,17 @@ public final class ProcessingStateMachine {
       event.readValue(value);
       typedEvent.wrap(event, metadata, value);
 
-      processInTransaction(typedEvent);
+      batchStartPosition = event.getPosition();
+      batchSize = 1;
+      batchSkippedCount = 0;
+      batchObservationCount = 0;
+      resetOutput();
 
-      metrics.eventProcessed();
+      processInTransaction(typedEvent);
 
-      writeEvent();
+      if (processBatch()) {
+        writeEvent();
+      }
     } catch (final RecoverableException recoverableException) {
       // recoverable
       LOG.error(ERROR_MESSAGE_PROCESSING_FAILED_RETRY_PROCESSING, event, recoverableException);
@@ -230,6 +287,106 @@ public final class ProcessingStateMachine {
     }
   }
 
+  /**
+   * Processes the following committed events in the current transaction until the batch is full.
+   *
+   * @return false if the batch failed and is rolled back, true otherwise
+   */
+  private boolean processBatch() {
+    if (maxBatchSize <= 1 || currentEvent.getPosition() <= singleEventProcessingPosition) {
+      return true;
+    }
+
+    final int maxFrameLength = logStream.getWriteBuffer().getMaxFrameLength();
+
+    while (shouldProcessNext.getAsBoolean()
+        && batchSize < maxBatchSize
+        && sideEffectProducer == responseWriter
+        && logStreamWriter.getBatchLength() < maxFrameLength / 2
+        && isErrorRecordCommitted()
+        && logStreamReader.hasNext()) {
+
+      responseWriter.bufferStagedResponse();
+      final LoggedEvent event = logStreamReader.next();
+
+      try {
+        if (processBatchEvent(event)) {
+          batchSize += 1;
+
+          final int batchLength = logStreamWriter.getBatchLength();
+          if (batchLength >= maxFrameLength) {
+            throw new IllegalStateException(
+                String.format(
+                    ERROR_MESSAGE_BATCH_EXCEEDS_FRAME_LENGTH, maxFrameLength, batchLength));
+          }
+        } else {
+          batchSkippedCount += 1;
+        }
+      } catch (final Exception e) {
+        LOG.warn(ERROR_MESSAGE_PROCESSING_BATCH_FAILED, event, e);
+        rollbackBatch(event.getPosition());
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private boolean processBatchEvent(final LoggedEvent event) throws Exception {
+    if (eventFilter != null && !eventFilter.applies(event)) {
+      return false;
+    }
+
+    metadata.reset();
+    event.readMetadata(metadata);
+
+    final TypedRecordProcessor<?> processor = chooseNextProcessor(event);
+    if (processor == null) {
+      onNoResponse();
+      return false;
+    }
+
+    currentEvent = event;
+    currentProcessor = processor;
+
+    final UnifiedRecordValue value = eventCache.get(metadata.getValueType());
+    value.reset();
+    event.readValue(value);
+    typedEvent.wrap(event, metadata, value);
+
+    processInTransaction(typedEvent);
+    return true;
+  }
+
+  private void rollbackBatch(long failedEventPosition) {
+    singleEventProcessingPosition = Math.max(singleEventProcessingPosition, failedEventPosition);
+
+    final ActorFuture<Boolean> retryFuture =
+        updateStateRetryStrategy.runWithRetry(
+            () -> {
+              zeebeDbTransaction.rollback();
+              return true;
+            },
+            abortCondition);
+
+    actor.runOnCompletion(
+        retryFuture,
+        (bool, throwable) -> {
+          if (throwable != null) {
+            LOG.error(ERROR_MESSAGE_ROLLBACK_ABORTED, currentEvent, throwable);
+          }
+
+          responseWriter.reset();
+          logStreamWriter.reset();
+          logStreamReader.seek(batchStartPosition);
+          batchObservationCount = 0;
+
+          // continue with the first event of the batch
+          currentProcessor = null;
+          actor.submit(this::readNextEvent);
+        });
+  }
+
   private TypedRecordProcessor<?> chooseNextProcessor(LoggedEvent event) {
     TypedRecordProcessor<?> typedRecordProcessor = null;
 
@@ -249,28 +406,70 @@ public final class ProcessingStateMachine {
     zeebeDbTransaction.run(
         () -> {
           final long position = typedRecord.getPosition();
-          resetOutput(position);
+          logStreamWriter.configureSourceContext(position);
 
           // default side effect is responses; can be changed by processor
           sideEffectProducer = responseWriter;
           final boolean isNotOnBlacklist = !zeebeState.isOnBlacklist(typedRecord);
           if (isNotOnBlacklist) {
+            final long processingDelay =
+                ActorClock.currentTimeMillis() - currentEvent.getTimestamp();
+            final long processingStartNanos = System.nanoTime();
+
             currentProcessor.processRecord(
                 position,
                 typedRecord,
                 responseWriter,
                 logStreamWriter,
                 this::setSideEffectProducer);
+
+            observeProcessing(processingDelay, System.nanoTime() - processingStartNanos);
+          } else {
+            onNoResponse();
           }
 
           zeebeState.markAsProcessed(position);
         });
   }
 
-  private void resetOutput(long sourceRecordPosition) {
+  private void observeProcessing(long processingDelay, long processingDurationNanos) {
+    final int index = batchObservationCount;
+    if (index < batchProcessingDelays.length) {
+      batchProcessingDelays[index] = processingDelay;
+      batchValueTypes[index] = metadata.getValueType();
+      batchIntents[index] = metadata.getIntent();
+      batchProcessingDurations[index] = processingDurationNanos;
+      batchObservationCount += 1;
+    }
+  }
+
+  private void recordBatchMetrics() {
+    for (int i = 0; i < batchObservationCount; i++) {
+      metrics.processingDelay(batchProcessingDelays[i]);
+      metrics.processingDuration(batchValueTypes[i], batchIntents[i], batchProcessingDurations[i]);
+      batchValueTypes[i] = null;
+      batchIntents[i] = null;
+    }
+    batchObservationCount = 0;
+
+    metrics.eventsProcessed(batchSize);
+    metrics.eventsSkipped(batchSkippedCount);
+    metrics.eventsWritten(batchSize);
+  }
+
+  /** Releases the request of the current record, if any, which is not answered. */
+  private void onNoResponse() {
+    final long requestId = metadata.getRequestId();
+    final int requestStreamId = metadata.getRequestStreamId();
+    if (requestId != RecordMetadataEncoder.requestIdNullValue()
+        && requestStreamId != RecordMetadataEncoder.requestStreamIdNullValue()) {
+      commandResponseWriter.onNoResponse(requestStreamId, requestId);
+    }
+  }
+
+  private void resetOutput() {
     responseWriter.reset();
     logStreamWriter.reset();
-    logStreamWriter.configureSourceContext(sourceRecordPosition);
   }
 
   public void setSideEffectProducer(final SideEffectProducer sideEffectProducer) {
@@ -308,7 +507,8 @@ public final class ProcessingStateMachine {
     zeebeDbTransaction.run(
         () -> {
           final long position = typedEvent.getPosition();
-          resetOutput(position);
+          resetOutput();
+          logStreamWriter.configureSourceContext(position);
 
           writeRejectionOnCommand(processingException);
           errorRecord.initErrorRecord(processingException, position);
@@ -333,6 +533,8 @@ public final class ProcessingStateMachine {
   }
 
   private void writeEvent() {
+    processingEndNanos = System.nanoTime();
+
     final ActorFuture<Boolean> retryFuture =
         writeRetryStrategy.runWithRetry(
             () -> {
@@ -344,12 +546,14 @@ public final class ProcessingStateMachine {
     actor.runOnCompletion(
         retryFuture,
         (bool, t) -> {
-          if (t != null) {
+          if (t != null && batchSize > 1) {
+            LOG.warn(ERROR_MESSAGE_WRITE_BATCH_FAILED, currentEvent, t);
+            rollbackBatch(currentEvent.getPosition());
+          } else if (t != null) {
             LOG.error(ERROR_MESSAGE_WRITE_EVENT_ABORTED, currentEvent, t);
             onError(t, this::writeEvent);
           } else {
             updateState();
-            metrics.eventWritten();
           }
         });
   }
@@ -380,20 +584,31 @@ public final class ProcessingStateMachine {
             LOG.error(ERROR_MESSAGE_UPDATE_STATE_FAILED, currentEvent, throwable);
             onError(throwable, this::updateState);
           } else {
+            // record the metrics only now, since the batch could be rolled back until it is
+            // committed
+            recordBatchMetrics();
             executeSideEffects();
           }
         });
   }
 
   private void executeSideEffects() {
+    final boolean hasResponses = responseWriter.hasResponses();
+
+    // the responses of the previous events of the batch are sent before the side effect of the last
+    // event, which may be a different one than the response
     final ActorFuture<Boolean> retryFuture =
-        sideEffectsRetryStrategy.runWithRetry(sideEffectProducer::flush, abortCondition);
+        sideEffectsRetryStrategy.runWithRetry(
+            () -> responseWriter.flushBufferedResponses() && sideEffectProducer.flush(),
+            abortCondition);
 
     actor.runOnCompletion(
         retryFuture,
         (bool, throwable) -> {
           if (throwable != null) {
             LOG.error(ERROR_MESSAGE_EXECUTE_SIDE_EFFECT_ABORTED, currentEvent, throwable);
+          } else if (hasResponses) {
+            metrics.responsesSent(processingEndNanos);
           }
 
           // continue with next event
@@ -20,8 +20,11 @@ package io.zeebe.engine.processor;
 import io.zeebe.db.DbContext;
 import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.engine.metrics.StreamProcessorMetrics;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.logstreams.impl.Loggers;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
+import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.msgpack.UnpackedObject;
@@ -36,32 +39,36 @@ import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import org.agrona.collections.LongHashSet;
 import org.slf4j.Logger;
 
 /**
  * Represents the reprocessing state machine, which is executed on reprocessing.
  *
+ * <p>The events are reprocessed while the log is read. A second reader runs ahead of the
+ * reprocessed event, only as far as needed to know whether the event was processed before and
+ * whether its processing failed, i.e. until it finds a record which was written by processing a
+ * later event.
+ *
  * <pre>
- * +------------------+   +-------------+           +------------------------+
- * |                  |   |             |           |                        |
- * |  startRecover()  |--->  scanLog()  |---------->|  reprocessNextEvent()  |
- * |                  |   |             |           |                        |
- * +------------------+   +---+---------+           +-----^------+-----------+
- *                            |                           |      |
- * +-----------------+        | no source events          |      |
- * |                 |        |                           |      |
- * |  onRecovered()  <--------+                           |      |    +--------------------+
+ * +------------------+                             +------------------------+
+ * |                  |                             |                        |
+ * |  startRecover()  |---------------------------->|  reprocessNextEvent()  |
+ * |                  |                             |                        |
+ * +------------------+                             +--+--^------+-----------+
+ *                                                     |  |      |
+ * +-----------------+     not processed before        |  |      |
+ * |                 |                                 |  |      |
+ * |  onRecovered()  <---------------------------------+  |      |    +--------------------+
  * |                 |                                    |      |    |                    |
- * +--------^--------+                hasNext             |      +--->|  reprocessEvent()  |
- *          |            +--------------------------------+           |                    |
- *          |            |                                            +----+----------+----+
- *          |            |                                                 |          |
- *   +------+------------+-----+                                           |          |
+ * +-----------------+                hasNext             |      +--->|  reprocessEvent()  |
+ *                       +--------------------------------+           |                    |
+ *                       |                                            +----+----------+----+
+ *                       |                                                 |          |
+ *   +-------------------+-----+                                           |          |
  *   |                         |               no event processor          |          |
  *   |  onRecordReprocessed()  |<------------------------------------------+          |
  *   |                         |                                                      |
@@ -76,8 +83,6 @@ import org.slf4j.Logger;
  *                           +------------+                  +------------+
  *                             exception                       exception
  * </pre>
- *
- * See https://textik.com/#773271ce7ea2096a
  */
 public final class ReProcessingStateMachine {
 
@@ -85,10 +90,6 @@ public final class ReProcessingStateMachine {
 
   private static final String ERROR_MESSAGE_ON_EVENT_FAILED_SKIP_EVENT =
       "Expected to find event processor for event '{}', but caught an exception. Skip this event.";
-  private static final String ERROR_MESSAGE_REPROCESSING_NO_SOURCE_EVENT =
-      "Expected to find last source event position '%d', but last position was '%d'. Failed to reprocess on processor";
-  private static final String ERROR_MESSAGE_REPROCESSING_NO_NEXT_EVENT =
-      "Expected to find last source event position '%d', but found no next event. Failed to reprocess on processor";
 
   private static final String LOG_STMT_REPROCESSING_FINISHED =
       "Processor finished reprocessing at event position {}";
@@ -110,6 +111,7 @@ public final class ReProcessingStateMachine {
 
   private final EventFilter eventFilter;
   private final LogStreamReader logStreamReader;
+  private final LogStream logStream;
   private final TypedStreamWriter noopstreamWriter = new NoopStreamWriter();
   private final TypedResponseWriter noopResponseWriter = new NoopResponseWriter();
 
@@ -118,12 +120,14 @@ public final class ReProcessingStateMachine {
   private final RetryStrategy processRetryStrategy;
 
   private final BooleanSupplier abortCondition;
-  private final Set<Long> failedEventPositions = new HashSet<>();
+  private final LongHashSet failedEventPositions = new LongHashSet();
+  private final StreamProcessorMetrics metrics;
 
   public ReProcessingStateMachine(ProcessingContext context) {
     this.actor = context.getActor();
     this.eventFilter = context.getEventFilter();
     this.logStreamReader = context.getLogStreamReader();
+    this.logStream = context.getLogStream();
     this.eventCache = context.getEventCache();
     this.recordProcessorMap = context.getRecordProcessorMap();
     this.dbContext = context.getDbContext();
@@ -132,10 +136,13 @@ public final class ReProcessingStateMachine {
 
     this.updateStateRetryStrategy = new EndlessRetryStrategy(actor);
     this.processRetryStrategy = new EndlessRetryStrategy(actor);
+    this.metrics = new StreamProcessorMetrics(logStream.getPartitionId());
   }
 
   // current iteration
+  private LogStreamReader scanReader;
   private long lastSourceEventPosition;
+  private long recoveryStartNanos;
   private ActorFuture<Void> recoveryFuture;
   private LoggedEvent currentEvent;
   private TypedRecordProcessor eventProcessor;
@@ -143,40 +150,33 @@ public final class ReProcessingStateMachine {
 
   ActorFuture<Void> startRecover(final long snapshotPosition) {
     recoveryFuture = new CompletableActorFuture<>();
+    recoveryStartNanos = System.nanoTime();
 
-    final long startPosition = logStreamReader.getPosition();
+    // records which were written before the snapshot can't be the source of a reprocessed event
+    lastSourceEventPosition = snapshotPosition;
+    scanReader = new BufferedLogStreamReader(logStream);
+    scanReader.seekToNextEvent(snapshotPosition);
 
-    LOG.info("Start scanning the log for error events.");
-    lastSourceEventPosition = scanLog(snapshotPosition);
-    LOG.info("Finished scanning the log for error events.");
+    LOG.info("Processor starts reprocessing after snapshot position {}", snapshotPosition);
+    reprocessNextEvent();
 
-    if (lastSourceEventPosition > snapshotPosition) {
-      LOG.info(
-          "Processor starts reprocessing, until last source event position {}",
-          lastSourceEventPosition);
-      logStreamReader.seek(startPosition);
-      reprocessNextEvent();
-    } else {
-      recoveryFuture.complete(null);
-    }
     return recoveryFuture;
   }
 
-  private long scanLog(final long snapshotPosition) {
-    long lastSourceEventPosition = -1L;
+  /**
+   * Reads ahead until a record is found which was written by processing an event after the given
+   * position, or until the end of the log. Afterwards it is known whether the event on the given
+   * position was processed before and whether its processing failed.
+   */
+  private void scanLogUntil(final long position) {
+    while (lastSourceEventPosition <= position && scanReader.hasNext()) {
+      final LoggedEvent newEvent = scanReader.next();
 
-    if (logStreamReader.hasNext()) {
-      lastSourceEventPosition = snapshotPosition;
-      while (logStreamReader.hasNext()) {
-        final LoggedEvent newEvent = logStreamReader.next();
-
-        metadata.reset();
-        newEvent.readMetadata(metadata);
-        long errorPosition = -1;
-        if (metadata.getValueType() == ValueType.ERROR) {
-          newEvent.readValue(errorRecord);
-          errorPosition = errorRecord.getErrorEventPosition();
-        }
+      metadata.reset();
+      newEvent.readMetadata(metadata);
+      if (metadata.getValueType() == ValueType.ERROR) {
+        newEvent.readValue(errorRecord);
+        final long errorPosition = errorRecord.getErrorEventPosition();
 
         if (errorPosition >= 0) {
           LOG.debug(
@@ -185,39 +185,42 @@ public final class ReProcessingStateMachine {
               errorPosition);
           failedEventPositions.add(errorPosition);
         }
-
-        final long sourceEventPosition = newEvent.getSourceEventPosition();
-        if (sourceEventPosition > 0 && sourceEventPosition > lastSourceEventPosition) {
-          lastSourceEventPosition = sourceEventPosition;
-        }
       }
 
-      // reset position
-      logStreamReader.seek(snapshotPosition + 1);
+      final long sourceEventPosition = newEvent.getSourceEventPosition();
+      if (sourceEventPosition > 0 && sourceEventPosition > lastSourceEventPosition) {
+        lastSourceEventPosition = sourceEventPosition;
+      }
     }
-
-    return lastSourceEventPosition;
   }
 
-  private void readNextEvent() {
-    if (!logStreamReader.hasNext()) {
-      throw new IllegalStateException(
-          String.format(ERROR_MESSAGE_REPROCESSING_NO_NEXT_EVENT, lastSourceEventPosition));
-    }
-
-    currentEvent = logStreamReader.next();
-    if (currentEvent.getPosition() > lastSourceEventPosition) {
-      throw new IllegalStateException(
-          String.format(
-              ERROR_MESSAGE_REPROCESSING_NO_SOURCE_EVENT,
-              lastSourceEventPosition,
-              currentEvent.getPosition()));
-    }
+  /** Stops the recovery, e.g. if the stream processor is closed while it reprocesses. */
+  void close() {
+    closeScanReader();
   }
 
   private void reprocessNextEvent() {
+    if (abortCondition.getAsBoolean()) {
+      closeScanReader();
+      return;
+    }
+
     try {
-      readNextEvent();
+      if (!logStreamReader.hasNext()) {
+        onRecovered();
+        return;
+      }
+
+      currentEvent = logStreamReader.next();
+      final long position = currentEvent.getPosition();
+
+      scanLogUntil(position);
+      if (lastSourceEventPosition < position) {
+        // the event was not processed before, it is processed again after the recovery
+        logStreamReader.seek(position);
+        onRecovered();
+        return;
+      }
 
       if (eventFilter == null || eventFilter.applies(currentEvent)) {
         reprocessEvent(currentEvent);
@@ -226,6 +229,7 @@ public final class ReProcessingStateMachine {
       }
 
     } catch (final RuntimeException e) {
+      closeScanReader();
       recoveryFuture.completeExceptionally(e);
     }
   }
@@ -275,16 +279,21 @@ public final class ReProcessingStateMachine {
 
     actor.runOnCompletion(
         resultFuture,
-        (v, t) -> {
+        (processed, t) -> {
           // processing should be retried endless until it worked
           assert t == null : "On reprocessing there shouldn't be any exception thrown.";
-          updateStateUntilDone();
+          if (processed) {
+            updateStateUntilDone();
+          } else {
+            // aborted, since the stream processor is closed
+            closeScanReader();
+          }
         });
   }
 
   private TransactionOperation chooseOperationForEvent(long position, TypedRecord<?> currentEvent) {
     final TransactionOperation operationOnProcessing;
-    if (failedEventPositions.contains(position)) {
+    if (failedEventPositions.remove(position)) {
       LOG.info(LOG_STMT_FAILED_ON_PROCESSING, currentEvent);
       operationOnProcessing = () -> zeebeState.tryToBlacklist(currentEvent, NOOP_LONG_CONSUMER);
     } else {
@@ -317,27 +326,39 @@ public final class ReProcessingStateMachine {
 
     actor.runOnCompletion(
         retryFuture,
-        (bool, throwable) -> {
+        (updated, throwable) -> {
           // update state should be retried endless until it worked
           assert throwable == null : "On reprocessing there shouldn't be any exception thrown.";
-          onRecordReprocessed(currentEvent);
+          if (updated) {
+            onRecordReprocessed(currentEvent);
+          } else {
+            // aborted, since the stream processor is closed
+            closeScanReader();
+          }
         });
   }
 
   private void onRecordReprocessed(final LoggedEvent currentEvent) {
-    if (currentEvent.getPosition() == lastSourceEventPosition) {
-      LOG.info(LOG_STMT_REPROCESSING_FINISHED, currentEvent.getPosition());
-      onRecovered();
-    } else {
-      actor.submit(this::reprocessNextEvent);
-    }
+    metrics.eventReprocessed(currentEvent.getPosition());
+    actor.submit(this::reprocessNextEvent);
   }
 
   private void onRecovered() {
+    LOG.info(LOG_STMT_REPROCESSING_FINISHED, lastSourceEventPosition);
+    metrics.recoveryFinished(recoveryStartNanos);
+
+    closeScanReader();
     recoveryFuture.complete(null);
     failedEventPositions.clear();
   }
 
+  private void closeScanReader() {
+    if (scanReader != null) {
+      scanReader.close();
+      scanReader = null;
+    }
+  }
+
   private static final class NoopStreamWriter implements TypedStreamWriter {
 
     @Override
@@ -377,6 +398,11 @@ public final class ReProcessingStateMachine {
     @Override
     public void configureSourceContext(long sourceRecordPosition) {}
 
+    @Override
+    public int getBatchLength() {
+      return 0;
+    }
+
     @Override
     public long flush() {
       return 0;
@@ -34,7 +34,9 @@ import io.zeebe.util.LangUtil;
 import io.zeebe.util.ReflectUtil;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
+import io.zeebe.util.sched.ActorPriority;
 import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.SchedulingHints;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.util.Collections;
@@ -67,6 +69,7 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
   private final TypedRecordProcessorFactory typedRecordProcessorFactory;
   private final LogStreamReader logStreamReader;
   private ProcessingStateMachine processingStateMachine;
+  private ReProcessingStateMachine reProcessingStateMachine;
 
   private Phase phase = Phase.REPROCESSING;
 
@@ -117,7 +120,10 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
 
   public ActorFuture<Void> openAsync() {
     if (isOpened.compareAndSet(false, true)) {
-      return actorScheduler.submitActor(this);
+      // pinned to the partition's thread if the scheduler has pinned threads
+      return actorScheduler.submitActor(
+          this,
+          SchedulingHints.pinned(partitionId, SchedulingHints.cpuBound(ActorPriority.REGULAR)));
     } else {
       return CompletableActorFuture.completed(null);
     }
@@ -140,8 +146,7 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
     try {
       processingStateMachine = new ProcessingStateMachine(processingContext, this::isOpened);
 
-      final ReProcessingStateMachine reProcessingStateMachine =
-          new ReProcessingStateMachine(processingContext);
+      reProcessingStateMachine = new ReProcessingStateMachine(processingContext);
 
       final ActorFuture<Void> recoverFuture =
           reProcessingStateMachine.startRecover(snapshotPosition);
@@ -231,6 +236,11 @@ public class StreamProcessor extends Actor implements Service<StreamProcessor> {
   protected void onActorClosing() {
     processingContext.getLogStreamReader().close();
 
+    if (reProcessingStateMachine != null) {
+      // the recovery may be aborted by closing
+      reProcessingStateMachine.close();
+    }
+
     if (onCommitPositionUpdatedCondition != null) {
       logStream.removeOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
       onCommitPositionUpdatedCondition = null;
@@ -82,6 +82,15 @@ public class StreamProcessorBuilder {
     return this;
   }
 
+  /**
+   * @param maxBatchSize the maximum number of events which are processed in one transaction; one
+   *     disables batch processing
+   */
+  public StreamProcessorBuilder maxBatchSize(int maxBatchSize) {
+    processingContext.maxBatchSize(maxBatchSize);
+    return this;
+  }
+
   public StreamProcessorBuilder zeebeDb(final ZeebeDb zeebeDb) {
     this.zeebeDb = zeebeDb;
     return this;
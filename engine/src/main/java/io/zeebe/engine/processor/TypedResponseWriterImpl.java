@@ -22,21 +22,42 @@ import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.RejectionType;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.util.buffer.DirectBufferWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
+/**
+ * Stages the response of the currently processed record. When multiple records are processed in one
+ * batch, the staged response of a record is buffered via {@link #bufferStagedResponse()} before the
+ * next record is processed, and all responses are sent on {@link #flush()}.
+ */
 public class TypedResponseWriterImpl implements TypedResponseWriter, SideEffectProducer {
 
   protected CommandResponseWriter writer;
-  private long requestId;
-  private int requestStreamId;
-
-  private boolean isResponseStaged;
   protected int partitionId;
 
   private final UnsafeBuffer stringWrapper = new UnsafeBuffer(0, 0);
 
+  // staged response of the current record
+  private boolean isResponseStaged;
+  private RecordType recordType;
+  private Intent intent;
+  private long key;
+  private RejectionType rejectionType;
+  private ValueType valueType;
+  private long requestId;
+  private int requestStreamId;
+  private UnpackedObject value;
+
+  // responses of the previous records of the current batch
+  private final List<BufferedResponse> bufferedResponses = new ArrayList<>();
+  private int bufferedResponseCount;
+  private int sentBufferedResponseCount;
+
   public TypedResponseWriterImpl(CommandResponseWriter writer, int partitionId) {
     this.writer = writer;
     this.partitionId = partitionId;
@@ -52,7 +73,6 @@ public class TypedResponseWriterImpl implements TypedResponseWriter, SideEffectP
         command.getIntent(),
         command.getKey(),
         type,
-        stringWrapper,
         command.getValueType(),
         command.getRequestId(),
         command.getRequestStreamId(),
@@ -68,7 +88,6 @@ public class TypedResponseWriterImpl implements TypedResponseWriter, SideEffectP
         event.getIntent(),
         event.getKey(),
         RejectionType.NULL_VAL,
-        stringWrapper,
         event.getValueType(),
         event.getRequestId(),
         event.getRequestStreamId(),
@@ -85,7 +104,6 @@ public class TypedResponseWriterImpl implements TypedResponseWriter, SideEffectP
         eventState,
         eventKey,
         RejectionType.NULL_VAL,
-        stringWrapper,
         command.getValueType(),
         command.getRequestId(),
         command.getRequestStreamId(),
@@ -97,35 +115,164 @@ public class TypedResponseWriterImpl implements TypedResponseWriter, SideEffectP
       Intent intent,
       long key,
       RejectionType rejectionType,
-      DirectBuffer rejectionReason,
       ValueType valueType,
       long requestId,
       int requestStreamId,
       UnpackedObject value) {
+    this.recordType = type;
+    this.intent = intent;
+    this.key = key;
+    this.rejectionType = rejectionType;
+    this.valueType = valueType;
+    this.requestId = requestId;
+    this.requestStreamId = requestStreamId;
+    this.value = value;
+    isResponseStaged = true;
+
+    applyStagedResponse();
+  }
+
+  private void applyStagedResponse() {
     writer
         .partitionId(partitionId)
         .key(key)
         .intent(intent)
-        .recordType(type)
+        .recordType(recordType)
         .valueType(valueType)
         .rejectionType(rejectionType)
-        .rejectionReason(rejectionReason)
+        .rejectionReason(stringWrapper)
         .valueWriter(value);
+  }
 
-    this.requestId = requestId;
-    this.requestStreamId = requestStreamId;
-    isResponseStaged = true;
+  /**
+   * Copies the staged response, so that the next record of the batch can be processed. The value of
+   * the response is serialized, since the record values are reused.
+   */
+  public void bufferStagedResponse() {
+    if (!isResponseStaged) {
+      return;
+    }
+
+    if (bufferedResponseCount == bufferedResponses.size()) {
+      bufferedResponses.add(new BufferedResponse());
+    }
+
+    bufferedResponses
+        .get(bufferedResponseCount)
+        .wrap(
+            recordType,
+            intent,
+            key,
+            rejectionType,
+            stringWrapper,
+            valueType,
+            requestId,
+            requestStreamId,
+            value);
+
+    bufferedResponseCount += 1;
+    isResponseStaged = false;
+  }
+
+  public boolean hasResponses() {
+    return isResponseStaged || bufferedResponseCount > 0;
   }
 
   public void reset() {
     isResponseStaged = false;
+    bufferedResponseCount = 0;
+    sentBufferedResponseCount = 0;
   }
 
+  /**
+   * Sends the buffered responses of the previous records of the batch. Responses which were already
+   * sent are not sent again if this method is retried.
+   *
+   * @return true if all buffered responses are sent
+   */
+  public boolean flushBufferedResponses() {
+    while (sentBufferedResponseCount < bufferedResponseCount) {
+      final BufferedResponse response = bufferedResponses.get(sentBufferedResponseCount);
+      if (!response.tryWrite(writer, partitionId)) {
+        return false;
+      }
+      sentBufferedResponseCount += 1;
+    }
+
+    return true;
+  }
+
+  @Override
   public boolean flush() {
+    if (!flushBufferedResponses()) {
+      return false;
+    }
+
     if (isResponseStaged) {
-      return writer.tryWriteResponse(requestStreamId, requestId);
+      if (bufferedResponseCount > 0) {
+        // the buffered responses have overwritten the staged one
+        applyStagedResponse();
+      }
+
+      isResponseStaged = !writer.tryWriteResponse(requestStreamId, requestId);
+      return !isResponseStaged;
     } else {
       return true;
     }
   }
+
+  private static final class BufferedResponse {
+    private final ExpandableArrayBuffer valueBuffer = new ExpandableArrayBuffer();
+    private final DirectBufferWriter valueWriter = new DirectBufferWriter();
+    private final ExpandableArrayBuffer rejectionReasonBuffer = new ExpandableArrayBuffer();
+    private final UnsafeBuffer rejectionReasonView = new UnsafeBuffer(0, 0);
+
+    private RecordType recordType;
+    private Intent intent;
+    private long key;
+    private RejectionType rejectionType;
+    private ValueType valueType;
+    private long requestId;
+    private int requestStreamId;
+
+    void wrap(
+        RecordType recordType,
+        Intent intent,
+        long key,
+        RejectionType rejectionType,
+        DirectBuffer rejectionReason,
+        ValueType valueType,
+        long requestId,
+        int requestStreamId,
+        UnpackedObject value) {
+      this.recordType = recordType;
+      this.intent = intent;
+      this.key = key;
+      this.rejectionType = rejectionType;
+      this.valueType = valueType;
+      this.requestId = requestId;
+      this.requestStreamId = requestStreamId;
+
+      final int reasonLength = rejectionReason.capacity();
+      rejectionReasonBuffer.putBytes(0, rejectionReason, 0, reasonLength);
+      rejectionReasonView.wrap(rejectionReasonBuffer, 0, reasonLength);
+
+      final int valueLength = value.getLength();
+      value.write(valueBuffer, 0);
+      valueWriter.wrap(valueBuffer, 0, valueLength);
+    }
+
+    boolean tryWrite(CommandResponseWriter writer, int partitionId) {
+      return writer
+          .partitionId(partitionId)
+          .key(key)
+          .intent(intent)
+          .recordType(recordType)
+          .valueType(valueType)
+          .rejectionType(rejectionType)
+          .rejectionReason(rejectionReasonView)
+          .valueWriter(valueWriter)
+          .tryWriteResponse(requestStreamId, requestId);
+    }
+  }
 }
@@ -42,4 +42,7 @@ public interface TypedStreamWriter extends TypedCommandWriter {
       long key, Intent intent, UnpackedObject value, Consumer<RecordMetadata> metadata);
 
   void configureSourceContext(long sourceRecordPosition);
+
+  /** @return the length of the records which are appended but not flushed yet */
+  int getBatchLength();
 }
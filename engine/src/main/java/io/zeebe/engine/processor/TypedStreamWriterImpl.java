@@ -80,4 +80,9 @@ public class TypedStreamWriterImpl extends TypedCommandWriterImpl implements Typ
         command.getValue(),
         metadata);
   }
+
+  @Override
+  public int getBatchLength() {
+    return batchWriter.getBatchLength();
+  }
 }
@@ -0,0 +1,197 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow;
+
+import io.zeebe.engine.processor.TypedStreamWriter;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ScheduledTimer;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.time.Duration;
+
+/**
+ * A pass over entries which are ordered by deadline and key, e.g. the deadlines of jobs or of
+ * messages, that writes a command for every entry whose deadline has passed.
+ *
+ * <p>The pass is split into steps. Each step writes the commands of at most {@link
+ * #MAX_ENTRIES_PER_STEP} entries, in batches which fit into the log stream. If more entries are
+ * due, the pass remembers the next entry and continues there after {@link #STEP_INTERVAL}, so that
+ * the processing is not blocked by a burst of due entries. A batch which could not be written is
+ * retried on the next step.
+ *
+ * <p>The due entries are not counted upfront, since this would mean to visit all of them at once.
+ * Instead, each step counts the remaining entries from where the pass continues, but at most
+ * {@link #MAX_BACKLOG_LOOKAHEAD}.
+ */
+public final class DeadlineSweep {
+
+  public static final Duration STEP_INTERVAL = Duration.ofMillis(100);
+  public static final int MAX_ENTRIES_PER_STEP = 1_000;
+  public static final int MAX_BACKLOG_LOOKAHEAD = 10 * MAX_ENTRIES_PER_STEP;
+
+  private final ActorControl actor;
+  private final TypedStreamWriter writer;
+  private final int maxBatchLength;
+  private final int maxEntriesPerStep;
+  private final DueEntries dueEntries;
+
+  private ScheduledTimer scheduledStep;
+
+  // the pass which is in progress
+  private boolean sweeping;
+  private long upperBound;
+  private long nextDeadline;
+  private long nextKey;
+
+  // the batch which is currently written
+  private int batchEntryCount;
+  private int batchMaxEntries;
+  private boolean hasMoreEntries;
+  private long batchNextDeadline;
+  private long batchNextKey;
+
+  public DeadlineSweep(
+      final ActorControl actor,
+      final TypedStreamWriter writer,
+      final int maxBatchLength,
+      final DueEntries dueEntries) {
+    this(actor, writer, maxBatchLength, MAX_ENTRIES_PER_STEP, dueEntries);
+  }
+
+  public DeadlineSweep(
+      final ActorControl actor,
+      final TypedStreamWriter writer,
+      final int maxBatchLength,
+      final int maxEntriesPerStep,
+      final DueEntries dueEntries) {
+    this.actor = actor;
+    this.writer = writer;
+    this.maxBatchLength = maxBatchLength;
+    this.maxEntriesPerStep = maxEntriesPerStep;
+    this.dueEntries = dueEntries;
+  }
+
+  /** Starts a new pass over the entries which are due now, unless a pass is in progress. */
+  public void start() {
+    if (sweeping) {
+      return;
+    }
+
+    sweeping = true;
+    upperBound = ActorClock.currentTimeMillis();
+    nextDeadline = 0;
+    nextKey = 0;
+
+    step();
+  }
+
+  public void close() {
+    if (scheduledStep != null) {
+      scheduledStep.cancel();
+      scheduledStep = null;
+    }
+    sweeping = false;
+  }
+
+  /**
+   * Must be called by {@link DueEntries#visitDueEntries(long, long, long, DeadlineSweep)} before
+   * the command of the visited entry is appended.
+   *
+   * @return true if the command of the entry can be appended to the current batch, false if the
+   *     visit must stop, the entry is then the first one of the next batch
+   */
+  public boolean tryAppend(final long deadline, final long key) {
+    if (batchEntryCount >= batchMaxEntries || writer.getBatchLength() >= maxBatchLength) {
+      batchNextDeadline = deadline;
+      batchNextKey = key;
+      hasMoreEntries = true;
+      return false;
+    }
+
+    batchEntryCount += 1;
+    return true;
+  }
+
+  private void step() {
+    scheduledStep = null;
+
+    int remainingEntries = maxEntriesPerStep;
+    while (sweeping && remainingEntries > 0) {
+      final int writtenEntries = writeBatch(remainingEntries);
+      if (writtenEntries < 0) {
+        // the log stream can't take more commands at the moment, retry on the next step
+        break;
+      }
+      remainingEntries -= writtenEntries;
+    }
+
+    if (sweeping) {
+      dueEntries.onBacklog(
+          dueEntries.countDueEntries(upperBound, nextDeadline, nextKey, MAX_BACKLOG_LOOKAHEAD));
+      scheduledStep = actor.runDelayed(STEP_INTERVAL, this::step);
+    } else {
+      dueEntries.onBacklog(0);
+    }
+  }
+
+  /** @return the number of written entries, or -1 if the batch could not be written */
+  private int writeBatch(final int maxEntries) {
+    writer.reset();
+    batchEntryCount = 0;
+    batchMaxEntries = maxEntries;
+    hasMoreEntries = false;
+
+    dueEntries.visitDueEntries(upperBound, nextDeadline, nextKey, this);
+
+    if (batchEntryCount > 0 && writer.flush() < 0) {
+      writer.reset();
+      return -1;
+    }
+
+    dueEntries.onBatchWritten(batchEntryCount);
+
+    if (hasMoreEntries) {
+      nextDeadline = batchNextDeadline;
+      nextKey = batchNextKey;
+    } else {
+      sweeping = false;
+    }
+    return batchEntryCount;
+  }
+
+  /** The entries of a sweep, ordered by deadline and key. */
+  public interface DueEntries {
+
+    /**
+     * Visits the entries which are due at the given upper bound, ordered by deadline and key,
+     * starting at the entry with the given deadline and key. The entry at the start doesn't need to
+     * exist, so the visit can be resumed after the visited entries were removed. For each entry,
+     * {@link DeadlineSweep#tryAppend(long, long)} is called before its command is appended to the
+     * writer of the sweep.
+     */
+    void visitDueEntries(long upperBound, long startDeadline, long startKey, DeadlineSweep sweep);
+
+    /** @return the number of due entries from the given start, but at most the given limit */
+    int countDueEntries(long upperBound, long startDeadline, long startKey, int limit);
+
+    /** Called when the commands of the given number of entries are written. */
+    default void onBatchWritten(int entryCount) {}
+
+    /** Called after each step with the number of due entries left, counted up to a limit. */
+    void onBacklog(int backlog);
+  }
+}
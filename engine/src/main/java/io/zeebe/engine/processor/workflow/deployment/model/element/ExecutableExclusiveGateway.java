@@ -17,6 +17,7 @@
  */
 package io.zeebe.engine.processor.workflow.deployment.model.element;
 
+import io.zeebe.msgpack.el.CompiledJsonConditions;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,6 +26,7 @@ public class ExecutableExclusiveGateway extends ExecutableFlowNode {
   private ExecutableSequenceFlow defaultFlow;
 
   private final List<ExecutableSequenceFlow> outgoingWithCondition = new ArrayList<>();
+  private CompiledJsonConditions outgoingConditions;
 
   public ExecutableExclusiveGateway(String id) {
     super(id);
@@ -49,4 +51,13 @@ public class ExecutableExclusiveGateway extends ExecutableFlowNode {
   public List<ExecutableSequenceFlow> getOutgoingWithCondition() {
     return outgoingWithCondition;
   }
+
+  /** @return the conditions of {@link #getOutgoingWithCondition()}, compiled in the same order */
+  public CompiledJsonConditions getOutgoingConditions() {
+    return outgoingConditions;
+  }
+
+  public void setOutgoingConditions(CompiledJsonConditions outgoingConditions) {
+    this.outgoingConditions = outgoingConditions;
+  }
 }
@@ -18,6 +18,7 @@
 package io.zeebe.engine.processor.workflow.deployment.model.element;
 
 import io.zeebe.msgpack.mapping.Mapping;
+import io.zeebe.msgpack.mapping.MappingPlan;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -29,6 +30,9 @@ public class ExecutableFlowNode extends AbstractFlowElement {
   private Mapping[] inputMappings = new Mapping[0];
   private Mapping[] outputMappings = new Mapping[0];
 
+  private MappingPlan inputMappingPlan;
+  private MappingPlan outputMappingPlan;
+
   public ExecutableFlowNode(String id) {
     super(id);
   }
@@ -64,4 +68,20 @@ public class ExecutableFlowNode extends AbstractFlowElement {
   public Mapping[] getOutputMappings() {
     return outputMappings;
   }
+
+  public MappingPlan getInputMappingPlan() {
+    return inputMappingPlan;
+  }
+
+  public void setInputMappingPlan(MappingPlan inputMappingPlan) {
+    this.inputMappingPlan = inputMappingPlan;
+  }
+
+  public MappingPlan getOutputMappingPlan() {
+    return outputMappingPlan;
+  }
+
+  public void setOutputMappingPlan(MappingPlan outputMappingPlan) {
+    this.outputMappingPlan = outputMappingPlan;
+  }
 }
@@ -25,8 +25,12 @@ import io.zeebe.engine.processor.workflow.deployment.model.transformation.ModelE
 import io.zeebe.engine.processor.workflow.deployment.model.transformation.TransformContext;
 import io.zeebe.model.bpmn.instance.ExclusiveGateway;
 import io.zeebe.model.bpmn.instance.SequenceFlow;
+import io.zeebe.msgpack.el.CompiledJsonCondition;
+import io.zeebe.msgpack.el.JsonConditionFactory;
 import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 public class ExclusiveGatewayTransformer implements ModelElementTransformer<ExclusiveGateway> {
 
@@ -42,9 +46,21 @@ public class ExclusiveGatewayTransformer implements ModelElementTransformer<Excl
         workflow.getElementById(element.getId(), ExecutableExclusiveGateway.class);
 
     transformDefaultFlow(element, workflow, gateway);
+    compileConditions(gateway);
     bindLifecycle(gateway);
   }
 
+  private void compileConditions(final ExecutableExclusiveGateway gateway) {
+    final List<CompiledJsonCondition> conditions =
+        gateway.getOutgoingWithCondition().stream()
+            .map(ExecutableSequenceFlow::getCondition)
+            .collect(Collectors.toList());
+
+    if (!conditions.isEmpty()) {
+      gateway.setOutgoingConditions(JsonConditionFactory.createConditions(conditions));
+    }
+  }
+
   private void bindLifecycle(final ExecutableExclusiveGateway gateway) {
     final Collection<ExecutableSequenceFlow> outgoingFlows = gateway.getOutgoing();
     final boolean hasNoOutgoingFlows = outgoingFlows.size() == 0;
@@ -28,6 +28,7 @@ import io.zeebe.model.bpmn.instance.zeebe.ZeebeIoMapping;
 import io.zeebe.model.bpmn.instance.zeebe.ZeebeOutput;
 import io.zeebe.msgpack.mapping.Mapping;
 import io.zeebe.msgpack.mapping.MappingBuilder;
+import io.zeebe.msgpack.mapping.MappingPlan;
 import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
 import java.util.Collection;
 
@@ -82,6 +83,14 @@ public class FlowNodeTransformer implements ModelElementTransformer<FlowNode> {
 
       flowNode.setInputMappings(inputMappings);
       flowNode.setOutputMappings(outputMappings);
+
+      // the plans are compiled once per deployment and replace the merge tree on every mapping
+      if (inputMappings.length > 0) {
+        flowNode.setInputMappingPlan(MappingPlan.compile(inputMappings));
+      }
+      if (outputMappings.length > 0) {
+        flowNode.setOutputMappingPlan(MappingPlan.compile(outputMappings));
+      }
     }
   }
 }
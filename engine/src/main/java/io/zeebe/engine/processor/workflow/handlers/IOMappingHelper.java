@@ -23,12 +23,14 @@ import io.zeebe.engine.state.instance.VariablesState;
 import io.zeebe.msgpack.mapping.Mapping;
 import io.zeebe.msgpack.mapping.MsgPackMergeTool;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 import org.agrona.DirectBuffer;
 
 public class IOMappingHelper {
 
+  private final List<DirectBuffer> variableNames = new ArrayList<>();
+
   public <T extends ExecutableFlowNode> void applyOutputMappings(BpmnStepContext<T> context) {
     final VariablesState variablesState = context.getElementInstanceState().getVariablesState();
     final MsgPackMergeTool mergeTool = context.getMergeTool();
@@ -56,13 +58,11 @@ public class IOMappingHelper {
     }
 
     if (hasOutputMappings) {
-      mergeTool.reset();
-
       final DirectBuffer variables =
           determineVariables(variablesState, elementInstanceKey, outputMappings);
 
-      mergeTool.mergeDocumentStrictly(variables, outputMappings);
-      final DirectBuffer mergedVariables = mergeTool.writeResultToBuffer();
+      final DirectBuffer mergedVariables =
+          mergeTool.mapDocumentStrictly(variables, element.getOutputMappingPlan());
 
       variablesState.setVariablesFromDocument(flowScopeKey, workflowKey, mergedVariables);
     }
@@ -75,14 +75,12 @@ public class IOMappingHelper {
     final Mapping[] mappings = element.getInputMappings();
 
     if (mappings.length > 0) {
-      mergeTool.reset();
-
       final VariablesState variablesState = context.getElementInstanceState().getVariablesState();
       final DirectBuffer scopeVariables =
           determineVariables(variablesState, context.getFlowScopeInstance().getKey(), mappings);
 
-      mergeTool.mergeDocumentStrictly(scopeVariables, mappings);
-      final DirectBuffer mappedVariables = mergeTool.writeResultToBuffer();
+      final DirectBuffer mappedVariables =
+          mergeTool.mapDocumentStrictly(scopeVariables, element.getInputMappingPlan());
 
       final long scopeKey = context.getKey();
       final long workflowKey = context.getValue().getWorkflowKey();
@@ -95,7 +93,8 @@ public class IOMappingHelper {
 
   private DirectBuffer determineVariables(
       VariablesState variablesState, long elementInstanceKey, Mapping[] outputMappings) {
-    final Set<DirectBuffer> variableNames = new HashSet<>();
+    // duplicated names are ignored when the variables are collected
+    variableNames.clear();
     for (Mapping m : outputMappings) {
       variableNames.add(m.getSource().getVariableName());
     }
@@ -21,16 +21,13 @@ import io.zeebe.engine.processor.workflow.BpmnStepContext;
 import io.zeebe.engine.processor.workflow.deployment.model.element.ExecutableExclusiveGateway;
 import io.zeebe.engine.processor.workflow.deployment.model.element.ExecutableSequenceFlow;
 import io.zeebe.engine.processor.workflow.handlers.element.ElementActivatingHandler;
-import io.zeebe.msgpack.el.CompiledJsonCondition;
+import io.zeebe.msgpack.el.CompiledJsonConditions;
 import io.zeebe.msgpack.el.JsonConditionException;
 import io.zeebe.msgpack.el.JsonConditionInterpreter;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
 import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
 import io.zeebe.protocol.record.value.BpmnElementType;
 import io.zeebe.protocol.record.value.ErrorType;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 import org.agrona.DirectBuffer;
 
 public class ExclusiveGatewayElementActivatingHandler<T extends ExecutableExclusiveGateway>
@@ -57,15 +54,22 @@ public class ExclusiveGatewayElementActivatingHandler<T extends ExecutableExclus
 
     final WorkflowInstanceRecord value = context.getValue();
 
-    final ExecutableSequenceFlow sequenceFlow;
-    try {
-      final ExecutableExclusiveGateway exclusiveGateway = context.getElement();
-      final DirectBuffer variables = determineVariables(context, exclusiveGateway);
-
-      sequenceFlow = getSequenceFlowWithFulfilledCondition(exclusiveGateway, variables);
-    } catch (JsonConditionException e) {
-      context.raiseIncident(ErrorType.CONDITION_ERROR, e.getMessage());
-      return false;
+    final ExecutableExclusiveGateway exclusiveGateway = context.getElement();
+    final CompiledJsonConditions conditions = exclusiveGateway.getOutgoingConditions();
+
+    ExecutableSequenceFlow sequenceFlow = exclusiveGateway.getDefaultFlow();
+    if (conditions != null) {
+      try {
+        final DirectBuffer variables = determineVariables(context, conditions);
+        final int fulfilledCondition = interpreter.evalFirstFulfilled(conditions, variables);
+
+        if (fulfilledCondition >= 0) {
+          sequenceFlow = exclusiveGateway.getOutgoingWithCondition().get(fulfilledCondition);
+        }
+      } catch (JsonConditionException e) {
+        context.raiseIncident(ErrorType.CONDITION_ERROR, e.getMessage());
+        return false;
+      }
     }
 
     if (sequenceFlow == null) {
@@ -78,20 +82,11 @@ public class ExclusiveGatewayElementActivatingHandler<T extends ExecutableExclus
   }
 
   private DirectBuffer determineVariables(
-      BpmnStepContext<T> context, ExecutableExclusiveGateway exclusiveGateway) {
-    final List<ExecutableSequenceFlow> sequenceFlows = exclusiveGateway.getOutgoingWithCondition();
-
-    final Set<DirectBuffer> actualNeededVariables = new HashSet<>();
-    for (final ExecutableSequenceFlow seqFlow : sequenceFlows) {
-      final CompiledJsonCondition compiledCondition = seqFlow.getCondition();
-      final Set<DirectBuffer> variableNames = compiledCondition.getVariableNames();
-      actualNeededVariables.addAll(variableNames);
-    }
-
+      BpmnStepContext<T> context, CompiledJsonConditions conditions) {
     return context
         .getElementInstanceState()
         .getVariablesState()
-        .getVariablesAsDocument(context.getKey(), actualNeededVariables);
+        .getVariablesAsDocument(context.getKey(), conditions.getVariableNames());
   }
 
   private void deferSequenceFlowTaken(
@@ -106,20 +101,4 @@ public class ExclusiveGatewayElementActivatingHandler<T extends ExecutableExclus
         .getOutput()
         .deferRecord(context.getKey(), record, WorkflowInstanceIntent.SEQUENCE_FLOW_TAKEN);
   }
-
-  private ExecutableSequenceFlow getSequenceFlowWithFulfilledCondition(
-      ExecutableExclusiveGateway exclusiveGateway, DirectBuffer variables) {
-    final List<ExecutableSequenceFlow> sequenceFlows = exclusiveGateway.getOutgoingWithCondition();
-
-    for (final ExecutableSequenceFlow sequenceFlow : sequenceFlows) {
-      final CompiledJsonCondition compiledCondition = sequenceFlow.getCondition();
-      final boolean isFulFilled = interpreter.eval(compiledCondition, variables);
-
-      if (isFulFilled) {
-        return sequenceFlow;
-      }
-    }
-
-    return exclusiveGateway.getDefaultFlow();
-  }
 }
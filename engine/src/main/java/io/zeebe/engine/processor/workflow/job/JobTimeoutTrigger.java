@@ -17,23 +17,34 @@
  */
 package io.zeebe.engine.processor.workflow.job;
 
-import static io.zeebe.util.sched.clock.ActorClock.currentTimeMillis;
-
+import io.zeebe.engine.metrics.JobMetrics;
 import io.zeebe.engine.processor.ReadonlyProcessingContext;
 import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
-import io.zeebe.engine.processor.TypedCommandWriter;
+import io.zeebe.engine.processor.TypedStreamWriter;
+import io.zeebe.engine.processor.workflow.DeadlineSweep;
+import io.zeebe.engine.processor.workflow.DeadlineSweep.DueEntries;
 import io.zeebe.engine.state.instance.JobState;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.JobIntent;
+import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ScheduledTimer;
 import java.time.Duration;
 
-public class JobTimeoutTrigger implements StreamProcessorLifecycleAware {
+/**
+ * Writes a time out command for every activated job whose deadline has passed. Every {@link
+ * #TIME_OUT_POLLING_INTERVAL}, a {@link DeadlineSweep} over the job deadlines is started.
+ */
+public class JobTimeoutTrigger implements StreamProcessorLifecycleAware, DueEntries {
   public static final Duration TIME_OUT_POLLING_INTERVAL = Duration.ofSeconds(30);
+
   private final JobState state;
 
   private ScheduledTimer timer;
-  private TypedCommandWriter writer;
+  private TypedStreamWriter writer;
+  private JobMetrics metrics;
+  private DeadlineSweep sweep;
 
   public JobTimeoutTrigger(final JobState state) {
     this.state = state;
@@ -41,11 +52,14 @@ public class JobTimeoutTrigger implements StreamProcessorLifecycleAware {
 
   @Override
   public void onRecovered(final ReadonlyProcessingContext processingContext) {
-    timer =
-        processingContext
-            .getActor()
-            .runAtFixedRate(TIME_OUT_POLLING_INTERVAL, this::deactivateTimedOutJobs);
+    final LogStream logStream = processingContext.getLogStream();
+    final ActorControl actor = processingContext.getActor();
+    metrics = new JobMetrics(logStream.getPartitionId());
     writer = processingContext.getLogStreamWriter();
+
+    final int maxBatchLength = logStream.getWriteBuffer().getMaxFrameLength() / 2;
+    sweep = new DeadlineSweep(actor, writer, maxBatchLength, this);
+    timer = actor.runAtFixedRate(TIME_OUT_POLLING_INTERVAL, this::deactivateTimedOutJobs);
   }
 
   @Override
@@ -54,21 +68,48 @@ public class JobTimeoutTrigger implements StreamProcessorLifecycleAware {
       timer.cancel();
       timer = null;
     }
+    if (sweep != null) {
+      sweep.close();
+    }
   }
 
   void deactivateTimedOutJobs() {
-    final long now = currentTimeMillis();
+    sweep.start();
+  }
+
+  @Override
+  public void visitDueEntries(
+      final long upperBound,
+      final long startDeadline,
+      final long startKey,
+      final DeadlineSweep sweep) {
     state.forEachTimedOutEntry(
-        now,
+        upperBound,
+        startDeadline,
+        startKey,
         (key, record) -> {
-          writer.appendFollowUpCommand(
-              key, JobIntent.TIME_OUT, record, (m) -> m.valueType(ValueType.JOB));
-
-          final boolean flushed = writer.flush() >= 0;
-          if (!flushed) {
-            writer.reset();
+          if (!sweep.tryAppend(record.getDeadline(), key)) {
+            return false;
           }
-          return flushed;
+
+          appendTimeOutCommand(key, record);
+          return true;
         });
   }
+
+  @Override
+  public int countDueEntries(
+      final long upperBound, final long startDeadline, final long startKey, final int limit) {
+    return state.countTimedOutEntries(upperBound, startDeadline, startKey, limit);
+  }
+
+  @Override
+  public void onBacklog(final int backlog) {
+    metrics.timedOutJobsBacklog(backlog);
+  }
+
+  private void appendTimeOutCommand(final long key, final JobRecord record) {
+    writer.appendFollowUpCommand(
+        key, JobIntent.TIME_OUT, record, (m) -> m.valueType(ValueType.JOB));
+  }
 }
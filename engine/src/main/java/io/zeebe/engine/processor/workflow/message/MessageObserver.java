@@ -17,12 +17,14 @@
  */
 package io.zeebe.engine.processor.workflow.message;
 
+import io.zeebe.engine.metrics.MessageMetrics;
 import io.zeebe.engine.processor.ReadonlyProcessingContext;
 import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
 import io.zeebe.engine.processor.TypedStreamWriterImpl;
 import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandSender;
 import io.zeebe.engine.state.message.MessageState;
 import io.zeebe.engine.state.message.MessageSubscriptionState;
+import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.util.sched.ActorControl;
 import java.time.Duration;
 
@@ -37,6 +39,8 @@ public class MessageObserver implements StreamProcessorLifecycleAware {
   private final MessageState messageState;
   private final MessageSubscriptionState subscriptionState;
 
+  private MessageTimeToLiveChecker timeToLiveChecker;
+
   public MessageObserver(
       MessageState messageState,
       MessageSubscriptionState subscriptionState,
@@ -51,17 +55,27 @@ public class MessageObserver implements StreamProcessorLifecycleAware {
 
     final ActorControl actor = processingContext.getActor();
 
-    final TypedStreamWriterImpl typedStreamWriter =
-        new TypedStreamWriterImpl(processingContext.getLogStream());
-    final MessageTimeToLiveChecker timeToLiveChecker =
-        new MessageTimeToLiveChecker(typedStreamWriter, messageState);
-    processingContext
-        .getActor()
-        .runAtFixedRate(MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL, timeToLiveChecker);
+    final LogStream logStream = processingContext.getLogStream();
+    final TypedStreamWriterImpl typedStreamWriter = new TypedStreamWriterImpl(logStream);
+    timeToLiveChecker =
+        new MessageTimeToLiveChecker(
+            actor,
+            typedStreamWriter,
+            messageState,
+            logStream.getWriteBuffer().getMaxFrameLength() / 2,
+            new MessageMetrics(logStream.getPartitionId()));
+    actor.runAtFixedRate(MESSAGE_TIME_TO_LIVE_CHECK_INTERVAL, timeToLiveChecker);
 
     final PendingMessageSubscriptionChecker pendingSubscriptionChecker =
         new PendingMessageSubscriptionChecker(
             subscriptionCommandSender, subscriptionState, SUBSCRIPTION_TIMEOUT.toMillis());
     actor.runAtFixedRate(SUBSCRIPTION_CHECK_INTERVAL, pendingSubscriptionChecker);
   }
+
+  @Override
+  public void onClose() {
+    if (timeToLiveChecker != null) {
+      timeToLiveChecker.close();
+    }
+  }
 }
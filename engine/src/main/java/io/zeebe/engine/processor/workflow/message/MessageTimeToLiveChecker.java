@@ -17,33 +17,88 @@
  */
 package io.zeebe.engine.processor.workflow.message;
 
-import io.zeebe.engine.processor.TypedCommandWriter;
+import io.zeebe.engine.metrics.MessageMetrics;
+import io.zeebe.engine.processor.TypedStreamWriter;
+import io.zeebe.engine.processor.workflow.DeadlineSweep;
+import io.zeebe.engine.processor.workflow.DeadlineSweep.DueEntries;
 import io.zeebe.engine.state.message.Message;
 import io.zeebe.engine.state.message.MessageState;
 import io.zeebe.protocol.impl.record.value.message.MessageRecord;
 import io.zeebe.protocol.record.intent.MessageIntent;
-import io.zeebe.util.sched.clock.ActorClock;
+import io.zeebe.util.sched.ActorControl;
 
-public class MessageTimeToLiveChecker implements Runnable {
+/**
+ * Writes a delete command for every message whose time to live is expired. Each run starts a
+ * {@link DeadlineSweep} over the message deadlines.
+ */
+public class MessageTimeToLiveChecker implements Runnable, DueEntries {
 
-  private final TypedCommandWriter writer;
+  private final TypedStreamWriter writer;
   private final MessageState messageState;
+  private final MessageMetrics metrics;
+  private final DeadlineSweep sweep;
 
   private final MessageRecord deleteMessageCommand = new MessageRecord();
 
   public MessageTimeToLiveChecker(
-      final TypedCommandWriter writer, final MessageState messageState) {
+      final ActorControl actor,
+      final TypedStreamWriter writer,
+      final MessageState messageState,
+      final int maxBatchLength,
+      final MessageMetrics metrics) {
     this.writer = writer;
     this.messageState = messageState;
+    this.metrics = metrics;
+    this.sweep = new DeadlineSweep(actor, writer, maxBatchLength, this);
   }
 
   @Override
   public void run() {
+    sweep.start();
+  }
+
+  public void close() {
+    sweep.close();
+  }
+
+  @Override
+  public void visitDueEntries(
+      final long upperBound,
+      final long startDeadline,
+      final long startKey,
+      final DeadlineSweep sweep) {
     messageState.visitMessagesWithDeadlineBefore(
-        ActorClock.currentTimeMillis(), this::writeDeleteMessageCommand);
+        upperBound,
+        startDeadline,
+        startKey,
+        message -> {
+          if (!sweep.tryAppend(message.getDeadline(), message.getKey())) {
+            return false;
+          }
+
+          appendDeleteMessageCommand(message);
+          return true;
+        });
   }
 
-  private boolean writeDeleteMessageCommand(final Message message) {
+  @Override
+  public int countDueEntries(
+      final long upperBound, final long startDeadline, final long startKey, final int limit) {
+    return messageState.countMessagesWithDeadlineBefore(
+        upperBound, startDeadline, startKey, limit);
+  }
+
+  @Override
+  public void onBatchWritten(final int entryCount) {
+    metrics.messagesExpired(entryCount);
+  }
+
+  @Override
+  public void onBacklog(final int backlog) {
+    metrics.expiredMessagesBacklog(backlog);
+  }
+
+  private void appendDeleteMessageCommand(final Message message) {
     deleteMessageCommand.reset();
     deleteMessageCommand
         .setName(message.getName())
@@ -56,8 +111,5 @@ public class MessageTimeToLiveChecker implements Runnable {
     }
 
     writer.appendFollowUpCommand(message.getKey(), MessageIntent.DELETE, deleteMessageCommand);
-
-    final long position = writer.flush();
-    return position > 0;
   }
 }
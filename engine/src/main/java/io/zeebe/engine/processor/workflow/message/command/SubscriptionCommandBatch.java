@@ -0,0 +1,125 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message.command;
+
+import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandBatchDecoder.CommandsDecoder;
+import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandBatchEncoder.CommandsEncoder;
+import io.zeebe.engine.util.SbeBufferWriterReader;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.IntArrayList;
+
+/** Multiple subscription commands which are sent to the same partition as one message. */
+public class SubscriptionCommandBatch
+    extends SbeBufferWriterReader<
+        SubscriptionCommandBatchEncoder, SubscriptionCommandBatchDecoder> {
+
+  private final SubscriptionCommandBatchEncoder encoder = new SubscriptionCommandBatchEncoder();
+  private final SubscriptionCommandBatchDecoder decoder = new SubscriptionCommandBatchDecoder();
+
+  private final ExpandableArrayBuffer commandsBuffer = new ExpandableArrayBuffer();
+  private final IntArrayList commandOffsets = new IntArrayList();
+  private final IntArrayList commandLengths = new IntArrayList();
+
+  // the added commands, or the wrapped batch
+  private DirectBuffer commands = commandsBuffer;
+  private int commandsLength;
+
+  @Override
+  protected SubscriptionCommandBatchEncoder getBodyEncoder() {
+    return encoder;
+  }
+
+  @Override
+  protected SubscriptionCommandBatchDecoder getBodyDecoder() {
+    return decoder;
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    super.write(buffer, offset);
+
+    final int commandCount = getCommandCount();
+    final CommandsEncoder commandsEncoder = encoder.commandsCount(commandCount);
+    for (int i = 0; i < commandCount; i++) {
+      commandsEncoder
+          .next()
+          .putCommand(commands, commandOffsets.getInt(i), commandLengths.getInt(i));
+    }
+  }
+
+  @Override
+  public void wrap(DirectBuffer buffer, int offset, int length) {
+    super.wrap(buffer, offset, length);
+
+    commands = buffer;
+    for (final CommandsDecoder commandsDecoder : decoder.commands()) {
+      final int commandOffset = decoder.limit() + CommandsDecoder.commandHeaderLength();
+      final int commandLength = commandsDecoder.commandLength();
+
+      commandOffsets.addInt(commandOffset);
+      commandLengths.addInt(commandLength);
+      decoder.limit(commandOffset + commandLength);
+    }
+  }
+
+  @Override
+  public void reset() {
+    commands = commandsBuffer;
+    commandsLength = 0;
+    commandOffsets.clear();
+    commandLengths.clear();
+  }
+
+  @Override
+  public int getLength() {
+    return super.getLength()
+        + CommandsEncoder.sbeHeaderSize()
+        + getCommandCount() * CommandsEncoder.commandHeaderLength()
+        + commandsLength;
+  }
+
+  /** Returns the length of the batch after the given command was added. */
+  public int getLengthWith(BufferWriter command) {
+    return getLength() + CommandsEncoder.commandHeaderLength() + command.getLength();
+  }
+
+  public void addCommand(BufferWriter command) {
+    final int commandLength = command.getLength();
+    commandsBuffer.checkLimit(commandsLength + commandLength);
+    command.write(commandsBuffer, commandsLength);
+
+    commandOffsets.addInt(commandsLength);
+    commandLengths.addInt(commandLength);
+    commandsLength += commandLength;
+  }
+
+  public int getCommandCount() {
+    return commandOffsets.size();
+  }
+
+  public boolean isEmpty() {
+    return commandOffsets.isEmpty();
+  }
+
+  public void wrapCommand(int index, DirectBuffer view) {
+    view.wrap(commands, commandOffsets.getInt(index), commandLengths.getInt(index));
+  }
+}
@@ -18,8 +18,8 @@
 package io.zeebe.engine.processor.workflow.message.command;
 
 import io.zeebe.logstreams.log.LogStream;
-import io.zeebe.logstreams.log.LogStreamRecordWriter;
-import io.zeebe.logstreams.log.LogStreamWriterImpl;
+import io.zeebe.logstreams.log.LogStreamBatchWriter;
+import io.zeebe.logstreams.log.LogStreamBatchWriterImpl;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.impl.record.RecordMetadata;
@@ -36,11 +36,18 @@ import java.util.function.Function;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
+/**
+ * Writes the received subscription commands to the log. A message contains either a single command
+ * or a {@link SubscriptionCommandBatch}, whose commands are written as one log batch.
+ */
 public class SubscriptionCommandMessageHandler
     implements Function<byte[], CompletableFuture<Void>> {
 
   private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
 
+  private final SubscriptionCommandBatch commandBatch = new SubscriptionCommandBatch();
+  private final DirectBuffer commandView = new UnsafeBuffer(0, 0);
+
   private final OpenMessageSubscriptionCommand openMessageSubscriptionCommand =
       new OpenMessageSubscriptionCommand();
 
@@ -63,7 +70,8 @@ public class SubscriptionCommandMessageHandler
   private final RejectCorrelateMessageSubscriptionCommand resetMessageCorrelationCommand =
       new RejectCorrelateMessageSubscriptionCommand();
 
-  private final LogStreamRecordWriter logStreamWriter = new LogStreamWriterImpl();
+  private LogStreamBatchWriter logStreamWriter;
+  private LogStream batchLogStream;
   private final RecordMetadata recordMetadata = new RecordMetadata();
 
   private final MessageSubscriptionRecord messageSubscriptionRecord =
@@ -77,8 +85,16 @@ public class SubscriptionCommandMessageHandler
 
   public SubscriptionCommandMessageHandler(
       Consumer<Runnable> enviromentToRun, Function<Integer, LogStream> logstreamSupplier) {
+    this(enviromentToRun, logstreamSupplier, null);
+  }
+
+  SubscriptionCommandMessageHandler(
+      Consumer<Runnable> enviromentToRun,
+      Function<Integer, LogStream> logstreamSupplier,
+      LogStreamBatchWriter logStreamWriter) {
     this.enviromentToRun = enviromentToRun;
     this.logstreamSupplier = logstreamSupplier;
+    this.logStreamWriter = logStreamWriter;
   }
 
   @Override
@@ -87,44 +103,57 @@ public class SubscriptionCommandMessageHandler
     enviromentToRun.accept(
         () -> {
           final DirectBuffer buffer = new UnsafeBuffer(bytes);
-          final int offset = 0;
-          final int length = buffer.capacity();
-          messageHeaderDecoder.wrap(buffer, offset);
-
-          if (messageHeaderDecoder.schemaId() == OpenMessageSubscriptionDecoder.SCHEMA_ID) {
-
-            switch (messageHeaderDecoder.templateId()) {
-              case OpenMessageSubscriptionDecoder.TEMPLATE_ID:
-                onOpenMessageSubscription(buffer, offset, length);
-                break;
-              case OpenWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onOpenWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              case CorrelateWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onCorrelateWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              case CorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
-                onCorrelateMessageSubscription(buffer, offset, length);
-                break;
-              case CloseMessageSubscriptionDecoder.TEMPLATE_ID:
-                onCloseMessageSubscription(buffer, offset, length);
-                break;
-              case CloseWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onCloseWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              case RejectCorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
-                onRejectCorrelateMessageSubscription(buffer, offset, length);
-                break;
-              default:
-                break;
+
+          if (commandBatch.tryWrap(buffer)) {
+            commandBatch.wrap(buffer);
+            for (int i = 0; i < commandBatch.getCommandCount(); i++) {
+              commandBatch.wrapCommand(i, commandView);
+              handleCommand(commandView, 0, commandView.capacity());
             }
+          } else {
+            handleCommand(buffer, 0, buffer.capacity());
           }
+
+          flushCommands();
           future.complete(null);
         });
     return future;
   }
 
-  private boolean onOpenMessageSubscription(DirectBuffer buffer, int offset, int length) {
+  private void handleCommand(DirectBuffer buffer, int offset, int length) {
+    messageHeaderDecoder.wrap(buffer, offset);
+
+    if (messageHeaderDecoder.schemaId() == OpenMessageSubscriptionDecoder.SCHEMA_ID) {
+
+      switch (messageHeaderDecoder.templateId()) {
+        case OpenMessageSubscriptionDecoder.TEMPLATE_ID:
+          onOpenMessageSubscription(buffer, offset, length);
+          break;
+        case OpenWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+          onOpenWorkflowInstanceSubscription(buffer, offset, length);
+          break;
+        case CorrelateWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+          onCorrelateWorkflowInstanceSubscription(buffer, offset, length);
+          break;
+        case CorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
+          onCorrelateMessageSubscription(buffer, offset, length);
+          break;
+        case CloseMessageSubscriptionDecoder.TEMPLATE_ID:
+          onCloseMessageSubscription(buffer, offset, length);
+          break;
+        case CloseWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+          onCloseWorkflowInstanceSubscription(buffer, offset, length);
+          break;
+        case RejectCorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
+          onRejectCorrelateMessageSubscription(buffer, offset, length);
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private void onOpenMessageSubscription(DirectBuffer buffer, int offset, int length) {
     openMessageSubscriptionCommand.wrap(buffer, offset, length);
 
     messageSubscriptionRecord
@@ -135,14 +164,14 @@ public class SubscriptionCommandMessageHandler
         .setCorrelationKey(openMessageSubscriptionCommand.getCorrelationKey())
         .setCloseOnCorrelate(openMessageSubscriptionCommand.shouldCloseOnCorrelate());
 
-    return writeCommand(
+    writeCommand(
         openMessageSubscriptionCommand.getSubscriptionPartitionId(),
         ValueType.MESSAGE_SUBSCRIPTION,
         MessageSubscriptionIntent.OPEN,
         messageSubscriptionRecord);
   }
 
-  private boolean onOpenWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onOpenWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
     openWorkflowInstanceSubscriptionCommand.wrap(buffer, offset, length);
 
     final long workflowInstanceKey =
@@ -159,14 +188,14 @@ public class SubscriptionCommandMessageHandler
         .setMessageName(openWorkflowInstanceSubscriptionCommand.getMessageName())
         .setCloseOnCorrelate(openWorkflowInstanceSubscriptionCommand.shouldCloseOnCorrelate());
 
-    return writeCommand(
+    writeCommand(
         workflowInstancePartitionId,
         ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
         WorkflowInstanceSubscriptionIntent.OPEN,
         workflowInstanceSubscriptionRecord);
   }
 
-  private boolean onCorrelateWorkflowInstanceSubscription(
+  private void onCorrelateWorkflowInstanceSubscription(
       DirectBuffer buffer, int offset, int length) {
     correlateWorkflowInstanceSubscriptionCommand.wrap(buffer, offset, length);
 
@@ -183,14 +212,14 @@ public class SubscriptionCommandMessageHandler
         .setMessageName(correlateWorkflowInstanceSubscriptionCommand.getMessageName())
         .setVariables(correlateWorkflowInstanceSubscriptionCommand.getVariables());
 
-    return writeCommand(
+    writeCommand(
         workflowInstancePartitionId,
         ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
         WorkflowInstanceSubscriptionIntent.CORRELATE,
         workflowInstanceSubscriptionRecord);
   }
 
-  private boolean onCorrelateMessageSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onCorrelateMessageSubscription(DirectBuffer buffer, int offset, int length) {
     correlateMessageSubscriptionCommand.wrap(buffer, offset, length);
 
     messageSubscriptionRecord.reset();
@@ -200,14 +229,14 @@ public class SubscriptionCommandMessageHandler
         .setMessageKey(-1)
         .setMessageName(correlateMessageSubscriptionCommand.getMessageName());
 
-    return writeCommand(
+    writeCommand(
         correlateMessageSubscriptionCommand.getSubscriptionPartitionId(),
         ValueType.MESSAGE_SUBSCRIPTION,
         MessageSubscriptionIntent.CORRELATE,
         messageSubscriptionRecord);
   }
 
-  private boolean onCloseMessageSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onCloseMessageSubscription(DirectBuffer buffer, int offset, int length) {
     closeMessageSubscriptionCommand.wrap(buffer, offset, length);
 
     messageSubscriptionRecord.reset();
@@ -217,14 +246,14 @@ public class SubscriptionCommandMessageHandler
         .setMessageKey(-1L)
         .setMessageName(closeMessageSubscriptionCommand.getMessageName());
 
-    return writeCommand(
+    writeCommand(
         closeMessageSubscriptionCommand.getSubscriptionPartitionId(),
         ValueType.MESSAGE_SUBSCRIPTION,
         MessageSubscriptionIntent.CLOSE,
         messageSubscriptionRecord);
   }
 
-  private boolean onCloseWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
+  private void onCloseWorkflowInstanceSubscription(DirectBuffer buffer, int offset, int length) {
     closeWorkflowInstanceSubscriptionCommand.wrap(buffer, offset, length);
 
     final long workflowInstanceKey =
@@ -240,14 +269,14 @@ public class SubscriptionCommandMessageHandler
         .setMessageKey(-1)
         .setMessageName(closeWorkflowInstanceSubscriptionCommand.getMessageName());
 
-    return writeCommand(
+    writeCommand(
         workflowInstancePartitionId,
         ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
         WorkflowInstanceSubscriptionIntent.CLOSE,
         workflowInstanceSubscriptionRecord);
   }
 
-  private boolean onRejectCorrelateMessageSubscription(
+  private void onRejectCorrelateMessageSubscription(
       DirectBuffer buffer, int offset, int length) {
     resetMessageCorrelationCommand.wrap(buffer, offset, length);
 
@@ -262,29 +291,43 @@ public class SubscriptionCommandMessageHandler
         .setMessageKey(resetMessageCorrelationCommand.getMessageKey())
         .setCloseOnCorrelate(false);
 
-    return writeCommand(
+    writeCommand(
         resetMessageCorrelationCommand.getSubscriptionPartitionId(),
         ValueType.MESSAGE_SUBSCRIPTION,
         MessageSubscriptionIntent.REJECT,
         messageSubscriptionRecord);
   }
 
-  private boolean writeCommand(
+  private void writeCommand(
       int partitionId, ValueType valueType, Intent intent, UnpackedObject command) {
 
     final LogStream logStream = logstreamSupplier.apply(partitionId);
     if (logStream == null) {
       // ignore message if you are not the leader of the partition
-      return true;
+      return;
     }
 
-    logStreamWriter.wrap(logStream);
+    if (logStream != batchLogStream) {
+      flushCommands();
+
+      if (logStreamWriter == null) {
+        logStreamWriter = new LogStreamBatchWriterImpl(logStream);
+      } else {
+        logStreamWriter.wrap(logStream);
+      }
+      batchLogStream = logStream;
+    }
 
     recordMetadata.reset().recordType(RecordType.COMMAND).valueType(valueType).intent(intent);
 
-    final long position =
-        logStreamWriter.key(-1).metadataWriter(recordMetadata).valueWriter(command).tryWrite();
+    logStreamWriter.event().key(-1).metadataWriter(recordMetadata).valueWriter(command).done();
+  }
 
-    return position > 0;
+  private void flushCommands() {
+    if (batchLogStream != null) {
+      // the commands are sent again by the sender if they are not written
+      logStreamWriter.tryWrite();
+      batchLogStream = null;
+    }
   }
 }
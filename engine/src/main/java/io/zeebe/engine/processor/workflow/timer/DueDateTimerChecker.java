@@ -20,74 +20,136 @@ package io.zeebe.engine.processor.workflow.timer;
 import io.zeebe.engine.processor.ReadonlyProcessingContext;
 import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
 import io.zeebe.engine.processor.TypedStreamWriterImpl;
+import io.zeebe.engine.processor.workflow.timer.TimerWheel.TimerEntry;
 import io.zeebe.engine.state.deployment.WorkflowState;
 import io.zeebe.engine.state.instance.TimerInstance;
+import io.zeebe.engine.state.instance.TimerInstanceState;
+import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.protocol.impl.record.value.timer.TimerRecord;
 import io.zeebe.protocol.record.intent.TimerIntent;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ScheduledTimer;
 import io.zeebe.util.sched.clock.ActorClock;
 import java.time.Duration;
-
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Triggers timers when they are due.
+ *
+ * <p>The timers are kept in a {@link TimerWheel}, which is rebuilt from the state when the stream
+ * processor is recovered, and afterwards filled by the created timers. Timers are not removed from
+ * the wheel when they are canceled, instead they are skipped if they don't exist anymore when they
+ * are due.
+ *
+ * <p>The wheel advances every {@link #TICK_DURATION}. On each tick at most {@link
+ * #MAX_TRIGGERED_TIMERS_PER_TICK} due timers are triggered, the commands are written in batches.
+ * The remaining due timers are triggered on the following ticks, so that the processing is not
+ * blocked by a burst of due timers.
+ *
+ * <p>A triggered timer is added to the wheel again, due after {@link #TRIGGER_RETRY_DELAY}. If the
+ * timer still exists by then, e.g. because the trigger command was lost or rejected, it is
+ * triggered again.
+ */
 public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
 
-  private static final long TIMER_RESOLUTION = Duration.ofMillis(100).toMillis();
+  private static final Duration TICK_DURATION = Duration.ofMillis(100);
+  private static final int MAX_TRIGGERED_TIMERS_PER_TICK = 1_000;
+  private static final Duration TRIGGER_RETRY_DELAY = Duration.ofSeconds(10);
 
   private final TimerRecord timerRecord = new TimerRecord();
+  private final Deque<TimerEntry> dueTimers = new ArrayDeque<>();
+  private final List<TimerEntry> triggeredTimers = new ArrayList<>();
 
   private final WorkflowState workflowState;
   private ActorControl actor;
+  private LogStream logStream;
   private TypedStreamWriterImpl streamWriter;
 
-  private ScheduledTimer scheduledTimer;
-  private long nextDueDate = -1L;
+  private TimerWheel timerWheel;
+  private ScheduledTimer scheduledTick;
 
   public DueDateTimerChecker(final WorkflowState workflowState) {
     this.workflowState = workflowState;
   }
 
   public void scheduleTimer(final TimerInstance timer) {
+    timerWheel.add(timer.getKey(), timer.getElementInstanceKey(), timer.getDueDate());
+    scheduleTick();
+  }
 
-    // We schedule only one runnable for all timers.
-    // - The runnable is scheduled when the first timer is scheduled.
-    // - If a new timer is scheduled which should be triggered before the current runnable is
-    // executed then the runnable is canceled and re-scheduled with the new duration.
-    // - Otherwise, we don't need to cancel the runnable. It will be rescheduled when it is
-    // executed.
-
-    final Duration duration =
-        Duration.ofMillis(timer.getDueDate() - ActorClock.currentTimeMillis());
-
-    if (scheduledTimer == null) {
-      scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
-      nextDueDate = timer.getDueDate();
+  private void scheduleTick() {
+    if (scheduledTick == null && !(timerWheel.isEmpty() && dueTimers.isEmpty())) {
+      scheduledTick = actor.runDelayed(TICK_DURATION, this::onTick);
+    }
+  }
 
-    } else if (nextDueDate - timer.getDueDate() > TIMER_RESOLUTION) {
-      scheduledTimer.cancel();
+  private void onTick() {
+    scheduledTick = null;
+    triggerTimers();
+  }
 
-      scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
-      nextDueDate = timer.getDueDate();
+  private void triggerTimers() {
+    timerWheel.advance(ActorClock.currentTimeMillis(), dueTimers::add);
+
+    int remainingTimers = MAX_TRIGGERED_TIMERS_PER_TICK;
+    while (remainingTimers > 0 && !dueTimers.isEmpty()) {
+      final int triggeredTimers = triggerTimerBatch(remainingTimers);
+      if (triggeredTimers < 0) {
+        // the log stream can't take more commands at the moment, retry on the next tick
+        break;
+      }
+      remainingTimers -= triggeredTimers;
     }
+
+    scheduleTick();
   }
 
-  private void triggerTimers() {
-    nextDueDate =
-        workflowState
-            .getTimerState()
-            .findTimersWithDueDateBefore(ActorClock.currentTimeMillis(), this::triggerTimer);
+  /** @return the number of due timers which are done, or -1 if the batch could not be written */
+  private int triggerTimerBatch(int maxTimers) {
+    final TimerInstanceState timerState = workflowState.getTimerState();
+    final int maxBatchLength = logStream.getWriteBuffer().getMaxFrameLength() / 2;
+    streamWriter.reset();
+    triggeredTimers.clear();
+
+    int timerCount = 0;
+
+    final Iterator<TimerEntry> iterator = dueTimers.iterator();
+    while (iterator.hasNext()
+        && timerCount < maxTimers
+        && streamWriter.getBatchLength() < maxBatchLength) {
+      final TimerEntry entry = iterator.next();
+      timerCount += 1;
+
+      // the timer was canceled or triggered in the meantime
+      final TimerInstance timer =
+          timerState.get(entry.getElementInstanceKey(), entry.getTimerKey());
+      if (timer != null) {
+        appendTriggerCommand(timer);
+        triggeredTimers.add(entry);
+      }
+    }
 
-    // reschedule the runnable if there are timers left
+    if (!triggeredTimers.isEmpty() && streamWriter.flush() < 0) {
+      return -1;
+    }
 
-    if (nextDueDate > 0) {
-      final Duration duration = Duration.ofMillis(nextDueDate - ActorClock.currentTimeMillis());
-      scheduledTimer = actor.runDelayed(duration, this::triggerTimers);
+    for (int i = 0; i < timerCount; i++) {
+      dueTimers.poll();
+    }
 
-    } else {
-      scheduledTimer = null;
+    // the timers are removed from the state when the trigger commands are processed
+    final long retryDueDate = ActorClock.currentTimeMillis() + TRIGGER_RETRY_DELAY.toMillis();
+    for (final TimerEntry entry : triggeredTimers) {
+      timerWheel.add(entry.getTimerKey(), entry.getElementInstanceKey(), retryDueDate);
     }
+    return timerCount;
   }
 
-  private boolean triggerTimer(TimerInstance timer) {
+  private void appendTriggerCommand(TimerInstance timer) {
     timerRecord.reset();
     timerRecord
         .setElementInstanceKey(timer.getElementInstanceKey())
@@ -98,18 +160,24 @@ public class DueDateTimerChecker implements StreamProcessorLifecycleAware {
         .setWorkflowKey(timer.getWorkflowKey());
 
     streamWriter.appendFollowUpCommand(timer.getKey(), TimerIntent.TRIGGER, timerRecord);
-
-    return streamWriter.flush() > 0;
   }
 
   @Override
   public void onOpen(final ReadonlyProcessingContext processingContext) {
     this.actor = processingContext.getActor();
-    streamWriter = new TypedStreamWriterImpl(processingContext.getLogStream());
+    logStream = processingContext.getLogStream();
+    streamWriter = new TypedStreamWriterImpl(logStream);
   }
 
   @Override
   public void onRecovered(final ReadonlyProcessingContext processingContext) {
+    timerWheel = new TimerWheel(TICK_DURATION.toMillis(), ActorClock.currentTimeMillis());
+    workflowState
+        .getTimerState()
+        .forEachDueDate(
+            (dueDate, elementInstanceKey, timerKey) ->
+                timerWheel.add(timerKey, elementInstanceKey, dueDate));
+
     // check if timers are due after restart
     triggerTimers();
   }
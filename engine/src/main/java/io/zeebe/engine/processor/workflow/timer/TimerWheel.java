@@ -0,0 +1,212 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.timer;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel of timers, based on the cascading timer wheels of Varghese and Lauck.
+ *
+ * <p>The wheel consists of {@link #LEVELS} levels with {@link #SLOTS} slots each. A slot of the
+ * lowest level spans one tick, a slot of each higher level spans all slots of the level below. A
+ * timer is added to the lowest level which covers its due date, relative to the current tick. When
+ * the wheel enters a tick on which a slot of a higher level begins, the timers of this slot are
+ * cascaded down to the lower levels. Hence, adding a timer and advancing by one tick is constant in
+ * time, independent of the number of timers.
+ *
+ * <p>Timers which are due further in the future than the wheel can cover are added to the highest
+ * level and cascaded again until they are in range.
+ */
+final class TimerWheel {
+
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS = 1 << SLOT_BITS;
+  private static final int SLOT_MASK = SLOTS - 1;
+  private static final int LEVELS = 5;
+  private static final long MAX_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+  // the timers of a slot are linked in the order in which they were added
+  private final TimerEntry[][] slotHeads = new TimerEntry[LEVELS][SLOTS];
+  private final TimerEntry[][] slotTails = new TimerEntry[LEVELS][SLOTS];
+  private final int[] levelSizes = new int[LEVELS];
+  private final long tickDuration;
+
+  private long currentTick;
+  private int size;
+
+  TimerWheel(long tickDuration, long currentTime) {
+    this.tickDuration = tickDuration;
+    this.currentTick = currentTime / tickDuration;
+  }
+
+  void add(long timerKey, long elementInstanceKey, long dueDate) {
+    final TimerEntry entry = new TimerEntry(timerKey, elementInstanceKey, dueDate);
+    insert(entry);
+    size += 1;
+  }
+
+  /**
+   * Advances the wheel to the given time and removes all timers which are due until then.
+   *
+   * @param currentTime the current time in milliseconds
+   * @param dueTimerConsumer consumes the timers which are due
+   */
+  void advance(long currentTime, Consumer<TimerEntry> dueTimerConsumer) {
+    final long targetTick = currentTime / tickDuration;
+
+    expireCurrentSlot(currentTime, dueTimerConsumer);
+
+    while (currentTick < targetTick) {
+      if (size == 0) {
+        currentTick = targetTick;
+
+      } else if (levelSizes[0] == 0) {
+        // nothing happens until the next slot of the lowest non-empty level begins
+        final long levelTicks = 1L << (SLOT_BITS * lowestNonEmptyLevel());
+        final long nextTick = (currentTick + levelTicks) & ~(levelTicks - 1);
+
+        if (nextTick > targetTick) {
+          currentTick = targetTick;
+        } else {
+          enterTick(nextTick);
+          expireCurrentSlot(currentTime, dueTimerConsumer);
+        }
+
+      } else {
+        enterTick(currentTick + 1);
+        expireCurrentSlot(currentTime, dueTimerConsumer);
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  private void enterTick(long tick) {
+    currentTick = tick;
+
+    for (int level = 1; level < LEVELS; level++) {
+      final int shift = SLOT_BITS * (level - 1);
+      if (((tick >> shift) & SLOT_MASK) != 0) {
+        break;
+      }
+      cascade(level, (int) ((tick >> (shift + SLOT_BITS)) & SLOT_MASK));
+    }
+  }
+
+  private void cascade(int level, int slot) {
+    TimerEntry entry = slotHeads[level][slot];
+    slotHeads[level][slot] = null;
+    slotTails[level][slot] = null;
+
+    while (entry != null) {
+      final TimerEntry next = entry.next;
+      levelSizes[level] -= 1;
+      insert(entry);
+      entry = next;
+    }
+  }
+
+  private void expireCurrentSlot(long currentTime, Consumer<TimerEntry> dueTimerConsumer) {
+    final int slot = (int) (currentTick & SLOT_MASK);
+
+    TimerEntry entry = slotHeads[0][slot];
+    slotHeads[0][slot] = null;
+    slotTails[0][slot] = null;
+
+    while (entry != null) {
+      final TimerEntry next = entry.next;
+      levelSizes[0] -= 1;
+
+      if (entry.dueDate <= currentTime) {
+        entry.next = null;
+        size -= 1;
+        dueTimerConsumer.accept(entry);
+      } else {
+        // the slot of the current tick can contain timers which are due later in this tick
+        append(0, slot, entry);
+      }
+      entry = next;
+    }
+  }
+
+  private void insert(TimerEntry entry) {
+    final long dueTick = entry.dueDate / tickDuration;
+    final long ticks = Math.min(Math.max(dueTick - currentTick, 0), MAX_TICKS);
+    final long expirationTick = currentTick + ticks;
+
+    int level = 0;
+    while (ticks >= 1L << (SLOT_BITS * (level + 1))) {
+      level += 1;
+    }
+    final int slot = (int) ((expirationTick >> (SLOT_BITS * level)) & SLOT_MASK);
+
+    append(level, slot, entry);
+  }
+
+  private void append(int level, int slot, TimerEntry entry) {
+    entry.next = null;
+
+    final TimerEntry tail = slotTails[level][slot];
+    if (tail == null) {
+      slotHeads[level][slot] = entry;
+    } else {
+      tail.next = entry;
+    }
+    slotTails[level][slot] = entry;
+    levelSizes[level] += 1;
+  }
+
+  private int lowestNonEmptyLevel() {
+    int level = 0;
+    while (levelSizes[level] == 0) {
+      level += 1;
+    }
+    return level;
+  }
+
+  static final class TimerEntry {
+    private final long timerKey;
+    private final long elementInstanceKey;
+    private final long dueDate;
+    private TimerEntry next;
+
+    private TimerEntry(long timerKey, long elementInstanceKey, long dueDate) {
+      this.timerKey = timerKey;
+      this.elementInstanceKey = elementInstanceKey;
+      this.dueDate = dueDate;
+    }
+
+    long getTimerKey() {
+      return timerKey;
+    }
+
+    long getElementInstanceKey() {
+      return elementInstanceKey;
+    }
+
+    long getDueDate() {
+      return dueDate;
+    }
+  }
+}
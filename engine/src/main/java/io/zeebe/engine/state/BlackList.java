@@ -19,29 +19,62 @@ package io.zeebe.engine.state;
 
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionListener;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbLong;
 import io.zeebe.db.impl.DbNil;
+import org.agrona.collections.LongHashSet;
 
-public class BlackList {
+/**
+ * The blacklisted workflow instances are mirrored in memory, since the blacklist is checked for
+ * every processed record but is usually empty. The mirror is loaded when the state is created and
+ * instances which are blacklisted in the current transaction only become part of it on commit.
+ */
+public class BlackList implements TransactionListener {
 
   private final ColumnFamily<DbLong, DbNil> blackListColumnFamily;
   private final DbLong workflowInstanceKey;
 
+  private final LongHashSet blacklistedInstances = new LongHashSet();
+  private final LongHashSet uncommittedInstances = new LongHashSet();
+
   public BlackList(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
     workflowInstanceKey = new DbLong();
     blackListColumnFamily =
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.BLACKLIST, dbContext, workflowInstanceKey, DbNil.INSTANCE);
+
+    blackListColumnFamily.forEach((key, nil) -> blacklistedInstances.add(key.getValue()));
+    dbContext.addTransactionListener(this);
   }
 
   public void blacklist(long key) {
+    // must be added before the put, which commits immediately if no transaction is open
+    if (!blacklistedInstances.contains(key)) {
+      uncommittedInstances.add(key);
+    }
+
     workflowInstanceKey.wrapLong(key);
     blackListColumnFamily.put(workflowInstanceKey, DbNil.INSTANCE);
   }
 
   public boolean isOnBlacklist(long key) {
-    workflowInstanceKey.wrapLong(key);
-    return blackListColumnFamily.exists(workflowInstanceKey);
+    return blacklistedInstances.contains(key) || uncommittedInstances.contains(key);
+  }
+
+  @Override
+  public void beforeCommit() {}
+
+  @Override
+  public void afterCommit() {
+    if (!uncommittedInstances.isEmpty()) {
+      blacklistedInstances.addAll(uncommittedInstances);
+      uncommittedInstances.clear();
+    }
+  }
+
+  @Override
+  public void afterRollback() {
+    uncommittedInstances.clear();
   }
 }
@@ -18,7 +18,10 @@
 package io.zeebe.engine.state;
 
 import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
 import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.util.EnumMap;
+import java.util.Map;
 
 public final class DefaultZeebeDbFactory {
 
@@ -42,4 +45,33 @@ public final class DefaultZeebeDbFactory {
     // one place to replace the zeebe database implementation
     return ZeebeRocksDbFactory.newFactory(columnFamilyNamesClass);
   }
+
+  /**
+   * Returns a zeebe database factory with the given RocksDB tuning options. All databases which are
+   * created by the factory share the same block cache and memtable budget, so one factory should be
+   * used for all partitions of a broker.
+   *
+   * @param configuration the RocksDB tuning options
+   * @return the created zeebe database factory
+   */
+  public static ZeebeDbFactory<ZbColumnFamilies> defaultFactory(
+      RocksDbConfiguration configuration) {
+    return ZeebeRocksDbFactory.newFactory(
+        ZbColumnFamilies.class, configuration, longPrefixColumnFamilies());
+  }
+
+  /**
+   * The column families which are iterated with whileEqualPrefix, using a key prefix which starts
+   * with a long. A column family must only be added here if all of its prefix iterations use at
+   * least this prefix, otherwise the iteration would skip entries.
+   */
+  private static Map<ZbColumnFamilies, Integer> longPrefixColumnFamilies() {
+    final Map<ZbColumnFamilies, Integer> prefixLengths = new EnumMap<>(ZbColumnFamilies.class);
+    prefixLengths.put(ZbColumnFamilies.ELEMENT_INSTANCE_PARENT_CHILD, Long.BYTES);
+    prefixLengths.put(ZbColumnFamilies.STORED_INSTANCE_EVENTS_PARENT_CHILD, Long.BYTES);
+    prefixLengths.put(ZbColumnFamilies.VARIABLES, Long.BYTES);
+    prefixLengths.put(ZbColumnFamilies.TIMERS, Long.BYTES);
+    prefixLengths.put(ZbColumnFamilies.EVENT_TRIGGER, Long.BYTES);
+    return prefixLengths;
+  }
 }
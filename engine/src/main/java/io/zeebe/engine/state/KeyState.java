@@ -18,11 +18,18 @@
 package io.zeebe.engine.state;
 
 import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionListener;
+import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.engine.processor.KeyGenerator;
 import io.zeebe.protocol.Protocol;
 
-public class KeyState implements KeyGenerator {
+/**
+ * Generates the keys from an in-memory counter. Only the latest generated key is written to the
+ * state, once before the transaction is committed. On rollback the counter is reset to the latest
+ * committed key, so that the same keys are generated again when the records are reprocessed.
+ */
+public class KeyState implements KeyGenerator, TransactionListener {
 
   private static final long INITIAL_VALUE = 0;
 
@@ -30,6 +37,11 @@ public class KeyState implements KeyGenerator {
 
   private final long keyStartValue;
   private final NextValueManager nextValueManager;
+  private final DbContext dbContext;
+  private final TransactionOperation allocateKeyOperation = this::allocateKey;
+
+  private long committedKey;
+  private long latestKey;
 
   /**
    * Initializes the key state with the corresponding partition id, so that unique keys are
@@ -39,13 +51,41 @@ public class KeyState implements KeyGenerator {
    * @param dbContext
    */
   public KeyState(int partitionId, ZeebeDb zeebeDb, DbContext dbContext) {
+    this.dbContext = dbContext;
     keyStartValue = Protocol.encodePartitionId(partitionId, INITIAL_VALUE);
     nextValueManager =
         new NextValueManager(keyStartValue, zeebeDb, dbContext, ZbColumnFamilies.KEY);
+
+    committedKey = nextValueManager.getCurrentValue(LATEST_KEY);
+    latestKey = committedKey;
+    dbContext.addTransactionListener(this);
   }
 
   @Override
   public long nextKey() {
-    return nextValueManager.getNextValue(LATEST_KEY);
+    // commits immediately if no transaction is open, otherwise the key is only written on commit
+    dbContext.runInTransaction(allocateKeyOperation);
+    return latestKey;
+  }
+
+  private void allocateKey() {
+    latestKey += 1;
+  }
+
+  @Override
+  public void beforeCommit() {
+    if (latestKey != committedKey) {
+      nextValueManager.setValue(LATEST_KEY, latestKey);
+    }
+  }
+
+  @Override
+  public void afterCommit() {
+    committedKey = latestKey;
+  }
+
+  @Override
+  public void afterRollback() {
+    latestKey = committedKey;
   }
 }
@@ -52,19 +52,27 @@ public class NextValueManager {
   }
 
   public long getNextValue(String key) {
+    final long nextKey = getCurrentValue(key) + 1;
+    setValue(key, nextKey);
+
+    return nextKey;
+  }
+
+  public long getCurrentValue(String key) {
     nextValueKey.wrapString(key);
 
     final DbLong zbLong = nextValueColumnFamily.get(nextValueKey);
 
-    long previousKey = initialValue;
+    long currentValue = initialValue;
     if (zbLong != null) {
-      previousKey = zbLong.getValue();
+      currentValue = zbLong.getValue();
     }
+    return currentValue;
+  }
 
-    final long nextKey = previousKey + 1;
-    nextValue.wrapLong(nextKey);
+  public void setValue(String key, long value) {
+    nextValueKey.wrapString(key);
+    nextValue.wrapLong(value);
     nextValueColumnFamily.put(nextValueKey, nextValue);
-
-    return nextKey;
   }
 }
@@ -0,0 +1,167 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.instance;
+
+import io.zeebe.db.TransactionListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.collections.Long2ObjectCache;
+
+/**
+ * Bounded cache of serialized element instances, keyed by element instance key.
+ *
+ * <p>Updated instances are kept as dirty entries and are only written into the transaction before
+ * it is committed, or earlier if they are evicted from the cache. If the transaction is rolled back
+ * the whole cache is invalidated, since it may contain changes of the discarded transaction.
+ */
+final class ElementInstanceCache implements TransactionListener {
+
+  private static final int SET_SIZE = 8;
+
+  private final Long2ObjectCache<CachedInstance> cache;
+  private final Deque<CachedInstance> freeInstances = new ArrayDeque<>();
+  private final List<CachedInstance> dirtyInstances = new ArrayList<>();
+  private final CachedInstanceWriter writer;
+
+  ElementInstanceCache(int capacity, CachedInstanceWriter writer) {
+    this.writer = writer;
+    this.cache = new Long2ObjectCache<>(capacity / SET_SIZE, SET_SIZE, this::onEviction);
+  }
+
+  CachedInstance get(long key) {
+    return cache.get(key);
+  }
+
+  /**
+   * Returns the cached entry of the given key, or a new empty entry which was added to the cache.
+   * Adding an entry may evict another one.
+   */
+  CachedInstance getOrCreate(long key) {
+    CachedInstance instance = cache.get(key);
+    if (instance == null) {
+      instance = freeInstances.isEmpty() ? new CachedInstance() : freeInstances.pop();
+      instance.key = key;
+      instance.length = 0;
+      instance.dirty = false;
+      instance.free = false;
+      cache.put(key, instance);
+    }
+    return instance;
+  }
+
+  void markDirty(CachedInstance instance) {
+    if (!instance.dirty) {
+      instance.dirty = true;
+      dirtyInstances.add(instance);
+    }
+  }
+
+  void remove(long key) {
+    final CachedInstance instance = cache.get(key);
+    if (instance != null) {
+      instance.dirty = false;
+      cache.remove(key);
+      release(instance);
+    }
+  }
+
+  boolean hasDirtyInstances() {
+    for (int i = 0; i < dirtyInstances.size(); i++) {
+      if (dirtyInstances.get(i).dirty) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void beforeCommit() {
+    for (int i = 0; i < dirtyInstances.size(); i++) {
+      final CachedInstance instance = dirtyInstances.get(i);
+      // an instance can be listed more than once if it was evicted and reused in between
+      if (instance.dirty) {
+        writer.write(instance.key, instance.buffer, instance.length);
+        instance.dirty = false;
+      }
+    }
+    dirtyInstances.clear();
+  }
+
+  @Override
+  public void afterCommit() {}
+
+  @Override
+  public void afterRollback() {
+    for (int i = 0; i < dirtyInstances.size(); i++) {
+      dirtyInstances.get(i).dirty = false;
+    }
+    dirtyInstances.clear();
+    cache.clear();
+  }
+
+  private void onEviction(CachedInstance instance) {
+    if (instance.dirty) {
+      writer.write(instance.key, instance.buffer, instance.length);
+      instance.dirty = false;
+    }
+    release(instance);
+  }
+
+  private void release(CachedInstance instance) {
+    // the cache may also notify the eviction consumer on removal, so guard against double release
+    if (!instance.free) {
+      instance.free = true;
+      freeInstances.push(instance);
+    }
+  }
+
+  static final class CachedInstance {
+    private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    private long key;
+    private int length;
+    private boolean dirty;
+    private boolean free;
+
+    DirectBuffer getBuffer() {
+      return buffer;
+    }
+
+    int getLength() {
+      return length;
+    }
+
+    void write(ElementInstance elementInstance) {
+      length = elementInstance.getLength();
+      elementInstance.write(buffer, 0);
+    }
+
+    void write(DirectBuffer source, int offset, int length) {
+      this.length = length;
+      buffer.putBytes(0, source, offset, length);
+    }
+  }
+
+  @FunctionalInterface
+  interface CachedInstanceWriter {
+    void write(long key, DirectBuffer buffer, int length);
+  }
+}
@@ -20,21 +20,26 @@ package io.zeebe.engine.state.instance;
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
 import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.impl.DbBufferView;
 import io.zeebe.db.impl.DbByte;
 import io.zeebe.db.impl.DbCompositeKey;
 import io.zeebe.db.impl.DbLong;
 import io.zeebe.db.impl.DbNil;
 import io.zeebe.engine.processor.KeyGenerator;
 import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.engine.state.instance.ElementInstanceCache.CachedInstance;
 import io.zeebe.engine.state.instance.StoredRecord.Purpose;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
 import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
 import java.util.ArrayList;
 import java.util.List;
+import org.agrona.DirectBuffer;
 import org.agrona.ExpandableArrayBuffer;
 
 public class ElementInstanceState {
 
+  private static final int CACHE_CAPACITY = 1024;
+
   private final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> parentChildColumnFamily;
   private final DbCompositeKey<DbLong, DbLong> parentChildKey;
   private final DbLong parentKey;
@@ -43,6 +48,14 @@ public class ElementInstanceState {
   private final ElementInstance elementInstance;
   private final ColumnFamily<DbLong, ElementInstance> elementInstanceColumnFamily;
 
+  private final DbLong cachedInstanceKey;
+  private final DbBufferView cachedInstanceValue;
+  private final ColumnFamily<DbLong, DbBufferView> cachedInstanceColumnFamily;
+  private final DbLong evictedInstanceKey;
+  private final DbBufferView evictedInstanceValue;
+  private final ColumnFamily<DbLong, DbBufferView> evictedInstanceColumnFamily;
+  private final ElementInstanceCache cache;
+
   private final DbLong recordKey;
   private final StoredRecord storedRecord;
   private final ColumnFamily<DbLong, StoredRecord> recordColumnFamily;
@@ -57,6 +70,7 @@ public class ElementInstanceState {
   private final ExpandableArrayBuffer copyBuffer = new ExpandableArrayBuffer();
 
   private final VariablesState variablesState;
+  private final DbContext dbContext;
 
   public ElementInstanceState(
       ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext, KeyGenerator keyGenerator) {
@@ -76,6 +90,28 @@ public class ElementInstanceState {
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.ELEMENT_INSTANCE_KEY, dbContext, elementInstanceKey, elementInstance);
 
+    // reads and writes the serialized instances of the cache, without decoding them
+    cachedInstanceKey = new DbLong();
+    cachedInstanceValue = new DbBufferView();
+    cachedInstanceColumnFamily =
+        zeebeDb.createColumnFamily(
+            ZbColumnFamilies.ELEMENT_INSTANCE_KEY,
+            dbContext,
+            cachedInstanceKey,
+            cachedInstanceValue);
+    // writes evicted instances back, so it must not share the flyweights of the reads, which can
+    // evict an instance while they still refer to the read value
+    evictedInstanceKey = new DbLong();
+    evictedInstanceValue = new DbBufferView();
+    evictedInstanceColumnFamily =
+        zeebeDb.createColumnFamily(
+            ZbColumnFamilies.ELEMENT_INSTANCE_KEY,
+            dbContext,
+            evictedInstanceKey,
+            evictedInstanceValue);
+    cache = new ElementInstanceCache(CACHE_CAPACITY, this::writeCachedInstance);
+    dbContext.addTransactionListener(cache);
+
     recordKey = new DbLong();
     storedRecord = new StoredRecord();
     recordColumnFamily =
@@ -94,6 +130,7 @@ public class ElementInstanceState {
             DbNil.INSTANCE);
 
     variablesState = new VariablesState(zeebeDb, dbContext, keyGenerator);
+    this.dbContext = dbContext;
   }
 
   public ElementInstance newInstance(
@@ -120,18 +157,51 @@ public class ElementInstanceState {
   }
 
   private void writeElementInstance(ElementInstance instance) {
-    elementInstanceKey.wrapLong(instance.getKey());
-    parentKey.wrapLong(instance.getParentKey());
+    // the transaction is required to flush the cached instance, if none is open yet
+    dbContext.runInTransaction(() -> cacheElementInstance(instance));
+  }
+
+  private void cacheElementInstance(ElementInstance instance) {
+    final CachedInstance cachedInstance = cache.get(instance.getKey());
+
+    if (cachedInstance == null) {
+      // the parent of an instance never changes, it is enough to write the relations once
+      elementInstanceKey.wrapLong(instance.getKey());
+      parentKey.wrapLong(instance.getParentKey());
+
+      parentChildColumnFamily.put(parentChildKey, DbNil.INSTANCE);
+      variablesState.createScope(elementInstanceKey.getValue(), parentKey.getValue());
+    }
 
-    elementInstanceColumnFamily.put(elementInstanceKey, instance);
-    parentChildColumnFamily.put(parentChildKey, DbNil.INSTANCE);
-    variablesState.createScope(elementInstanceKey.getValue(), parentKey.getValue());
+    final CachedInstance updatedInstance = cache.getOrCreate(instance.getKey());
+    updatedInstance.write(instance);
+    cache.markDirty(updatedInstance);
+  }
+
+  private void writeCachedInstance(long key, DirectBuffer buffer, int length) {
+    evictedInstanceKey.wrapLong(key);
+    evictedInstanceValue.wrapBuffer(buffer, 0, length);
+    evictedInstanceColumnFamily.put(evictedInstanceKey, evictedInstanceValue);
   }
 
   public ElementInstance getInstance(long key) {
-    elementInstanceKey.wrapLong(key);
-    final ElementInstance elementInstance = elementInstanceColumnFamily.get(elementInstanceKey);
-    return copyElementInstance(elementInstance);
+    CachedInstance cachedInstance = cache.get(key);
+
+    if (cachedInstance == null) {
+      cachedInstanceKey.wrapLong(key);
+      final DbBufferView storedInstance = cachedInstanceColumnFamily.get(cachedInstanceKey);
+      if (storedInstance == null) {
+        return null;
+      }
+
+      final DirectBuffer value = storedInstance.getValue();
+      cachedInstance = cache.getOrCreate(key);
+      cachedInstance.write(value, 0, value.capacity());
+    }
+
+    final ElementInstance elementInstance = new ElementInstance();
+    elementInstance.wrap(cachedInstance.getBuffer(), 0, cachedInstance.getLength());
+    return elementInstance;
   }
 
   public void removeInstance(long key) {
@@ -143,6 +213,7 @@ public class ElementInstanceState {
 
       parentChildColumnFamily.delete(parentChildKey);
       elementInstanceColumnFamily.delete(elementInstanceKey);
+      cache.remove(key);
 
       recordParentChildColumnFamily.whileEqualPrefix(
           elementInstanceKey,
@@ -182,9 +253,7 @@ public class ElementInstanceState {
           (key, value) -> {
             final DbLong childKey = key.getSecond();
             final ElementInstance childInstance = getInstance(childKey.getValue());
-
-            final ElementInstance copiedElementInstance = copyElementInstance(childInstance);
-            children.add(copiedElementInstance);
+            children.add(childInstance);
           });
     }
     return children;
@@ -270,7 +339,8 @@ public class ElementInstanceState {
   }
 
   public boolean isEmpty() {
-    return elementInstanceColumnFamily.isEmpty()
+    return !cache.hasDirtyInstances()
+        && elementInstanceColumnFamily.isEmpty()
         && parentChildColumnFamily.isEmpty()
         && recordColumnFamily.isEmpty()
         && recordParentChildColumnFamily.isEmpty()
@@ -300,15 +370,4 @@ public class ElementInstanceState {
   public VariablesState getVariablesState() {
     return variablesState;
   }
-
-  private ElementInstance copyElementInstance(ElementInstance elementInstance) {
-    if (elementInstance != null) {
-      elementInstance.write(copyBuffer, 0);
-
-      final ElementInstance copiedElementInstance = new ElementInstance();
-      copiedElementInstance.wrap(copyBuffer, 0, elementInstance.getLength());
-      return copiedElementInstance;
-    }
-    return null;
-  }
 }
@@ -19,6 +19,7 @@ package io.zeebe.engine.state.instance;
 
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionListener;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbByte;
 import io.zeebe.db.impl.DbCompositeKey;
@@ -29,10 +30,15 @@ import io.zeebe.engine.metrics.JobMetrics;
 import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.util.EnsureUtil;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.MutableInteger;
 
-public class JobState {
+public class JobState implements TransactionListener {
 
   // key => job record value
   // we need two separate wrapper to not interfere with get and put
@@ -59,6 +65,10 @@ public class JobState {
 
   private final JobMetrics metrics;
 
+  private Consumer<String> onJobsAvailableCallback;
+  // the types of the jobs which became activatable in the current transaction
+  private final Set<String> availableJobTypes = new HashSet<>();
+
   public JobState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext, int partitionId) {
 
     jobRecordToRead = new UnpackedObjectValue();
@@ -86,6 +96,8 @@ public class JobState {
             ZbColumnFamilies.JOB_DEADLINES, dbContext, deadlineJobKey, DbNil.INSTANCE);
 
     metrics = new JobMetrics(partitionId);
+
+    dbContext.addTransactionListener(this);
   }
 
   public void create(final long key, final JobRecord record) {
@@ -207,6 +219,56 @@ public class JobState {
         });
   }
 
+  /**
+   * Visits the jobs with a deadline before the given upper bound, ordered by deadline and key,
+   * starting at the job with the given deadline and key. The job at the start doesn't need to
+   * exist, so the iteration can be resumed after the visited jobs were removed.
+   */
+  public void forEachTimedOutEntry(
+      final long upperBound,
+      final long startDeadline,
+      final long startJobKey,
+      final BiFunction<Long, JobRecord, Boolean> callback) {
+    deadlineKey.wrapLong(startDeadline);
+    jobKey.wrapLong(startJobKey);
+
+    deadlinesColumnFamily.whileTrue(
+        deadlineJobKey,
+        (compositeKey, zbNil) -> {
+          final long deadline = compositeKey.getFirst().getValue();
+          final boolean isDue = deadline < upperBound;
+          if (isDue) {
+            final long jobKey = compositeKey.getSecond().getValue();
+            return visitJob(jobKey, callback);
+          }
+          return false;
+        });
+  }
+
+  /**
+   * Counts the jobs with a deadline before the given upper bound, starting at the job with the
+   * given deadline and key. The count stops at the given limit, so that it is bounded.
+   *
+   * @return the number of jobs, but at most the limit
+   */
+  public int countTimedOutEntries(
+      final long upperBound, final long startDeadline, final long startJobKey, final int limit) {
+    deadlineKey.wrapLong(startDeadline);
+    jobKey.wrapLong(startJobKey);
+
+    final MutableInteger count = new MutableInteger();
+    deadlinesColumnFamily.whileTrue(
+        deadlineJobKey,
+        (compositeKey, zbNil) -> {
+          final boolean isDue = compositeKey.getFirst().getValue() < upperBound;
+          if (isDue) {
+            count.value++;
+          }
+          return isDue && count.value < limit;
+        });
+    return count.value;
+  }
+
   public boolean exists(long jobKey) {
     this.jobKey.wrapLong(jobKey);
     return jobsColumnFamily.exists(this.jobKey);
@@ -264,6 +326,34 @@ public class JobState {
     return unpackedObjectValue == null ? null : (JobRecord) unpackedObjectValue.getObject();
   }
 
+  /**
+   * Sets the callback which is called with the job type whenever a job becomes activatable, i.e.
+   * when it is created, failed with retries left, timed out or its incident is resolved. The
+   * callback is called once per type after the transaction is committed.
+   *
+   * @param onJobsAvailableCallback the callback, or null to remove it
+   */
+  public void setJobsAvailableCallback(Consumer<String> onJobsAvailableCallback) {
+    this.onJobsAvailableCallback = onJobsAvailableCallback;
+    availableJobTypes.clear();
+  }
+
+  @Override
+  public void beforeCommit() {}
+
+  @Override
+  public void afterCommit() {
+    if (!availableJobTypes.isEmpty()) {
+      availableJobTypes.forEach(onJobsAvailableCallback);
+      availableJobTypes.clear();
+    }
+  }
+
+  @Override
+  public void afterRollback() {
+    availableJobTypes.clear();
+  }
+
   public enum State {
     ACTIVATABLE((byte) 0),
     ACTIVATED((byte) 1),
@@ -306,6 +396,11 @@ public class JobState {
   private void makeJobActivatable(DirectBuffer type) {
     EnsureUtil.ensureNotNullOrEmpty("type", type);
 
+    // must be added before the put, which commits immediately if no transaction is open
+    if (onJobsAvailableCallback != null) {
+      availableJobTypes.add(BufferUtil.bufferAsString(type));
+    }
+
     jobTypeKey.wrapBuffer(type);
     activatableColumnFamily.put(typeJobKey, DbNil.INSTANCE);
   }
@@ -91,6 +91,18 @@ public class TimerInstanceState {
     return nextDueDate;
   }
 
+  /** Visits the due dates of all timers, ordered by due date. */
+  public void forEachDueDate(DueDateVisitor visitor) {
+    dueDateColumnFamily.forEach(
+        (key, nil) -> {
+          final DbCompositeKey<DbLong, DbLong> elementAndTimerKey = key.getSecond();
+          visitor.visit(
+              key.getFirst().getValue(),
+              elementAndTimerKey.getFirst().getValue(),
+              elementAndTimerKey.getSecond().getValue());
+        });
+  }
+
   /**
    * NOTE: the timer instance given to the consumer is shared and will be mutated on the next
    * iteration.
@@ -126,4 +138,9 @@ public class TimerInstanceState {
   public interface TimerVisitor {
     boolean visit(TimerInstance timer);
   }
+
+  @FunctionalInterface
+  public interface DueDateVisitor {
+    void visit(long dueDate, long elementInstanceKey, long timerKey);
+  }
 }
@@ -0,0 +1,102 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.instance;
+
+import io.zeebe.db.TransactionListener;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.Long2ObjectHashMap;
+
+/**
+ * Caches the resolved variable documents of scopes for the duration of a transaction, keyed by
+ * scope key.
+ *
+ * <p>A document contains the variables of the scope and all of its ancestors, so any change of a
+ * variable or of the scope hierarchy invalidates the whole cache. It is also invalidated when the
+ * transaction is committed or rolled back.
+ */
+final class VariableDocumentCache implements TransactionListener {
+
+  private final Long2ObjectHashMap<CachedDocument> documents = new Long2ObjectHashMap<>();
+  private final Deque<CachedDocument> freeDocuments = new ArrayDeque<>();
+  private final int capacity;
+
+  VariableDocumentCache(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Copies the cached document of the given scope into the buffer.
+   *
+   * @return the length of the document, or -1 if the document is not cached
+   */
+  int read(long scopeKey, MutableDirectBuffer buffer, int offset) {
+    final CachedDocument document = documents.get(scopeKey);
+    if (document == null) {
+      return -1;
+    }
+
+    buffer.putBytes(offset, document.buffer, 0, document.length);
+    return document.length;
+  }
+
+  void put(long scopeKey, DirectBuffer source, int offset, int length) {
+    CachedDocument document = documents.get(scopeKey);
+    if (document == null) {
+      if (documents.size() >= capacity) {
+        return;
+      }
+
+      document = freeDocuments.isEmpty() ? new CachedDocument() : freeDocuments.pop();
+      documents.put(scopeKey, document);
+    }
+
+    document.buffer.putBytes(0, source, offset, length);
+    document.length = length;
+  }
+
+  void invalidate() {
+    if (!documents.isEmpty()) {
+      for (final CachedDocument document : documents.values()) {
+        freeDocuments.push(document);
+      }
+      documents.clear();
+    }
+  }
+
+  @Override
+  public void beforeCommit() {
+    invalidate();
+  }
+
+  @Override
+  public void afterCommit() {}
+
+  @Override
+  public void afterRollback() {
+    invalidate();
+  }
+
+  private static final class CachedDocument {
+    private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    private int length;
+  }
+}
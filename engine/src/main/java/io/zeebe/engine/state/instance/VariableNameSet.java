@@ -0,0 +1,163 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.instance;
+
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * Open-addressing set of variable names. The names are copied into a shared buffer, so adding a
+ * name does not allocate and the set can be reused by clearing it.
+ */
+final class VariableNameSet {
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int EMPTY = -1;
+
+  private final ExpandableArrayBuffer names = new ExpandableArrayBuffer();
+  private int namesLength;
+
+  // slot => index of the entry, or EMPTY
+  private int[] slots = new int[INITIAL_CAPACITY];
+  // entry index => name hash, offset and length in the names buffer
+  private int[] hashes = new int[INITIAL_CAPACITY / 2];
+  private int[] offsets = new int[INITIAL_CAPACITY / 2];
+  private int[] lengths = new int[INITIAL_CAPACITY / 2];
+  private int size;
+
+  VariableNameSet() {
+    Arrays.fill(slots, EMPTY);
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  void clear() {
+    if (size > 0) {
+      Arrays.fill(slots, EMPTY);
+      size = 0;
+      namesLength = 0;
+    }
+  }
+
+  boolean contains(DirectBuffer name) {
+    return contains(name, 0, name.capacity());
+  }
+
+  boolean contains(DirectBuffer buffer, int offset, int length) {
+    final int hash = hash(buffer, offset, length);
+    return slots[findSlot(hash, buffer, offset, length)] != EMPTY;
+  }
+
+  /** @return true if the name was not contained in the set before */
+  boolean add(DirectBuffer name) {
+    return add(name, 0, name.capacity());
+  }
+
+  /** @return true if the name was not contained in the set before */
+  boolean add(DirectBuffer buffer, int offset, int length) {
+    final int hash = hash(buffer, offset, length);
+    final int slot = findSlot(hash, buffer, offset, length);
+    if (slots[slot] != EMPTY) {
+      return false;
+    }
+
+    if (size == hashes.length) {
+      growEntries();
+    }
+
+    names.putBytes(namesLength, buffer, offset, length);
+    hashes[size] = hash;
+    offsets[size] = namesLength;
+    lengths[size] = length;
+    namesLength += length;
+
+    slots[slot] = size;
+    size += 1;
+
+    // keep the load factor at most 0.5
+    if (size * 2 > slots.length) {
+      rehash(slots.length * 2);
+    }
+    return true;
+  }
+
+  private int findSlot(int hash, DirectBuffer buffer, int offset, int length) {
+    final int mask = slots.length - 1;
+    int slot = hash & mask;
+
+    int entry;
+    while ((entry = slots[slot]) != EMPTY) {
+      if (hashes[entry] == hash && equalsEntry(entry, buffer, offset, length)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private boolean equalsEntry(int entry, DirectBuffer buffer, int offset, int length) {
+    if (lengths[entry] != length) {
+      return false;
+    }
+
+    final int entryOffset = offsets[entry];
+    for (int i = 0; i < length; i++) {
+      if (names.getByte(entryOffset + i) != buffer.getByte(offset + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void growEntries() {
+    final int capacity = hashes.length * 2;
+    hashes = Arrays.copyOf(hashes, capacity);
+    offsets = Arrays.copyOf(offsets, capacity);
+    lengths = Arrays.copyOf(lengths, capacity);
+  }
+
+  private void rehash(int capacity) {
+    slots = new int[capacity];
+    Arrays.fill(slots, EMPTY);
+
+    final int mask = capacity - 1;
+    for (int entry = 0; entry < size; entry++) {
+      int slot = hashes[entry] & mask;
+      while (slots[slot] != EMPTY) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = entry;
+    }
+  }
+
+  private static int hash(DirectBuffer buffer, int offset, int length) {
+    int hash = 0;
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + buffer.getByte(offset + i);
+    }
+    // spread the bits, since the slot is taken from the lower bits only
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -37,16 +37,16 @@ import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 import org.agrona.DirectBuffer;
 import org.agrona.ExpandableArrayBuffer;
-import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.Int2IntHashMap;
 import org.agrona.collections.Int2IntHashMap.EntryIterator;
-import org.agrona.collections.ObjectHashSet;
 import org.agrona.concurrent.UnsafeBuffer;
 
 public class VariablesState {
 
   public static final int NO_PARENT = -1;
 
+  private static final int DOCUMENT_CACHE_CAPACITY = 32;
+
   private final MsgPackReader reader = new MsgPackReader();
   private final MsgPackWriter writer = new MsgPackWriter();
   private final ExpandableArrayBuffer documentResultBuffer = new ExpandableArrayBuffer();
@@ -72,8 +72,25 @@ public class VariablesState {
   private final DirectBuffer variableNameView = new UnsafeBuffer(0, 0);
 
   // collecting variables
-  private final ObjectHashSet<DirectBuffer> collectedVariables = new ObjectHashSet<>();
-  private final ObjectHashSet<DirectBuffer> variablesToCollect = new ObjectHashSet<>();
+  private final VariableNameSet collectedVariables = new VariableNameSet();
+  private final VariableNameSet variablesToCollect = new VariableNameSet();
+  private final VariableDocumentCache documentCache;
+
+  private final Predicate<DbString> notCollectedFilter =
+      name -> !collectedVariables.contains(name.getBuffer());
+  private final Predicate<DbString> toCollectFilter =
+      name ->
+          variablesToCollect.contains(name.getBuffer())
+              && !collectedVariables.contains(name.getBuffer());
+  private final BiConsumer<DbString, VariableInstance> collectVariable =
+      (name, value) -> {
+        writer.writeString(name.getBuffer());
+        writer.writeRaw(value.getValue());
+        collectedVariables.add(name.getBuffer());
+      };
+  private final BooleanSupplier allVariablesCollected =
+      () -> collectedVariables.size() == variablesToCollect.size();
+  private final BooleanSupplier neverCompleted = () -> false;
 
   // setting variables
   private final IndexedDocument indexedDocument = new IndexedDocument();
@@ -101,6 +118,9 @@ public class VariablesState {
     temporaryVariableStoreColumnFamily =
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.TEMPORARY_VARIABLE_STORE, dbContext, scopeKey, temporaryVariables);
+
+    documentCache = new VariableDocumentCache(DOCUMENT_CACHE_CAPACITY);
+    dbContext.addTransactionListener(documentCache);
   }
 
   public void setVariablesLocalFromDocument(
@@ -149,6 +169,7 @@ public class VariablesState {
     if (currentVariable == null) {
       newVariable.setKey(keyGenerator.nextKey());
       variablesColumnFamily.put(scopeKeyVariableNameKey, newVariable);
+      documentCache.invalidate();
 
       if (listener != null) {
         final long rootScopeKey = getRootScopeKey(scopeKey);
@@ -164,6 +185,7 @@ public class VariablesState {
     } else if (!BufferUtil.equals(currentVariable.getValue(), newVariable.getValue())) {
       newVariable.setKey(currentVariable.getKey());
       variablesColumnFamily.put(scopeKeyVariableNameKey, newVariable);
+      documentCache.invalidate();
 
       if (listener != null) {
         final long rootScopeKey = getRootScopeKey(scopeKey);
@@ -274,55 +296,50 @@ public class VariablesState {
     return parentKey != null ? parentKey.getValue() : NO_PARENT;
   }
 
+  /**
+   * Collects the variables of the given scope and all of its ancestors. A variable of a scope
+   * shadows the variables with the same name of the ancestor scopes. The documents are cached until
+   * the end of the transaction or until a variable or scope is changed.
+   */
   public DirectBuffer getVariablesAsDocument(long scopeKey) {
+    final int cachedLength = documentCache.read(scopeKey, documentResultBuffer, 0);
+    if (cachedLength >= 0) {
+      resultView.wrap(documentResultBuffer, 0, cachedLength);
+      return resultView;
+    }
 
     collectedVariables.clear();
     writer.wrap(documentResultBuffer, 0);
 
     writer.reserveMapHeader();
 
-    visitVariables(
-        scopeKey,
-        name -> !collectedVariables.contains(name.getBuffer()),
-        (name, value) -> {
-          final DirectBuffer variableNameBuffer = name.getBuffer();
-          writer.writeString(variableNameBuffer);
-          writer.writeRaw(value.getValue());
-
-          // must create a new name wrapper, because we keep them all in the hashset at the same
-          // time
-          final MutableDirectBuffer nameView = new UnsafeBuffer(variableNameBuffer);
-          collectedVariables.add(nameView);
-        },
-        () -> false);
+    visitVariables(scopeKey, notCollectedFilter, collectVariable, neverCompleted);
 
     writer.writeReservedMapHeader(0, collectedVariables.size());
 
-    resultView.wrap(documentResultBuffer, 0, writer.getOffset());
+    final int length = writer.getOffset();
+    documentCache.put(scopeKey, documentResultBuffer, 0, length);
+
+    resultView.wrap(documentResultBuffer, 0, length);
     return resultView;
   }
 
   public DirectBuffer getVariablesAsDocument(long scopeKey, Collection<DirectBuffer> names) {
-
     variablesToCollect.clear();
-    variablesToCollect.addAll(names);
+    for (DirectBuffer name : names) {
+      variablesToCollect.add(name);
+    }
+    collectedVariables.clear();
 
     writer.wrap(documentResultBuffer, 0);
 
     writer.reserveMapHeader();
 
-    visitVariables(
-        scopeKey,
-        name -> variablesToCollect.contains(name.getBuffer()),
-        (name, value) -> {
-          writer.writeString(name.getBuffer());
-          writer.writeRaw(value.getValue());
-
-          variablesToCollect.remove(name.getBuffer());
-        },
-        variablesToCollect::isEmpty);
+    if (!variablesToCollect.isEmpty()) {
+      visitVariables(scopeKey, toCollectFilter, collectVariable, allVariablesCollected);
+    }
 
-    writer.writeReservedMapHeader(0, names.size() - variablesToCollect.size());
+    writer.writeReservedMapHeader(0, collectedVariables.size());
 
     resultView.wrap(documentResultBuffer, 0, writer.getOffset());
     return resultView;
@@ -403,7 +420,7 @@ public class VariablesState {
 
           return !completionCondition.getAsBoolean();
         });
-    return false;
+    return completionCondition.getAsBoolean();
   }
 
   public void createScope(long childKey, long parentKey) {
@@ -411,6 +428,7 @@ public class VariablesState {
     this.parentKey.wrapLong(parentKey);
 
     childParentColumnFamily.put(this.childKey, this.parentKey);
+    documentCache.invalidate();
   }
 
   public void removeScope(long scopeKey) {
@@ -419,9 +437,12 @@ public class VariablesState {
     removeAllVariables(scopeKey);
 
     childParentColumnFamily.delete(this.scopeKey);
+    documentCache.invalidate();
   }
 
   public void removeAllVariables(long scopeKey) {
+    documentCache.invalidate();
+
     visitVariablesLocal(
         scopeKey,
         dbString -> true,
@@ -26,6 +26,7 @@ import io.zeebe.db.impl.DbNil;
 import io.zeebe.db.impl.DbString;
 import io.zeebe.engine.state.ZbColumnFamilies;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.MutableInteger;
 
 public class MessageState {
 
@@ -184,6 +185,54 @@ public class MessageState {
         }));
   }
 
+  /**
+   * Visits the messages with a deadline before or at the given timestamp, ordered by deadline and
+   * key, starting at the message with the given deadline and key. The message at the start doesn't
+   * need to exist, so the iteration can be resumed after the visited messages were removed.
+   */
+  public void visitMessagesWithDeadlineBefore(
+      final long timestamp,
+      final long startDeadline,
+      final long startMessageKey,
+      MessageVisitor visitor) {
+    deadline.wrapLong(startDeadline);
+    messageKey.wrapLong(startMessageKey);
+
+    deadlineColumnFamily.whileTrue(
+        deadlineMessageKey,
+        (compositeKey, zbNil) -> {
+          final long deadline = compositeKey.getFirst().getValue();
+          if (deadline <= timestamp) {
+            final long messageKey = compositeKey.getSecond().getValue();
+            final Message message = getMessage(messageKey);
+            return visitor.visit(message);
+          }
+          return false;
+        });
+  }
+
+  /**
+   * @return the number of messages with a deadline before or at the given timestamp, starting at
+   *     the given deadline and message key, but at most the given limit
+   */
+  public int countMessagesWithDeadlineBefore(
+      final long timestamp, final long startDeadline, final long startMessageKey, final int limit) {
+    deadline.wrapLong(startDeadline);
+    messageKey.wrapLong(startMessageKey);
+
+    final MutableInteger count = new MutableInteger();
+    deadlineColumnFamily.whileTrue(
+        deadlineMessageKey,
+        (compositeKey, zbNil) -> {
+          if (count.value >= limit || compositeKey.getFirst().getValue() > timestamp) {
+            return false;
+          }
+          count.value++;
+          return true;
+        });
+    return count.value;
+  }
+
   public boolean exist(
       final DirectBuffer name, final DirectBuffer correlationKey, final DirectBuffer messageId) {
     messageName.wrapBuffer(name);
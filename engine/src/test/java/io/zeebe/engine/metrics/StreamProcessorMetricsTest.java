@@ -0,0 +1,119 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.metrics;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.prometheus.client.CollectorRegistry;
+import io.zeebe.engine.processor.SideEffectProducer;
+import io.zeebe.engine.processor.TypedRecord;
+import io.zeebe.engine.processor.TypedRecordProcessor;
+import io.zeebe.engine.processor.TypedResponseWriter;
+import io.zeebe.engine.processor.TypedStreamWriter;
+import io.zeebe.engine.util.StreamProcessorRule;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import java.util.function.Consumer;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class StreamProcessorMetricsTest {
+
+  private static final String PARTITION = "0";
+
+  @Rule public StreamProcessorRule streamProcessorRule = new StreamProcessorRule();
+
+  @Test
+  public void shouldObserveHistogramsOfProcessedRecord() {
+    // given
+    final double processingDelayCount = processingDelayCount();
+    final double processingDurationCount = processingDurationCount();
+    final double responseLatencyCount = responseLatencyCount();
+    final double appendLatencyCount = appendLatencyCount();
+
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new RespondingProcessor()));
+
+    // when
+    streamProcessorRule.writeWorkflowInstanceEvent(WorkflowInstanceIntent.ELEMENT_ACTIVATING, 1);
+
+    // then
+    waitUntil(() -> responseLatencyCount() > responseLatencyCount);
+
+    assertThat(processingDelayCount()).isEqualTo(processingDelayCount + 1);
+    assertThat(processingDurationCount()).isEqualTo(processingDurationCount + 1);
+    assertThat(responseLatencyCount()).isEqualTo(responseLatencyCount + 1);
+    assertThat(appendLatencyCount()).isGreaterThan(appendLatencyCount);
+  }
+
+  private static double processingDelayCount() {
+    return sampleCount("zeebe_stream_processor_processing_delay_seconds_count");
+  }
+
+  private static double processingDurationCount() {
+    final Double count =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "zeebe_stream_processor_processing_duration_seconds_count",
+            new String[] {"valueType", "intent", "partition"},
+            new String[] {
+              ValueType.WORKFLOW_INSTANCE.name(),
+              WorkflowInstanceIntent.ELEMENT_ACTIVATING.name(),
+              PARTITION
+            });
+    return count != null ? count : 0;
+  }
+
+  private static double responseLatencyCount() {
+    return sampleCount("zeebe_stream_processor_response_latency_seconds_count");
+  }
+
+  private static double appendLatencyCount() {
+    return sampleCount("zeebe_log_append_latency_seconds_count");
+  }
+
+  private static double sampleCount(String name) {
+    final Double count =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            name, new String[] {"partition"}, new String[] {PARTITION});
+    return count != null ? count : 0;
+  }
+
+  private static final class RespondingProcessor
+      implements TypedRecordProcessor<WorkflowInstanceRecord> {
+
+    @Override
+    public void processRecord(
+        long position,
+        TypedRecord<WorkflowInstanceRecord> record,
+        TypedResponseWriter responseWriter,
+        TypedStreamWriter streamWriter,
+        Consumer<SideEffectProducer> sideEffect) {
+      responseWriter.writeEventOnCommand(
+          record.getValue().getWorkflowInstanceKey(),
+          WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+          record.getValue(),
+          record);
+    }
+  }
+}
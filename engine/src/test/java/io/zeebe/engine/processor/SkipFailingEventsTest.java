@@ -254,6 +254,64 @@ public class SkipFailingEventsTest {
     assertThat(dumpProcessor.processedInstances).containsExactly(2L);
   }
 
+  @Test
+  public void shouldReleaseRequestOfSkippedCommand() {
+    // given
+    final DumpProcessor dumpProcessor = spy(new DumpProcessor());
+    final ErrorProneProcessor processor = new ErrorProneProcessor();
+
+    streams.startStreamProcessor(
+        STREAM_NAME,
+        DefaultZeebeDbFactory.DEFAULT_DB_FACTORY,
+        (processingContext) -> {
+          zeebeState = processingContext.getZeebeState();
+          return TypedRecordProcessors.processors()
+              .onEvent(
+                  ValueType.WORKFLOW_INSTANCE, WorkflowInstanceIntent.ELEMENT_ACTIVATING, processor)
+              .onCommand(ValueType.WORKFLOW_INSTANCE, WorkflowInstanceIntent.CANCEL, dumpProcessor)
+              .onEvent(
+                  ValueType.WORKFLOW_INSTANCE,
+                  WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+                  dumpProcessor);
+        });
+
+    streams
+        .newRecord(STREAM_NAME)
+        .event(Records.workflowInstance(1))
+        .recordType(RecordType.EVENT)
+        .intent(WorkflowInstanceIntent.ELEMENT_ACTIVATING)
+        .key(keyGenerator.nextKey())
+        .write();
+    streams
+        .newRecord(STREAM_NAME)
+        .event(Records.workflowInstance(1))
+        .recordType(RecordType.COMMAND)
+        .intent(WorkflowInstanceIntent.CANCEL)
+        .requestStreamId(3)
+        .requestId(4L)
+        .key(keyGenerator.nextKey())
+        .write();
+
+    // other instance
+    streams
+        .newRecord(STREAM_NAME)
+        .event(Records.workflowInstance(2))
+        .recordType(RecordType.EVENT)
+        .intent(WorkflowInstanceIntent.ELEMENT_ACTIVATED)
+        .key(keyGenerator.nextKey())
+        .write();
+
+    // when
+    waitForRecordWhichSatisfies(
+        e ->
+            Records.isEvent(
+                e, ValueType.WORKFLOW_INSTANCE, WorkflowInstanceIntent.ELEMENT_COMPLETED));
+
+    // then
+    assertThat(dumpProcessor.processedInstances).containsExactly(2L);
+    verify(commandResponseWriter).onNoResponse(3, 4L);
+  }
+
   @Test
   public void shouldFindFailedEventsOnReprocessing() throws Exception {
     // given
@@ -0,0 +1,235 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+
+import io.prometheus.client.CollectorRegistry;
+import io.zeebe.engine.util.StreamProcessorRule;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.verification.VerificationWithTimeout;
+
+public class StreamProcessorBatchTest {
+
+  private static final long TIMEOUT_MILLIS = 2_000L;
+  private static final VerificationWithTimeout TIMEOUT = timeout(TIMEOUT_MILLIS);
+  private static final int MAX_BATCH_SIZE = 10;
+
+  @Rule public StreamProcessorRule streamProcessorRule = new StreamProcessorRule();
+
+  private long firstPosition;
+  private long secondPosition;
+  private long thirdPosition;
+
+  @Before
+  public void setup() {
+    streamProcessorRule.setMaxBatchSize(MAX_BATCH_SIZE);
+
+    // the records are committed before the processor is started to process them in one batch
+    firstPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(
+            WorkflowInstanceIntent.ELEMENT_ACTIVATING, 1);
+    secondPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(
+            WorkflowInstanceIntent.ELEMENT_ACTIVATING, 2);
+    thirdPosition =
+        streamProcessorRule.writeWorkflowInstanceEvent(
+            WorkflowInstanceIntent.ELEMENT_ACTIVATING, 3);
+    waitUntil(() -> streamProcessorRule.getCommitPosition() >= thirdPosition);
+  }
+
+  @Test
+  public void shouldWriteFollowUpEventsWithSourcePositionOfEachRecord() {
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new FollowUpEventProcessor(-1)));
+
+    // then
+    final List<Record<WorkflowInstanceRecord>> activatedEvents = awaitActivatedEvents(3);
+
+    assertThat(activatedEvents)
+        .extracting(r -> r.getValue().getWorkflowInstanceKey(), Record::getSourceRecordPosition)
+        .containsExactly(
+            tuple(1L, firstPosition), tuple(2L, secondPosition), tuple(3L, thirdPosition));
+  }
+
+  @Test
+  public void shouldWriteResponseOfEachRecord() {
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new TypedRecordProcessor<WorkflowInstanceRecord>() {
+                  @Override
+                  public void processRecord(
+                      long position,
+                      TypedRecord<WorkflowInstanceRecord> record,
+                      TypedResponseWriter responseWriter,
+                      TypedStreamWriter streamWriter,
+                      Consumer<SideEffectProducer> sideEffect) {
+                    responseWriter.writeEventOnCommand(
+                        record.getValue().getWorkflowInstanceKey(),
+                        WorkflowInstanceIntent.ELEMENT_ACTIVATED,
+                        record.getValue(),
+                        record);
+                  }
+                }));
+
+    // then
+    final CommandResponseWriter commandResponseWriter =
+        streamProcessorRule.getCommandResponseWriter();
+    final InOrder inOrder = inOrder(commandResponseWriter);
+
+    for (long key = 1; key <= 3; key++) {
+      inOrder.verify(commandResponseWriter, TIMEOUT.atLeastOnce()).key(key);
+      inOrder.verify(commandResponseWriter, TIMEOUT.times(1)).tryWriteResponse(anyInt(), anyLong());
+    }
+  }
+
+  @Test
+  public void shouldProcessRecordsOneByOneIfBatchFails() {
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new FollowUpEventProcessor(2)));
+
+    // then
+    final List<Record<WorkflowInstanceRecord>> activatedEvents = awaitActivatedEvents(2);
+
+    assertThat(activatedEvents)
+        .extracting(r -> r.getValue().getWorkflowInstanceKey(), Record::getSourceRecordPosition)
+        .containsExactly(tuple(1L, firstPosition), tuple(3L, thirdPosition));
+
+    assertThat(
+            streamProcessorRule
+                .events()
+                .onlyErrorRecords()
+                .getFirst()
+                .getValue()
+                .getErrorEventPosition())
+        .isEqualTo(secondPosition);
+  }
+
+  @Test
+  public void shouldRecordMetricsOnlyOfCommittedRecords() {
+    // given
+    final double processedBefore = processedEventsCount();
+    final double durationCountBefore = processingDurationCount();
+
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                WorkflowInstanceIntent.ELEMENT_ACTIVATING,
+                new FollowUpEventProcessor(2)));
+
+    // then
+    waitUntil(() -> processedEventsCount() - processedBefore >= 3);
+
+    // the first record is processed in the rolled back batch and again on its own, the failed
+    // record is processed by the error handling
+    assertThat(processedEventsCount() - processedBefore).isEqualTo(3);
+    assertThat(processingDurationCount() - durationCountBefore).isEqualTo(2);
+  }
+
+  private static double processedEventsCount() {
+    return sampleValue(
+        "zeebe_stream_processor_events_total",
+        new String[] {"action", "partition"},
+        new String[] {"processed", "0"});
+  }
+
+  private static double processingDurationCount() {
+    return sampleValue(
+        "zeebe_stream_processor_processing_duration_seconds_count",
+        new String[] {"valueType", "intent", "partition"},
+        new String[] {
+          ValueType.WORKFLOW_INSTANCE.name(), WorkflowInstanceIntent.ELEMENT_ACTIVATING.name(), "0"
+        });
+  }
+
+  private static double sampleValue(String name, String[] labelNames, String[] labelValues) {
+    final Double value =
+        CollectorRegistry.defaultRegistry.getSampleValue(name, labelNames, labelValues);
+    return value != null ? value : 0;
+  }
+
+  private List<Record<WorkflowInstanceRecord>> awaitActivatedEvents(int count) {
+    waitUntil(() -> activatedEvents().size() >= count);
+    return activatedEvents();
+  }
+
+  private List<Record<WorkflowInstanceRecord>> activatedEvents() {
+    return streamProcessorRule
+        .events()
+        .onlyWorkflowInstanceRecords()
+        .withIntent(WorkflowInstanceIntent.ELEMENT_ACTIVATED)
+        .collect(Collectors.toList());
+  }
+
+  private static final class FollowUpEventProcessor
+      implements TypedRecordProcessor<WorkflowInstanceRecord> {
+    private final long failingInstanceKey;
+
+    FollowUpEventProcessor(long failingInstanceKey) {
+      this.failingInstanceKey = failingInstanceKey;
+    }
+
+    @Override
+    public void processRecord(
+        long position,
+        TypedRecord<WorkflowInstanceRecord> record,
+        TypedResponseWriter responseWriter,
+        TypedStreamWriter streamWriter,
+        Consumer<SideEffectProducer> sideEffect) {
+      final WorkflowInstanceRecord value = record.getValue();
+      if (value.getWorkflowInstanceKey() == failingInstanceKey) {
+        throw new RuntimeException("expected");
+      }
+
+      streamWriter.appendFollowUpEvent(
+          value.getWorkflowInstanceKey(), WorkflowInstanceIntent.ELEMENT_ACTIVATED, value);
+    }
+  }
+}
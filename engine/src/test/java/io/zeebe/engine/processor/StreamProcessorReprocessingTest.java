@@ -383,4 +383,152 @@ public class StreamProcessorReprocessingTest {
 
     assertThat(processedPositions).containsExactly(position);
   }
+
+  @Test
+  public void shouldStopReprocessingOnFirstUnprocessedEvent() {
+    // given
+    final long processedEvent =
+        streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1);
+    streamProcessorRule.writeWorkflowInstanceEventWithSource(ELEMENT_ACTIVATED, 1, processedEvent);
+    final long firstUnprocessedEvent =
+        streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1);
+    final long secondUnprocessedEvent =
+        streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1);
+    waitUntil(
+        () ->
+            streamProcessorRule
+                .events()
+                .onlyWorkflowInstanceRecords()
+                .withIntent(ELEMENT_ACTIVATING)
+                .filter(r -> r.getPosition() == secondUnprocessedEvent)
+                .exists());
+
+    // when
+    final TypedRecordProcessor<?> typedRecordProcessor = mock(TypedRecordProcessor.class);
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE, ELEMENT_ACTIVATING, typedRecordProcessor));
+
+    // then
+    final InOrder inOrder = inOrder(typedRecordProcessor);
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onOpen(any());
+    // reprocessing
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(processedEvent), any(), any(), any(), any());
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onRecovered(any());
+    // normal processing
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(firstUnprocessedEvent), any(), any(), any(), any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(secondUnprocessedEvent), any(), any(), any(), any());
+
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldBlacklistOnErrorRecordAtEndOfLog() {
+    // given
+    final long failedEvent = streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1);
+    streamProcessorRule.writeErrorEvent(1, failedEvent);
+    waitUntil(() -> streamProcessorRule.events().onlyErrorRecords().exists());
+
+    // when
+    final TypedRecordProcessor<?> typedRecordProcessor = mock(TypedRecordProcessor.class);
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE, ELEMENT_ACTIVATING, typedRecordProcessor));
+
+    final long blacklistedEvent =
+        streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1);
+    final long otherInstanceEvent =
+        streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 2);
+
+    // then
+    final InOrder inOrder = inOrder(typedRecordProcessor);
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onOpen(any());
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onRecovered(any());
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(otherInstanceEvent), any(), any(), any(), any());
+
+    verify(typedRecordProcessor, never())
+        .processRecord(eq(failedEvent), any(), any(), any(), any());
+    verify(typedRecordProcessor, never())
+        .processRecord(eq(blacklistedEvent), any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldNotReprocessIfSnapshotPositionIsAtEndOfLog() throws Exception {
+    // given
+    final CountDownLatch processingLatch = new CountDownLatch(2);
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE,
+                ELEMENT_ACTIVATING,
+                new TypedRecordProcessor<UnifiedRecordValue>() {
+                  @Override
+                  public void processRecord(
+                      long position,
+                      TypedRecord<UnifiedRecordValue> record,
+                      TypedResponseWriter responseWriter,
+                      TypedStreamWriter streamWriter,
+                      Consumer<SideEffectProducer> sideEffect) {
+                    processingLatch.countDown();
+                  }
+                }));
+
+    streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING);
+    streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING);
+    processingLatch.await();
+    streamProcessorRule.closeStreamProcessor();
+
+    // when
+    final TypedRecordProcessor<?> typedRecordProcessor = mock(TypedRecordProcessor.class);
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE, ELEMENT_ACTIVATING, typedRecordProcessor));
+
+    // then
+    final InOrder inOrder = inOrder(typedRecordProcessor);
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onOpen(any());
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onRecovered(any());
+
+    final long position = streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING);
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(position), any(), any(), any(), any());
+
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldRecoverOnEmptyLog() {
+    // given
+    final TypedRecordProcessor<?> typedRecordProcessor = mock(TypedRecordProcessor.class);
+
+    // when
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors.onEvent(
+                ValueType.WORKFLOW_INSTANCE, ELEMENT_ACTIVATING, typedRecordProcessor));
+
+    // then
+    final InOrder inOrder = inOrder(typedRecordProcessor);
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onOpen(any());
+    inOrder.verify(typedRecordProcessor, TIMEOUT.times(1)).onRecovered(any());
+
+    final long position = streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING);
+    inOrder
+        .verify(typedRecordProcessor, TIMEOUT.times(1))
+        .processRecord(eq(position), any(), any(), any(), any());
+
+    inOrder.verifyNoMoreInteractions();
+  }
 }
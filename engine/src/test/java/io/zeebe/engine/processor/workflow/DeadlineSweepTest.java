@@ -0,0 +1,264 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import io.zeebe.engine.processor.TypedStreamWriter;
+import io.zeebe.engine.processor.workflow.DeadlineSweep.DueEntries;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.record.intent.JobIntent;
+import io.zeebe.util.sched.ActorControl;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+public class DeadlineSweepTest {
+
+  private static final int MAX_BATCH_LENGTH = 4 * 1024 * 1024;
+
+  @Mock private ActorControl someActor;
+
+  @Mock private TypedStreamWriter typedStreamWriter;
+  private TestDueEntries dueEntries;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+
+    dueEntries = new TestDueEntries();
+    dueEntries.add(1L, 1L);
+    dueEntries.add(2L, 2L);
+    dueEntries.add(2L, 3L);
+  }
+
+  private DeadlineSweep createSweep(final int maxEntriesPerStep) {
+    return new DeadlineSweep(
+        someActor, typedStreamWriter, MAX_BATCH_LENGTH, maxEntriesPerStep, dueEntries);
+  }
+
+  @Test
+  public void shouldWriteDueEntriesInOneBatch() {
+    // given
+    final DeadlineSweep sweep = createSweep(10);
+    when(typedStreamWriter.flush()).thenReturn(1L);
+
+    // when
+    sweep.start();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+
+    inOrder.verify(typedStreamWriter).reset();
+    verifyCommand(inOrder, 1L);
+    verifyCommand(inOrder, 2L);
+    verifyCommand(inOrder, 3L);
+    inOrder.verify(typedStreamWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+
+    assertThat(dueEntries.writtenBatches).containsExactly(3);
+    assertThat(dueEntries.backlogs).containsExactly(0);
+  }
+
+  @Test
+  public void shouldSplitBatchIfMaxBatchLengthIsReached() {
+    // given
+    final DeadlineSweep sweep = createSweep(10);
+    when(typedStreamWriter.flush()).thenReturn(1L);
+    when(typedStreamWriter.getBatchLength()).thenReturn(0, MAX_BATCH_LENGTH, 0, 0);
+
+    // when
+    sweep.start();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+
+    inOrder.verify(typedStreamWriter).reset();
+    verifyCommand(inOrder, 1L);
+    inOrder.verify(typedStreamWriter).flush();
+    inOrder.verify(typedStreamWriter).reset();
+    verifyCommand(inOrder, 2L);
+    verifyCommand(inOrder, 3L);
+    inOrder.verify(typedStreamWriter).flush();
+
+    assertThat(dueEntries.writtenBatches).containsExactly(1, 2);
+  }
+
+  @Test
+  public void shouldRetryBatchOnNextStepAfterFlushFailed() {
+    // given
+    final DeadlineSweep sweep = createSweep(10);
+    when(typedStreamWriter.flush()).thenReturn(-1L);
+    sweep.start();
+
+    // when
+    Mockito.reset(typedStreamWriter);
+    when(typedStreamWriter.flush()).thenReturn(1L);
+    captureScheduledStep().run();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+
+    inOrder.verify(typedStreamWriter).reset();
+    verifyCommand(inOrder, 1L);
+    verifyCommand(inOrder, 2L);
+    verifyCommand(inOrder, 3L);
+    inOrder.verify(typedStreamWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+
+    assertThat(dueEntries.writtenBatches).containsExactly(3);
+  }
+
+  @Test
+  public void shouldContinueWithNextEntryOnNextStep() {
+    // given
+    final DeadlineSweep sweep = createSweep(2);
+    when(typedStreamWriter.flush()).thenReturn(1L);
+    sweep.start();
+
+    // when
+    Mockito.reset(typedStreamWriter);
+    when(typedStreamWriter.flush()).thenReturn(1L);
+    captureScheduledStep().run();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+
+    inOrder.verify(typedStreamWriter).reset();
+    verifyCommand(inOrder, 3L);
+    inOrder.verify(typedStreamWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+
+    assertThat(dueEntries.writtenBatches).containsExactly(2, 1);
+  }
+
+  @Test
+  public void shouldNotStartNewPassWhileSweeping() {
+    // given
+    final DeadlineSweep sweep = createSweep(2);
+    when(typedStreamWriter.flush()).thenReturn(1L);
+    sweep.start();
+
+    // when
+    Mockito.reset(typedStreamWriter);
+    sweep.start();
+
+    // then
+    Mockito.verifyZeroInteractions(typedStreamWriter);
+  }
+
+  @Test
+  public void shouldReportBoundedBacklogAfterEachStep() {
+    // given
+    for (long key = 4; key <= 2 * DeadlineSweep.MAX_BACKLOG_LOOKAHEAD; key++) {
+      dueEntries.add(3L, key);
+    }
+    final DeadlineSweep sweep = createSweep(2);
+    when(typedStreamWriter.flush()).thenReturn(1L);
+
+    // when
+    sweep.start();
+
+    // then
+    assertThat(dueEntries.backlogs).containsExactly(DeadlineSweep.MAX_BACKLOG_LOOKAHEAD);
+  }
+
+  private Runnable captureScheduledStep() {
+    final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(someActor).runDelayed(eq(DeadlineSweep.STEP_INTERVAL), captor.capture());
+    return captor.getValue();
+  }
+
+  private void verifyCommand(final InOrder inOrder, final long key) {
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(key), eq(JobIntent.TIME_OUT), any(JobRecord.class));
+  }
+
+  /** Entries which are added in order of deadline and key, and which are never removed. */
+  private final class TestDueEntries implements DueEntries {
+
+    private final List<long[]> entries = new ArrayList<>();
+    private final List<Integer> writtenBatches = new ArrayList<>();
+    private final List<Integer> backlogs = new ArrayList<>();
+    private final JobRecord record = new JobRecord();
+
+    private void add(final long deadline, final long key) {
+      entries.add(new long[] {deadline, key});
+    }
+
+    private boolean isAtOrAfterStart(
+        final long[] entry, final long startDeadline, final long startKey) {
+      return entry[0] > startDeadline || (entry[0] == startDeadline && entry[1] >= startKey);
+    }
+
+    @Override
+    public void visitDueEntries(
+        final long upperBound,
+        final long startDeadline,
+        final long startKey,
+        final DeadlineSweep sweep) {
+      for (final long[] entry : entries) {
+        if (entry[0] > upperBound) {
+          return;
+        }
+        if (isAtOrAfterStart(entry, startDeadline, startKey)) {
+          if (!sweep.tryAppend(entry[0], entry[1])) {
+            return;
+          }
+          typedStreamWriter.appendFollowUpCommand(entry[1], JobIntent.TIME_OUT, record);
+        }
+      }
+    }
+
+    @Override
+    public int countDueEntries(
+        final long upperBound, final long startDeadline, final long startKey, final int limit) {
+      int count = 0;
+      for (final long[] entry : entries) {
+        if (count >= limit || entry[0] > upperBound) {
+          break;
+        }
+        if (isAtOrAfterStart(entry, startDeadline, startKey)) {
+          count += 1;
+        }
+      }
+      return count;
+    }
+
+    @Override
+    public void onBatchWritten(final int entryCount) {
+      writtenBatches.add(entryCount);
+    }
+
+    @Override
+    public void onBacklog(final int backlog) {
+      backlogs.add(backlog);
+    }
+  }
+}
@@ -52,5 +52,8 @@ public class ExclusiveGatewayTransformationTest {
         .isEqualTo("split-to-a");
     assertThat(splitGateway.getStep(WorkflowInstanceIntent.ELEMENT_COMPLETED))
         .isEqualTo(BpmnStep.EXCLUSIVE_GATEWAY_ELEMENT_COMPLETED);
+    assertThat(splitGateway.getOutgoingConditions().getConditionCount()).isEqualTo(1);
+    assertThat(splitGateway.getOutgoingConditions().getVariableNames())
+        .containsExactly(BufferUtil.wrapString("order"));
   }
 }
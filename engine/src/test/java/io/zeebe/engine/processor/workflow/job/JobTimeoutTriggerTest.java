@@ -19,6 +19,8 @@ package io.zeebe.engine.processor.workflow.job;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -26,6 +28,7 @@ import io.zeebe.engine.processor.ProcessingContext;
 import io.zeebe.engine.processor.TypedStreamWriter;
 import io.zeebe.engine.state.instance.JobState;
 import io.zeebe.engine.util.ZeebeStateRule;
+import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.record.intent.JobIntent;
 import io.zeebe.util.sched.ActorControl;
@@ -43,24 +46,33 @@ public class JobTimeoutTriggerTest {
   @Mock private ActorControl someActor;
 
   @Mock private TypedStreamWriter typedStreamWriter;
-  private JobTimeoutTrigger jobTimeoutTrigger;
+  private JobState jobState;
 
   @Before
   public void setUp() {
     initMocks(this);
 
-    final JobState jobState = stateRule.getZeebeState().getJobState();
-    jobTimeoutTrigger = new JobTimeoutTrigger(jobState);
-
-    final ProcessingContext processingContext =
-        new ProcessingContext().actor(someActor).logStreamWriter(typedStreamWriter);
-    jobTimeoutTrigger.onRecovered(processingContext);
-
+    jobState = stateRule.getZeebeState().getJobState();
     jobState.activate(0, newJobRecord());
     jobState.activate(1, newJobRecord());
     jobState.activate(2, newJobRecord());
   }
 
+  private JobTimeoutTrigger createTrigger() {
+    final JobTimeoutTrigger jobTimeoutTrigger = new JobTimeoutTrigger(jobState);
+
+    final LogStream logStream = mock(LogStream.class, RETURNS_DEEP_STUBS);
+    when(logStream.getWriteBuffer().getMaxFrameLength()).thenReturn(4 * 1024 * 1024);
+
+    final ProcessingContext processingContext =
+        new ProcessingContext()
+            .actor(someActor)
+            .logStream(logStream)
+            .logStreamWriter(typedStreamWriter);
+    jobTimeoutTrigger.onRecovered(processingContext);
+    return jobTimeoutTrigger;
+  }
+
   private JobRecord newJobRecord() {
     final JobRecord jobRecord = new JobRecord();
 
@@ -72,9 +84,10 @@ public class JobTimeoutTriggerTest {
   }
 
   @Test
-  public void shouldNotWriteAgainAfterFlushFailed() {
+  public void shouldWriteTimedOutJobsInOneBatch() {
     // given
-    when(typedStreamWriter.flush()).thenReturn(1L, -1L);
+    final JobTimeoutTrigger jobTimeoutTrigger = createTrigger();
+    when(typedStreamWriter.flush()).thenReturn(1L);
 
     // when
     jobTimeoutTrigger.deactivateTimedOutJobs();
@@ -82,15 +95,38 @@ public class JobTimeoutTriggerTest {
     // then
     final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
 
-    inOrder
-        .verify(typedStreamWriter)
-        .appendFollowUpCommand(eq(0L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder.verify(typedStreamWriter).reset();
+    verifyTimeOutCommand(inOrder, 0L);
+    verifyTimeOutCommand(inOrder, 1L);
+    verifyTimeOutCommand(inOrder, 2L);
     inOrder.verify(typedStreamWriter).flush();
-    inOrder
-        .verify(typedStreamWriter)
-        .appendFollowUpCommand(eq(1L), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldNotWriteAgainAfterFlushFailed() {
+    // given
+    final JobTimeoutTrigger jobTimeoutTrigger = createTrigger();
+    when(typedStreamWriter.flush()).thenReturn(-1L);
+
+    // when
+    jobTimeoutTrigger.deactivateTimedOutJobs();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+
+    inOrder.verify(typedStreamWriter).reset();
+    verifyTimeOutCommand(inOrder, 0L);
+    verifyTimeOutCommand(inOrder, 1L);
+    verifyTimeOutCommand(inOrder, 2L);
     inOrder.verify(typedStreamWriter).flush();
     inOrder.verify(typedStreamWriter).reset();
     inOrder.verifyNoMoreInteractions();
   }
+
+  private void verifyTimeOutCommand(InOrder inOrder, long jobKey) {
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(jobKey), eq(JobIntent.TIME_OUT), any(JobRecord.class), any());
+  }
 }
@@ -0,0 +1,102 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import io.zeebe.engine.metrics.MessageMetrics;
+import io.zeebe.engine.processor.TypedStreamWriter;
+import io.zeebe.engine.state.message.Message;
+import io.zeebe.engine.state.message.MessageState;
+import io.zeebe.engine.util.ZeebeStateRule;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.record.intent.MessageIntent;
+import io.zeebe.test.util.MsgPackUtil;
+import io.zeebe.util.sched.ActorControl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+public class MessageTimeToLiveCheckerTest {
+
+  @Rule public final ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  @Mock private ActorControl someActor;
+
+  @Mock private TypedStreamWriter typedStreamWriter;
+  private MessageState messageState;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+
+    messageState = stateRule.getZeebeState().getMessageState();
+    messageState.put(newMessage(1L, 1));
+    messageState.put(newMessage(2L, 2));
+    messageState.put(newMessage(3L, 3));
+  }
+
+  private MessageTimeToLiveChecker createChecker() {
+    return new MessageTimeToLiveChecker(
+        someActor, typedStreamWriter, messageState, 4 * 1024 * 1024, new MessageMetrics(0));
+  }
+
+  private static Message newMessage(long key, long deadline) {
+    return new Message(
+        key,
+        wrapString("name"),
+        wrapString("correlationKey"),
+        MsgPackUtil.asMsgPack("{}"),
+        wrapString("id-" + key),
+        10_000L,
+        deadline);
+  }
+
+  @Test
+  public void shouldWriteDeleteCommandsInOneBatch() {
+    // given
+    final MessageTimeToLiveChecker checker = createChecker();
+    when(typedStreamWriter.flush()).thenReturn(1L);
+
+    // when
+    checker.run();
+
+    // then
+    final InOrder inOrder = Mockito.inOrder(typedStreamWriter);
+
+    inOrder.verify(typedStreamWriter).reset();
+    verifyDeleteCommand(inOrder, 1L);
+    verifyDeleteCommand(inOrder, 2L);
+    verifyDeleteCommand(inOrder, 3L);
+    inOrder.verify(typedStreamWriter).flush();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  private void verifyDeleteCommand(InOrder inOrder, long messageKey) {
+    inOrder
+        .verify(typedStreamWriter)
+        .appendFollowUpCommand(eq(messageKey), eq(MessageIntent.DELETE), any(MessageRecord.class));
+  }
+}
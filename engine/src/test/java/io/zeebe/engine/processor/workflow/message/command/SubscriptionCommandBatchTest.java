@@ -0,0 +1,139 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message.command;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class SubscriptionCommandBatchTest {
+
+  private final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+
+  @Test
+  public void shouldEncodeAndDecodeCommands() {
+    // given
+    batch.addCommand(closeMessageSubscription(1, 10L, "a"));
+    batch.addCommand(closeWorkflowInstanceSubscription(2, 20L, "b"));
+    batch.addCommand(closeMessageSubscription(3, 30L, "c"));
+
+    // when
+    final byte[] bytes = batch.toBytes();
+
+    final SubscriptionCommandBatch decodedBatch = new SubscriptionCommandBatch();
+    final DirectBuffer buffer = new UnsafeBuffer(bytes);
+    assertThat(decodedBatch.tryWrap(buffer)).isTrue();
+    decodedBatch.wrap(buffer);
+
+    // then
+    assertThat(bytes).hasSize(batch.getLength());
+    assertThat(decodedBatch.getCommandCount()).isEqualTo(3);
+
+    final DirectBuffer commandView = new UnsafeBuffer(0, 0);
+    final CloseMessageSubscriptionCommand closeMessageSubscription =
+        new CloseMessageSubscriptionCommand();
+    final CloseWorkflowInstanceSubscriptionCommand closeWorkflowInstanceSubscription =
+        new CloseWorkflowInstanceSubscriptionCommand();
+
+    decodedBatch.wrapCommand(0, commandView);
+    closeMessageSubscription.wrap(commandView, 0, commandView.capacity());
+    assertThat(closeMessageSubscription.getSubscriptionPartitionId()).isEqualTo(1);
+    assertThat(closeMessageSubscription.getWorkflowInstanceKey()).isEqualTo(10L);
+    assertThat(closeMessageSubscription.getMessageName()).isEqualTo(wrapString("a"));
+
+    decodedBatch.wrapCommand(1, commandView);
+    closeWorkflowInstanceSubscription.wrap(commandView, 0, commandView.capacity());
+    assertThat(closeWorkflowInstanceSubscription.getSubscriptionPartitionId()).isEqualTo(2);
+    assertThat(closeWorkflowInstanceSubscription.getWorkflowInstanceKey()).isEqualTo(20L);
+    assertThat(closeWorkflowInstanceSubscription.getMessageName()).isEqualTo(wrapString("b"));
+
+    decodedBatch.wrapCommand(2, commandView);
+    closeMessageSubscription.wrap(commandView, 0, commandView.capacity());
+    assertThat(closeMessageSubscription.getSubscriptionPartitionId()).isEqualTo(3);
+    assertThat(closeMessageSubscription.getWorkflowInstanceKey()).isEqualTo(30L);
+    assertThat(closeMessageSubscription.getMessageName()).isEqualTo(wrapString("c"));
+  }
+
+  @Test
+  public void shouldNotWrapSingleCommand() {
+    // given
+    final CloseMessageSubscriptionCommand command = closeMessageSubscription(1, 10L, "a");
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[command.getLength()]);
+    command.write(buffer, 0);
+
+    // when
+    final boolean isBatch = batch.tryWrap(buffer);
+
+    // then
+    assertThat(isBatch).isFalse();
+  }
+
+  @Test
+  public void shouldCalculateLengthWithCommand() {
+    // given
+    batch.addCommand(closeMessageSubscription(1, 10L, "a"));
+    final CloseMessageSubscriptionCommand command = closeMessageSubscription(2, 20L, "b");
+
+    // when
+    final int lengthWithCommand = batch.getLengthWith(command);
+    batch.addCommand(command);
+
+    // then
+    assertThat(lengthWithCommand).isEqualTo(batch.getLength());
+    assertThat(batch.toBytes()).hasSize(lengthWithCommand);
+  }
+
+  @Test
+  public void shouldResetCommands() {
+    // given
+    batch.addCommand(closeMessageSubscription(1, 10L, "a"));
+    final int emptyLength = new SubscriptionCommandBatch().getLength();
+
+    // when
+    batch.reset();
+
+    // then
+    assertThat(batch.isEmpty()).isTrue();
+    assertThat(batch.getCommandCount()).isZero();
+    assertThat(batch.getLength()).isEqualTo(emptyLength);
+  }
+
+  private static CloseMessageSubscriptionCommand closeMessageSubscription(
+      int subscriptionPartitionId, long workflowInstanceKey, String messageName) {
+    final CloseMessageSubscriptionCommand command = new CloseMessageSubscriptionCommand();
+    command.setSubscriptionPartitionId(subscriptionPartitionId);
+    command.setWorkflowInstanceKey(workflowInstanceKey);
+    command.setElementInstanceKey(workflowInstanceKey + 1);
+    command.setMessageName(wrapString(messageName));
+    return command;
+  }
+
+  private static CloseWorkflowInstanceSubscriptionCommand closeWorkflowInstanceSubscription(
+      int subscriptionPartitionId, long workflowInstanceKey, String messageName) {
+    final CloseWorkflowInstanceSubscriptionCommand command =
+        new CloseWorkflowInstanceSubscriptionCommand();
+    command.setSubscriptionPartitionId(subscriptionPartitionId);
+    command.setWorkflowInstanceKey(workflowInstanceKey);
+    command.setElementInstanceKey(workflowInstanceKey + 1);
+    command.setMessageName(wrapString(messageName));
+    return command;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message.command;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamBatchWriter;
+import io.zeebe.logstreams.log.LogStreamBatchWriter.LogEntryBuilder;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.value.message.MessageSubscriptionRecord;
+import io.zeebe.protocol.record.intent.Intent;
+import io.zeebe.protocol.record.intent.MessageSubscriptionIntent;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.buffer.BufferWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class SubscriptionCommandMessageHandlerTest {
+
+  private final List<Intent> writtenIntents = new ArrayList<>();
+  private final List<DirectBuffer> writtenMessageNames = new ArrayList<>();
+
+  private LogStreamBatchWriter logStreamWriter;
+  private SubscriptionCommandMessageHandler handler;
+
+  @Before
+  public void setUp() {
+    logStreamWriter = mock(LogStreamBatchWriter.class);
+    final LogEntryBuilder logEntryBuilder = mock(LogEntryBuilder.class);
+    when(logStreamWriter.event()).thenReturn(logEntryBuilder);
+    when(logEntryBuilder.key(anyLong())).thenReturn(logEntryBuilder);
+    when(logEntryBuilder.done()).thenReturn(logStreamWriter);
+
+    // the metadata and value objects are reused, so copy them when they are written
+    when(logEntryBuilder.metadataWriter(any()))
+        .thenAnswer(
+            i -> {
+              writtenIntents.add(((RecordMetadata) i.getArgument(0)).getIntent());
+              return logEntryBuilder;
+            });
+    when(logEntryBuilder.valueWriter(any()))
+        .thenAnswer(
+            i -> {
+              final MessageSubscriptionRecord record = i.getArgument(0);
+              writtenMessageNames.add(BufferUtil.cloneBuffer(record.getMessageNameBuffer()));
+              return logEntryBuilder;
+            });
+
+    final LogStream logStream = mock(LogStream.class);
+    handler =
+        new SubscriptionCommandMessageHandler(
+            Runnable::run, partitionId -> logStream, logStreamWriter);
+  }
+
+  @Test
+  public void shouldWriteSingleCommand() {
+    // given
+    final byte[] message = toBytes(closeMessageSubscription("a"));
+
+    // when
+    handler.apply(message).join();
+
+    // then
+    assertThat(writtenIntents).containsExactly(MessageSubscriptionIntent.CLOSE);
+    assertThat(writtenMessageNames).containsExactly(wrapString("a"));
+
+    final InOrder inOrder = inOrder(logStreamWriter);
+    inOrder.verify(logStreamWriter).wrap(any());
+    inOrder.verify(logStreamWriter).event();
+    inOrder.verify(logStreamWriter).tryWrite();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldWriteCommandsOfBatchAsOneLogBatch() {
+    // given
+    final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+    batch.addCommand(closeMessageSubscription("a"));
+    batch.addCommand(closeMessageSubscription("b"));
+    batch.addCommand(closeMessageSubscription("c"));
+
+    // when
+    handler.apply(batch.toBytes()).join();
+
+    // then
+    assertThat(writtenIntents)
+        .containsExactly(
+            MessageSubscriptionIntent.CLOSE,
+            MessageSubscriptionIntent.CLOSE,
+            MessageSubscriptionIntent.CLOSE);
+    assertThat(writtenMessageNames)
+        .containsExactly(wrapString("a"), wrapString("b"), wrapString("c"));
+
+    final InOrder inOrder = inOrder(logStreamWriter);
+    inOrder.verify(logStreamWriter).wrap(any());
+    inOrder.verify(logStreamWriter, times(3)).event();
+    inOrder.verify(logStreamWriter).tryWrite();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  private static CloseMessageSubscriptionCommand closeMessageSubscription(String messageName) {
+    final CloseMessageSubscriptionCommand command = new CloseMessageSubscriptionCommand();
+    command.setSubscriptionPartitionId(1);
+    command.setWorkflowInstanceKey(2L);
+    command.setElementInstanceKey(3L);
+    command.setMessageName(wrapString(messageName));
+    return command;
+  }
+
+  private static byte[] toBytes(BufferWriter command) {
+    final byte[] bytes = new byte[command.getLength()];
+    command.write(new UnsafeBuffer(bytes), 0);
+    return bytes;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.timer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.engine.processor.workflow.timer.TimerWheel.TimerEntry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class TimerWheelTest {
+
+  private static final long TICK = 100;
+
+  private final List<TimerEntry> dueTimers = new ArrayList<>();
+  private final TimerWheel timerWheel = new TimerWheel(TICK, 0);
+
+  @Test
+  public void shouldNotTriggerTimerBeforeDueDate() {
+    // given
+    timerWheel.add(1, 2, 150);
+
+    // when
+    timerWheel.advance(149, dueTimers::add);
+
+    // then
+    assertThat(dueTimers).isEmpty();
+    assertThat(timerWheel.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldTriggerTimerOnDueDate() {
+    // given
+    timerWheel.add(1, 2, 150);
+
+    // when
+    timerWheel.advance(150, dueTimers::add);
+
+    // then
+    assertThat(dueTimers).hasSize(1);
+    assertThat(dueTimers.get(0).getTimerKey()).isEqualTo(1);
+    assertThat(dueTimers.get(0).getElementInstanceKey()).isEqualTo(2);
+    assertThat(dueTimers.get(0).getDueDate()).isEqualTo(150);
+    assertThat(timerWheel.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldTriggerTimersWithEqualDueDateInOrderOfAdding() {
+    // given
+    final long dueDate = Duration.ofMinutes(5).toMillis();
+    timerWheel.add(3, 1, dueDate);
+    timerWheel.add(1, 1, dueDate);
+    timerWheel.add(2, 1, dueDate);
+
+    // when
+    timerWheel.advance(dueDate, dueTimers::add);
+
+    // then
+    assertThat(dueTimers).extracting(TimerEntry::getTimerKey).containsExactly(3L, 1L, 2L);
+  }
+
+  @Test
+  public void shouldTriggerOverdueTimer() {
+    // given
+    timerWheel.advance(10_000, dueTimers::add);
+
+    // when
+    timerWheel.add(1, 2, 5_000);
+    timerWheel.advance(10_000, dueTimers::add);
+
+    // then
+    assertThat(dueTimers).extracting(TimerEntry::getTimerKey).containsExactly(1L);
+  }
+
+  @Test
+  public void shouldTriggerTimersOfHigherLevels() {
+    // given
+    final long[] dueDates = {
+      Duration.ofSeconds(10).toMillis(),
+      Duration.ofMinutes(10).toMillis(),
+      Duration.ofHours(10).toMillis(),
+      Duration.ofDays(10).toMillis(),
+      Duration.ofDays(1000).toMillis(),
+      Duration.ofDays(10_000).toMillis()
+    };
+    for (int i = 0; i < dueDates.length; i++) {
+      timerWheel.add(i, i, dueDates[i]);
+    }
+
+    for (int i = 0; i < dueDates.length; i++) {
+      // when
+      timerWheel.advance(dueDates[i] - 1, dueTimers::add);
+      assertThat(dueTimers).hasSize(i);
+
+      timerWheel.advance(dueDates[i], dueTimers::add);
+
+      // then
+      assertThat(dueTimers).hasSize(i + 1);
+      assertThat(dueTimers.get(i).getDueDate()).isEqualTo(dueDates[i]);
+    }
+  }
+
+  @Test
+  public void shouldTriggerTimersInOrderOfTicks() {
+    // given
+    final Random random = new Random(42);
+    final long maxDueDate = Duration.ofDays(2).toMillis();
+    for (int i = 0; i < 10_000; i++) {
+      final long dueDate = (long) (random.nextDouble() * maxDueDate);
+      timerWheel.add(i, i, dueDate);
+    }
+
+    // when
+    final List<Long> triggeredDueDates = new ArrayList<>();
+    for (long time = 0; time <= maxDueDate; time += 7 * TICK + 13) {
+      final long currentTime = time;
+      timerWheel.advance(
+          currentTime,
+          timer -> {
+            assertThat(timer.getDueDate()).isLessThanOrEqualTo(currentTime);
+            assertThat(timer.getDueDate()).isGreaterThan(currentTime - 7 * TICK - 13);
+            triggeredDueDates.add(timer.getDueDate());
+          });
+    }
+    timerWheel.advance(maxDueDate, timer -> triggeredDueDates.add(timer.getDueDate()));
+
+    // then
+    assertThat(triggeredDueDates).hasSize(10_000);
+    assertThat(timerWheel.isEmpty()).isTrue();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.engine.util.ZeebeStateRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class BlackListTest {
+
+  @Rule public final ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  private ZeebeDb<ZbColumnFamilies> db;
+  private DbContext dbContext;
+  private BlackList blackList;
+
+  @Before
+  public void setUp() {
+    db = stateRule.createNewDb();
+    dbContext = db.createContext();
+    blackList = new BlackList(db, dbContext);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    db.close();
+  }
+
+  @Test
+  public void shouldBlacklistInstance() {
+    // when
+    blackList.blacklist(1L);
+
+    // then
+    assertThat(blackList.isOnBlacklist(1L)).isTrue();
+    assertThat(blackList.isOnBlacklist(2L)).isFalse();
+  }
+
+  @Test
+  public void shouldLoadBlacklistedInstances() {
+    // given
+    blackList.blacklist(1L);
+    blackList.blacklist(2L);
+
+    // when
+    final BlackList newBlackList = new BlackList(db, db.createContext());
+
+    // then
+    assertThat(newBlackList.isOnBlacklist(1L)).isTrue();
+    assertThat(newBlackList.isOnBlacklist(2L)).isTrue();
+    assertThat(newBlackList.isOnBlacklist(3L)).isFalse();
+  }
+
+  @Test
+  public void shouldForgetBlacklistedInstancesOnRollback() throws Exception {
+    // given
+    blackList.blacklist(1L);
+
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    blackList.blacklist(2L);
+    assertThat(blackList.isOnBlacklist(2L)).isTrue();
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(blackList.isOnBlacklist(1L)).isTrue();
+    assertThat(blackList.isOnBlacklist(2L)).isFalse();
+  }
+
+  @Test
+  public void shouldKeepCommittedInstancesOnLaterRollback() throws Exception {
+    // given
+    ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    blackList.blacklist(1L);
+    transaction.commit();
+
+    // when
+    transaction = dbContext.getCurrentTransaction();
+    blackList.blacklist(2L);
+    transaction.rollback();
+
+    // then
+    assertThat(blackList.isOnBlacklist(1L)).isTrue();
+    assertThat(blackList.isOnBlacklist(2L)).isFalse();
+  }
+
+  @Test
+  public void shouldKeepCommittedInstancesOnRollbackOfOtherTransaction() throws Exception {
+    // given
+    ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    blackList.blacklist(1L);
+    transaction.commit();
+
+    // when
+    transaction = dbContext.getCurrentTransaction();
+    transaction.rollback();
+
+    // then
+    assertThat(blackList.isOnBlacklist(1L)).isTrue();
+  }
+}
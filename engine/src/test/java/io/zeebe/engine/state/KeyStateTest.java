@@ -0,0 +1,97 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.engine.util.ZeebeStateRule;
+import io.zeebe.protocol.Protocol;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class KeyStateTest {
+
+  private static final int PARTITION_ID = 1;
+
+  @Rule public final ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  private ZeebeDb<ZbColumnFamilies> db;
+  private DbContext dbContext;
+  private KeyState keyState;
+
+  @Before
+  public void setUp() {
+    db = stateRule.createNewDb();
+    dbContext = db.createContext();
+    keyState = new KeyState(PARTITION_ID, db, dbContext);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    db.close();
+  }
+
+  @Test
+  public void shouldGenerateConsecutiveKeys() {
+    // when
+    final long firstKey = keyState.nextKey();
+    final long secondKey = keyState.nextKey();
+
+    // then
+    assertThat(firstKey).isEqualTo(Protocol.encodePartitionId(PARTITION_ID, 1));
+    assertThat(secondKey).isEqualTo(firstKey + 1);
+  }
+
+  @Test
+  public void shouldContinueWithCommittedKey() throws Exception {
+    // given
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    keyState.nextKey();
+    final long lastKey = keyState.nextKey();
+    transaction.commit();
+
+    // when
+    final KeyState newKeyState = new KeyState(PARTITION_ID, db, db.createContext());
+
+    // then
+    assertThat(newKeyState.nextKey()).isEqualTo(lastKey + 1);
+  }
+
+  @Test
+  public void shouldGenerateSameKeysAfterRollback() throws Exception {
+    // given
+    final long committedKey = keyState.nextKey();
+
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    keyState.nextKey();
+    keyState.nextKey();
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(keyState.nextKey()).isEqualTo(committedKey + 1);
+    assertThat(new KeyState(PARTITION_ID, db, db.createContext()).nextKey())
+        .isEqualTo(committedKey + 2);
+  }
+}
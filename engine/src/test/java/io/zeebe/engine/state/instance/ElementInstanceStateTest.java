@@ -20,6 +20,7 @@ package io.zeebe.engine.state.instance;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.state.instance.StoredRecord.Purpose;
 import io.zeebe.engine.util.ZeebeStateRule;
@@ -435,6 +436,89 @@ public class ElementInstanceStateTest {
     Assertions.assertThat(elementInstanceState.isEmpty()).isTrue();
   }
 
+  @Test
+  public void shouldDiscardCachedUpdatesOnRollback() throws Exception {
+    // given
+    elementInstanceState.newInstance(
+        100, createWorkflowInstanceRecord(), WorkflowInstanceIntent.ELEMENT_ACTIVATED);
+
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+    elementInstanceState.spawnToken(100);
+    assertThat(elementInstanceState.getInstance(100).getNumberOfActiveTokens()).isEqualTo(1);
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(elementInstanceState.getInstance(100).getNumberOfActiveTokens()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldWriteCachedUpdatesOnCommit() throws Exception {
+    // given
+    final ElementInstanceState otherState =
+        stateRule.createNewState().getWorkflowState().getElementInstanceState();
+    final int instanceCount = 2_000;
+
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+    for (int key = 1; key <= instanceCount; key++) {
+      elementInstanceState.newInstance(
+          key, createWorkflowInstanceRecord(), WorkflowInstanceIntent.ELEMENT_ACTIVATED);
+    }
+    assertThat(otherState.getInstance(instanceCount)).isNull();
+
+    // when
+    transaction.commit();
+
+    // then
+    for (int key = 1; key <= instanceCount; key++) {
+      assertThat(elementInstanceState.getInstance(key)).isNotNull();
+      assertThat(otherState.getInstance(key)).isNotNull();
+    }
+  }
+
+  @Test
+  public void shouldReadStoredInstanceWhileEvictingDirtyInstances() throws Exception {
+    // given
+    final int instanceCount = 2_000;
+    final int dirtyKeyOffset = 10_000;
+
+    final ZeebeDbTransaction storingTransaction = stateRule.getDbContext().getCurrentTransaction();
+    for (int key = 1; key <= instanceCount; key++) {
+      newInstanceWithElementId(key);
+    }
+    storingTransaction.commit();
+
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+    for (int key = dirtyKeyOffset + 1; key <= dirtyKeyOffset + instanceCount; key++) {
+      newInstanceWithElementId(key);
+    }
+
+    // when
+    for (int key = 1; key <= instanceCount; key++) {
+      final ElementInstance instance = elementInstanceState.getInstance(key);
+
+      // then
+      assertThat(instance.getKey()).isEqualTo(key);
+      assertThat(BufferUtil.bufferAsString(instance.getValue().getElementIdBuffer()))
+          .isEqualTo("element-" + key);
+    }
+
+    transaction.commit();
+    for (int key = dirtyKeyOffset + 1; key <= dirtyKeyOffset + instanceCount; key++) {
+      final ElementInstance instance = elementInstanceState.getInstance(key);
+      assertThat(instance.getKey()).isEqualTo(key);
+      assertThat(BufferUtil.bufferAsString(instance.getValue().getElementIdBuffer()))
+          .isEqualTo("element-" + key);
+    }
+  }
+
+  private void newInstanceWithElementId(long key) {
+    final WorkflowInstanceRecord record = createWorkflowInstanceRecord();
+    record.setElementId("element-" + key);
+    elementInstanceState.newInstance(key, record, WorkflowInstanceIntent.ELEMENT_ACTIVATED);
+  }
+
   private void assertElementInstance(ElementInstance elementInstance, int childCount) {
     Assertions.assertThat(elementInstance.getKey()).isEqualTo(100);
     Assertions.assertThat(elementInstance.getState())
@@ -21,6 +21,7 @@ import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.state.instance.JobState.State;
 import io.zeebe.engine.util.ZeebeStateRule;
@@ -70,6 +71,56 @@ public class JobStateTest {
     refuteListedAsTimedOut(key, jobRecord.getDeadline() + 1);
   }
 
+  @Test
+  public void shouldNotifyWhenJobBecomesActivatable() {
+    // given
+    final List<String> notifiedTypes = new ArrayList<>();
+    jobState.setJobsAvailableCallback(notifiedTypes::add);
+    final JobRecord jobRecord = newJobRecord();
+
+    // when
+    jobState.create(1L, jobRecord);
+    jobState.activate(1L, jobRecord);
+    jobState.timeout(1L, jobRecord);
+
+    // then
+    assertThat(notifiedTypes).containsExactly("test", "test");
+  }
+
+  @Test
+  public void shouldNotifyOncePerTypeAfterCommit() throws Exception {
+    // given
+    final List<String> notifiedTypes = new ArrayList<>();
+    jobState.setJobsAvailableCallback(notifiedTypes::add);
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+
+    // when
+    jobState.create(1L, newJobRecord());
+    jobState.create(2L, newJobRecord());
+    jobState.create(3L, newJobRecord().setType("other"));
+
+    // then
+    assertThat(notifiedTypes).isEmpty();
+
+    transaction.commit();
+    assertThat(notifiedTypes).containsExactlyInAnyOrder("test", "other");
+  }
+
+  @Test
+  public void shouldNotNotifyOnRollback() throws Exception {
+    // given
+    final List<String> notifiedTypes = new ArrayList<>();
+    jobState.setJobsAvailableCallback(notifiedTypes::add);
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+    jobState.create(1L, newJobRecord());
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(notifiedTypes).isEmpty();
+  }
+
   @Test
   public void shouldActivateJob() {
     // given
@@ -343,6 +394,55 @@ public class JobStateTest {
     assertThat(timedOutKeys).containsExactly(1L, 2L, 3L);
   }
 
+  @Test
+  public void shouldIterateOverTimedOutStartingAtDeadlineAndKey() {
+    // given
+    createAndActivateJobRecord(1, newJobRecord().setDeadline(1L));
+    createAndActivateJobRecord(2, newJobRecord().setDeadline(256L));
+    createAndActivateJobRecord(3, newJobRecord().setDeadline(256L));
+    createAndActivateJobRecord(4, newJobRecord().setDeadline(512L));
+    createAndActivateJobRecord(5, newJobRecord().setDeadline(65536L));
+
+    // when
+    final List<Long> timedOutKeys = new ArrayList<>();
+    jobState.forEachTimedOutEntry(1024L, 256L, 3L, (k, e) -> timedOutKeys.add(k));
+
+    // then
+    assertThat(timedOutKeys).containsExactly(3L, 4L);
+  }
+
+  @Test
+  public void shouldCountTimedOutEntries() {
+    // given
+    createAndActivateJobRecord(1, newJobRecord().setDeadline(1L));
+    createAndActivateJobRecord(2, newJobRecord().setDeadline(256L));
+    jobState.create(3, newJobRecord().setDeadline(512L));
+    createAndActivateJobRecord(4, newJobRecord().setDeadline(65536L));
+
+    // when
+    final int count = jobState.countTimedOutEntries(32768L, 0, 0, 10);
+
+    // then
+    assertThat(count).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCountTimedOutEntriesFromStartUpToLimit() {
+    // given
+    createAndActivateJobRecord(1, newJobRecord().setDeadline(1L));
+    createAndActivateJobRecord(2, newJobRecord().setDeadline(256L));
+    createAndActivateJobRecord(3, newJobRecord().setDeadline(256L));
+    createAndActivateJobRecord(4, newJobRecord().setDeadline(512L));
+
+    // when
+    final int countFromStart = jobState.countTimedOutEntries(32768L, 256L, 3L, 10);
+    final int limitedCount = jobState.countTimedOutEntries(32768L, 0, 0, 3);
+
+    // then
+    assertThat(countFromStart).isEqualTo(2);
+    assertThat(limitedCount).isEqualTo(3);
+  }
+
   @Test
   public void shouldDoNothingIfNotTimedOutJobs() {
     // given
@@ -89,6 +89,31 @@ public class TimerInstanceStateTest {
     Assertions.assertThat(timers.get(0).getElementInstanceKey()).isEqualTo(2L);
   }
 
+  @Test
+  public void shouldVisitDueDatesInOrder() {
+    // given
+    final TimerInstance timer1 = new TimerInstance();
+    timer1.setElementInstanceKey(1L);
+    timer1.setKey(3L);
+    timer1.setDueDate(2000L);
+    state.put(timer1);
+
+    final TimerInstance timer2 = new TimerInstance();
+    timer2.setElementInstanceKey(2L);
+    timer2.setKey(4L);
+    timer2.setDueDate(1000L);
+    state.put(timer2);
+
+    // when
+    final List<long[]> dueDates = new ArrayList<>();
+    state.forEachDueDate(
+        (dueDate, elementInstanceKey, timerKey) ->
+            dueDates.add(new long[] {dueDate, elementInstanceKey, timerKey}));
+
+    // then
+    assertThat(dueDates).containsExactly(new long[] {1000L, 2L, 4L}, new long[] {2000L, 1L, 3L});
+  }
+
   @Test
   public void shouldGetTimerByElementInstanceKey() {
     // given
@@ -23,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.processor.TypedRecord;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.state.instance.VariablesState.VariableListener;
@@ -256,6 +257,72 @@ public class VariableStateTest {
     MsgPackUtil.assertEquality(variablesDocument, "{'a': 1}");
   }
 
+  @Test
+  public void shouldCollectDuplicatedVariableNamesOnce() {
+    // given
+    declareScope(parent);
+
+    setVariableLocal(parent, BufferUtil.wrapString("a"), MsgPackUtil.asMsgPack("1"));
+
+    // when
+    final DirectBuffer variablesDocument =
+        variablesState.getVariablesAsDocument(
+            parent, Arrays.asList(BufferUtil.wrapString("a"), BufferUtil.wrapString("a")));
+
+    // then
+    MsgPackUtil.assertEquality(variablesDocument, "{'a': 1}");
+  }
+
+  @Test
+  public void shouldNotCollectHiddenVariablesOfManyScopes() {
+    // given
+    declareScope(parent);
+    declareScope(parent, child);
+    declareScope(child, child2);
+
+    final int variableCount = 100;
+    for (int i = 0; i < variableCount; i++) {
+      final DirectBuffer name = BufferUtil.wrapString("var" + i);
+      setVariableLocal(parent, name, MsgPackUtil.asMsgPack("0"));
+      setVariableLocal(child, name, MsgPackUtil.asMsgPack("1"));
+      if (i % 2 == 0) {
+        setVariableLocal(child2, name, MsgPackUtil.asMsgPack("2"));
+      }
+    }
+
+    // when
+    final DirectBuffer variablesDocument = variablesState.getVariablesAsDocument(child2);
+
+    // then
+    final StringBuilder expectedDocument = new StringBuilder("{");
+    for (int i = 0; i < variableCount; i++) {
+      expectedDocument.append(i > 0 ? ", " : "").append("'var").append(i).append("': ");
+      expectedDocument.append(i % 2 == 0 ? 2 : 1);
+    }
+    MsgPackUtil.assertEquality(variablesDocument, expectedDocument.append("}").toString());
+  }
+
+  @Test
+  public void shouldCollectChangedVariablesInSameTransaction() throws Exception {
+    // given
+    declareScope(parent);
+    declareScope(parent, child);
+
+    final ZeebeDbTransaction transaction = stateRule.getDbContext().getCurrentTransaction();
+    setVariableLocal(parent, BufferUtil.wrapString("a"), MsgPackUtil.asMsgPack("1"));
+    MsgPackUtil.assertEquality(variablesState.getVariablesAsDocument(child), "{'a': 1}");
+
+    // when
+    setVariableLocal(parent, BufferUtil.wrapString("a"), MsgPackUtil.asMsgPack("2"));
+    setVariableLocal(child, BufferUtil.wrapString("b"), MsgPackUtil.asMsgPack("3"));
+
+    // then
+    MsgPackUtil.assertEquality(variablesState.getVariablesAsDocument(child), "{'a': 2, 'b': 3}");
+
+    transaction.rollback();
+    MsgPackUtil.assertEquality(variablesState.getVariablesAsDocument(child), "{}");
+  }
+
   @Test
   public void shouldSetLocalVariablesFromDocument() {
     // given
@@ -243,6 +243,54 @@ public class MessageStateTest {
     assertThat(readMessage).containsExactly(1L, 2L);
   }
 
+  @Test
+  public void shouldVisitMessagesBeforeTimeStartingAtDeadlineAndKey() {
+    // given
+    messageState.put(createMessage(1L, "name", "correlationKey", "{}", "nr1", 1000));
+    messageState.put(createMessage(2L, "name", "correlationKey", "{}", "nr2", 1500));
+    messageState.put(createMessage(3L, "name", "correlationKey", "{}", "nr3", 1500));
+    messageState.put(createMessage(4L, "name", "correlationKey", "{}", "nr4", 1800));
+    messageState.put(createMessage(5L, "name", "correlationKey", "{}", "nr5", 2500));
+
+    // when
+    final List<Long> readMessages = new ArrayList<>();
+    messageState.visitMessagesWithDeadlineBefore(2000, 1500, 3L, m -> readMessages.add(m.getKey()));
+
+    // then
+    assertThat(readMessages).containsExactly(3L, 4L);
+  }
+
+  @Test
+  public void shouldCountMessagesBeforeTime() {
+    // given
+    messageState.put(createMessage(1L, "name", "correlationKey", "{}", "nr1", 1000));
+    messageState.put(createMessage(2L, "name", "correlationKey", "{}", "nr2", 2000));
+    messageState.put(createMessage(3L, "name", "correlationKey", "{}", "nr3", 2500));
+
+    // when
+    final int count = messageState.countMessagesWithDeadlineBefore(2000, 0, 0, 10);
+
+    // then
+    assertThat(count).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCountMessagesBeforeTimeFromStartUpToLimit() {
+    // given
+    messageState.put(createMessage(1L, "name", "correlationKey", "{}", "nr1", 1000));
+    messageState.put(createMessage(2L, "name", "correlationKey", "{}", "nr2", 1500));
+    messageState.put(createMessage(3L, "name", "correlationKey", "{}", "nr3", 1500));
+    messageState.put(createMessage(4L, "name", "correlationKey", "{}", "nr4", 1800));
+
+    // when
+    final int countFromStart = messageState.countMessagesWithDeadlineBefore(2000, 1500, 3L, 10);
+    final int limitedCount = messageState.countMessagesWithDeadlineBefore(2000, 0, 0, 3);
+
+    // then
+    assertThat(countFromStart).isEqualTo(2);
+    assertThat(limitedCount).isEqualTo(3);
+  }
+
   @Test
   public void shouldRemoveMessage() {
     // given
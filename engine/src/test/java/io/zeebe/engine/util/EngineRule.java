@@ -28,6 +28,7 @@ import io.zeebe.engine.processor.workflow.EngineProcessors;
 import io.zeebe.engine.processor.workflow.deployment.distribute.DeploymentDistributor;
 import io.zeebe.engine.processor.workflow.deployment.distribute.PendingDeploymentDistribution;
 import io.zeebe.engine.processor.workflow.message.command.PartitionCommandSender;
+import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandBatch;
 import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandMessageHandler;
 import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandSender;
 import io.zeebe.engine.state.DefaultZeebeDbFactory;
@@ -232,14 +233,15 @@ public class EngineRule extends ExternalResource {
     private final SubscriptionCommandMessageHandler handler =
         new SubscriptionCommandMessageHandler(Runnable::run, environmentRule::getLogStream);
 
+    private final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+
     @Override
     public boolean sendCommand(int receiverPartitionId, BufferWriter command) {
+      // send each command as a batch, like the broker does
+      batch.reset();
+      batch.addCommand(command);
 
-      final byte[] bytes = new byte[command.getLength()];
-      final UnsafeBuffer commandBuffer = new UnsafeBuffer(bytes);
-      command.write(commandBuffer, 0);
-
-      handler.apply(bytes);
+      handler.apply(batch.toBytes());
       return true;
     }
   }
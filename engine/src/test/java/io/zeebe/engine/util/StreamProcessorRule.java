@@ -17,6 +17,7 @@
  */
 package io.zeebe.engine.util;
 
+import static io.zeebe.engine.util.Records.error;
 import static io.zeebe.engine.util.Records.workflowInstance;
 
 import io.zeebe.db.ZeebeDbFactory;
@@ -30,6 +31,7 @@ import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.state.StateSnapshotController;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.intent.ErrorIntent;
 import io.zeebe.protocol.record.intent.Intent;
 import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
 import io.zeebe.servicecontainer.testing.ServiceContainerRule;
@@ -107,6 +109,10 @@ public class StreamProcessorRule implements TestRule {
     return streams.getLogStream(getLogName(partitionId));
   }
 
+  public void setMaxBatchSize(int maxBatchSize) {
+    streams.setMaxBatchSize(maxBatchSize);
+  }
+
   public StreamProcessor startTypedStreamProcessor(StreamProcessorTestFactory factory) {
     return startTypedStreamProcessor(
         (processingContext) -> {
@@ -227,6 +233,16 @@ public class StreamProcessorRule implements TestRule {
         .write();
   }
 
+  public long writeErrorEvent(int instanceKey, long errorEventPosition) {
+    return streams
+        .newRecord(getLogName(startPartitionId))
+        .event(error(instanceKey, errorEventPosition))
+        .recordType(RecordType.EVENT)
+        .sourceRecordPosition(errorEventPosition)
+        .intent(ErrorIntent.CREATED)
+        .write();
+  }
+
   public long writeEvent(long key, Intent intent, UnpackedObject value) {
     return streams
         .newRecord(getLogName(startPartitionId))
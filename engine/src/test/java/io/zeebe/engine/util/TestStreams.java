@@ -96,6 +96,7 @@ public class TestStreams {
   private final CommandResponseWriter mockCommandResponseWriter;
   private ZeebeDb zeebeDb;
   private AsyncSnapshotDirector asyncSnapshotDirector;
+  private int maxBatchSize = 1;
 
   public TestStreams(
       final TemporaryFolder dataDirectory,
@@ -120,6 +121,10 @@ public class TestStreams {
     when(mockCommandResponseWriter.tryWriteResponse(anyInt(), anyLong())).thenReturn(true);
   }
 
+  public void setMaxBatchSize(final int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
   public CommandResponseWriter getMockedResponseWriter() {
     return mockCommandResponseWriter;
   }
@@ -271,6 +276,7 @@ public class TestStreams {
             .actorScheduler(actorScheduler)
             .serviceContainer(serviceContainer)
             .commandResponseWriter(mockCommandResponseWriter)
+            .maxBatchSize(maxBatchSize)
             .streamProcessorFactory(
                 (context) -> {
                   final TypedRecordProcessors processors = factory.createProcessors(context);
@@ -17,6 +17,7 @@
  */
 package io.zeebe.engine.util;
 
+import io.zeebe.db.DbContext;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.engine.processor.KeyGenerator;
 import io.zeebe.engine.state.DefaultZeebeDbFactory;
@@ -30,6 +31,7 @@ public class ZeebeStateRule extends ExternalResource {
 
   private final TemporaryFolder tempFolder = new TemporaryFolder();
   private ZeebeDb<ZbColumnFamilies> db;
+  private DbContext dbContext;
   private ZeebeState zeebeState;
   private final int partition;
 
@@ -46,7 +48,8 @@ public class ZeebeStateRule extends ExternalResource {
     tempFolder.create();
     db = createNewDb();
 
-    zeebeState = new ZeebeState(partition, db, db.createContext());
+    dbContext = db.createContext();
+    zeebeState = new ZeebeState(partition, db, dbContext);
   }
 
   @Override
@@ -62,6 +65,15 @@ public class ZeebeStateRule extends ExternalResource {
     return zeebeState;
   }
 
+  public DbContext getDbContext() {
+    return dbContext;
+  }
+
+  /** @return a new state on the same database, which only sees committed changes */
+  public ZeebeState createNewState() {
+    return new ZeebeState(partition, db, db.createContext());
+  }
+
   public KeyGenerator getKeyGenerator() {
     return zeebeState.getKeyGenerator();
   }
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter.api;
+
+import io.zeebe.exporter.api.context.Context;
+import io.zeebe.exporter.api.context.Controller;
+import io.zeebe.protocol.record.Record;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An exporter which receives the committed records in batches instead of one by one, which allows
+ * to amortize serialization and I/O over multiple records.
+ *
+ * <p>The batches are bounded by the number of records and their size. The records are still
+ * filtered for each exporter by its {@link Context.RecordFilter}.
+ */
+public interface BatchExporter extends Exporter {
+
+  /**
+   * Called at least once for every batch of records to be exported. Once the batch is guaranteed to
+   * have been exported, implementations should call {@link
+   * Controller#updateLastExportedRecordPosition(long)} with the given last position.
+   *
+   * <p>Should the method throw an unexpected {@link RuntimeException}, it will be called again with
+   * the same batch until it terminates without any exception.
+   *
+   * @param records the records to export, ordered by their position; the list is reused by the
+   *     caller and must not be kept after the method returns, the records themselves can be kept
+   * @param lastPosition the position of the last record which belongs to this batch, which can be
+   *     greater than the position of the last given record if records were filtered out
+   */
+  void exportBatch(List<Record> records, long lastPosition);
+
+  @Override
+  default void export(Record record) {
+    exportBatch(Collections.singletonList(record), record.getPosition());
+  }
+}
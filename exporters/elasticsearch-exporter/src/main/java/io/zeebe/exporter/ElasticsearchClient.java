@@ -23,7 +23,9 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Map;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
@@ -32,6 +34,7 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
@@ -50,21 +53,41 @@ public class ElasticsearchClient {
   public static final String INDEX_TEMPLATE_FILENAME_PATTERN = "/zeebe-record-%s-template.json";
   public static final String INDEX_DELIMITER = "_";
 
+  private static final long RETRY_DELAY_MILLIS = 1_000;
+
   private final ElasticsearchExporterConfiguration configuration;
   private final Logger log;
+  private final long retryDelayMillis;
   protected final RestHighLevelClient client;
   private BulkRequest bulkRequest;
+  private long bulkPosition = -1;
+
+  // bulks which are sent or have to be resent, in the order of their positions; guarded by this
+  private final Deque<InFlightBulk> inFlightBulks = new ArrayDeque<>();
+  private volatile long acknowledgedPosition = -1;
 
   private final DateTimeFormatter formatter;
 
   public ElasticsearchClient(final ElasticsearchExporterConfiguration configuration, Logger log) {
+    this(configuration, log, RETRY_DELAY_MILLIS);
+  }
+
+  ElasticsearchClient(
+      final ElasticsearchExporterConfiguration configuration,
+      final Logger log,
+      final long retryDelayMillis) {
     this.configuration = configuration;
     this.log = log;
+    this.retryDelayMillis = retryDelayMillis;
     this.client = createClient();
     this.bulkRequest = new BulkRequest();
     this.formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneOffset.UTC);
   }
 
+  /**
+   * Closes the client without waiting for the bulks in flight. Records of bulks which were not
+   * acknowledged are not marked as exported, so they are exported again after a restart.
+   */
   public void close() throws IOException {
     client.close();
   }
@@ -74,30 +97,87 @@ public class ElasticsearchClient {
         new IndexRequest(indexFor(record), typeFor(record), idFor(record))
             .source(record.toJson(), XContentType.JSON);
     bulk(request);
+    bulkPosition = record.getPosition();
   }
 
   public void bulk(final IndexRequest indexRequest) {
     bulkRequest.add(indexRequest);
   }
 
-  /** @return true if all bulk records where flushed successfully */
-  public boolean flush() {
-    boolean success = true;
+  /**
+   * Sends the current bulk asynchronously and resends bulks which failed before. Never blocks: if
+   * the configured number of bulks is already in flight, the current bulk is kept and sent by a
+   * later flush.
+   *
+   * @return false if the current bulk could not be sent because too many bulks are in flight,
+   *     otherwise true
+   */
+  public synchronized boolean flush() {
+    resendFailedBulks();
+
     if (bulkRequest.numberOfActions() > 0) {
-      try {
-        final BulkResponse responses = client.bulk(bulkRequest, RequestOptions.DEFAULT);
-        success = checkBulkResponses(responses);
-      } catch (IOException e) {
-        throw new ElasticsearchExporterException("Failed to flush bulk", e);
+      if (inFlightBulks.size() >= configuration.bulk.maxInFlight) {
+        return false;
       }
 
-      if (success) {
-        // all records where flushed, create new bulk request, otherwise retry next time
-        bulkRequest = new BulkRequest();
-      }
+      final InFlightBulk bulk = new InFlightBulk(bulkRequest, bulkPosition);
+      inFlightBulks.add(bulk);
+      send(bulk);
+
+      bulkRequest = new BulkRequest();
+    }
+
+    return true;
+  }
+
+  /**
+   * @return the position of the last record which was indexed successfully, such that all records
+   *     before it were indexed as well
+   */
+  public long getAcknowledgedPosition() {
+    return acknowledgedPosition;
+  }
+
+  protected void sendBulk(final BulkRequest request, final ActionListener<BulkResponse> listener) {
+    client.bulkAsync(request, RequestOptions.DEFAULT, listener);
+  }
+
+  private void send(final InFlightBulk bulk) {
+    bulk.failed = false;
+    sendBulk(
+        bulk.request,
+        ActionListener.wrap(
+            response -> onBulkCompleted(bulk, checkBulkResponses(response)),
+            error -> {
+              log.warn("Failed to flush bulk", error);
+              onBulkCompleted(bulk, false);
+            }));
+  }
+
+  private synchronized void onBulkCompleted(final InFlightBulk bulk, final boolean success) {
+    if (success) {
+      bulk.acknowledged = true;
+    } else {
+      // the bulk is resent on the next flush, as the records are indexed by their position this
+      // is idempotent
+      bulk.failed = true;
+      bulk.failedAt = System.currentTimeMillis();
     }
 
-    return success;
+    // the position can only be advanced once all previous bulks are acknowledged
+    while (!inFlightBulks.isEmpty() && inFlightBulks.peekFirst().acknowledged) {
+      acknowledgedPosition = inFlightBulks.removeFirst().position;
+    }
+  }
+
+  private void resendFailedBulks() {
+    final long now = System.currentTimeMillis();
+    for (final InFlightBulk bulk : inFlightBulks) {
+      // don't resend on every flush while Elasticsearch is unavailable
+      if (bulk.failed && now - bulk.failedAt >= retryDelayMillis) {
+        send(bulk);
+      }
+    }
   }
 
   private boolean checkBulkResponses(final BulkResponse responses) {
@@ -175,6 +255,11 @@ public class ElasticsearchClient {
   private HttpAsyncClientBuilder setHttpClientConfigCallback(HttpAsyncClientBuilder builder) {
     builder.setDefaultIOReactorConfig(IOReactorConfig.custom().setIoThreadCount(1).build());
 
+    if (configuration.bulk.compression) {
+      // must run before the default interceptors which set the content headers
+      builder.addInterceptorFirst(new GzipRequestInterceptor());
+    }
+
     if (configuration.authentication.isPresent()) {
       setupBasicAuthentication(builder);
     }
@@ -228,4 +313,17 @@ public class ElasticsearchClient {
   private static String indexTemplateForValueType(final ValueType valueType) {
     return String.format(INDEX_TEMPLATE_FILENAME_PATTERN, valueTypeToString(valueType));
   }
+
+  private static final class InFlightBulk {
+    private final BulkRequest request;
+    private final long position;
+    private boolean acknowledged;
+    private boolean failed;
+    private long failedAt;
+
+    private InFlightBulk(final BulkRequest request, final long position) {
+      this.request = request;
+      this.position = position;
+    }
+  }
 }
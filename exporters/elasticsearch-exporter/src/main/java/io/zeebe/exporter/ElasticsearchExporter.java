@@ -36,7 +36,7 @@ public class ElasticsearchExporter implements Exporter {
 
   private ElasticsearchClient client;
 
-  private long lastPosition = -1;
+  private long lastAcknowledgedPosition = -1;
   private boolean indexTemplatesCreated;
 
   @Override
@@ -67,10 +67,13 @@ public class ElasticsearchExporter implements Exporter {
     flush();
 
     try {
+      // doesn't wait for the bulks in flight, their records are exported again after a restart
       client.close();
     } catch (Exception e) {
       log.warn("Failed to close elasticsearch client", e);
     }
+
+    updateLastExportedPosition();
     log.info("Exporter closed");
   }
 
@@ -80,12 +83,19 @@ public class ElasticsearchExporter implements Exporter {
       createIndexTemplates();
     }
 
+    if (client.shouldFlush() && !flush()) {
+      // the record is exported again by the retry, the bulk must not grow while it can't be sent
+      throw new ElasticsearchExporterException(
+          "Expected to flush the full bulk, but the maximum number of bulks is in flight");
+    }
+
     client.index(record);
-    lastPosition = record.getPosition();
 
     if (client.shouldFlush()) {
       flush();
     }
+
+    updateLastExportedPosition();
   }
 
   private void flushAndReschedule() {
@@ -97,11 +107,18 @@ public class ElasticsearchExporter implements Exporter {
     controller.scheduleTask(Duration.ofSeconds(configuration.bulk.delay), this::flushAndReschedule);
   }
 
-  private void flush() {
-    if (client.flush()) {
-      controller.updateLastExportedRecordPosition(lastPosition);
-    } else {
-      log.warn("Failed to flush bulk completely");
+  private boolean flush() {
+    final boolean flushed = client.flush();
+    updateLastExportedPosition();
+    return flushed;
+  }
+
+  private void updateLastExportedPosition() {
+    // bulks are acknowledged asynchronously and in order
+    final long acknowledgedPosition = client.getAcknowledgedPosition();
+    if (acknowledgedPosition > lastAcknowledgedPosition) {
+      controller.updateLastExportedRecordPosition(acknowledgedPosition);
+      lastAcknowledgedPosition = acknowledgedPosition;
     }
   }
 
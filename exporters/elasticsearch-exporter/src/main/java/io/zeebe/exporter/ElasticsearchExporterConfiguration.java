@@ -111,10 +111,23 @@ public class ElasticsearchExporterConfiguration {
     public int delay = 5;
     // bulk size before flush
     public int size = 1_000;
+    // maximum number of bulks which are sent but not yet acknowledged
+    public int maxInFlight = 2;
+    // compress the bulk requests with gzip
+    public boolean compression = true;
 
     @Override
     public String toString() {
-      return "BulkConfiguration{" + "delay=" + delay + ", size=" + size + '}';
+      return "BulkConfiguration{"
+          + "delay="
+          + delay
+          + ", size="
+          + size
+          + ", maxInFlight="
+          + maxInFlight
+          + ", compression="
+          + compression
+          + '}';
     }
   }
 
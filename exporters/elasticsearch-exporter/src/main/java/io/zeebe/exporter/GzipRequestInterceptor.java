@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Compresses the body of outgoing requests with gzip. Elasticsearch decompresses request bodies
+ * which are sent with a {@code Content-Encoding: gzip} header.
+ *
+ * <p>The interceptor must run before the default protocol interceptors, so that the content headers
+ * are set for the compressed entity.
+ */
+class GzipRequestInterceptor implements HttpRequestInterceptor {
+
+  private static final String GZIP_ENCODING = "gzip";
+
+  @Override
+  public void process(final HttpRequest request, final HttpContext context) throws IOException {
+    if (!(request instanceof HttpEntityEnclosingRequest)) {
+      return;
+    }
+
+    final HttpEntityEnclosingRequest entityRequest = (HttpEntityEnclosingRequest) request;
+    final HttpEntity entity = entityRequest.getEntity();
+    if (entity == null || entity.getContentEncoding() != null) {
+      return;
+    }
+
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+      entity.writeTo(gzipOutputStream);
+    }
+
+    final ByteArrayEntity compressedEntity = new ByteArrayEntity(compressed.toByteArray());
+    compressedEntity.setContentType(entity.getContentType());
+    compressedEntity.setContentEncoding(GZIP_ENCODING);
+    entityRequest.setEntity(compressedEntity);
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.test.exporter.record.MockRecord;
+import io.zeebe.util.ZbLogger;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ElasticsearchClientTest {
+
+  private final List<ActionListener<BulkResponse>> sentBulks = new ArrayList<>();
+
+  private ElasticsearchExporterConfiguration configuration;
+  private ElasticsearchClient client;
+
+  @Before
+  public void setUp() {
+    configuration = new ElasticsearchExporterConfiguration();
+    configuration.bulk.maxInFlight = 3;
+    client =
+        new ElasticsearchClient(configuration, new ZbLogger("test"), 0) {
+          @Override
+          protected void sendBulk(BulkRequest request, ActionListener<BulkResponse> listener) {
+            sentBulks.add(listener);
+          }
+        };
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    client.close();
+  }
+
+  @Test
+  public void shouldSendBulksWithoutWaitingForResponses() {
+    // when
+    indexAndFlush(1);
+    indexAndFlush(2);
+    indexAndFlush(3);
+
+    // then
+    assertThat(sentBulks).hasSize(3);
+    assertThat(client.getAcknowledgedPosition()).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldAcknowledgePositionInOrder() {
+    // given
+    indexAndFlush(1);
+    indexAndFlush(2);
+    indexAndFlush(3);
+
+    // when
+    acknowledge(sentBulks.get(1));
+    acknowledge(sentBulks.get(2));
+
+    // then
+    assertThat(client.getAcknowledgedPosition()).isEqualTo(-1);
+
+    // when
+    acknowledge(sentBulks.get(0));
+
+    // then
+    assertThat(client.getAcknowledgedPosition()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldResendFailedBulkOnNextFlush() {
+    // given
+    indexAndFlush(1);
+    indexAndFlush(2);
+
+    // when
+    sentBulks.get(0).onFailure(new IOException("expected"));
+    acknowledge(sentBulks.get(1));
+    indexAndFlush(3);
+
+    // then
+    assertThat(sentBulks).hasSize(4);
+    assertThat(client.getAcknowledgedPosition()).isEqualTo(-1);
+
+    // when
+    acknowledge(sentBulks.get(2));
+
+    // then
+    assertThat(client.getAcknowledgedPosition()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotBlockIfMaxBulksAreInFlight() {
+    // given
+    indexAndFlush(1);
+    indexAndFlush(2);
+    indexAndFlush(3);
+
+    // when
+    final boolean flushed = indexAndFlush(4);
+
+    // then
+    assertThat(flushed).isFalse();
+    assertThat(sentBulks).hasSize(3);
+
+    // when
+    acknowledge(sentBulks.get(0));
+
+    // then
+    assertThat(client.flush()).isTrue();
+    assertThat(sentBulks).hasSize(4);
+  }
+
+  @Test
+  public void shouldCloseWithoutWaitingForBulksInFlight() throws IOException {
+    // given
+    indexAndFlush(1);
+
+    // when
+    client.close();
+
+    // then
+    assertThat(client.getAcknowledgedPosition()).isEqualTo(-1);
+  }
+
+  private boolean indexAndFlush(long position) {
+    final MockRecord record = new MockRecord().setPosition(position);
+    record.getMetadata().setValueType(ValueType.JOB);
+    client.index(record);
+    return client.flush();
+  }
+
+  private void acknowledge(ActionListener<BulkResponse> listener) {
+    listener.onResponse(new BulkResponse(new BulkItemResponse[0], 1));
+  }
+}
@@ -20,7 +20,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,6 +36,7 @@ import io.zeebe.util.ZbLogger;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -234,6 +237,47 @@ public class ElasticsearchExporterTest {
     assertThat(testHarness.getController().getPosition()).isEqualTo(record.getPosition());
   }
 
+  @Test
+  public void shouldNotUpdatePositionBeforeBulkIsAcknowledged() {
+    // given
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.getAcknowledgedPosition()).thenReturn(-1L);
+    createAndOpenExporter();
+    final long initialPosition = testHarness.getController().getPosition();
+
+    // when
+    testHarness.export(
+        r ->
+            r.getMetadata()
+                .setValueType(ValueType.WORKFLOW_INSTANCE)
+                .setRecordType(RecordType.EVENT));
+
+    // then
+    verify(esClient).flush();
+    assertThat(testHarness.getController().getPosition()).isEqualTo(initialPosition);
+  }
+
+  @Test
+  public void shouldFailExportIfFullBulkCannotBeFlushed() {
+    // given
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.flush()).thenReturn(false);
+    createAndOpenExporter();
+
+    // when
+    assertThatThrownBy(
+            () ->
+                testHarness.export(
+                    r ->
+                        r.getMetadata()
+                            .setValueType(ValueType.WORKFLOW_INSTANCE)
+                            .setRecordType(RecordType.EVENT)))
+        .isInstanceOf(ElasticsearchExporterException.class);
+
+    // then
+    verify(esClient, never()).index(any());
+  }
+
   @Test
   public void shouldFlushOnClose() {
     // given
@@ -327,7 +371,25 @@ public class ElasticsearchExporterTest {
 
   private ElasticsearchClient mockElasticsearchClient() {
     final ElasticsearchClient client = mock(ElasticsearchClient.class);
-    when(client.flush()).thenReturn(true);
+
+    // acknowledges all indexed records on flush
+    final AtomicLong indexedPosition = new AtomicLong(-1);
+    final AtomicLong acknowledgedPosition = new AtomicLong(-1);
+    doAnswer(
+            i -> {
+              indexedPosition.set(i.<Record<?>>getArgument(0).getPosition());
+              return null;
+            })
+        .when(client)
+        .index(any());
+    doAnswer(
+            i -> {
+              acknowledgedPosition.set(indexedPosition.get());
+              return true;
+            })
+        .when(client)
+        .flush();
+    when(client.getAcknowledgedPosition()).thenAnswer(i -> acknowledgedPosition.get());
     when(client.putIndexTemplate(any(ValueType.class))).thenReturn(true);
     when(client.putIndexTemplate(anyString(), anyString(), anyString())).thenReturn(true);
     return client;
@@ -30,7 +30,10 @@ import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerError;
 import io.zeebe.gateway.impl.broker.response.BrokerRejection;
+import io.zeebe.gateway.impl.configuration.JobActivationCfg;
+import io.zeebe.gateway.impl.configuration.LongPollingCfg;
 import io.zeebe.gateway.impl.job.ActivateJobsHandler;
+import io.zeebe.gateway.impl.job.LongPollingActivateJobsHandler;
 import io.zeebe.gateway.protocol.GatewayGrpc;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
@@ -70,10 +73,25 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
   private final BrokerTopologyManager topologyManager;
   private final ActivateJobsHandler activateJobsHandler;
 
-  public EndpointManager(final BrokerClient brokerClient) {
+  public EndpointManager(
+      final BrokerClient brokerClient,
+      final LongPollingCfg longPollingCfg,
+      final JobActivationCfg jobActivationCfg) {
     this.brokerClient = brokerClient;
     this.topologyManager = brokerClient.getTopologyManager();
-    this.activateJobsHandler = new ActivateJobsHandler(brokerClient);
+
+    final int partitionFanOut = jobActivationCfg.getPartitionFanOut();
+    if (longPollingCfg.isEnabled()) {
+      this.activateJobsHandler =
+          new LongPollingActivateJobsHandler(
+              brokerClient, longPollingCfg.getTimeout(), partitionFanOut);
+    } else {
+      this.activateJobsHandler = new ActivateJobsHandler(brokerClient, partitionFanOut);
+    }
+  }
+
+  public void close() {
+    activateJobsHandler.close();
   }
 
   @Override
@@ -306,6 +324,8 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
     switch (error.getCode()) {
       case WORKFLOW_NOT_FOUND:
         return Status.NOT_FOUND.augmentDescription(error.getMessage());
+      case RESOURCE_EXHAUSTED:
+        return Status.RESOURCE_EXHAUSTED.augmentDescription(error.getMessage());
       default:
         return Status.INTERNAL.augmentDescription(
             String.format(
@@ -83,7 +83,9 @@ public class Gateway {
 
     brokerClient = buildBrokerClient();
 
-    endpointManager = new EndpointManager(brokerClient);
+    endpointManager =
+        new EndpointManager(
+            brokerClient, gatewayCfg.getLongPolling(), gatewayCfg.getJobActivation());
     server = serverBuilderFactory.apply(gatewayCfg).addService(endpointManager).build();
 
     server.start();
@@ -99,6 +101,12 @@ public class Gateway {
   }
 
   public void stop() {
+    if (endpointManager != null) {
+      // complete parked requests, otherwise the server waits for them on shutdown
+      endpointManager.close();
+      endpointManager = null;
+    }
+
     if (server != null && !server.isShutdown()) {
       server.shutdown();
       try {
@@ -33,4 +33,12 @@ public interface BrokerClient extends AutoCloseable {
       Consumer<Throwable> throwableConsumer);
 
   BrokerTopologyManager getTopologyManager();
+
+  /**
+   * Registers a handler which is called with the job type whenever a broker signals on the given
+   * topic that jobs of this type became activatable. The subscription is announced to the brokers
+   * as a property of the local cluster member with the topic as key, since the brokers only send
+   * these signals while any member announces it.
+   */
+  void subscribeJobAvailableNotification(String topic, Consumer<String> handler);
 }
@@ -52,6 +52,7 @@ public class BrokerClientImpl implements BrokerClient {
   protected final BrokerTopologyManagerImpl topologyManager;
   private final Dispatcher dataFrameReceiveBuffer;
   private final BrokerRequestManager requestManager;
+  private final AtomixCluster atomixCluster;
   protected boolean isClosed;
 
   public BrokerClientImpl(final GatewayCfg configuration, final AtomixCluster atomixCluster) {
@@ -81,6 +82,7 @@ public class BrokerClientImpl implements BrokerClient {
       final boolean ownsActorScheduler) {
     this.actorScheduler = actorScheduler;
     this.ownsActorScheduler = ownsActorScheduler;
+    this.atomixCluster = atomixCluster;
 
     if (ownsActorScheduler) {
       actorScheduler.start();
@@ -196,6 +198,12 @@ public class BrokerClientImpl implements BrokerClient {
     return topologyManager;
   }
 
+  @Override
+  public void subscribeJobAvailableNotification(String topic, Consumer<String> handler) {
+    atomixCluster.getEventService().subscribe(topic, handler, Runnable::run);
+    atomixCluster.getMembershipService().getLocalMember().properties().setProperty(topic, "true");
+  }
+
   public ClientTransport getTransport() {
     return transport;
   }
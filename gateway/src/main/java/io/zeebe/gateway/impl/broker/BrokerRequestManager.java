@@ -52,6 +52,7 @@ public class BrokerRequestManager extends Actor {
   private final RequestDispatchStrategy dispatchStrategy;
   private final BrokerTopologyManagerImpl topologyManager;
   private final Duration requestTimeout;
+  private final BrokerRequestMetrics metrics = new BrokerRequestMetrics();
 
   public BrokerRequestManager(
       ClientOutput clientOutput,
@@ -145,12 +146,15 @@ public class BrokerRequestManager extends Actor {
 
   private <T> void sendRequest(
       BrokerRequest<T> request, BiConsumer<BrokerResponse<T>, Throwable> responseConsumer) {
+    final long receivedNanos = System.nanoTime();
     request.serializeValue();
-    actor.run(() -> sendRequestInternal(request, responseConsumer));
+    actor.run(() -> sendRequestInternal(request, responseConsumer, receivedNanos));
   }
 
   private <T> void sendRequestInternal(
-      BrokerRequest<T> request, BiConsumer<BrokerResponse<T>, Throwable> responseConsumer) {
+      BrokerRequest<T> request,
+      BiConsumer<BrokerResponse<T>, Throwable> responseConsumer,
+      long receivedNanos) {
     final BrokerNodeIdProvider nodeIdProvider = determineBrokerNodeIdProvider(request);
 
     final ActorFuture<ClientResponse> responseFuture =
@@ -158,9 +162,13 @@ public class BrokerRequestManager extends Actor {
             nodeIdProvider, BrokerRequestManager::shouldRetryRequest, request, requestTimeout);
 
     if (responseFuture != null) {
+      final int partitionId = request.getPartitionId();
+      metrics.requestSent(partitionId, receivedNanos);
+
       actor.runOnCompletion(
           responseFuture,
           (clientResponse, error) -> {
+            metrics.responseReceived(partitionId, receivedNanos);
             try {
               if (error == null) {
                 final BrokerResponse<T> response = request.getResponse(clientResponse);
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.broker;
+
+import io.prometheus.client.Histogram;
+
+public class BrokerRequestMetrics {
+
+  private static final Histogram DISPATCH_LATENCY =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("gateway_request_dispatch_latency_seconds")
+          .help("Time between receiving a request and sending it to the broker")
+          .labelNames("partition")
+          .register();
+
+  private static final Histogram REQUEST_LATENCY =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("gateway_request_latency_seconds")
+          .help("Time between receiving a request and receiving the response of the broker")
+          .labelNames("partition")
+          .register();
+
+  public void requestSent(int partitionId, long receivedNanos) {
+    observe(DISPATCH_LATENCY, partitionId, receivedNanos);
+  }
+
+  public void responseReceived(int partitionId, long receivedNanos) {
+    observe(REQUEST_LATENCY, partitionId, receivedNanos);
+  }
+
+  private static void observe(Histogram histogram, int partitionId, long startNanos) {
+    histogram.labels(String.valueOf(partitionId)).observe((System.nanoTime() - startNanos) / 1e9);
+  }
+}
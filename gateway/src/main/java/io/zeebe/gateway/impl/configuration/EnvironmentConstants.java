@@ -27,4 +27,10 @@ public class EnvironmentConstants {
   public static final String ENV_GATEWAY_CLUSTER_MEMBER_ID = "ZEEBE_GATEWAY_CLUSTER_MEMBER_ID";
   public static final String ENV_GATEWAY_CLUSTER_HOST = "ZEEBE_GATEWAY_CLUSTER_HOST";
   public static final String ENV_GATEWAY_CLUSTER_PORT = "ZEEBE_GATEWAY_CLUSTER_PORT";
+  public static final String ENV_GATEWAY_LONG_POLLING_ENABLED =
+      "ZEEBE_GATEWAY_LONG_POLLING_ENABLED";
+  public static final String ENV_GATEWAY_LONG_POLLING_TIMEOUT =
+      "ZEEBE_GATEWAY_LONG_POLLING_TIMEOUT";
+  public static final String ENV_GATEWAY_JOB_ACTIVATION_PARTITION_FAN_OUT =
+      "ZEEBE_GATEWAY_JOB_ACTIVATION_PARTITION_FAN_OUT";
 }
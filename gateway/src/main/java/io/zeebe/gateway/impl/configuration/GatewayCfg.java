@@ -24,6 +24,8 @@ public class GatewayCfg {
   private NetworkCfg network = new NetworkCfg();
   private ClusterCfg cluster = new ClusterCfg();
   private ThreadsCfg threads = new ThreadsCfg();
+  private LongPollingCfg longPolling = new LongPollingCfg();
+  private JobActivationCfg jobActivation = new JobActivationCfg();
 
   public void init() {
     init(new Environment());
@@ -37,6 +39,8 @@ public class GatewayCfg {
     network.init(environment, defaultHost);
     cluster.init(environment);
     threads.init(environment);
+    longPolling.init(environment);
+    jobActivation.init(environment);
   }
 
   public NetworkCfg getNetwork() {
@@ -66,6 +70,24 @@ public class GatewayCfg {
     return this;
   }
 
+  public LongPollingCfg getLongPolling() {
+    return longPolling;
+  }
+
+  public GatewayCfg setLongPolling(LongPollingCfg longPolling) {
+    this.longPolling = longPolling;
+    return this;
+  }
+
+  public JobActivationCfg getJobActivation() {
+    return jobActivation;
+  }
+
+  public GatewayCfg setJobActivation(JobActivationCfg jobActivation) {
+    this.jobActivation = jobActivation;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -77,12 +99,14 @@ public class GatewayCfg {
     final GatewayCfg that = (GatewayCfg) o;
     return Objects.equals(network, that.network)
         && Objects.equals(cluster, that.cluster)
-        && Objects.equals(threads, that.threads);
+        && Objects.equals(threads, that.threads)
+        && Objects.equals(longPolling, that.longPolling)
+        && Objects.equals(jobActivation, that.jobActivation);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(network, cluster, threads);
+    return Objects.hash(network, cluster, threads, longPolling, jobActivation);
   }
 
   @Override
@@ -94,6 +118,10 @@ public class GatewayCfg {
         + cluster
         + ", threadsCfg="
         + threads
+        + ", longPollingCfg="
+        + longPolling
+        + ", jobActivationCfg="
+        + jobActivation
         + '}';
   }
 
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.configuration;
+
+import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_JOB_ACTIVATION_PARTITION_FAN_OUT;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_JOB_ACTIVATION_PARTITION_FAN_OUT;
+
+import io.zeebe.util.Environment;
+import java.util.Objects;
+
+public class JobActivationCfg {
+
+  private int partitionFanOut = DEFAULT_JOB_ACTIVATION_PARTITION_FAN_OUT;
+
+  public void init(Environment environment) {
+    environment
+        .getInt(ENV_GATEWAY_JOB_ACTIVATION_PARTITION_FAN_OUT)
+        .ifPresent(this::setPartitionFanOut);
+  }
+
+  public int getPartitionFanOut() {
+    return partitionFanOut;
+  }
+
+  public JobActivationCfg setPartitionFanOut(int partitionFanOut) {
+    this.partitionFanOut = partitionFanOut;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final JobActivationCfg that = (JobActivationCfg) o;
+    return partitionFanOut == that.partitionFanOut;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(partitionFanOut);
+  }
+
+  @Override
+  public String toString() {
+    return "JobActivationCfg{" + "partitionFanOut=" + partitionFanOut + '}';
+  }
+}
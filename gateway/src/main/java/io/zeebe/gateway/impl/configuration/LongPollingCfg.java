@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.configuration;
+
+import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_LONG_POLLING_ENABLED;
+import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_LONG_POLLING_TIMEOUT;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_LONG_POLLING_ENABLED;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_LONG_POLLING_TIMEOUT;
+
+import io.zeebe.util.DurationUtil;
+import io.zeebe.util.Environment;
+import java.time.Duration;
+import java.util.Objects;
+
+public class LongPollingCfg {
+
+  private boolean enabled = DEFAULT_LONG_POLLING_ENABLED;
+  private String timeout = DEFAULT_LONG_POLLING_TIMEOUT;
+
+  public void init(Environment environment) {
+    environment.getBool(ENV_GATEWAY_LONG_POLLING_ENABLED).ifPresent(this::setEnabled);
+    environment.get(ENV_GATEWAY_LONG_POLLING_TIMEOUT).ifPresent(this::setTimeout);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public LongPollingCfg setEnabled(boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+  public Duration getTimeout() {
+    return DurationUtil.parse(timeout);
+  }
+
+  public LongPollingCfg setTimeout(String timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final LongPollingCfg that = (LongPollingCfg) o;
+    return enabled == that.enabled && Objects.equals(timeout, that.timeout);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(enabled, timeout);
+  }
+
+  @Override
+  public String toString() {
+    return "LongPollingCfg{" + "enabled=" + enabled + ", timeout='" + timeout + '\'' + '}';
+  }
+}
@@ -23,28 +23,82 @@ import io.zeebe.gateway.impl.broker.BrokerClient;
 import io.zeebe.gateway.impl.broker.request.BrokerActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
 
 public class ActivateJobsHandler {
 
-  private final Map<String, Integer> jobTypeToNextPartitionId = new HashMap<>();
+  private final Map<String, Integer> jobTypeToNextPartitionId = new ConcurrentHashMap<>();
+  private final Map<String, PartitionHitRates> jobTypeToHitRates = new ConcurrentHashMap<>();
   private final BrokerClient brokerClient;
+  private final int partitionFanOut;
 
   public ActivateJobsHandler(BrokerClient brokerClient) {
+    this(brokerClient, 1);
+  }
+
+  /**
+   * @param partitionFanOut the number of partitions which are asked concurrently for jobs; if
+   *     greater than one, the partitions which recently had jobs of the requested type are asked
+   *     first, otherwise the partitions are asked one after another in a round robin fashion
+   */
+  public ActivateJobsHandler(BrokerClient brokerClient, int partitionFanOut) {
     this.brokerClient = brokerClient;
+    this.partitionFanOut = partitionFanOut;
   }
 
   public void activateJobs(
       int partitionsCount,
       ActivateJobsRequest request,
       StreamObserver<ActivateJobsResponse> responseObserver) {
+    activateJobs(
+        partitionsCount,
+        request,
+        responseObserver,
+        activatedJobs -> responseObserver.onCompleted());
+  }
+
+  /**
+   * Activates jobs on all partitions and streams them to the response observer, but does not
+   * complete it. Instead, the given callback is called with the number of activated jobs once all
+   * partitions were checked or enough jobs were activated.
+   */
+  protected void activateJobs(
+      int partitionsCount,
+      ActivateJobsRequest request,
+      StreamObserver<ActivateJobsResponse> responseObserver,
+      IntConsumer onCompleted) {
+    final int maxJobsToActivate = request.getMaxJobsToActivate();
+    final IntConsumer onActivated =
+        remainingAmount -> onCompleted.accept(maxJobsToActivate - remainingAmount);
+
+    if (partitionFanOut > 1) {
+      final PartitionHitRates hitRates =
+          jobTypeToHitRates.computeIfAbsent(request.getType(), t -> new PartitionHitRates());
+      new PartitionFanOutActivation(
+              brokerClient,
+              request,
+              hitRates.prioritizedPartitionIds(partitionsCount),
+              partitionFanOut,
+              hitRates,
+              responseObserver,
+              onActivated)
+          .activate();
+      return;
+    }
+
     activateJobs(
         RequestMapper.toActivateJobsRequest(request),
         partitionIdIteratorForType(request.getType(), partitionsCount),
-        request.getMaxJobsToActivate(),
+        maxJobsToActivate,
         request.getType(),
-        responseObserver);
+        responseObserver,
+        onActivated);
+  }
+
+  public void close() {
+    // nothing to release
   }
 
   private void activateJobs(
@@ -52,8 +106,16 @@ public class ActivateJobsHandler {
       PartitionIdIterator partitionIdIterator,
       int remainingAmount,
       String jobType,
-      StreamObserver<ActivateJobsResponse> responseObserver) {
-    activateJobs(request, partitionIdIterator, remainingAmount, jobType, responseObserver, false);
+      StreamObserver<ActivateJobsResponse> responseObserver,
+      IntConsumer onCompleted) {
+    activateJobs(
+        request,
+        partitionIdIterator,
+        remainingAmount,
+        jobType,
+        responseObserver,
+        onCompleted,
+        false);
   }
 
   private void activateJobs(
@@ -62,6 +124,7 @@ public class ActivateJobsHandler {
       int remainingAmount,
       String jobType,
       StreamObserver<ActivateJobsResponse> responseObserver,
+      IntConsumer onCompleted,
       boolean pollPrevPartition) {
 
     if (remainingAmount > 0 && (pollPrevPartition || partitionIdIterator.hasNext())) {
@@ -89,6 +152,7 @@ public class ActivateJobsHandler {
                 remainingAmount - jobsCount,
                 jobType,
                 responseObserver,
+                onCompleted,
                 response.getTruncated());
           },
           error -> {
@@ -97,12 +161,18 @@ public class ActivateJobsHandler {
                 jobType,
                 partitionIdIterator.getCurrentPartitionId(),
                 error);
-            activateJobs(request, partitionIdIterator, remainingAmount, jobType, responseObserver);
+            activateJobs(
+                request,
+                partitionIdIterator,
+                remainingAmount,
+                jobType,
+                responseObserver,
+                onCompleted);
           });
     } else {
       // enough jobs activated or no more partitions left to check
       jobTypeToNextPartitionId.put(jobType, partitionIdIterator.getCurrentPartitionId());
-      responseObserver.onCompleted();
+      onCompleted.accept(remainingAmount);
     }
   }
 
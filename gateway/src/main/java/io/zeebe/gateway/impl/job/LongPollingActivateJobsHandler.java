@@ -0,0 +1,272 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.job;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.zeebe.gateway.Loggers;
+import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps activate jobs requests which could not activate any job open until jobs of the requested
+ * type become available or the long polling timeout expires. The brokers signal available jobs on
+ * {@link #JOBS_AVAILABLE_TOPIC}.
+ *
+ * <p>All state is confined to a single thread, the responses are still written by the broker client
+ * threads. The state of a job type is only kept while requests of that type are parked or in
+ * flight, and cancelled requests are dropped right away.
+ */
+public class LongPollingActivateJobsHandler extends ActivateJobsHandler {
+
+  public static final String JOBS_AVAILABLE_TOPIC = "jobsAvailable";
+
+  private final ScheduledExecutorService executor;
+  private final long timeoutMillis;
+
+  private final Map<String, Set<LongPollingRequest>> parkedRequests = new HashMap<>();
+  private final Map<String, Long> notificationCounts = new HashMap<>();
+  private final Map<String, Integer> activeRequestCounts = new HashMap<>();
+
+  public LongPollingActivateJobsHandler(
+      BrokerClient brokerClient, Duration timeout, int partitionFanOut) {
+    super(brokerClient, partitionFanOut);
+    this.timeoutMillis = timeout.toMillis();
+    this.executor =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              final Thread thread = new Thread(r, "gateway-long-polling");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    brokerClient.subscribeJobAvailableNotification(JOBS_AVAILABLE_TOPIC, this::onJobsAvailable);
+  }
+
+  @Override
+  public void activateJobs(
+      int partitionsCount,
+      ActivateJobsRequest request,
+      StreamObserver<ActivateJobsResponse> responseObserver) {
+    final LongPollingRequest longPollingRequest =
+        new LongPollingRequest(partitionsCount, request, responseObserver);
+
+    if (responseObserver instanceof ServerCallStreamObserver) {
+      ((ServerCallStreamObserver<ActivateJobsResponse>) responseObserver)
+          .setOnCancelHandler(() -> execute(() -> onCancel(longPollingRequest), null));
+    }
+
+    execute(
+        () -> {
+          activeRequestCounts.merge(longPollingRequest.getJobType(), 1, Integer::sum);
+          longPollingRequest.timeout =
+              executor.schedule(
+                  () -> onTimeout(longPollingRequest), timeoutMillis, TimeUnit.MILLISECONDS);
+          tryActivateJobs(longPollingRequest);
+        },
+        longPollingRequest);
+  }
+
+  @Override
+  public void close() {
+    try {
+      executor
+          .submit(
+              () -> {
+                final Set<LongPollingRequest> requests = new LinkedHashSet<>();
+                parkedRequests.values().forEach(requests::addAll);
+                parkedRequests.clear();
+                requests.forEach(this::complete);
+              })
+          .get(5, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      Loggers.GATEWAY_LOGGER.warn("Failed to complete parked activate jobs requests", e);
+    }
+    executor.shutdownNow();
+  }
+
+  private void onJobsAvailable(String jobType) {
+    execute(
+        () -> {
+          if (!activeRequestCounts.containsKey(jobType)) {
+            // no request waits for jobs of this type
+            return;
+          }
+
+          notificationCounts.merge(jobType, 1L, Long::sum);
+
+          final Set<LongPollingRequest> requests = parkedRequests.remove(jobType);
+          if (requests != null) {
+            requests.forEach(this::tryActivateJobs);
+          }
+        },
+        null);
+  }
+
+  private void tryActivateJobs(LongPollingRequest longPollingRequest) {
+    longPollingRequest.inFlight = true;
+    longPollingRequest.seenNotifications = getNotificationCount(longPollingRequest.getJobType());
+
+    activateJobs(
+        longPollingRequest.partitionsCount,
+        longPollingRequest.request,
+        longPollingRequest.responseObserver,
+        activatedJobs ->
+            execute(
+                () -> onActivateJobsCompleted(longPollingRequest, activatedJobs),
+                longPollingRequest));
+  }
+
+  private void onActivateJobsCompleted(LongPollingRequest longPollingRequest, int activatedJobs) {
+    longPollingRequest.inFlight = false;
+
+    if (activatedJobs > 0 || longPollingRequest.timedOut || longPollingRequest.isCancelled()) {
+      complete(longPollingRequest);
+    } else if (getNotificationCount(longPollingRequest.getJobType())
+        != longPollingRequest.seenNotifications) {
+      // jobs became available while the request was in flight
+      tryActivateJobs(longPollingRequest);
+    } else {
+      parkedRequests
+          .computeIfAbsent(longPollingRequest.getJobType(), t -> new LinkedHashSet<>())
+          .add(longPollingRequest);
+    }
+  }
+
+  private void onTimeout(LongPollingRequest longPollingRequest) {
+    if (longPollingRequest.inFlight) {
+      longPollingRequest.timedOut = true;
+      return;
+    }
+
+    unpark(longPollingRequest);
+  }
+
+  private void onCancel(LongPollingRequest longPollingRequest) {
+    // an in flight request is completed once the activation returns
+    if (!longPollingRequest.inFlight) {
+      unpark(longPollingRequest);
+    }
+  }
+
+  private void unpark(LongPollingRequest longPollingRequest) {
+    final String jobType = longPollingRequest.getJobType();
+    final Set<LongPollingRequest> requests = parkedRequests.get(jobType);
+    if (requests != null && requests.remove(longPollingRequest)) {
+      if (requests.isEmpty()) {
+        parkedRequests.remove(jobType);
+      }
+      complete(longPollingRequest);
+    }
+  }
+
+  private void complete(LongPollingRequest longPollingRequest) {
+    if (longPollingRequest.completed) {
+      return;
+    }
+    longPollingRequest.completed = true;
+
+    if (longPollingRequest.timeout != null) {
+      longPollingRequest.timeout.cancel(false);
+    }
+
+    final String jobType = longPollingRequest.getJobType();
+    final Integer activeRequests = activeRequestCounts.get(jobType);
+    if (activeRequests != null) {
+      if (activeRequests > 1) {
+        activeRequestCounts.put(jobType, activeRequests - 1);
+      } else {
+        // the notifications are only needed while requests of the type are parked or in flight
+        activeRequestCounts.remove(jobType);
+        notificationCounts.remove(jobType);
+      }
+    }
+
+    if (!longPollingRequest.isCancelled()) {
+      longPollingRequest.responseObserver.onCompleted();
+    }
+  }
+
+  /** @return the number of parked requests, for testing */
+  int getParkedRequestCount() throws Exception {
+    return executor
+        .submit(() -> parkedRequests.values().stream().mapToInt(Set::size).sum())
+        .get(5, TimeUnit.SECONDS);
+  }
+
+  /** @return the number of job types which the handler keeps state for, for testing */
+  int getTrackedJobTypeCount() throws Exception {
+    return executor
+        .submit(() -> Math.max(activeRequestCounts.size(), notificationCounts.size()))
+        .get(5, TimeUnit.SECONDS);
+  }
+
+  private long getNotificationCount(String jobType) {
+    return notificationCounts.getOrDefault(jobType, 0L);
+  }
+
+  private void execute(Runnable task, LongPollingRequest longPollingRequest) {
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      // the handler is closed, don't keep the request open
+      if (longPollingRequest != null && !longPollingRequest.isCancelled()) {
+        longPollingRequest.responseObserver.onCompleted();
+      }
+    }
+  }
+
+  private static final class LongPollingRequest {
+    private final int partitionsCount;
+    private final ActivateJobsRequest request;
+    private final StreamObserver<ActivateJobsResponse> responseObserver;
+
+    private ScheduledFuture<?> timeout;
+    private boolean inFlight;
+    private boolean timedOut;
+    private boolean completed;
+    private long seenNotifications;
+
+    LongPollingRequest(
+        int partitionsCount,
+        ActivateJobsRequest request,
+        StreamObserver<ActivateJobsResponse> responseObserver) {
+      this.partitionsCount = partitionsCount;
+      this.request = request;
+      this.responseObserver = responseObserver;
+    }
+
+    String getJobType() {
+      return request.getType();
+    }
+
+    boolean isCancelled() {
+      return responseObserver instanceof ServerCallStreamObserver
+          && ((ServerCallStreamObserver<ActivateJobsResponse>) responseObserver).isCancelled();
+    }
+  }
+}
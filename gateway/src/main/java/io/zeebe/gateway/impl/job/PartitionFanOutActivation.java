@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.job;
+
+import io.grpc.stub.StreamObserver;
+import io.zeebe.gateway.Loggers;
+import io.zeebe.gateway.RequestMapper;
+import io.zeebe.gateway.ResponseMapper;
+import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.impl.broker.request.BrokerActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import java.util.function.IntConsumer;
+import org.agrona.collections.IntArrayList;
+
+/**
+ * Activates jobs of a single request on multiple partitions concurrently. At most {@code fanOut}
+ * partitions are queried at the same time, and the jobs which are still to activate are split
+ * between them, so that the sum of all requested jobs never exceeds the requested amount.
+ *
+ * <p>The responses can be received on different threads, so all state is guarded by this instance.
+ */
+final class PartitionFanOutActivation {
+
+  private final BrokerClient brokerClient;
+  private final ActivateJobsRequest request;
+  private final int[] partitionIds;
+  private final int fanOut;
+  private final PartitionHitRates hitRates;
+  private final StreamObserver<ActivateJobsResponse> responseObserver;
+  private final IntConsumer onCompleted;
+
+  private final IntArrayList truncatedPartitionIds = new IntArrayList();
+  private int nextPartitionIndex;
+  private int remainingAmount;
+  private int reservedAmount;
+  private int inFlightRequests;
+  private boolean completed;
+
+  /**
+   * @param onCompleted called with the amount of jobs which could not be activated, once enough
+   *     jobs were activated or all partitions were checked
+   */
+  PartitionFanOutActivation(
+      BrokerClient brokerClient,
+      ActivateJobsRequest request,
+      int[] partitionIds,
+      int fanOut,
+      PartitionHitRates hitRates,
+      StreamObserver<ActivateJobsResponse> responseObserver,
+      IntConsumer onCompleted) {
+    this.brokerClient = brokerClient;
+    this.request = request;
+    this.partitionIds = partitionIds;
+    this.fanOut = fanOut;
+    this.hitRates = hitRates;
+    this.responseObserver = responseObserver;
+    this.onCompleted = onCompleted;
+    this.remainingAmount = request.getMaxJobsToActivate();
+  }
+
+  synchronized void activate() {
+    dispatch();
+  }
+
+  private void dispatch() {
+    while (!completed
+        && inFlightRequests < fanOut
+        && remainingAmount > reservedAmount
+        && hasPartitionsLeft()) {
+      final int partitionId = nextPartitionId();
+
+      // split the jobs which are not requested yet between this and the following requests
+      final int slots = Math.min(fanOut - inFlightRequests, partitionsLeft() + 1);
+      final int unreservedAmount = remainingAmount - reservedAmount;
+      final int amount = (unreservedAmount + slots - 1) / slots;
+
+      sendRequest(partitionId, amount);
+    }
+
+    if (!completed && inFlightRequests == 0) {
+      // enough jobs activated or no more partitions left to check
+      completed = true;
+      onCompleted.accept(remainingAmount);
+    }
+  }
+
+  private void sendRequest(int partitionId, int amount) {
+    final BrokerActivateJobsRequest brokerRequest = RequestMapper.toActivateJobsRequest(request);
+    brokerRequest.setPartitionId(partitionId);
+    brokerRequest.setMaxJobsToActivate(amount);
+
+    inFlightRequests++;
+    reservedAmount += amount;
+
+    brokerClient.sendRequest(
+        brokerRequest,
+        (key, response) -> {
+          final ActivateJobsResponse grpcResponse =
+              ResponseMapper.toActivateJobsResponse(key, response);
+          onResponse(partitionId, amount, grpcResponse, response.getTruncated());
+        },
+        error -> onError(partitionId, amount, error));
+  }
+
+  private synchronized void onResponse(
+      int partitionId, int requestedAmount, ActivateJobsResponse response, boolean truncated) {
+    inFlightRequests--;
+    reservedAmount -= requestedAmount;
+
+    final int jobsCount = response.getJobsCount();
+    hitRates.update(partitionId, jobsCount > 0);
+
+    if (jobsCount > 0) {
+      remainingAmount -= jobsCount;
+      responseObserver.onNext(response);
+
+      if (truncated) {
+        // the partition has more jobs than fitted into the response
+        truncatedPartitionIds.addInt(partitionId);
+      }
+    }
+
+    dispatch();
+  }
+
+  private synchronized void onError(int partitionId, int requestedAmount, Throwable error) {
+    inFlightRequests--;
+    reservedAmount -= requestedAmount;
+
+    Loggers.GATEWAY_LOGGER.warn(
+        "Failed to activate jobs for type {} from partition {}",
+        request.getType(),
+        partitionId,
+        error);
+
+    dispatch();
+  }
+
+  private boolean hasPartitionsLeft() {
+    return partitionsLeft() > 0;
+  }
+
+  private int partitionsLeft() {
+    return truncatedPartitionIds.size() + partitionIds.length - nextPartitionIndex;
+  }
+
+  private int nextPartitionId() {
+    if (!truncatedPartitionIds.isEmpty()) {
+      return truncatedPartitionIds.fastUnorderedRemove(truncatedPartitionIds.size() - 1);
+    }
+    return partitionIds[nextPartitionIndex++];
+  }
+}
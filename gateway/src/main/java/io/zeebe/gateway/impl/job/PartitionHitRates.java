@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.job;
+
+import static io.zeebe.protocol.Protocol.START_PARTITION_ID;
+
+/**
+ * Tracks for a single job type how often the partitions recently returned jobs. Every response
+ * decays the rate of its partition and adds a hit if the response contained jobs, so partitions
+ * which stopped having jobs fall back after a few requests.
+ */
+final class PartitionHitRates {
+
+  private static final double DECAY = 0.75;
+
+  private double[] rates = new double[0];
+  private int roundRobinOffset;
+
+  /**
+   * @return the ids of all partitions, ordered by descending hit rate; partitions with the same
+   *     rate are ordered round robin, starting at a different partition on every call
+   */
+  synchronized int[] prioritizedPartitionIds(int partitionsCount) {
+    if (rates.length != partitionsCount) {
+      rates = new double[partitionsCount];
+      roundRobinOffset = 0;
+    }
+
+    final int[] partitionIds = new int[partitionsCount];
+    for (int i = 0; i < partitionsCount; i++) {
+      partitionIds[i] = (i + roundRobinOffset) % partitionsCount;
+    }
+    roundRobinOffset = (roundRobinOffset + 1) % Math.max(partitionsCount, 1);
+
+    // stable insertion sort, the number of partitions is small
+    for (int i = 1; i < partitionsCount; i++) {
+      final int index = partitionIds[i];
+      int j = i - 1;
+      while (j >= 0 && rates[partitionIds[j]] < rates[index]) {
+        partitionIds[j + 1] = partitionIds[j];
+        j--;
+      }
+      partitionIds[j + 1] = index;
+    }
+
+    for (int i = 0; i < partitionsCount; i++) {
+      partitionIds[i] += START_PARTITION_ID;
+    }
+    return partitionIds;
+  }
+
+  synchronized void update(int partitionId, boolean hit) {
+    final int index = partitionId - START_PARTITION_ID;
+    if (index >= 0 && index < rates.length) {
+      rates[index] = rates[index] * DECAY + (hit ? 1 : 0);
+    }
+  }
+}
@@ -116,6 +116,9 @@ public class ActivateJobsTest extends GatewayTest {
         assertThat(Protocol.decodePartitionId(activatedJob.getKey()))
             .isEqualTo(Protocol.START_PARTITION_ID + partitionOffset);
       }
+
+      // wait until the request is completed, as the next partition is determined on completion
+      assertThat(responses.hasNext()).isFalse();
     }
   }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.gateway.api.util.StubbedGateway;
+import io.zeebe.gateway.impl.broker.request.BrokerActivateJobsRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.gateway.impl.configuration.GatewayCfg;
+import io.zeebe.gateway.impl.job.LongPollingActivateJobsHandler;
+import io.zeebe.gateway.protocol.GatewayGrpc.GatewayBlockingStub;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class LongPollingActivateJobsTest {
+
+  private static final String JOB_TYPE = "testJob";
+
+  private StubbedGateway gateway;
+
+  @After
+  public void tearDown() {
+    if (gateway != null) {
+      gateway.stop();
+    }
+  }
+
+  @Test
+  public void shouldCompleteRequestWithoutJobsAfterTimeout() throws Exception {
+    // given
+    final GatewayBlockingStub client = startGateway("100ms");
+    final NoJobsStub stub = new NoJobsStub();
+    stub.registerWith(gateway);
+
+    // when
+    final List<ActivateJobsResponse> responses = activateJobs(client);
+
+    // then
+    assertThat(responses).isEmpty();
+    assertThat(stub.getRequestCount()).isEqualTo(8);
+  }
+
+  @Test
+  public void shouldActivateJobsWhenNotified() throws Exception {
+    // given
+    final GatewayBlockingStub client = startGateway("1m");
+    final NoJobsStub stub = new NoJobsStub();
+    stub.registerWith(gateway);
+
+    final CompletableFuture<List<ActivateJobsResponse>> responses =
+        CompletableFuture.supplyAsync(() -> activateJobs(client));
+    stub.awaitFirstRequest();
+
+    // when
+    stub.makeJobsAvailable();
+    gateway.notifyJobsAvailable(LongPollingActivateJobsHandler.JOBS_AVAILABLE_TOPIC, JOB_TYPE);
+
+    // then
+    final List<ActivateJobsResponse> activatedJobs = responses.get(10, TimeUnit.SECONDS);
+    assertThat(activatedJobs).hasSize(1);
+    assertThat(activatedJobs.get(0).getJobsCount()).isEqualTo(5);
+  }
+
+  private GatewayBlockingStub startGateway(String longPollingTimeout) throws Exception {
+    final GatewayCfg gatewayCfg = new GatewayCfg();
+    gatewayCfg.getLongPolling().setEnabled(true).setTimeout(longPollingTimeout);
+
+    gateway = new StubbedGateway(gatewayCfg);
+    gateway.start();
+    return gateway.buildClient();
+  }
+
+  private static List<ActivateJobsResponse> activateJobs(GatewayBlockingStub client) {
+    final List<ActivateJobsResponse> responses = new ArrayList<>();
+    client
+        .activateJobs(
+            ActivateJobsRequest.newBuilder()
+                .setType(JOB_TYPE)
+                .setWorker("testWorker")
+                .setMaxJobsToActivate(5)
+                .setTimeout(1000)
+                .build())
+        .forEachRemaining(responses::add);
+    return responses;
+  }
+
+  private static final class NoJobsStub extends ActivateJobsStub {
+
+    private final CountDownLatch firstRequest = new CountDownLatch(1);
+    private volatile boolean jobsAvailable;
+    private volatile int requestCount;
+
+    @Override
+    public BrokerResponse<JobBatchRecord> handle(BrokerActivateJobsRequest request)
+        throws Exception {
+      requestCount++;
+      firstRequest.countDown();
+
+      if (jobsAvailable) {
+        return super.handle(request);
+      }
+
+      final int partitionId = request.getPartitionId();
+      final JobBatchRecord response = new JobBatchRecord();
+      response.setType(request.getRequestWriter().getTypeBuffer());
+      return new BrokerResponse<>(
+          response, partitionId, Protocol.encodePartitionId(partitionId, JOB_BATCH_KEY));
+    }
+
+    void makeJobsAvailable() {
+      jobsAvailable = true;
+    }
+
+    void awaitFirstRequest() throws InterruptedException {
+      assertThat(firstRequest.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    int getRequestCount() {
+      return requestCount;
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.gateway.api.util.StubbedGateway;
+import io.zeebe.gateway.impl.broker.request.BrokerActivateJobsRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.gateway.impl.configuration.GatewayCfg;
+import io.zeebe.gateway.protocol.GatewayGrpc.GatewayBlockingStub;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PartitionFanOutActivateJobsTest {
+
+  private static final String JOB_TYPE = "testJob";
+  private static final int PARTITION_FAN_OUT = 4;
+
+  private StubbedGateway gateway;
+  private GatewayBlockingStub client;
+
+  @Before
+  public void setUp() throws Exception {
+    final GatewayCfg gatewayCfg = new GatewayCfg();
+    gatewayCfg.getJobActivation().setPartitionFanOut(PARTITION_FAN_OUT);
+
+    gateway = new StubbedGateway(gatewayCfg);
+    gateway.start();
+    client = gateway.buildClient();
+  }
+
+  @After
+  public void tearDown() {
+    gateway.stop();
+  }
+
+  @Test
+  public void shouldSplitJobsToActivateBetweenPartitions() {
+    // given
+    final RecordingStub stub = new RecordingStub(Protocol.START_PARTITION_ID + 2);
+    stub.registerWith(gateway);
+
+    // when
+    final List<ActivateJobsResponse> responses = activateJobs(10);
+
+    // then
+    assertThat(responses).hasSize(1);
+    assertThat(responses.get(0).getJobsCount()).isEqualTo(3);
+
+    assertThat(stub.requestedPartitions).hasSize(8).doesNotHaveDuplicates();
+    // the jobs to activate are split between the concurrently asked partitions
+    assertThat(stub.requestedAmounts.get(0)).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldNotRequestMoreJobsThanRequested() {
+    // given
+    final RecordingStub stub = new RecordingStub();
+    stub.registerWith(gateway);
+
+    // when
+    final List<ActivateJobsResponse> responses = activateJobs(10);
+
+    // then
+    assertThat(responses.stream().mapToInt(ActivateJobsResponse::getJobsCount).sum()).isEqualTo(10);
+    assertThat(stub.requestedAmounts.stream().mapToInt(Integer::intValue).sum()).isEqualTo(10);
+    assertThat(stub.requestedPartitions).doesNotHaveDuplicates();
+  }
+
+  @Test
+  public void shouldAskPartitionsWithJobsFirst() {
+    // given
+    final int partitionWithJobs = Protocol.START_PARTITION_ID + 5;
+    final RecordingStub stub = new RecordingStub(partitionWithJobs);
+    stub.registerWith(gateway);
+    activateJobs(10);
+
+    // when
+    stub.requestedPartitions.clear();
+    activateJobs(10);
+
+    // then
+    assertThat(stub.requestedPartitions.get(0)).isEqualTo(partitionWithJobs);
+  }
+
+  private List<ActivateJobsResponse> activateJobs(int maxJobsToActivate) {
+    final List<ActivateJobsResponse> responses = new ArrayList<>();
+    client
+        .activateJobs(
+            ActivateJobsRequest.newBuilder()
+                .setType(JOB_TYPE)
+                .setWorker("testWorker")
+                .setMaxJobsToActivate(maxJobsToActivate)
+                .setTimeout(1000)
+                .build())
+        .forEachRemaining(responses::add);
+    return responses;
+  }
+
+  private static final class RecordingStub extends ActivateJobsStub {
+
+    private final List<Integer> requestedPartitions = new ArrayList<>();
+    private final List<Integer> requestedAmounts = new ArrayList<>();
+    private final int partitionWithJobs;
+
+    /** Activates all requested jobs on every partition. */
+    RecordingStub() {
+      this(-1);
+    }
+
+    /** Activates the requested jobs only on the given partition. */
+    RecordingStub(int partitionWithJobs) {
+      this.partitionWithJobs = partitionWithJobs;
+    }
+
+    @Override
+    public BrokerResponse<JobBatchRecord> handle(BrokerActivateJobsRequest request)
+        throws Exception {
+      final int partitionId = request.getPartitionId();
+      requestedPartitions.add(partitionId);
+      requestedAmounts.add(request.getRequestWriter().getMaxJobsToActivate());
+
+      if (partitionWithJobs < 0 || partitionWithJobs == partitionId) {
+        return super.handle(request);
+      }
+
+      final JobBatchRecord response = new JobBatchRecord();
+      response.setType(request.getRequestWriter().getTypeBuffer());
+      return new BrokerResponse<>(
+          response, partitionId, Protocol.encodePartitionId(partitionId, JOB_BATCH_KEY));
+    }
+  }
+}
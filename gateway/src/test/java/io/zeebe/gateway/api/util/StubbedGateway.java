@@ -51,8 +51,14 @@ public class StubbedGateway extends Gateway {
   private Map<Class<?>, RequestHandler> requestHandlers = new HashMap<>();
   private List<BrokerRequest> brokerRequests = new ArrayList<>();
 
+  private final Map<String, Consumer<String>> jobsAvailableHandlers = new HashMap<>();
+
   public StubbedGateway() {
-    super(new GatewayCfg(), cfg -> null, cfg -> InProcessServerBuilder.forName(SERVER_NAME));
+    this(new GatewayCfg());
+  }
+
+  public StubbedGateway(GatewayCfg gatewayCfg) {
+    super(gatewayCfg, cfg -> null, cfg -> InProcessServerBuilder.forName(SERVER_NAME));
   }
 
   public <RequestT extends BrokerRequest<?>, ResponseT extends BrokerResponse<?>>
@@ -72,6 +78,10 @@ public class StubbedGateway extends Gateway {
     return new StubbedBrokerClient();
   }
 
+  public void notifyJobsAvailable(String topic, String jobType) {
+    jobsAvailableHandlers.get(topic).accept(jobType);
+  }
+
   public <T extends BrokerRequest<?>> T getSingleBrokerRequest() {
     assertThat(brokerRequests).hasSize(1);
     return (T) brokerRequests.get(0);
@@ -128,6 +138,11 @@ public class StubbedGateway extends Gateway {
     public BrokerTopologyManager getTopologyManager() {
       return topologyManager;
     }
+
+    @Override
+    public void subscribeJobAvailableNotification(String topic, Consumer<String> handler) {
+      jobsAvailableHandlers.put(topic, handler);
+    }
   }
 
   private class StubbedTopologyManager implements BrokerTopologyManager {
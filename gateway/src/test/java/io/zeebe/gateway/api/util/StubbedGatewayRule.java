@@ -15,17 +15,28 @@
  */
 package io.zeebe.gateway.api.util;
 
+import io.zeebe.gateway.impl.configuration.GatewayCfg;
 import io.zeebe.gateway.protocol.GatewayGrpc.GatewayBlockingStub;
 import org.junit.rules.ExternalResource;
 
 public class StubbedGatewayRule extends ExternalResource {
 
+  private final GatewayCfg gatewayCfg;
+
   protected StubbedGateway gateway;
   protected GatewayBlockingStub client;
 
+  public StubbedGatewayRule() {
+    this(new GatewayCfg());
+  }
+
+  public StubbedGatewayRule(GatewayCfg gatewayCfg) {
+    this.gatewayCfg = gatewayCfg;
+  }
+
   @Override
   protected void before() throws Throwable {
-    gateway = new StubbedGateway();
+    gateway = new StubbedGateway(gatewayCfg);
     gateway.start();
     client = gateway.buildClient();
   }
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.job;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import java.time.Duration;
+import java.util.function.Consumer;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class LongPollingActivateJobsHandlerTest {
+
+  private static final String JOB_TYPE = "testJob";
+
+  private LongPollingActivateJobsHandler handler;
+  private Consumer<String> jobsAvailableHandler;
+
+  @After
+  public void tearDown() {
+    if (handler != null) {
+      handler.close();
+    }
+  }
+
+  @Test
+  public void shouldDropCancelledRequest() throws Exception {
+    // given
+    startHandler(Duration.ofMinutes(1));
+    final ServerCallStreamObserver<ActivateJobsResponse> responseObserver = newResponseObserver();
+    final ArgumentCaptor<Runnable> cancelHandler = ArgumentCaptor.forClass(Runnable.class);
+
+    // a cluster without partitions, so the request is parked right away
+    handler.activateJobs(0, newRequest(), responseObserver);
+    verify(responseObserver).setOnCancelHandler(cancelHandler.capture());
+    waitUntil(() -> parkedRequestCount() == 1);
+
+    // when
+    cancelHandler.getValue().run();
+
+    // then
+    waitUntil(() -> parkedRequestCount() == 0);
+    assertThat(trackedJobTypeCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldRemoveJobTypeStateOnceNoRequestIsParked() throws Exception {
+    // given
+    startHandler(Duration.ofSeconds(1));
+    final ServerCallStreamObserver<ActivateJobsResponse> responseObserver = newResponseObserver();
+    handler.activateJobs(0, newRequest(), responseObserver);
+    waitUntil(() -> parkedRequestCount() == 1);
+
+    jobsAvailableHandler.accept(JOB_TYPE);
+    assertThat(trackedJobTypeCount()).isEqualTo(1);
+
+    // when
+    verify(responseObserver, timeout(10_000)).onCompleted();
+
+    // then
+    assertThat(parkedRequestCount()).isEqualTo(0);
+    assertThat(trackedJobTypeCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotTrackNotificationsOfJobTypesWithoutRequests() throws Exception {
+    // given
+    startHandler(Duration.ofMinutes(1));
+
+    // when
+    jobsAvailableHandler.accept("otherJob");
+
+    // then
+    assertThat(trackedJobTypeCount()).isEqualTo(0);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void startHandler(Duration timeout) {
+    final BrokerClient brokerClient = mock(BrokerClient.class);
+    handler = new LongPollingActivateJobsHandler(brokerClient, timeout, 1);
+
+    final ArgumentCaptor<Consumer<String>> captor = ArgumentCaptor.forClass(Consumer.class);
+    verify(brokerClient)
+        .subscribeJobAvailableNotification(
+            eq(LongPollingActivateJobsHandler.JOBS_AVAILABLE_TOPIC), captor.capture());
+    jobsAvailableHandler = captor.getValue();
+  }
+
+  private int parkedRequestCount() {
+    try {
+      return handler.getParkedRequestCount();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private int trackedJobTypeCount() {
+    try {
+      return handler.getTrackedJobTypeCount();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ServerCallStreamObserver<ActivateJobsResponse> newResponseObserver() {
+    final ServerCallStreamObserver<ActivateJobsResponse> responseObserver =
+        mock(ServerCallStreamObserver.class);
+    return responseObserver;
+  }
+
+  private static ActivateJobsRequest newRequest() {
+    return ActivateJobsRequest.newBuilder()
+        .setType(JOB_TYPE)
+        .setWorker("testWorker")
+        .setMaxJobsToActivate(5)
+        .setTimeout(1000)
+        .build();
+  }
+}
@@ -15,6 +15,7 @@
  */
 package io.zeebe.msgpack.el;
 
+import java.util.Collections;
 import java.util.Set;
 import org.agrona.DirectBuffer;
 import scala.collection.JavaConverters;
@@ -24,6 +25,7 @@ public final class CompiledJsonCondition {
   private final JsonCondition condition;
   private final boolean isValid;
   private final String errorMessage;
+  private final CompiledJsonConditions compiledCondition;
 
   private CompiledJsonCondition(
       String expression, JsonCondition condition, boolean isValid, String errorMessage) {
@@ -31,6 +33,11 @@ public final class CompiledJsonCondition {
     this.condition = condition;
     this.isValid = isValid;
     this.errorMessage = errorMessage;
+    this.compiledCondition =
+        isValid
+            ? CompiledJsonConditions.compile(
+                Collections.singletonList(expression), Collections.singletonList(condition))
+            : null;
   }
 
   public static CompiledJsonCondition success(String expression, JsonCondition condition) {
@@ -49,6 +56,10 @@ public final class CompiledJsonCondition {
     return condition;
   }
 
+  CompiledJsonConditions getCompiledCondition() {
+    return compiledCondition;
+  }
+
   public boolean isValid() {
     return isValid;
   }
@@ -0,0 +1,257 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.el;
+
+import io.zeebe.msgpack.spec.MsgPackToken;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import scala.collection.JavaConverters;
+
+/**
+ * A group of conditions which are evaluated together, like the conditions of the outgoing sequence
+ * flows of an exclusive gateway.
+ *
+ * <p>The conditions are flattened into arrays of nodes. All JSON paths which are referenced by the
+ * conditions are merged into one tree of variable and property names, so that the values can be
+ * extracted from a document in a single pass before the conditions are evaluated.
+ */
+public final class CompiledJsonConditions {
+
+  static final int ROOT_PATH = 0;
+  static final int NO_PATH = -1;
+
+  static final byte DISJUNCTION = 0;
+  static final byte CONJUNCTION = 1;
+  static final byte EQUAL = 2;
+  static final byte NOT_EQUAL = 3;
+  static final byte LESS_THAN = 4;
+  static final byte LESS_OR_EQUAL = 5;
+  static final byte GREATER_THAN = 6;
+  static final byte GREATER_OR_EQUAL = 7;
+
+  private final String[] expressions;
+  private final int[] conditionRoots;
+
+  // condition node => type and operands; the operands of a conjunction or disjunction are nodes,
+  // the operands of a comparison are indexes of values
+  private final byte[] nodeTypes;
+  private final int[] nodeX;
+  private final int[] nodeY;
+
+  // value => index of the path, or NO_PATH if the value is a constant
+  private final int[] valuePaths;
+  private final MsgPackToken[] valueConstants;
+
+  // path => name of the variable or property, and the paths of its properties
+  private final DirectBuffer[] pathNames;
+  private final int[][] pathChildren;
+
+  private final List<DirectBuffer> variableNames;
+
+  private CompiledJsonConditions(Builder builder) {
+    expressions = builder.expressions.toArray(new String[0]);
+    conditionRoots = toIntArray(builder.conditionRoots);
+
+    final int nodeCount = builder.nodeTypes.size();
+    nodeTypes = new byte[nodeCount];
+    for (int i = 0; i < nodeCount; i++) {
+      nodeTypes[i] = builder.nodeTypes.get(i);
+    }
+    nodeX = toIntArray(builder.nodeX);
+    nodeY = toIntArray(builder.nodeY);
+
+    valuePaths = toIntArray(builder.valuePaths);
+    valueConstants = builder.valueConstants.toArray(new MsgPackToken[0]);
+
+    pathNames = builder.pathNames.toArray(new DirectBuffer[0]);
+    pathChildren = new int[pathNames.length][];
+    for (int i = 0; i < pathChildren.length; i++) {
+      pathChildren[i] = toIntArray(builder.pathChildren.get(i));
+    }
+
+    final List<DirectBuffer> variableNames = new ArrayList<>();
+    for (int child : pathChildren[ROOT_PATH]) {
+      variableNames.add(pathNames[child]);
+    }
+    this.variableNames = Collections.unmodifiableList(variableNames);
+  }
+
+  static CompiledJsonConditions compile(List<String> expressions, List<JsonCondition> conditions) {
+    final Builder builder = new Builder();
+    for (int i = 0; i < conditions.size(); i++) {
+      builder.expressions.add(expressions.get(i));
+      builder.conditionRoots.add(builder.addCondition(conditions.get(i)));
+    }
+    return new CompiledJsonConditions(builder);
+  }
+
+  public int getConditionCount() {
+    return conditionRoots.length;
+  }
+
+  /** @return the names of all variables which are referenced by the conditions */
+  public List<DirectBuffer> getVariableNames() {
+    return variableNames;
+  }
+
+  String getExpression(int condition) {
+    return expressions[condition];
+  }
+
+  int getConditionRoot(int condition) {
+    return conditionRoots[condition];
+  }
+
+  byte getNodeType(int node) {
+    return nodeTypes[node];
+  }
+
+  int getNodeX(int node) {
+    return nodeX[node];
+  }
+
+  int getNodeY(int node) {
+    return nodeY[node];
+  }
+
+  int getValuePath(int value) {
+    return valuePaths[value];
+  }
+
+  MsgPackToken getValueConstant(int value) {
+    return valueConstants[value];
+  }
+
+  int getPathCount() {
+    return pathNames.length;
+  }
+
+  DirectBuffer getPathName(int path) {
+    return pathNames[path];
+  }
+
+  int[] getPathChildren(int path) {
+    return pathChildren[path];
+  }
+
+  private static int[] toIntArray(List<Integer> list) {
+    final int[] array = new int[list.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+
+  private static final class Builder {
+    private final List<String> expressions = new ArrayList<>();
+    private final List<Integer> conditionRoots = new ArrayList<>();
+
+    private final List<Byte> nodeTypes = new ArrayList<>();
+    private final List<Integer> nodeX = new ArrayList<>();
+    private final List<Integer> nodeY = new ArrayList<>();
+
+    private final List<Integer> valuePaths = new ArrayList<>();
+    private final List<MsgPackToken> valueConstants = new ArrayList<>();
+
+    private final List<DirectBuffer> pathNames = new ArrayList<>();
+    private final List<List<Integer>> pathChildren = new ArrayList<>();
+
+    private Builder() {
+      pathNames.add(null);
+      pathChildren.add(new ArrayList<>());
+    }
+
+    private int addCondition(JsonCondition condition) {
+      if (condition instanceof Disjunction) {
+        final Disjunction disjunction = (Disjunction) condition;
+        return addNode(DISJUNCTION, addCondition(disjunction.x()), addCondition(disjunction.y()));
+      } else if (condition instanceof Conjunction) {
+        final Conjunction conjunction = (Conjunction) condition;
+        return addNode(CONJUNCTION, addCondition(conjunction.x()), addCondition(conjunction.y()));
+      } else if (condition instanceof Comparison) {
+        final Comparison comparison = (Comparison) condition;
+        return addNode(
+            comparisonType(comparison), addValue(comparison.x()), addValue(comparison.y()));
+      } else {
+        throw new IllegalArgumentException(String.format("Illegal condition: %s", condition));
+      }
+    }
+
+    private int addNode(byte type, int x, int y) {
+      nodeTypes.add(type);
+      nodeX.add(x);
+      nodeY.add(y);
+      return nodeTypes.size() - 1;
+    }
+
+    private static byte comparisonType(Comparison comparison) {
+      if (comparison instanceof Equal) {
+        return EQUAL;
+      } else if (comparison instanceof NotEqual) {
+        return NOT_EQUAL;
+      } else if (comparison instanceof LessThan) {
+        return LESS_THAN;
+      } else if (comparison instanceof LessOrEqual) {
+        return LESS_OR_EQUAL;
+      } else if (comparison instanceof GreaterThan) {
+        return GREATER_THAN;
+      } else if (comparison instanceof GreaterOrEqual) {
+        return GREATER_OR_EQUAL;
+      } else {
+        throw new IllegalArgumentException(String.format("Illegal comparison: %s", comparison));
+      }
+    }
+
+    private int addValue(JsonObject value) {
+      if (value instanceof JsonConstant) {
+        valuePaths.add(NO_PATH);
+        valueConstants.add(((JsonConstant) value).token());
+      } else if (value instanceof JsonPath) {
+        valuePaths.add(addPath((JsonPath) value));
+        valueConstants.add(null);
+      } else {
+        throw new IllegalArgumentException(String.format("Illegal value: %s", value));
+      }
+      return valuePaths.size() - 1;
+    }
+
+    private int addPath(JsonPath jsonPath) {
+      int path = getOrAddChild(ROOT_PATH, jsonPath.variableName());
+      for (String property : JavaConverters.seqAsJavaList(jsonPath.path())) {
+        path = getOrAddChild(path, BufferUtil.wrapString(property));
+      }
+      return path;
+    }
+
+    private int getOrAddChild(int path, DirectBuffer name) {
+      final List<Integer> children = pathChildren.get(path);
+      for (int child : children) {
+        if (BufferUtil.equals(pathNames.get(child), name)) {
+          return child;
+        }
+      }
+
+      pathNames.add(name);
+      pathChildren.add(new ArrayList<>());
+      final int child = pathNames.size() - 1;
+      children.add(child);
+      return child;
+    }
+  }
+}
@@ -23,10 +23,14 @@ public class JsonConditionException extends RuntimeException {
   }
 
   public JsonConditionException(CompiledJsonCondition condition, Exception cause) {
+    this(condition.getExpression(), cause);
+  }
+
+  public JsonConditionException(String expression, Exception cause) {
     super(
         String.format(
             "Expected to evaluate condition '%s' successfully, but failed because: %s",
-            condition.getExpression(), cause.getMessage()),
+            expression, cause.getMessage()),
         cause);
   }
 }
@@ -17,8 +17,6 @@ package io.zeebe.msgpack.el;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 import scala.util.parsing.combinator.Parsers.ParseResult;
 
 public class JsonConditionFactory {
@@ -36,9 +34,6 @@ public class JsonConditionFactory {
       final String errorMessage = JsonConditionValidator.validate(condition);
 
       if (errorMessage == null) {
-        // index is used by the interpreter for caching
-        indexJsonPathExpressions(condition);
-
         return CompiledJsonCondition.success(expression, condition);
       } else {
         return CompiledJsonCondition.fail(expression, errorMessage);
@@ -48,29 +43,28 @@ public class JsonConditionFactory {
     }
   }
 
-  private static void indexJsonPathExpressions(JsonCondition condition) {
-    final List<JsonPath> pathExpressions = new ArrayList<>();
-
-    JsonConditionWalker.walk(
-        condition,
-        object -> {
-          if (object instanceof JsonPath) {
-            pathExpressions.add((JsonPath) object);
-          }
-        });
+  /**
+   * Compiles the given conditions into a group which is evaluated together by {@link
+   * JsonConditionInterpreter#evalFirstFulfilled(CompiledJsonConditions, org.agrona.DirectBuffer)}.
+   *
+   * @throws IllegalArgumentException if one of the conditions is not valid
+   */
+  public static CompiledJsonConditions createConditions(List<CompiledJsonCondition> conditions) {
+    final List<String> expressions = new ArrayList<>();
+    final List<JsonCondition> jsonConditions = new ArrayList<>();
 
-    final AtomicInteger nextId = new AtomicInteger(1);
+    for (CompiledJsonCondition condition : conditions) {
+      if (!condition.isValid()) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected valid condition, but '%s' is not valid: %s",
+                condition.getExpression(), condition.getErrorMessage()));
+      }
 
-    pathExpressions.stream()
-        .collect(Collectors.groupingBy(JsonPath::jsonPath))
-        .values()
-        .stream()
-        .filter(l -> l.size() > 1)
-        .forEach(
-            l -> {
-              final int id = nextId.getAndIncrement();
+      expressions.add(condition.getExpression());
+      jsonConditions.add(condition.getCondition());
+    }
 
-              l.forEach(p -> p.id(id));
-            });
+    return CompiledJsonConditions.compile(expressions, jsonConditions);
   }
 }
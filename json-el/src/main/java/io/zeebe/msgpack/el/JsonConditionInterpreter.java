@@ -15,146 +15,185 @@
  */
 package io.zeebe.msgpack.el;
 
-import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
-
-import io.zeebe.msgpack.jsonpath.JsonPathQuery;
-import io.zeebe.msgpack.query.MsgPackQueryExecutor;
-import io.zeebe.msgpack.query.MsgPackTraverser;
+import static io.zeebe.msgpack.el.CompiledJsonConditions.CONJUNCTION;
+import static io.zeebe.msgpack.el.CompiledJsonConditions.DISJUNCTION;
+import static io.zeebe.msgpack.el.CompiledJsonConditions.EQUAL;
+import static io.zeebe.msgpack.el.CompiledJsonConditions.GREATER_OR_EQUAL;
+import static io.zeebe.msgpack.el.CompiledJsonConditions.GREATER_THAN;
+import static io.zeebe.msgpack.el.CompiledJsonConditions.LESS_OR_EQUAL;
+import static io.zeebe.msgpack.el.CompiledJsonConditions.LESS_THAN;
+import static io.zeebe.msgpack.el.CompiledJsonConditions.NOT_EQUAL;
+import static io.zeebe.msgpack.el.CompiledJsonConditions.NO_PATH;
+import static io.zeebe.msgpack.el.CompiledJsonConditions.ROOT_PATH;
+
+import io.zeebe.msgpack.spec.MsgPackCodes;
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackToken;
 import io.zeebe.msgpack.spec.MsgPackType;
 import io.zeebe.util.buffer.BufferUtil;
+import java.util.Arrays;
 import org.agrona.DirectBuffer;
 
+/**
+ * Evaluates compiled conditions against a msgpack document. The values of all JSON paths which are
+ * referenced by the conditions are extracted in a single pass over the document, before any
+ * condition is evaluated.
+ *
+ * <p>An instance is not thread-safe, but it can be reused for any number of conditions.
+ */
 public class JsonConditionInterpreter {
-  private final MsgPackQueryExecutor visitor = new MsgPackQueryExecutor();
-  private final MsgPackTraverser traverser = new MsgPackTraverser();
+  private static final int NOT_FOUND = -1;
 
+  private final MsgPackReader documentReader = new MsgPackReader();
   private final MsgPackReader msgPackReader1 = new MsgPackReader();
   private final MsgPackReader msgPackReader2 = new MsgPackReader();
 
-  private final JsonPathCache cache = new JsonPathCache();
+  // path => offset and length of its value in the document
+  private int[] pathOffsets = new int[16];
+  private int[] pathLengths = new int[16];
 
   public boolean eval(final CompiledJsonCondition condition, final DirectBuffer json) {
-    cache.wrap(json);
+    return evalFirstFulfilled(condition.getCompiledCondition(), json) == 0;
+  }
+
+  /**
+   * Evaluates the conditions in order until one is fulfilled.
+   *
+   * @return the index of the first fulfilled condition, or -1 if no condition is fulfilled
+   * @throws JsonConditionException if a condition could not be evaluated
+   */
+  public int evalFirstFulfilled(final CompiledJsonConditions conditions, final DirectBuffer json) {
     try {
-      return evalCondition(condition.getCondition(), json);
+      extractPaths(conditions, json);
     } catch (Exception e) {
-      throw new JsonConditionException(condition, e);
+      throw new JsonConditionException(conditions.getExpression(0), e);
     }
-  }
-
-  private boolean evalCondition(final JsonCondition condition, final DirectBuffer json) {
-    final boolean isFulFilled;
 
-    if (condition instanceof Comparison) {
-      isFulFilled = evalComparison((Comparison) condition, json);
-    } else if (condition instanceof Disjunction) {
-      final Disjunction disjunction = (Disjunction) condition;
-
-      isFulFilled = evalCondition(disjunction.x(), json) || evalCondition(disjunction.y(), json);
-    } else if (condition instanceof Conjunction) {
-      final Conjunction conjunction = (Conjunction) condition;
-
-      isFulFilled = evalCondition(conjunction.x(), json) && evalCondition(conjunction.y(), json);
-    } else {
-      throw new RuntimeException(String.format("Illegal condition: %s", condition));
+    final int conditionCount = conditions.getConditionCount();
+    for (int condition = 0; condition < conditionCount; condition++) {
+      try {
+        if (evalNode(conditions, conditions.getConditionRoot(condition), json)) {
+          return condition;
+        }
+      } catch (Exception e) {
+        throw new JsonConditionException(conditions.getExpression(condition), e);
+      }
     }
 
-    return isFulFilled;
+    return -1;
   }
 
-  private boolean evalComparison(Comparison comparison, DirectBuffer json) {
-    final MsgPackToken x = getToken(comparison.x(), json, msgPackReader1);
-    final MsgPackToken y = getToken(comparison.y(), json, msgPackReader2);
-
-    if (comparison instanceof Equal) {
-      return equals(x, y);
-    } else if (comparison instanceof NotEqual) {
-      return notEquals(x, y);
-    } else if (comparison instanceof LessThan) {
-      return lessThan(x, y);
-    } else if (comparison instanceof LessOrEqual) {
-      return lessThanOrEqual(x, y);
-    } else if (comparison instanceof GreaterThan) {
-      return greaterThan(x, y);
-    } else if (comparison instanceof GreaterOrEqual) {
-      return greaterThanOrEqual(x, y);
-    } else {
-      throw new RuntimeException(String.format("Illegal comparison: %s", comparison));
+  private void extractPaths(final CompiledJsonConditions conditions, final DirectBuffer json) {
+    final int pathCount = conditions.getPathCount();
+    if (pathOffsets.length < pathCount) {
+      final int capacity = Math.max(pathCount, pathOffsets.length * 2);
+      pathOffsets = new int[capacity];
+      pathLengths = new int[capacity];
     }
-  }
-
-  private MsgPackToken getToken(JsonObject value, DirectBuffer json, MsgPackReader msgPackReader) {
-    if (value instanceof JsonConstant) {
-      final JsonConstant constant = (JsonConstant) value;
+    Arrays.fill(pathOffsets, 0, pathCount, NOT_FOUND);
 
-      return constant.token();
-    } else if (value instanceof JsonPath) {
-      final JsonPath jsonPath = (JsonPath) value;
-
-      return getPathResult(jsonPath, json, msgPackReader);
-    } else {
-      throw new RuntimeException(String.format("Illegal value: %s", value));
+    if (json.capacity() > 0) {
+      documentReader.wrap(json, 0, json.capacity());
+      extractPath(conditions, ROOT_PATH);
     }
   }
 
-  private MsgPackToken getPathResult(
-      final JsonPath path, DirectBuffer json, MsgPackReader msgPackReader) {
-    final int pathId = path.id();
-    // id > 0 if the path is used more than once in the condition
-    final boolean cachable = pathId > 0;
-
-    final DirectBuffer resultBuffer = cachable ? cache.get(pathId) : null;
-
-    if (resultBuffer != null) {
-      if (resultBuffer.capacity() == 0) {
-        return MsgPackToken.NIL;
-      }
-      msgPackReader.wrap(resultBuffer, 0, resultBuffer.capacity());
-    } else {
-      if (!readQueryResult(path.query(), json)) {
-        if (cachable) {
-          cache.put(pathId, 0, 0);
+  /**
+   * Reads the value of the given path at the current position of the reader and descends only into
+   * the properties which are referenced by a condition; all other values are skipped.
+   */
+  private void extractPath(final CompiledJsonConditions conditions, final int path) {
+    final int offset = documentReader.getOffset();
+    final int[] children = conditions.getPathChildren(path);
+
+    if (children.length > 0 && MsgPackCodes.isMap(documentReader.getBuffer().getByte(offset))) {
+      final int size = documentReader.readMapHeader();
+
+      for (int i = 0; i < size; i++) {
+        final MsgPackToken key = documentReader.readToken();
+        final int child =
+            key.getType() == MsgPackType.STRING
+                ? findChild(conditions, children, key.getValueBuffer())
+                : NO_PATH;
+
+        if (child != NO_PATH) {
+          extractPath(conditions, child);
+        } else {
+          documentReader.skipValue();
         }
-        return MsgPackToken.NIL;
       }
+    } else {
+      documentReader.skipValue();
+    }
 
-      final int offset = visitor.currentResultPosition();
-      final int length = visitor.currentResultLength();
-
-      msgPackReader.wrap(json, offset, length);
+    pathOffsets[path] = offset;
+    pathLengths[path] = documentReader.getOffset() - offset;
+  }
 
-      if (cachable) {
-        cache.put(pathId, offset, length);
+  private int findChild(
+      final CompiledJsonConditions conditions, final int[] children, final DirectBuffer name) {
+    for (final int child : children) {
+      if (BufferUtil.equals(conditions.getPathName(child), name)) {
+        return child;
       }
     }
+    return NO_PATH;
+  }
 
-    return msgPackReader.readToken();
+  private boolean evalNode(
+      final CompiledJsonConditions conditions, final int node, final DirectBuffer json) {
+    final byte type = conditions.getNodeType(node);
+    final int x = conditions.getNodeX(node);
+    final int y = conditions.getNodeY(node);
+
+    switch (type) {
+      case DISJUNCTION:
+        return evalNode(conditions, x, json) || evalNode(conditions, y, json);
+      case CONJUNCTION:
+        return evalNode(conditions, x, json) && evalNode(conditions, y, json);
+      default:
+        return evalComparison(
+            type,
+            getToken(conditions, x, json, msgPackReader1),
+            getToken(conditions, y, json, msgPackReader2));
+    }
   }
 
-  private boolean readQueryResult(JsonPathQuery query, DirectBuffer json) {
-    visitor.init(query.getFilters(), query.getFilterInstances());
-    traverser.wrap(json, 0, json.capacity());
+  private boolean evalComparison(final byte type, final MsgPackToken x, final MsgPackToken y) {
+    switch (type) {
+      case EQUAL:
+        return equals(x, y);
+      case NOT_EQUAL:
+        return !equals(x, y);
+      default:
+        return compare(type, x, y);
+    }
+  }
 
-    traverser.traverse(visitor);
+  private MsgPackToken getToken(
+      final CompiledJsonConditions conditions,
+      final int value,
+      final DirectBuffer json,
+      final MsgPackReader msgPackReader) {
+    final int path = conditions.getValuePath(value);
+    if (path == NO_PATH) {
+      return conditions.getValueConstant(value);
+    }
 
-    if (visitor.numResults() == 0) {
-      return false;
-    } else if (visitor.numResults() > 1) {
-      // such a JSON path expression should not be valid
-      throw new JsonConditionException(
-          String.format(
-              "JSON path '%s' has more than one result.", bufferAsString(query.getExpression())));
+    final int offset = pathOffsets[path];
+    if (offset == NOT_FOUND) {
+      return MsgPackToken.NIL;
     }
 
-    visitor.moveToResult(0);
-    return true;
+    msgPackReader.wrap(json, offset, pathLengths[path]);
+    return msgPackReader.readToken();
   }
 
   private boolean equals(MsgPackToken x, MsgPackToken y) {
     if (x.getType() == MsgPackType.NIL || y.getType() == MsgPackType.NIL) {
       return x.getType() == y.getType();
+    } else if (isMixedNumber(x, y)) {
+      return toDouble(x) == toDouble(y);
     } else {
       ensureSameType(x, y);
 
@@ -178,63 +217,60 @@ public class JsonConditionInterpreter {
     }
   }
 
-  private boolean notEquals(MsgPackToken x, MsgPackToken y) {
-    return !equals(x, y);
-  }
-
-  private boolean lessThan(MsgPackToken x, MsgPackToken y) {
-    ensureSameType(x, y);
-    ensureNumber(x);
-
-    if (x.getType() == MsgPackType.INTEGER) {
-      return x.getIntegerValue() < y.getIntegerValue();
-    } else {
-      return x.getFloatValue() < y.getFloatValue();
+  private boolean compare(final byte type, MsgPackToken x, MsgPackToken y) {
+    if (!isMixedNumber(x, y)) {
+      ensureSameType(x, y);
+      ensureNumber(x);
     }
-  }
-
-  private boolean lessThanOrEqual(MsgPackToken x, MsgPackToken y) {
-    ensureSameType(x, y);
-    ensureNumber(x);
 
-    if (x.getType() == MsgPackType.INTEGER) {
-      return x.getIntegerValue() <= y.getIntegerValue();
+    if (x.getType() == MsgPackType.INTEGER && y.getType() == MsgPackType.INTEGER) {
+      final long xValue = x.getIntegerValue();
+      final long yValue = y.getIntegerValue();
+
+      switch (type) {
+        case LESS_THAN:
+          return xValue < yValue;
+        case LESS_OR_EQUAL:
+          return xValue <= yValue;
+        case GREATER_THAN:
+          return xValue > yValue;
+        case GREATER_OR_EQUAL:
+          return xValue >= yValue;
+        default:
+          throw new IllegalStateException(String.format("Illegal comparison: %d", type));
+      }
     } else {
-      return x.getFloatValue() <= y.getFloatValue();
+      final double xValue = toDouble(x);
+      final double yValue = toDouble(y);
+
+      switch (type) {
+        case LESS_THAN:
+          return xValue < yValue;
+        case LESS_OR_EQUAL:
+          return xValue <= yValue;
+        case GREATER_THAN:
+          return xValue > yValue;
+        case GREATER_OR_EQUAL:
+          return xValue >= yValue;
+        default:
+          throw new IllegalStateException(String.format("Illegal comparison: %d", type));
+      }
     }
   }
 
-  private boolean greaterThan(MsgPackToken x, MsgPackToken y) {
-    ensureSameType(x, y);
-    ensureNumber(x);
-
-    if (x.getType() == MsgPackType.INTEGER) {
-      return x.getIntegerValue() > y.getIntegerValue();
-    } else {
-      return x.getFloatValue() > y.getFloatValue();
-    }
+  private static boolean isMixedNumber(MsgPackToken x, MsgPackToken y) {
+    return (x.getType() == MsgPackType.INTEGER && y.getType() == MsgPackType.FLOAT)
+        || (x.getType() == MsgPackType.FLOAT && y.getType() == MsgPackType.INTEGER);
   }
 
-  private boolean greaterThanOrEqual(MsgPackToken x, MsgPackToken y) {
-    ensureSameType(x, y);
-    ensureNumber(x);
-
-    if (x.getType() == MsgPackType.INTEGER) {
-      return x.getIntegerValue() >= y.getIntegerValue();
-    } else {
-      return x.getFloatValue() >= y.getFloatValue();
-    }
+  private static double toDouble(MsgPackToken token) {
+    return token.getType() == MsgPackType.INTEGER
+        ? (double) token.getIntegerValue()
+        : token.getFloatValue();
   }
 
   private void ensureSameType(MsgPackToken x, MsgPackToken y) {
-    // transform number types for comparison
-    if (x.getType() == MsgPackType.INTEGER && y.getType() == MsgPackType.FLOAT) {
-      x.setType(MsgPackType.FLOAT);
-      x.setValue((double) x.getIntegerValue());
-    } else if (x.getType() == MsgPackType.FLOAT && y.getType() == MsgPackType.INTEGER) {
-      y.setType(MsgPackType.FLOAT);
-      y.setValue((double) y.getIntegerValue());
-    } else if (x.getType() != y.getType()) {
+    if (x.getType() != y.getType()) {
       throw new JsonConditionException(
           String.format(
               "Cannot compare values of different types: %s and %s", x.getType(), y.getType()));
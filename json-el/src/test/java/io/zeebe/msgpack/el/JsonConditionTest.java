@@ -18,8 +18,10 @@ package io.zeebe.msgpack.el;
 import static io.zeebe.test.util.MsgPackUtil.asMsgPack;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.Rule;
 import org.junit.Test;
@@ -172,4 +174,63 @@ public class JsonConditionTest {
     // when
     interpreter.eval(condition, asMsgPack(c -> c.put("foo", "a")));
   }
+
+  @Test
+  public void shouldEvaluateConditionsInOrder() {
+    // given
+    final CompiledJsonConditions conditions =
+        createConditions("foo.bar < 5", "foo.bar < 10 && baz == 'a'", "foo.bar >= 10");
+
+    // then
+    assertThat(evalFirstFulfilled(conditions, 3, "a")).isEqualTo(0);
+    assertThat(evalFirstFulfilled(conditions, 7, "a")).isEqualTo(1);
+    assertThat(evalFirstFulfilled(conditions, 7, "b")).isEqualTo(-1);
+    assertThat(evalFirstFulfilled(conditions, 12, "b")).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotEvaluateConditionsAfterFulfilledCondition() {
+    // given
+    final CompiledJsonConditions conditions = createConditions("foo == 1", "foo > bar");
+
+    // when
+    final int result =
+        interpreter.evalFirstFulfilled(conditions, asMsgPack(c -> c.put("foo", 1).put("bar", "a")));
+
+    // then
+    assertThat(result).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldIncludeExpressionOfFailedConditionInExceptionMessage() {
+    // given
+    final CompiledJsonConditions conditions = createConditions("foo == 1", "foo > bar");
+
+    // then
+    thrown.expect(JsonConditionException.class);
+    thrown.expectMessage(
+        "Expected to evaluate condition 'foo > bar' successfully, but failed because: Cannot compare values of different types: INTEGER and STRING");
+
+    // when
+    interpreter.evalFirstFulfilled(conditions, asMsgPack(c -> c.put("foo", 2).put("bar", "a")));
+  }
+
+  private CompiledJsonConditions createConditions(String... expressions) {
+    final List<CompiledJsonCondition> conditions = new ArrayList<>();
+    for (String expression : expressions) {
+      final CompiledJsonCondition condition = JsonConditionFactory.createCondition(expression);
+      assertThat(condition.isValid()).isTrue();
+      conditions.add(condition);
+    }
+    return JsonConditionFactory.createConditions(conditions);
+  }
+
+  private int evalFirstFulfilled(CompiledJsonConditions conditions, int bar, String baz) {
+    final Map<String, Object> document = new HashMap<>();
+    document.put("other", Collections.singletonMap("bar", 0));
+    document.put("foo", Collections.singletonMap("bar", bar));
+    document.put("baz", baz);
+
+    return interpreter.evalFirstFulfilled(conditions, asMsgPack(document));
+  }
 }
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.util.buffer.BufferUtil;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.agrona.DirectBuffer;
@@ -68,4 +69,14 @@ public class JsonConditionVariableNamesTest {
     final Set<DirectBuffer> actualVariables = condition.getVariableNames();
     assertThat(actualVariables).containsExactlyInAnyOrder(expectedVariableNames);
   }
+
+  @Test
+  public void shouldReturnVariableNamesOfCompiledConditions() {
+    final CompiledJsonCondition condition = JsonConditionFactory.createCondition(expression);
+    assertThat(condition.isValid()).isTrue();
+
+    final CompiledJsonConditions conditions =
+        JsonConditionFactory.createConditions(Collections.singletonList(condition));
+    assertThat(conditions.getVariableNames()).containsExactlyInAnyOrder(expectedVariableNames);
+  }
 }
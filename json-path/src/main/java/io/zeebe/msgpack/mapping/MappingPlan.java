@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.mapping;
+
+import static io.zeebe.msgpack.mapping.MsgPackTreeNodeIdConstructor.construct;
+
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A precompiled plan to write the result document of a set of {@link Mapping}s.
+ *
+ * <p>The structure of the result document depends only on the target paths of the mappings, so it
+ * is determined once when the plan is compiled. The plan is a sequence of instructions which write
+ * the map and array headers, the keys and the values of the result document. The values are the
+ * results of the source queries, which are inserted when the plan is executed by {@link
+ * MsgPackMergeTool#mapDocument(DirectBuffer, MappingPlan)}.
+ *
+ * <p>The plan produces the same document as merging the mappings into an empty {@link MsgPackTree},
+ * since it is compiled from such a tree.
+ */
+public final class MappingPlan {
+
+  static final byte WRITE_NIL = 0;
+  static final byte WRITE_MAP_HEADER = 1;
+  static final byte WRITE_ARRAY_HEADER = 2;
+  static final byte WRITE_KEY = 3;
+  static final byte WRITE_VALUE = 4;
+
+  private static final DirectBuffer PLACEHOLDER_DOCUMENT = new UnsafeBuffer(0, 0);
+
+  private final Mapping[] mappings;
+
+  // instruction => operation and operand; the operand is the size of a header, the index of a key
+  // or the index of the mapping which provides a value
+  private final byte[] operations;
+  private final int[] operands;
+  private final DirectBuffer[] keys;
+
+  private MappingPlan(Mapping[] mappings, Compiler compiler) {
+    this.mappings = mappings;
+
+    operations = new byte[compiler.operations.size()];
+    operands = new int[operations.length];
+    for (int i = 0; i < operations.length; i++) {
+      operations[i] = compiler.operations.get(i);
+      operands[i] = compiler.operands.get(i);
+    }
+    keys = compiler.keys.toArray(new DirectBuffer[0]);
+  }
+
+  public static MappingPlan compile(Mapping... mappings) {
+    final Compiler compiler = new Compiler();
+    compiler.compile(mappings);
+    return new MappingPlan(mappings, compiler);
+  }
+
+  public Mapping[] getMappings() {
+    return mappings;
+  }
+
+  int getInstructionCount() {
+    return operations.length;
+  }
+
+  byte getOperation(int instruction) {
+    return operations[instruction];
+  }
+
+  int getOperand(int instruction) {
+    return operands[instruction];
+  }
+
+  DirectBuffer getKey(int key) {
+    return keys[key];
+  }
+
+  private static final class Compiler {
+    private final List<Byte> operations = new ArrayList<>();
+    private final List<Integer> operands = new ArrayList<>();
+    private final List<DirectBuffer> keys = new ArrayList<>();
+
+    private MsgPackTree tree;
+
+    private void compile(Mapping[] mappings) {
+      // the result offset of each mapping is its index, to find it again in the leafs of the tree
+      final MappingDiff diff = new MappingDiff();
+      diff.init(mappings, PLACEHOLDER_DOCUMENT);
+      for (int i = 0; i < mappings.length; i++) {
+        diff.setResult(i, i, 0);
+      }
+
+      tree = new MsgPackTree();
+      diff.mergeInto(tree);
+
+      if (tree.size() > 0) {
+        compileNode("", Mapping.JSON_ROOT_PATH, false);
+      } else {
+        add(WRITE_NIL, 0);
+      }
+    }
+
+    /** Follows {@link MsgPackDocumentTreeWriter}, but emits instructions instead of writing. */
+    private void compileNode(String parentId, String nodeName, boolean isArray) {
+      if (!parentId.isEmpty() && !isArray) {
+        keys.add(BufferUtil.wrapString(nodeName));
+        add(WRITE_KEY, keys.size() - 1);
+      }
+
+      final String nodeId = parentId.isEmpty() ? nodeName : construct(parentId, nodeName);
+      if (tree.isValueNode(nodeId)) {
+        final int mappingIndex = (int) (tree.leafMap.get(nodeId) >> 32);
+        add(WRITE_VALUE, mappingIndex);
+      } else {
+        final boolean isArrayNode = tree.isArrayNode(nodeId);
+        final Set<String> children = tree.getChildren(nodeId);
+        add(isArrayNode ? WRITE_ARRAY_HEADER : WRITE_MAP_HEADER, children.size());
+
+        for (String child : children) {
+          compileNode(nodeId, child, isArrayNode);
+        }
+      }
+    }
+
+    private void add(byte operation, int operand) {
+      operations.add(operation);
+      operands.add(operand);
+    }
+  }
+}
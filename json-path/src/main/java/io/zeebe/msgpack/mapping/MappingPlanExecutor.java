@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.mapping;
+
+import static io.zeebe.msgpack.mapping.MsgPackDocumentExtractor.EXCEPTION_MSG_MAPPING_DOES_NOT_MATCH;
+import static io.zeebe.msgpack.mapping.MsgPackDocumentExtractor.EXCEPTION_MSG_MAPPING_HAS_MORE_THAN_ONE_MATCHING_SOURCE;
+
+import io.zeebe.msgpack.jsonpath.JsonPathQuery;
+import io.zeebe.msgpack.query.MsgPackQueryExecutor;
+import io.zeebe.msgpack.query.MsgPackTokenVisitor;
+import io.zeebe.msgpack.query.MsgPackTraverser;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Executes a {@link MappingPlan}. The source queries of all mappings are evaluated together in a
+ * single pass over the document, and the result document is written directly by the instructions of
+ * the plan.
+ */
+final class MappingPlanExecutor implements MsgPackTokenVisitor {
+
+  private static final int NULL_RESULT = -1;
+  private static final int EMPTY_MAP_RESULT = -2;
+
+  private final MsgPackTraverser traverser = new MsgPackTraverser();
+  private final MsgPackWriter writer = new MsgPackWriter();
+
+  private MsgPackQueryExecutor[] queryExecutors = new MsgPackQueryExecutor[0];
+  private int queryCount;
+
+  // mapping => offset and length of the source value, or NULL_RESULT / EMPTY_MAP_RESULT
+  private int[] resultOffsets = new int[0];
+  private int[] resultLengths = new int[0];
+
+  /** @return the length of the result document which is written into the buffer */
+  int execute(
+      MappingPlan plan, DirectBuffer document, boolean strictMode, MutableDirectBuffer buffer) {
+    final Mapping[] mappings = plan.getMappings();
+
+    evaluateQueries(mappings, document);
+    collectResults(mappings, document, strictMode);
+
+    return writeResult(plan, document, buffer);
+  }
+
+  private void evaluateQueries(Mapping[] mappings, DirectBuffer document) {
+    ensureCapacity(mappings.length);
+
+    queryCount = mappings.length;
+    for (int i = 0; i < queryCount; i++) {
+      final JsonPathQuery query = mappings[i].getSource();
+      queryExecutors[i].init(query.getFilters(), query.getFilterInstances());
+    }
+
+    traverser.wrap(document, 0, document.capacity());
+    traverser.traverse(this);
+  }
+
+  @Override
+  public void visitElement(int position, MsgPackToken currentValue) {
+    for (int i = 0; i < queryCount; i++) {
+      queryExecutors[i].visitElement(position, currentValue);
+    }
+  }
+
+  private void collectResults(Mapping[] mappings, DirectBuffer document, boolean strictMode) {
+    for (int i = 0; i < mappings.length; i++) {
+      final Mapping mapping = mappings[i];
+      final MsgPackQueryExecutor queryExecutor = queryExecutors[i];
+      final int numResults = queryExecutor.numResults();
+
+      if (numResults == 0) {
+        if (strictMode) {
+          final DirectBuffer expression = mapping.getSource().getExpression();
+          throw new MappingException(
+              String.format(
+                  EXCEPTION_MSG_MAPPING_DOES_NOT_MATCH,
+                  expression.getStringWithoutLengthUtf8(0, expression.capacity())));
+        }
+
+        resultOffsets[i] = NULL_RESULT;
+      } else if (numResults > 1 && strictMode) {
+        throw new IllegalStateException(EXCEPTION_MSG_MAPPING_HAS_MORE_THAN_ONE_MATCHING_SOURCE);
+      } else {
+        queryExecutor.moveToResult(0);
+
+        if (mapping.mapsToRootPath()
+            && !queryExecutor.isCurrentResultAMap(document)
+            && !strictMode) {
+          resultOffsets[i] = EMPTY_MAP_RESULT;
+        } else {
+          resultOffsets[i] = queryExecutor.currentResultPosition();
+          resultLengths[i] = queryExecutor.currentResultLength();
+        }
+      }
+    }
+  }
+
+  private int writeResult(MappingPlan plan, DirectBuffer document, MutableDirectBuffer buffer) {
+    writer.wrap(buffer, 0);
+
+    final int instructionCount = plan.getInstructionCount();
+    for (int i = 0; i < instructionCount; i++) {
+      final int operand = plan.getOperand(i);
+
+      switch (plan.getOperation(i)) {
+        case MappingPlan.WRITE_MAP_HEADER:
+          writer.writeMapHeader(operand);
+          break;
+        case MappingPlan.WRITE_ARRAY_HEADER:
+          writer.writeArrayHeader(operand);
+          break;
+        case MappingPlan.WRITE_KEY:
+          writer.writeString(plan.getKey(operand));
+          break;
+        case MappingPlan.WRITE_VALUE:
+          writeValue(document, operand);
+          break;
+        case MappingPlan.WRITE_NIL:
+        default:
+          writer.writeNil();
+          break;
+      }
+    }
+
+    return writer.getOffset();
+  }
+
+  private void writeValue(DirectBuffer document, int mappingIndex) {
+    final int offset = resultOffsets[mappingIndex];
+
+    if (offset == NULL_RESULT) {
+      writer.writeNil();
+    } else if (offset == EMPTY_MAP_RESULT) {
+      writer.writeMapHeader(0);
+    } else {
+      writer.writeRaw(document, offset, resultLengths[mappingIndex]);
+    }
+  }
+
+  private void ensureCapacity(int mappingCount) {
+    if (queryExecutors.length < mappingCount) {
+      final int previousCapacity = queryExecutors.length;
+
+      queryExecutors = Arrays.copyOf(queryExecutors, mappingCount);
+      for (int i = previousCapacity; i < mappingCount; i++) {
+        queryExecutors[i] = new MsgPackQueryExecutor();
+      }
+
+      resultOffsets = new int[mappingCount];
+      resultLengths = new int[mappingCount];
+    }
+  }
+}
@@ -40,6 +40,7 @@ public class MsgPackMergeTool {
   private final MsgPackDocumentIndexer documentIndexer;
   private final MsgPackDocumentExtractor documentExtractor;
   private final MsgPackDocumentTreeWriter treeWriter;
+  private final MappingPlanExecutor planExecutor = new MappingPlanExecutor();
 
   private final MsgPackTree currentTree = new MsgPackTree();
   private final UnsafeBuffer resultBuffer = new UnsafeBuffer(0, 0);
@@ -85,6 +86,37 @@ public class MsgPackMergeTool {
     }
   }
 
+  /**
+   * Maps the document with the given plan in a single pass and returns the result document. Unlike
+   * {@link #mergeDocument(DirectBuffer, Mapping...)}, the result is not merged with any previous
+   * document, and the current merge state is neither used nor changed. Throws no mapping exceptions
+   * on ambiguous mapping results.
+   */
+  public DirectBuffer mapDocument(DirectBuffer document, MappingPlan plan) {
+    return mapDocument(document, false, plan);
+  }
+
+  /**
+   * Like {@link #mapDocument(DirectBuffer, MappingPlan)} but throws exceptions on ambiguous mapping
+   * results.
+   *
+   * @throws MappingException in case a mapping has ambiguous results
+   */
+  public DirectBuffer mapDocumentStrictly(DirectBuffer document, MappingPlan plan) {
+    return mapDocument(document, true, plan);
+  }
+
+  private DirectBuffer mapDocument(DirectBuffer document, boolean strictMode, MappingPlan plan) {
+    EnsureUtil.ensureNotNull("document", document);
+
+    final int resultLen = planExecutor.execute(plan, document, strictMode, treeWriter.getResult());
+    resultBuffer.wrap(treeWriter.getResult(), 0, resultLen);
+
+    ensureDocumentIsAMsgPackMap(resultBuffer, EXCEPTION_MSG_RESULTING_DOCUMENT_IS_NOT_OF_TYPE_MAP);
+
+    return resultBuffer;
+  }
+
   public DirectBuffer writeResultToBuffer() {
     final int resultLen = treeWriter.write(currentTree);
     resultBuffer.wrap(treeWriter.getResult(), 0, resultLen);
@@ -20,8 +20,10 @@ import static io.zeebe.msgpack.mapping.MappingBuilder.createMappings;
 import static io.zeebe.msgpack.mapping.MappingTestUtil.JSON_MAPPER;
 import static io.zeebe.msgpack.mapping.MappingTestUtil.MSGPACK_MAPPER;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
 
 import io.zeebe.msgpack.mapping.Mapping.Type;
+import io.zeebe.util.buffer.BufferUtil;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -195,4 +197,23 @@ public class MappingExtractParameterizedTest {
     // then
     assertThat(MSGPACK_MAPPER.readTree(result)).isEqualTo(JSON_MAPPER.readTree(expectedVariables));
   }
+
+  @Test
+  public void shouldMapWithPlanLikeMerging() throws Throwable {
+    assumeTrue("the plan requires mappings", mappings != null);
+
+    final byte[] bytes = MSGPACK_MAPPER.writeValueAsBytes(JSON_MAPPER.readTree(sourceVariables));
+    final DirectBuffer sourceDocument = new UnsafeBuffer(bytes);
+
+    mergeTool.reset();
+    mergeTool.mergeDocument(sourceDocument, mappings);
+    final byte[] mergedResult = BufferUtil.bufferAsArray(mergeTool.writeResultToBuffer());
+
+    final DirectBuffer resultBuffer =
+        mergeTool.mapDocument(sourceDocument, MappingPlan.compile(mappings));
+    final byte[] result = BufferUtil.bufferAsArray(resultBuffer);
+
+    assertThat(MSGPACK_MAPPER.readTree(result)).isEqualTo(JSON_MAPPER.readTree(expectedVariables));
+    assertThat(result).isEqualTo(mergedResult);
+  }
 }
@@ -49,6 +49,36 @@ public class MappingExtractTest {
     mergeTool.mergeDocumentStrictly(sourceDocument, mapping);
   }
 
+  @Test
+  public void shouldThrowExceptionIfPlanDoesNotMatchInStrictMode() {
+    // given variables
+    final DirectBuffer sourceDocument = new UnsafeBuffer(EMTPY_OBJECT);
+    final MappingPlan plan = MappingPlan.compile(createMapping("foo", "bar"));
+
+    // expect
+    expectedException.expect(MappingException.class);
+    expectedException.expectMessage("No data found for query foo.");
+
+    // when
+    mergeTool.mapDocumentStrictly(sourceDocument, plan);
+  }
+
+  @Test
+  public void shouldMapWithPlanWithoutChangingMergedDocument() {
+    // given
+    final DirectBuffer document = asMsgPack("{'att1':'val1', 'att2':'val2'}");
+    final MappingPlan plan = MappingPlan.compile(createMapping("att2", "newAtt2"));
+    mergeTool.mergeDocument(document, createMapping("att1", "newAtt1"));
+
+    // when
+    final DirectBuffer mappedDocument = mergeTool.mapDocumentStrictly(document, plan);
+
+    // then
+    MappingTestUtil.assertThatMsgPack(mappedDocument).hasValue("{'newAtt2':'val2'}");
+    MappingTestUtil.assertThatMsgPack(mergeTool.writeResultToBuffer())
+        .hasValue("{'newAtt1':'val1'}");
+  }
+
   @Test
   public void shouldExtractTwiceWithoutMapping() throws Throwable {
     // given documents
@@ -43,4 +43,13 @@ public class ExtractThroughputBenchmark {
     final DirectBuffer result = mergeTool.writeResultToBuffer();
     return result.capacity();
   }
+
+  @Benchmark
+  @Threads(1)
+  public int extractThroughputWithPlan(final MappingCtx mappingCtx, final ThroughputCtx documents) {
+    final MsgPackMergeTool mergeTool = mappingCtx.processor;
+
+    final DirectBuffer result = mergeTool.mapDocument(documents.sourceDocument, documents.plan);
+    return result.capacity();
+  }
 }
@@ -20,10 +20,8 @@ import io.zeebe.dispatcher.Subscription;
 import io.zeebe.distributedlog.impl.DistributedLogstreamPartition;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.future.ActorFuture;
-import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.agrona.DirectBuffer;
-import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 
 /** Consume the write buffer and append the blocks to the distributedlog. */
@@ -33,14 +31,17 @@ public class LogStorageAppender extends Actor {
   private final AtomicBoolean isFailed = new AtomicBoolean(false);
 
   private final BlockPeek blockPeek = new BlockPeek();
+  private final LoggedEventImpl peekedEvent = new LoggedEventImpl();
   private byte[] bytesToAppend;
   private long commitPosition;
+  private long lastEventTimestamp;
 
   private final String name;
   private final Subscription writeBufferSubscription;
 
   private final Runnable peekedBlockHandler = this::appendBlock;
   private final int maxAppendBlockSize;
+  private final LogStorageAppenderMetrics metrics;
 
   private final DistributedLogstreamPartition distributedLog;
 
@@ -48,11 +49,13 @@ public class LogStorageAppender extends Actor {
       String name,
       DistributedLogstreamPartition distributedLog,
       Subscription writeBufferSubscription,
-      int maxBlockSize) {
+      int maxBlockSize,
+      LogStorageAppenderMetrics metrics) {
     this.name = name;
     this.distributedLog = distributedLog;
     this.writeBufferSubscription = writeBufferSubscription;
     this.maxAppendBlockSize = maxBlockSize;
+    this.metrics = metrics;
   }
 
   @Override
@@ -75,19 +78,28 @@ public class LogStorageAppender extends Actor {
   }
 
   private void appendBlock() {
-    final ByteBuffer rawBuffer = blockPeek.getRawBuffer();
-
-    bytesToAppend = new byte[rawBuffer.remaining()];
-    rawBuffer.get(bytesToAppend);
+    final DirectBuffer peekedBuffer = blockPeek.getBuffer();
+    final int blockLength = blockPeek.getBlockLength();
 
     // Commit position is the position of the last event. DistributedLogstream uses this position
-    // to identify duplicate append requests during recovery.
-    commitPosition = getLastEventPosition(bytesToAppend);
+    // to identify duplicate append requests during recovery. It is read from the peeked block
+    // directly, before the block is copied.
+    commitPosition = getLastEventPosition(peekedBuffer, blockLength);
+
+    // the distributed log takes ownership of the array and serializes it asynchronously, so the
+    // block is copied once into an array of the exact size instead of handing over the dispatcher
+    // buffer, which is reused as soon as the block is marked as completed
+    bytesToAppend = new byte[blockLength];
+    peekedBuffer.getBytes(0, bytesToAppend);
+
     actor.runUntilDone(this::tryWrite);
   }
 
   private void tryWrite() {
-    distributedLog.asyncAppend(bytesToAppend, commitPosition);
+    final long writeTimestamp = lastEventTimestamp;
+    distributedLog
+        .asyncAppend(bytesToAppend, commitPosition)
+        .thenRun(() -> metrics.appendCompleted(writeTimestamp));
     blockPeek.markCompleted();
     actor.done();
     /*// TODO: Handle error codes
@@ -101,22 +113,18 @@ public class LogStorageAppender extends Actor {
     }*/
   }
 
-  /* Iterate over the events in buffer and find the position of the last event */
-  private long getLastEventPosition(byte[] buffer) {
-    int bufferOffset = 0;
-    final DirectBuffer directBuffer = new UnsafeBuffer(0, 0);
-
-    directBuffer.wrap(buffer);
+  /* Iterate over the events in the block and find the position of the last event */
+  private long getLastEventPosition(DirectBuffer buffer, int blockLength) {
     long lastEventPosition = -1;
 
-    final LoggedEventImpl nextEvent = new LoggedEventImpl();
-    int remaining = buffer.length - bufferOffset;
-    while (remaining > 0) {
-      nextEvent.wrap(directBuffer, bufferOffset);
-      bufferOffset += nextEvent.getFragmentLength();
-      lastEventPosition = nextEvent.getPosition();
-      remaining = buffer.length - bufferOffset;
+    int bufferOffset = 0;
+    while (bufferOffset < blockLength) {
+      peekedEvent.wrap(buffer, bufferOffset);
+      bufferOffset += peekedEvent.getFragmentLength();
+      lastEventPosition = peekedEvent.getPosition();
+      lastEventTimestamp = peekedEvent.getTimestamp();
     }
+
     return lastEventPosition;
   }
 
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl;
+
+import io.prometheus.client.Histogram;
+import io.zeebe.util.sched.clock.ActorClock;
+
+public class LogStorageAppenderMetrics {
+
+  private static final Histogram APPEND_LATENCY =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("log_append_latency_seconds")
+          .help(
+              "Time between writing an event and committing it to the distributed log, measured for the last event of each appended block")
+          .labelNames("partition")
+          .register();
+
+  private final String partitionIdLabel;
+
+  public LogStorageAppenderMetrics(int partitionId) {
+    this.partitionIdLabel = String.valueOf(partitionId);
+  }
+
+  public void appendCompleted(long writeTimestamp) {
+    final long latencyMillis = ActorClock.currentTimeMillis() - writeTimestamp;
+    APPEND_LATENCY.labels(partitionIdLabel).observe(latencyMillis / 1000.0);
+  }
+}
@@ -18,6 +18,7 @@ package io.zeebe.logstreams.impl.service;
 import io.zeebe.dispatcher.Subscription;
 import io.zeebe.distributedlog.impl.DistributedLogstreamPartition;
 import io.zeebe.logstreams.impl.LogStorageAppender;
+import io.zeebe.logstreams.impl.LogStorageAppenderMetrics;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
@@ -29,11 +30,13 @@ public class LogStorageAppenderService implements Service<LogStorageAppender> {
   private final Injector<DistributedLogstreamPartition> distributedLogstreamInjector =
       new Injector<>();
 
+  private final int partitionId;
   private final int maxAppendBlockSize;
 
   private LogStorageAppender service;
 
-  public LogStorageAppenderService(int maxAppendBlockSize) {
+  public LogStorageAppenderService(int partitionId, int maxAppendBlockSize) {
+    this.partitionId = partitionId;
     this.maxAppendBlockSize = maxAppendBlockSize;
   }
 
@@ -46,9 +49,15 @@ public class LogStorageAppenderService implements Service<LogStorageAppender> {
             startContext.getName(),
             distributedLogstreamInjector.getValue(),
             subscription,
-            maxAppendBlockSize);
+            maxAppendBlockSize,
+            new LogStorageAppenderMetrics(partitionId));
 
-    startContext.async(startContext.getScheduler().submitActor(service, SchedulingHints.ioBound()));
+    // shares the pinned thread with the partition's stream processor if the scheduler has pinned
+    // threads
+    startContext.async(
+        startContext
+            .getScheduler()
+            .submitActor(service, SchedulingHints.pinned(partitionId, SchedulingHints.ioBound())));
   }
 
   @Override
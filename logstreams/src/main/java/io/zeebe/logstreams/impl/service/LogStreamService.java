@@ -120,7 +120,7 @@ public class LogStreamService implements LogStream, Service<LogStream> {
         .install();
 
     final LogStorageAppenderService appenderService =
-        new LogStorageAppenderService(maxAppendBlockSize);
+        new LogStorageAppenderService(partitionId, maxAppendBlockSize);
     appenderFuture =
         installOperation
             .createService(logStorageAppenderServiceName, appenderService)
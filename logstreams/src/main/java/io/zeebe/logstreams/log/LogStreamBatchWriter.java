@@ -58,7 +58,10 @@ public interface LogStreamBatchWriter extends LogStreamWriter {
   /** Initialize the write for the given log stream. */
   void wrap(LogStream log);
 
-  /** Set the source event for all log entries. */
+  /**
+   * Set the source event for all log entries which are added to the batch afterwards. This allows
+   * to write the follow-up events of different source events in one batch.
+   */
   LogStreamBatchWriter sourceRecordPosition(long position);
 
   /** Returns the builder to add a new log entry to the batch. */
@@ -66,4 +69,7 @@ public interface LogStreamBatchWriter extends LogStreamWriter {
 
   /** Discard all non-written batch data. */
   void reset();
+
+  /** Returns the length of the log entries which are added to the batch, including the headers. */
+  int getBatchLength();
 }
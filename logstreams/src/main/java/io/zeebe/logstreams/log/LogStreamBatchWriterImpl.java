@@ -159,6 +159,9 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
     eventBuffer.putLong(eventBufferOffset, key, Protocol.ENDIANNESS);
     eventBufferOffset += SIZE_OF_LONG;
 
+    eventBuffer.putLong(eventBufferOffset, sourceEventPosition, Protocol.ENDIANNESS);
+    eventBufferOffset += SIZE_OF_LONG;
+
     eventBuffer.putInt(eventBufferOffset, metadataLength, Protocol.ENDIANNESS);
     eventBufferOffset += SIZE_OF_INT;
 
@@ -204,8 +207,13 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
     return result;
   }
 
+  @Override
+  public int getBatchLength() {
+    return eventLength + (eventCount * HEADER_BLOCK_LENGTH);
+  }
+
   private long claimBatchForEvents() {
-    final int batchLength = eventLength + (eventCount * HEADER_BLOCK_LENGTH);
+    final int batchLength = getBatchLength();
 
     long claimedPosition = -1;
     do {
@@ -223,6 +231,9 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
       final long key = eventBuffer.getLong(eventBufferOffset, Protocol.ENDIANNESS);
       eventBufferOffset += SIZE_OF_LONG;
 
+      final long sourcePosition = eventBuffer.getLong(eventBufferOffset, Protocol.ENDIANNESS);
+      eventBufferOffset += SIZE_OF_LONG;
+
       final int metadataLength = eventBuffer.getInt(eventBufferOffset, Protocol.ENDIANNESS);
       eventBufferOffset += SIZE_OF_INT;
 
@@ -239,7 +250,7 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
 
       // write log entry header
       setPosition(writeBuffer, bufferOffset, position);
-      setSourceEventPosition(writeBuffer, bufferOffset, sourceEventPosition);
+      setSourceEventPosition(writeBuffer, bufferOffset, sourcePosition);
       setKey(writeBuffer, bufferOffset, key);
       setTimestamp(writeBuffer, bufferOffset, ActorClock.currentTimeMillis());
       setMetadataLength(writeBuffer, bufferOffset, (short) metadataLength);
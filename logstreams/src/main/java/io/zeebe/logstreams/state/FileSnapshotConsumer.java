@@ -15,20 +15,22 @@
  */
 package io.zeebe.logstreams.state;
 
-import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
 
 import io.zeebe.util.FileUtil;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
 import org.slf4j.Logger;
 
 public class FileSnapshotConsumer implements SnapshotConsumer {
 
+  private static final String PARTIAL_CHUNK_FILE_SUFFIX = ".partial";
+
   private final StateStorage stateStorage;
   private final Logger logger;
+  private final SnapshotFileChecksums fileChecksums = new SnapshotFileChecksums();
 
   public FileSnapshotConsumer(StateStorage stateStorage, Logger logger) {
     this.stateStorage = stateStorage;
@@ -70,17 +72,19 @@ public class FileSnapshotConsumer implements SnapshotConsumer {
       return true;
     }
 
-    final long expectedChecksum = snapshotChunk.getChecksum();
-    final long actualChecksum = SnapshotChunkUtil.createChecksum(snapshotChunk.getContent());
-
-    if (expectedChecksum != actualChecksum) {
-      logger.warn(
-          "Expected to have checksum {} for snapshot chunk file {} ({}), but calculated {}",
-          expectedChecksum,
-          chunkName,
-          snapshotName,
-          actualChecksum);
-      return false;
+    if (!snapshotChunk.isContentOmitted()) {
+      final long expectedChecksum = snapshotChunk.getChecksum();
+      final long actualChecksum = SnapshotChunkUtil.createChecksum(snapshotChunk.getContent());
+
+      if (expectedChecksum != actualChecksum) {
+        logger.warn(
+            "Expected to have checksum {} for snapshot chunk file {} ({}), but calculated {}",
+            expectedChecksum,
+            chunkName,
+            snapshotName,
+            actualChecksum);
+        return false;
+      }
     }
 
     final File tmpSnapshotDirectory = storage.getTmpSnapshotDirectoryFor(snapshotName);
@@ -90,19 +94,48 @@ public class FileSnapshotConsumer implements SnapshotConsumer {
 
     final File snapshotFile = new File(tmpSnapshotDirectory, chunkName);
     if (snapshotFile.exists()) {
-      logger.debug("Received a snapshot chunk which already exist '{}'.", snapshotFile);
-      return false;
+      if (hasChecksum(snapshotFile, snapshotChunk.getChecksum())) {
+        // the chunk was received before the replication was interrupted, e.g. by a restart
+        logger.debug("Received a snapshot chunk which already exist '{}'.", snapshotFile);
+        return true;
+      }
+
+      logger.debug("Replace incomplete snapshot chunk file '{}'.", snapshotFile);
+      if (!snapshotFile.delete()) {
+        logger.warn("Failed to delete incomplete snapshot chunk file '{}'.", snapshotFile);
+        return false;
+      }
     }
 
     logger.debug("Consume snapshot chunk {}", chunkName);
-    return writeReceivedSnapshotChunk(snapshotChunk, snapshotFile);
+    if (snapshotChunk.isContentOmitted()) {
+      return linkReplicatedSnapshotChunk(snapshotChunk, snapshotFile, storage);
+    } else {
+      return writeReceivedSnapshotChunk(snapshotChunk, snapshotFile);
+    }
+  }
+
+  /**
+   * @return true if the file is a chunk which is currently written, or was not written completely
+   */
+  static boolean isPartialChunkFile(File file) {
+    return file.getName().endsWith(PARTIAL_CHUNK_FILE_SUFFIX);
   }
 
   private boolean writeReceivedSnapshotChunk(SnapshotChunk snapshotChunk, File snapshotFile) {
     try {
-      Files.write(
-          snapshotFile.toPath(), snapshotChunk.getContent(), CREATE_NEW, StandardOpenOption.WRITE);
+      // write to a partial file first, so a chunk file always has the whole content, even if the
+      // broker is stopped while writing; this allows to resume an interrupted replication
+      final File partialFile =
+          new File(
+              snapshotFile.getParentFile(), snapshotFile.getName() + PARTIAL_CHUNK_FILE_SUFFIX);
+      Files.write(partialFile.toPath(), snapshotChunk.getContent());
+      Files.move(partialFile.toPath(), snapshotFile.toPath(), ATOMIC_MOVE);
       logger.trace("Wrote replicated snapshot chunk to file {}", snapshotFile.toPath());
+
+      if (SnapshotFileChecksums.isImmutable(snapshotFile)) {
+        fileChecksums.put(snapshotFile, snapshotChunk.getChecksum());
+      }
       return true;
     } catch (IOException ioe) {
       logger.error(
@@ -111,11 +144,52 @@ public class FileSnapshotConsumer implements SnapshotConsumer {
     }
   }
 
+  private boolean hasChecksum(File file, long expectedChecksum) {
+    try {
+      return SnapshotChunkUtil.createChecksum(file) == expectedChecksum;
+    } catch (IOException ioe) {
+      logger.debug("Failed to calculate the checksum of snapshot chunk file '{}'.", file, ioe);
+      return false;
+    }
+  }
+
+  private boolean linkReplicatedSnapshotChunk(
+      SnapshotChunk snapshotChunk, File snapshotFile, StateStorage storage) {
+    final String chunkName = snapshotChunk.getChunkName();
+    final long expectedChecksum = snapshotChunk.getChecksum();
+
+    try {
+      for (File snapshotDirectory : storage.listByPositionDesc()) {
+        final File replicatedFile = new File(snapshotDirectory, chunkName);
+        if (replicatedFile.exists()
+            && fileChecksums.getOrCompute(replicatedFile) == expectedChecksum) {
+          FileUtil.linkOrCopy(replicatedFile.toPath(), snapshotFile.toPath());
+          logger.trace(
+              "Linked replicated snapshot chunk {} to file {}",
+              replicatedFile.toPath(),
+              snapshotFile.toPath());
+          return true;
+        }
+      }
+    } catch (IOException ioe) {
+      logger.error(
+          "Unexpected error occurred on linking snapshot chunk to '{}'.", snapshotFile, ioe);
+      return false;
+    }
+
+    logger.debug(
+        "Expected to find already replicated snapshot chunk {} with checksum {}, but no valid snapshot contains it.",
+        chunkName,
+        expectedChecksum);
+    return false;
+  }
+
   private boolean moveValidSnapshot(StateStorage storage, long snapshotId) {
     final File validSnapshotDirectory = storage.getSnapshotDirectoryFor(snapshotId);
     final File tmpSnapshotDirectory = storage.getTmpSnapshotDirectoryFor(Long.toString(snapshotId));
 
     try {
+      deletePartialChunkFiles(tmpSnapshotDirectory);
       Files.move(tmpSnapshotDirectory.toPath(), validSnapshotDirectory.toPath());
       logger.debug("Moved snapshot {} to {}", snapshotId, validSnapshotDirectory.toPath());
       return true;
@@ -130,4 +204,15 @@ public class FileSnapshotConsumer implements SnapshotConsumer {
       return false;
     }
   }
+
+  private void deletePartialChunkFiles(File snapshotDirectory) throws IOException {
+    final File[] files = snapshotDirectory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        if (isPartialChunkFile(file)) {
+          Files.delete(file.toPath());
+        }
+      }
+    }
+  }
 }
@@ -19,23 +19,49 @@ import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.spi.ValidSnapshotListener;
 import java.io.File;
 import java.io.IOException;
-import org.agrona.collections.Long2LongHashMap;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.collections.LongHashSet;
 import org.slf4j.Logger;
 
+/**
+ * Replicates snapshots as chunks to the followers and consumes the chunks which are replicated by
+ * the leader.
+ *
+ * <p>The chunks are broadcast without acknowledgement, so the leader doesn't know which chunks a
+ * follower received. An interrupted replication is only resumed by the followers, which keep the
+ * chunks they already received; the leader always sends every chunk of a snapshot. If a chunk is
+ * not sent, the next snapshot is sent with the whole content.
+ */
 public final class ReplicationController {
 
   private static final Logger LOG = Loggers.SNAPSHOT_LOGGER;
 
-  private static final long START_VALUE = 0L;
-  private static final long INVALID_SNAPSHOT = -1;
-  private static final long MISSING_SNAPSHOT = Long.MIN_VALUE;
   private static final ValidSnapshotListener NOOP_VALID_SNAPSHOT_LISTENER = () -> {};
+  private static final String REPLICATION_THREAD_NAME = "snapshot-replication";
+  private static final Duration REPLICATION_THREAD_KEEP_ALIVE = Duration.ofMinutes(1);
+  static final int MAX_QUEUED_CHUNKS = 1_000;
 
   private final SnapshotReplication replication;
-  private final Long2LongHashMap receivedSnapshots = new Long2LongHashMap(MISSING_SNAPSHOT);
+  private final Long2ObjectHashMap<Set<String>> receivedSnapshots = new Long2ObjectHashMap<>();
+  private final LongHashSet invalidSnapshots = new LongHashSet();
   private final StateStorage storage;
+  private final SnapshotFileChecksums replicatedFileChecksums = new SnapshotFileChecksums();
 
   private final SnapshotConsumer snapshotConsumer;
+  private final ThreadPoolExecutor replicationExecutor;
+  private final ReplicationRateLimiter rateLimiter;
+
+  // the position of the latest snapshot which is replicated, older chunks are not sent anymore
+  private volatile long replicatingSnapshotPosition = -1;
+  // the chunks of the latest snapshot which were sent; guarded by this
+  private SentSnapshotChunks sentChunks;
 
   private final ValidSnapshotListener validSnapshotListener;
 
@@ -47,21 +73,218 @@ public final class ReplicationController {
       SnapshotReplication replication,
       StateStorage storage,
       ValidSnapshotListener validSnapshotListener) {
+    this(replication, storage, validSnapshotListener, 0, 0);
+  }
+
+  /**
+   * @param maxChunksInFlight the maximum number of chunks which are read and sent concurrently by
+   *     dedicated threads; if zero, the chunks are replicated by the calling thread
+   * @param maxBytesPerSecond the maximum replication throughput; if zero, the throughput is
+   *     unlimited. Only applies if the chunks are replicated by dedicated threads.
+   */
+  public ReplicationController(
+      SnapshotReplication replication,
+      StateStorage storage,
+      ValidSnapshotListener validSnapshotListener,
+      int maxChunksInFlight,
+      long maxBytesPerSecond) {
     this.replication = replication;
     this.storage = storage;
     this.validSnapshotListener = validSnapshotListener;
     this.snapshotConsumer = new FileSnapshotConsumer(storage, LOG);
+    this.rateLimiter = new ReplicationRateLimiter(maxBytesPerSecond);
+
+    if (maxChunksInFlight > 0) {
+      final ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              maxChunksInFlight,
+              maxChunksInFlight,
+              REPLICATION_THREAD_KEEP_ALIVE.toMillis(),
+              TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(MAX_QUEUED_CHUNKS),
+              r -> new Thread(r, REPLICATION_THREAD_NAME),
+              this::onChunkRejected);
+      executor.allowCoreThreadTimeOut(true);
+      replicationExecutor = executor;
+    } else {
+      replicationExecutor = null;
+    }
+  }
+
+  /**
+   * Replicates the given snapshot file as chunk. If the chunk belongs to a newer snapshot than the
+   * previous chunks, then the chunks of the previous snapshots which are not sent yet are dropped,
+   * since their files may be deleted already.
+   *
+   * @param snapshotPosition the position of the snapshot
+   * @param totalCount the count of files of the snapshot
+   * @param snapshotChunkFile the file to replicate
+   * @param omitReplicatedContent if true, the content of an immutable file is omitted if the file
+   *     was already replicated with a previous snapshot
+   */
+  public void replicate(
+      long snapshotPosition,
+      int totalCount,
+      File snapshotChunkFile,
+      boolean omitReplicatedContent) {
+    if (snapshotPosition > replicatingSnapshotPosition) {
+      replicatingSnapshotPosition = snapshotPosition;
+
+      if (replicationExecutor != null) {
+        dropQueuedChunksBefore(snapshotPosition);
+      }
+    }
+
+    final ChunkReplication chunkReplication =
+        new ChunkReplication(
+            snapshotPosition, totalCount, snapshotChunkFile, omitReplicatedContent);
+    if (replicationExecutor != null) {
+      replicationExecutor.execute(chunkReplication);
+    } else {
+      chunkReplication.run();
+    }
+  }
+
+  private void dropQueuedChunksBefore(long snapshotPosition) {
+    long droppedSnapshotPosition = -1;
+
+    final Iterator<Runnable> queuedChunks = replicationExecutor.getQueue().iterator();
+    while (queuedChunks.hasNext()) {
+      final long queuedSnapshotPosition = ((ChunkReplication) queuedChunks.next()).snapshotPosition;
+      if (queuedSnapshotPosition < snapshotPosition) {
+        queuedChunks.remove();
+        droppedSnapshotPosition = Math.max(droppedSnapshotPosition, queuedSnapshotPosition);
+      }
+    }
+
+    if (droppedSnapshotPosition >= 0) {
+      LOG.debug(
+          "Drop queued chunks of previous snapshots, start replicating snapshot {}",
+          snapshotPosition);
+      onChunkNotSent(droppedSnapshotPosition);
+    }
+  }
+
+  private void onChunkRejected(Runnable task, ThreadPoolExecutor executor) {
+    if (!executor.isShutdown()) {
+      final ChunkReplication chunkReplication = (ChunkReplication) task;
+      LOG.warn(
+          "Expected to replicate snapshot chunk {}, but already {} chunks are queued. The snapshot {} can't be completed by the followers.",
+          chunkReplication.snapshotChunkFile,
+          MAX_QUEUED_CHUNKS,
+          chunkReplication.snapshotPosition);
+      onChunkNotSent(chunkReplication.snapshotPosition);
+    }
   }
 
-  public void replicate(long snapshotPosition, int totalCount, File snapshotChunkFile) {
+  private void replicateChunk(
+      long snapshotPosition,
+      int totalCount,
+      File snapshotChunkFile,
+      boolean omitReplicatedContent) {
+    if (snapshotPosition < replicatingSnapshotPosition) {
+      LOG.trace(
+          "Skip snapshot chunk {}, since a newer snapshot is replicated.", snapshotChunkFile);
+      onChunkNotSent(snapshotPosition);
+      return;
+    }
+
     try {
       final SnapshotChunk chunkToReplicate =
-          SnapshotChunkUtil.createSnapshotChunkFromFile(
-              snapshotChunkFile, snapshotPosition, totalCount);
+          createSnapshotChunk(
+              snapshotPosition, totalCount, snapshotChunkFile, omitReplicatedContent);
+
+      if (replicationExecutor != null) {
+        rateLimiter.acquire(chunkToReplicate.getContent().length);
+      }
       replication.replicate(chunkToReplicate);
+      onChunkSent(snapshotPosition, totalCount, snapshotChunkFile, chunkToReplicate);
     } catch (IOException ioe) {
       LOG.error(
           "Unexpected error on reading snapshot chunk from file '{}'.", snapshotChunkFile, ioe);
+      onChunkNotSent(snapshotPosition);
+    } catch (InterruptedException e) {
+      LOG.debug("Interrupted while replicating snapshot chunk from file '{}'.", snapshotChunkFile);
+      Thread.currentThread().interrupt();
+      onChunkNotSent(snapshotPosition);
+    } catch (RuntimeException e) {
+      onChunkNotSent(snapshotPosition);
+      throw e;
+    }
+  }
+
+  /**
+   * Remembers the checksums of the sent immutable files. They are only used to omit content once
+   * every chunk of the snapshot was sent, otherwise a follower may miss a file which it has to link.
+   */
+  private synchronized void onChunkSent(
+      long snapshotPosition, int totalCount, File snapshotChunkFile, SnapshotChunk chunk)
+      throws IOException {
+    if (sentChunks == null || sentChunks.snapshotPosition < snapshotPosition) {
+      sentChunks = new SentSnapshotChunks(snapshotPosition);
+    } else if (sentChunks.snapshotPosition > snapshotPosition) {
+      // a newer snapshot is replicated already
+      return;
+    }
+
+    if (SnapshotFileChecksums.isImmutable(snapshotChunkFile) && !chunk.isContentOmitted()) {
+      sentChunks.fileChecksums.put(snapshotChunkFile, chunk.getChecksum());
+    }
+
+    sentChunks.chunkNames.add(chunk.getChunkName());
+    if (sentChunks.chunkNames.size() == totalCount && !sentChunks.failed) {
+      replicatedFileChecksums.putAll(sentChunks.fileChecksums);
+      sentChunks = null;
+    }
+  }
+
+  /**
+   * A chunk which is not sent (i.e. failed, dropped or rejected) can't be linked by the followers.
+   * The replicated files are forgotten, and the snapshots which are replicated at the moment are not
+   * remembered either, so the next snapshot is sent with the whole content.
+   */
+  private synchronized void onChunkNotSent(long snapshotPosition) {
+    if (sentChunks == null || sentChunks.snapshotPosition < snapshotPosition) {
+      sentChunks = new SentSnapshotChunks(snapshotPosition);
+    }
+    sentChunks.failed = true;
+
+    resetReplicatedFiles();
+  }
+
+  private SnapshotChunk createSnapshotChunk(
+      long snapshotPosition, int totalCount, File snapshotChunkFile, boolean omitReplicatedContent)
+      throws IOException {
+    if (!SnapshotFileChecksums.isImmutable(snapshotChunkFile)) {
+      return SnapshotChunkUtil.createSnapshotChunkFromFile(
+          snapshotChunkFile, snapshotPosition, totalCount);
+    }
+
+    if (omitReplicatedContent) {
+      final Long checksum = replicatedFileChecksums.get(snapshotChunkFile);
+      if (checksum != null) {
+        LOG.trace("Omit content of already replicated snapshot chunk {}", snapshotChunkFile);
+        return SnapshotChunkUtil.createContentOmittedSnapshotChunk(
+            snapshotChunkFile, snapshotPosition, totalCount, checksum);
+      }
+    }
+
+    return SnapshotChunkUtil.createSnapshotChunkFromFile(
+        snapshotChunkFile, snapshotPosition, totalCount);
+  }
+
+  /**
+   * Forgets which immutable files were already replicated, so the next snapshot is replicated with
+   * the whole content.
+   */
+  public void resetReplicatedFiles() {
+    replicatedFileChecksums.clear();
+  }
+
+  /** Stops replicating chunks which are not sent yet. */
+  public void close() {
+    if (replicationExecutor != null) {
+      replicationExecutor.shutdownNow();
     }
   }
 
@@ -80,9 +303,7 @@ public final class ReplicationController {
     final String snapshotName = Long.toString(snapshotPosition);
     final String chunkName = snapshotChunk.getChunkName();
 
-    final long snapshotCounter =
-        receivedSnapshots.computeIfAbsent(snapshotPosition, k -> START_VALUE);
-    if (snapshotCounter == INVALID_SNAPSHOT) {
+    if (invalidSnapshots.contains(snapshotPosition)) {
       LOG.debug(
           "Ignore snapshot chunk {}, because snapshot {} is marked as invalid.",
           chunkName,
@@ -99,12 +320,13 @@ public final class ReplicationController {
 
   private void markSnapshotAsInvalid(SnapshotChunk chunk) {
     final long snapshotPosition = chunk.getSnapshotPosition();
-    receivedSnapshots.put(snapshotPosition, INVALID_SNAPSHOT);
+    receivedSnapshots.remove(snapshotPosition);
+    invalidSnapshots.add(snapshotPosition);
   }
 
   private void validateWhenReceivedAllChunks(SnapshotChunk snapshotChunk) {
     final int totalChunkCount = snapshotChunk.getTotalCount();
-    final long currentChunks = incrementAndGetChunkCount(snapshotChunk);
+    final int currentChunks = addAndGetChunkCount(snapshotChunk);
 
     if (currentChunks == totalChunkCount) {
       final File validSnapshotDirectory =
@@ -128,12 +350,37 @@ public final class ReplicationController {
     }
   }
 
-  private long incrementAndGetChunkCount(SnapshotChunk snapshotChunk) {
-    final long snapshotPosition = snapshotChunk.getSnapshotPosition();
-    final long oldCount = receivedSnapshots.get(snapshotPosition);
-    final long newCount = oldCount + 1;
-    receivedSnapshots.put(snapshotPosition, newCount);
-    return newCount;
+  /**
+   * Chunks are counted by name, since the same chunk can be received again if the snapshot is
+   * replicated again (e.g. after a leader change).
+   */
+  private int addAndGetChunkCount(SnapshotChunk snapshotChunk) {
+    final Set<String> chunkNames =
+        receivedSnapshots.computeIfAbsent(
+            snapshotChunk.getSnapshotPosition(), this::findReceivedChunks);
+    chunkNames.add(snapshotChunk.getChunkName());
+    return chunkNames.size();
+  }
+
+  /**
+   * Finds the chunks which were written to disk before the replication was interrupted (e.g. by a
+   * restart or a role change), so the replication of the snapshot can be resumed.
+   */
+  private Set<String> findReceivedChunks(long snapshotPosition) {
+    final Set<String> chunkNames = new HashSet<>();
+
+    final File tmpSnapshotDirectory =
+        storage.getTmpSnapshotDirectoryFor(Long.toString(snapshotPosition));
+    final File[] files = tmpSnapshotDirectory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        if (!FileSnapshotConsumer.isPartialChunkFile(file)) {
+          chunkNames.add(file.getName());
+        }
+      }
+    }
+
+    return chunkNames;
   }
 
   private boolean tryToMarkSnapshotAsValid(SnapshotChunk snapshotChunk) {
@@ -146,4 +393,38 @@ public final class ReplicationController {
       return false;
     }
   }
+
+  private static final class SentSnapshotChunks {
+    private final long snapshotPosition;
+    private final SnapshotFileChecksums fileChecksums = new SnapshotFileChecksums();
+    private final Set<String> chunkNames = new HashSet<>();
+    private boolean failed;
+
+    private SentSnapshotChunks(long snapshotPosition) {
+      this.snapshotPosition = snapshotPosition;
+    }
+  }
+
+  private final class ChunkReplication implements Runnable {
+    private final long snapshotPosition;
+    private final int totalCount;
+    private final File snapshotChunkFile;
+    private final boolean omitReplicatedContent;
+
+    private ChunkReplication(
+        long snapshotPosition,
+        int totalCount,
+        File snapshotChunkFile,
+        boolean omitReplicatedContent) {
+      this.snapshotPosition = snapshotPosition;
+      this.totalCount = totalCount;
+      this.snapshotChunkFile = snapshotChunkFile;
+      this.omitReplicatedContent = omitReplicatedContent;
+    }
+
+    @Override
+    public void run() {
+      replicateChunk(snapshotPosition, totalCount, snapshotChunkFile, omitReplicatedContent);
+    }
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.state;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the bytes per second which are replicated. The limit is shared by all replicating threads.
+ * A chunk is sent as soon as the previously sent bytes are paid off, so a single chunk can exceed
+ * the limit, but the average throughput does not.
+ */
+final class ReplicationRateLimiter {
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final long maxBytesPerSecond;
+  private long nextSendTime;
+
+  /** @param maxBytesPerSecond the maximum throughput, or zero if the throughput is unlimited */
+  ReplicationRateLimiter(long maxBytesPerSecond) {
+    this.maxBytesPerSecond = maxBytesPerSecond;
+  }
+
+  /**
+   * Blocks the current thread until the given amount of bytes can be sent.
+   *
+   * @param bytes the amount of bytes to send
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  void acquire(long bytes) throws InterruptedException {
+    if (maxBytesPerSecond <= 0) {
+      return;
+    }
+
+    final long waitTime;
+    synchronized (this) {
+      final long now = System.nanoTime();
+      final long sendTime = Math.max(now, nextSendTime);
+      nextSendTime = sendTime + bytes * NANOS_PER_SECOND / maxBytesPerSecond;
+      waitTime = sendTime - now;
+    }
+
+    if (waitTime > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitTime);
+    }
+  }
+}
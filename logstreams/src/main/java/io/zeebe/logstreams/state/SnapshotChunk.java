@@ -31,4 +31,13 @@ public interface SnapshotChunk {
 
   /** @return the content of the current chunk */
   byte[] getContent();
+
+  /**
+   * @return true if the content is omitted, because the chunk refers to an immutable file which was
+   *     already replicated with a previous snapshot; the checksum is still the checksum of the
+   *     whole file
+   */
+  default boolean isContentOmitted() {
+    return false;
+  }
 }
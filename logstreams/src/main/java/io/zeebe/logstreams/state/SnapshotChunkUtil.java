@@ -17,17 +17,34 @@ package io.zeebe.logstreams.state;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 public class SnapshotChunkUtil {
 
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final byte[] NO_CONTENT = new byte[0];
+
   public static long createChecksum(byte[] content) {
     final CRC32 crc32 = new CRC32();
     crc32.update(content);
     return crc32.getValue();
   }
 
+  public static long createChecksum(File file) throws IOException {
+    final CRC32 crc32 = new CRC32();
+    try (InputStream inputStream =
+        new CheckedInputStream(Files.newInputStream(file.toPath()), crc32)) {
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      while (inputStream.read(buffer) >= 0) {
+        // read until the end to update the checksum
+      }
+    }
+    return crc32.getValue();
+  }
+
   public static SnapshotChunk createSnapshotChunkFromFile(
       File snapshotChunkFile, long snapshotPosition, int totalCount) throws IOException {
     final byte[] content;
@@ -37,20 +54,42 @@ public class SnapshotChunkUtil {
         snapshotPosition, totalCount, snapshotChunkFile.getName(), checksum, content);
   }
 
+  /**
+   * Creates a snapshot chunk without content, which refers to a file that was already replicated
+   * with a previous snapshot.
+   */
+  public static SnapshotChunk createContentOmittedSnapshotChunk(
+      File snapshotChunkFile, long snapshotPosition, int totalCount, long checksum) {
+    return new SnapshotChunkImpl(
+        snapshotPosition, totalCount, snapshotChunkFile.getName(), checksum, NO_CONTENT, true);
+  }
+
   private static final class SnapshotChunkImpl implements SnapshotChunk {
     private final long snapshotPosition;
     private final int totalCount;
     private final String chunkName;
     private final byte[] content;
     private final long checksum;
+    private final boolean contentOmitted;
 
     SnapshotChunkImpl(
         long snapshotPosition, int totalCount, String chunkName, long checksum, byte[] content) {
+      this(snapshotPosition, totalCount, chunkName, checksum, content, false);
+    }
+
+    SnapshotChunkImpl(
+        long snapshotPosition,
+        int totalCount,
+        String chunkName,
+        long checksum,
+        byte[] content,
+        boolean contentOmitted) {
       this.snapshotPosition = snapshotPosition;
       this.totalCount = totalCount;
       this.chunkName = chunkName;
       this.checksum = checksum;
       this.content = content;
+      this.contentOmitted = contentOmitted;
     }
 
     @Override
@@ -77,5 +116,10 @@ public class SnapshotChunkUtil {
     public byte[] getContent() {
       return content;
     }
+
+    @Override
+    public boolean isContentOmitted() {
+      return contentOmitted;
+    }
   }
 }
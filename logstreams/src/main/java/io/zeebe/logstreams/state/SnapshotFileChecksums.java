@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.state;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the checksums of immutable snapshot files (i.e. RocksDB SST files). The checksums are
+ * keyed by the file key of the file system if available, so all hard links of a file share the same
+ * entry. Can be used by multiple threads concurrently.
+ */
+final class SnapshotFileChecksums {
+
+  private static final String IMMUTABLE_FILE_SUFFIX = ".sst";
+
+  private final Map<Object, FileChecksum> checksums = new ConcurrentHashMap<>();
+
+  static boolean isImmutable(File file) {
+    return file.getName().endsWith(IMMUTABLE_FILE_SUFFIX);
+  }
+
+  /** @return the known checksum of the given file, or null if the file is not known */
+  Long get(File file) throws IOException {
+    final BasicFileAttributes attributes = readAttributes(file);
+    final FileChecksum fileChecksum = checksums.get(getKey(file, attributes));
+
+    if (fileChecksum != null && fileChecksum.matches(attributes)) {
+      return fileChecksum.checksum;
+    } else {
+      return null;
+    }
+  }
+
+  /** @return the checksum of the given file, which is calculated if the file is not known */
+  long getOrCompute(File file) throws IOException {
+    final Long knownChecksum = get(file);
+    if (knownChecksum != null) {
+      return knownChecksum;
+    }
+
+    final long checksum = SnapshotChunkUtil.createChecksum(file);
+    put(file, checksum);
+    return checksum;
+  }
+
+  void put(File file, long checksum) throws IOException {
+    final BasicFileAttributes attributes = readAttributes(file);
+    checksums.put(getKey(file, attributes), new FileChecksum(attributes, checksum));
+  }
+
+  void putAll(SnapshotFileChecksums other) {
+    checksums.putAll(other.checksums);
+  }
+
+  void clear() {
+    checksums.clear();
+  }
+
+  private static BasicFileAttributes readAttributes(File file) throws IOException {
+    return Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+  }
+
+  private static Object getKey(File file, BasicFileAttributes attributes) {
+    final Object fileKey = attributes.fileKey();
+    return fileKey != null ? fileKey : file.getAbsolutePath();
+  }
+
+  private static final class FileChecksum {
+    private final long size;
+    private final long lastModified;
+    private final long checksum;
+
+    FileChecksum(BasicFileAttributes attributes, long checksum) {
+      this.size = attributes.size();
+      this.lastModified = attributes.lastModifiedTime().toMillis();
+      this.checksum = checksum;
+    }
+
+    boolean matches(BasicFileAttributes attributes) {
+      return size == attributes.size() && lastModified == attributes.lastModifiedTime().toMillis();
+    }
+  }
+}
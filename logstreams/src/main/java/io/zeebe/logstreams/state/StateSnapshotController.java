@@ -38,12 +38,19 @@ public class StateSnapshotController implements SnapshotController, ValidSnapsho
   private static final String ERROR_MSG_ENSURING_MAX_SNAPSHOT_COUNT =
       "Unexpected exception occurred on ensuring maximum snapshot count.";
 
+  /**
+   * Every n-th snapshot is replicated with the whole content, all others omit the content of
+   * immutable files which were already replicated.
+   */
+  private static final int FULL_REPLICATION_INTERVAL = 10;
+
   private final StateStorage storage;
   private final ZeebeDbFactory zeebeDbFactory;
   private ZeebeDb db;
   private final ReplicationController replicationController;
   private DeletionService deletionService = new NoopDeletionService();
   private final int maxSnapshotCount;
+  private long replicationCount;
 
   public StateSnapshotController(final ZeebeDbFactory rocksDbFactory, final StateStorage storage) {
     this(rocksDbFactory, storage, new NoneSnapshotReplication(), 1);
@@ -59,10 +66,29 @@ public class StateSnapshotController implements SnapshotController, ValidSnapsho
       StateStorage storage,
       SnapshotReplication replication,
       int maxSnapshotCount) {
+    this(zeebeDbFactory, storage, replication, maxSnapshotCount, 0, 0);
+  }
+
+  /**
+   * @param maxReplicationChunksInFlight the maximum number of snapshot chunks which are read and
+   *     sent concurrently by dedicated threads; if zero, the chunks are replicated by the executor
+   *     which is passed to {@link #replicateLatestSnapshot(Consumer)}
+   * @param maxReplicationBytesPerSecond the maximum throughput of the snapshot replication; if
+   *     zero, the throughput is unlimited
+   */
+  public StateSnapshotController(
+      ZeebeDbFactory zeebeDbFactory,
+      StateStorage storage,
+      SnapshotReplication replication,
+      int maxSnapshotCount,
+      int maxReplicationChunksInFlight,
+      long maxReplicationBytesPerSecond) {
     this.storage = storage;
     this.zeebeDbFactory = zeebeDbFactory;
     this.maxSnapshotCount = maxSnapshotCount;
-    this.replicationController = new ReplicationController(replication, storage, this);
+    this.replicationController =
+        new ReplicationController(
+            replication, storage, this, maxReplicationChunksInFlight, maxReplicationBytesPerSecond);
   }
 
   @Override
@@ -122,17 +148,30 @@ public class StateSnapshotController implements SnapshotController, ValidSnapsho
       LOG.debug("Start replicating latest snapshot {}", latestSnapshotDirectory.toPath());
       final long snapshotPosition = Long.parseLong(latestSnapshotDirectory.getName());
 
+      // followers which missed a previous snapshot can't resolve omitted content, so the whole
+      // content is replicated from time to time to let them catch up
+      final boolean fullReplication = replicationCount++ % FULL_REPLICATION_INTERVAL == 0;
+      if (fullReplication) {
+        executor.accept(replicationController::resetReplicatedFiles);
+      }
+
       final File[] files = latestSnapshotDirectory.listFiles();
       for (File snapshotChunkFile : files) {
         executor.accept(
             () -> {
               LOG.debug("Replicate snapshot chunk {}", snapshotChunkFile.toPath());
-              replicationController.replicate(snapshotPosition, files.length, snapshotChunkFile);
+              replicationController.replicate(
+                  snapshotPosition, files.length, snapshotChunkFile, !fullReplication);
             });
       }
     }
   }
 
+  /** Stops replicating snapshot chunks which were not sent yet. */
+  public void stopReplication() {
+    replicationController.close();
+  }
+
   public void consumeReplicatedSnapshots() {
     replicationController.consumeReplicatedSnapshots();
   }
@@ -328,6 +328,30 @@ public class LogStreamBatchWriterTest {
     assertThat(events.get(1).getSourceEventPosition()).isEqualTo(123L);
   }
 
+  @Test
+  public void shouldWriteEventsWithDifferentSourceEvents() {
+    // when
+    final long position =
+        writer
+            .sourceRecordPosition(123L)
+            .event()
+            .key(1)
+            .value(EVENT_VALUE_1)
+            .done()
+            .sourceRecordPosition(456L)
+            .event()
+            .key(2)
+            .value(EVENT_VALUE_2)
+            .done()
+            .tryWrite();
+
+    // then
+    final List<LoggedEvent> events = getWrittenEvents(position);
+
+    assertThat(events.get(0).getSourceEventPosition()).isEqualTo(123L);
+    assertThat(events.get(1).getSourceEventPosition()).isEqualTo(456L);
+  }
+
   @Test
   public void shouldWriteEventWithoutSourceEvent() {
     // when
@@ -156,6 +156,35 @@ public class FailingSnapshotChunkReplicationTest {
     assertThat(receiverStorage.existSnapshot(3)).isTrue();
   }
 
+  @Test
+  public void shouldResumeInterruptedReplication() throws Exception {
+    // given
+    final FlakyReplicator flakyReplicator = new FlakyReplicator();
+    setup(flakyReplicator);
+    receiverSnapshotController.consumeReplicatedSnapshots();
+    replicatorSnapshotController.takeSnapshot(1);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+    replicatorSnapshotController.close();
+    receiverSnapshotController.close();
+
+    final File[] receivedFiles = receiverStorage.getTmpSnapshotDirectoryFor("1").listFiles();
+    assertThat(receivedFiles).hasSize(2);
+
+    // when
+    final Replicator workingReplicator = new Replicator();
+    setupReplication(workingReplicator);
+    receiverSnapshotController.consumeReplicatedSnapshots();
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    assertThat(receiverStorage.existSnapshot(1)).isTrue();
+    assertThat(receiverStorage.getSnapshotDirectoryFor(1).list())
+        .containsExactlyInAnyOrder(
+            workingReplicator.replicatedChunks.stream()
+                .map(SnapshotChunk::getChunkName)
+                .toArray(String[]::new));
+  }
+
   private final class FlakyReplicator implements SnapshotReplication {
 
     final List<SnapshotChunk> replicatedChunks = new ArrayList<>();
@@ -15,6 +15,7 @@
  */
 package io.zeebe.logstreams.state;
 
+import static io.zeebe.test.util.TestUtil.waitUntil;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -27,11 +28,13 @@ import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
 import io.zeebe.logstreams.impl.delete.NoopDeletionService;
 import io.zeebe.logstreams.util.RocksDBWrapper;
 import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.util.ByteValue;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.zip.CRC32;
 import org.junit.Before;
 import org.junit.Rule;
@@ -42,6 +45,8 @@ public class ReplicateSnapshotControllerTest {
 
   private static final int VALUE = 0xCAFE;
   private static final String KEY = "test";
+  private static final int OTHER_VALUE = 0xBEEF;
+  private static final String OTHER_KEY = "other";
 
   @Rule public TemporaryFolder tempFolderRule = new TemporaryFolder();
   @Rule public AutoCloseableRule autoCloseableRule = new AutoCloseableRule();
@@ -50,6 +55,7 @@ public class ReplicateSnapshotControllerTest {
   private StateSnapshotController receiverSnapshotController;
   private Replicator replicator;
   private StateStorage receiverStorage;
+  private RocksDBWrapper wrapper;
 
   @Before
   public void setup() throws IOException {
@@ -76,7 +82,7 @@ public class ReplicateSnapshotControllerTest {
     autoCloseableRule.manage(replicatorSnapshotController);
     autoCloseableRule.manage(receiverSnapshotController);
 
-    final RocksDBWrapper wrapper = new RocksDBWrapper();
+    wrapper = new RocksDBWrapper();
     wrapper.wrap(replicatorSnapshotController.openDb());
     wrapper.putInt(KEY, VALUE);
   }
@@ -216,6 +222,92 @@ public class ReplicateSnapshotControllerTest {
     verify(mockDeletionService).delete(2);
   }
 
+  @Test
+  public void shouldOmitContentOfAlreadyReplicatedFiles() throws Exception {
+    // given
+    receiverSnapshotController.consumeReplicatedSnapshots();
+    replicatorSnapshotController.takeSnapshot(1);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+    final int firstSnapshotChunkCount = replicator.replicatedChunks.size();
+
+    wrapper.putInt(OTHER_KEY, OTHER_VALUE);
+    replicatorSnapshotController.takeSnapshot(2);
+
+    // when
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    final List<SnapshotChunk> omittedChunks =
+        replicator.replicatedChunks.stream()
+            .skip(firstSnapshotChunkCount)
+            .filter(SnapshotChunk::isContentOmitted)
+            .collect(Collectors.toList());
+    assertThat(omittedChunks).isNotEmpty().allMatch(chunk -> chunk.getContent().length == 0);
+
+    final long recoveredSnapshot = receiverSnapshotController.recover();
+    assertThat(recoveredSnapshot).isEqualTo(2);
+
+    final RocksDBWrapper receiverWrapper = new RocksDBWrapper();
+    receiverWrapper.wrap(receiverSnapshotController.openDb());
+    assertThat(receiverWrapper.getInt(KEY)).isEqualTo(VALUE);
+    assertThat(receiverWrapper.getInt(OTHER_KEY)).isEqualTo(OTHER_VALUE);
+  }
+
+  @Test
+  public void shouldNotReceiveSnapshotIfOmittedContentIsMissing() {
+    // given
+    replicatorSnapshotController.takeSnapshot(1);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    wrapper.putInt(OTHER_KEY, OTHER_VALUE);
+    replicatorSnapshotController.takeSnapshot(2);
+
+    // when
+    receiverSnapshotController.consumeReplicatedSnapshots();
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    assertThat(receiverStorage.existSnapshot(1)).isFalse();
+    assertThat(receiverStorage.existSnapshot(2)).isFalse();
+  }
+
+  @Test
+  public void shouldReplicateSnapshotChunksConcurrently() throws Exception {
+    // given
+    final StateSnapshotController concurrentReplicatorSnapshotController =
+        new StateSnapshotController(
+            ZeebeRocksDbFactory.newFactory(DefaultColumnFamily.class),
+            new StateStorage(
+                tempFolderRule.newFolder("runtime-concurrent"),
+                tempFolderRule.newFolder("snapshots-concurrent")),
+            replicator,
+            2,
+            2,
+            ByteValue.ofMegabytes(100).toBytes());
+    autoCloseableRule.manage(concurrentReplicatorSnapshotController);
+
+    final RocksDBWrapper concurrentWrapper = new RocksDBWrapper();
+    concurrentWrapper.wrap(concurrentReplicatorSnapshotController.openDb());
+    concurrentWrapper.putInt(KEY, VALUE);
+    concurrentReplicatorSnapshotController.takeSnapshot(1);
+
+    receiverSnapshotController.consumeReplicatedSnapshots();
+
+    // when
+    concurrentReplicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    waitUntil(() -> receiverStorage.existSnapshot(1));
+    concurrentReplicatorSnapshotController.stopReplication();
+
+    final long recoveredSnapshot = receiverSnapshotController.recover();
+    assertThat(recoveredSnapshot).isEqualTo(1);
+
+    final RocksDBWrapper receiverWrapper = new RocksDBWrapper();
+    receiverWrapper.wrap(receiverSnapshotController.openDb());
+    assertThat(receiverWrapper.getInt(KEY)).isEqualTo(VALUE);
+  }
+
   private void replicateXSnapshots(final int snapshotAmount) {
     for (int i = 1; i <= snapshotAmount; ++i) {
       replicatorSnapshotController.takeSnapshot(i);
@@ -229,7 +321,7 @@ public class ReplicateSnapshotControllerTest {
     private Consumer<SnapshotChunk> chunkConsumer;
 
     @Override
-    public void replicate(SnapshotChunk snapshot) {
+    public synchronized void replicate(SnapshotChunk snapshot) {
       replicatedChunks.add(snapshot);
       if (chunkConsumer != null) {
         chunkConsumer.accept(snapshot);
@@ -0,0 +1,262 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.state;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import io.zeebe.test.util.AutoCloseableRule;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ReplicationControllerTest {
+
+  @Rule public TemporaryFolder tempFolderRule = new TemporaryFolder();
+  @Rule public AutoCloseableRule autoCloseableRule = new AutoCloseableRule();
+
+  private StateStorage storage;
+  private BlockingReplication replication;
+  private ReplicationController replicationController;
+
+  @Before
+  public void setup() throws IOException {
+    final File runtimeDirectory = tempFolderRule.newFolder("runtime");
+    final File snapshotsDirectory = tempFolderRule.newFolder("snapshots");
+    storage = new StateStorage(runtimeDirectory, snapshotsDirectory);
+
+    replication = new BlockingReplication();
+    replicationController = new ReplicationController(replication, storage, () -> {}, 1, 0);
+    autoCloseableRule.manage(replicationController::close);
+  }
+
+  @Test
+  public void shouldDropQueuedChunksOfPreviousSnapshot() throws Exception {
+    // given
+    replicationController.replicate(1, 3, newChunkFile("1-a"), false);
+    replication.blocked.await();
+    replicationController.replicate(1, 3, newChunkFile("1-b"), false);
+    replicationController.replicate(1, 3, newChunkFile("1-c"), false);
+
+    // when
+    replicationController.replicate(2, 1, newChunkFile("2-a"), false);
+    replication.release.countDown();
+
+    // then
+    waitUntil(() -> replication.getReplicatedChunks().size() == 2);
+
+    assertThat(replication.getReplicatedChunks())
+        .extracting(SnapshotChunk::getSnapshotPosition, SnapshotChunk::getChunkName)
+        .containsExactly(tuple(1L, "1-a"), tuple(2L, "2-a"));
+  }
+
+  @Test
+  public void shouldNotQueueMoreThanMaxQueuedChunks() throws Exception {
+    // given
+    final File chunkFile = newChunkFile("1-a");
+    replicationController.replicate(1, 1, chunkFile, false);
+    replication.blocked.await();
+
+    // when
+    for (int i = 0; i <= ReplicationController.MAX_QUEUED_CHUNKS; i++) {
+      replicationController.replicate(1, 1, chunkFile, false);
+    }
+    replication.release.countDown();
+
+    // then
+    final int expectedChunks = ReplicationController.MAX_QUEUED_CHUNKS + 1;
+    waitUntil(() -> replication.getReplicatedChunks().size() >= expectedChunks);
+
+    assertThat(replication.getReplicatedChunks()).hasSize(expectedChunks);
+  }
+
+  @Test
+  public void shouldReplicateWholeContentAfterChunksWereDropped() throws Exception {
+    // given
+    final File firstFile = newChunkFile("1.sst");
+    final File secondFile = newChunkFile("2.sst");
+    final File thirdFile = newChunkFile("3.sst");
+
+    replicationController.replicate(1, 3, firstFile, true);
+    replicationController.replicate(1, 3, secondFile, true);
+    replicationController.replicate(1, 3, thirdFile, true);
+    replication.release.countDown();
+    waitUntil(() -> replication.getReplicatedChunks().size() == 3);
+
+    replication.block();
+    replicationController.replicate(2, 3, firstFile, true);
+    replication.blocked.await();
+    replicationController.replicate(2, 3, secondFile, true);
+    replicationController.replicate(2, 3, thirdFile, true);
+
+    // when
+    replicationController.replicate(3, 3, firstFile, true);
+    replicationController.replicate(3, 3, secondFile, true);
+    replicationController.replicate(3, 3, thirdFile, true);
+    replication.release.countDown();
+
+    // then
+    waitUntil(() -> replication.getReplicatedChunks().size() == 7);
+
+    assertThat(replication.getReplicatedChunks())
+        .extracting(SnapshotChunk::getSnapshotPosition, SnapshotChunk::isContentOmitted)
+        .containsExactly(
+            tuple(1L, false),
+            tuple(1L, false),
+            tuple(1L, false),
+            tuple(2L, true),
+            tuple(3L, false),
+            tuple(3L, false),
+            tuple(3L, false));
+    assertThat(replication.getReplicatedChunks())
+        .filteredOn(chunk -> chunk.getSnapshotPosition() == 3)
+        .extracting(SnapshotChunk::getChunkName)
+        .containsExactly(firstFile.getName(), secondFile.getName(), thirdFile.getName());
+    assertThat(replication.getReplicatedChunks())
+        .filteredOn(chunk -> chunk.getSnapshotPosition() == 3)
+        .allMatch(chunk -> chunk.getContent().length > 0);
+  }
+
+  @Test
+  public void shouldOmitContentOnlyAfterAllChunksOfSnapshotWereSent() throws Exception {
+    // given
+    final RecordingReplication recordingReplication = new RecordingReplication();
+    final ReplicationController controller =
+        new ReplicationController(recordingReplication, storage);
+    final File firstFile = newChunkFile("1.sst");
+    final File secondFile = newChunkFile("2.sst");
+
+    // when
+    controller.replicate(1, 2, firstFile, true);
+    controller.replicate(2, 2, firstFile, true);
+    controller.replicate(2, 2, secondFile, true);
+    controller.replicate(3, 2, firstFile, true);
+
+    // then
+    assertThat(recordingReplication.replicatedChunks)
+        .extracting(SnapshotChunk::getSnapshotPosition, SnapshotChunk::isContentOmitted)
+        .containsExactly(
+            tuple(1L, false), tuple(2L, false), tuple(2L, false), tuple(3L, true));
+  }
+
+  @Test
+  public void shouldReplicateWholeContentAfterChunkWasNotSent() throws Exception {
+    // given
+    final RecordingReplication recordingReplication = new RecordingReplication();
+    final ReplicationController controller =
+        new ReplicationController(recordingReplication, storage);
+    final File firstFile = newChunkFile("1.sst");
+    final File secondFile = newChunkFile("2.sst");
+
+    controller.replicate(1, 2, firstFile, true);
+    controller.replicate(1, 2, secondFile, true);
+
+    // when
+    recordingReplication.failingChunks.add(secondFile.getName());
+    controller.replicate(2, 2, firstFile, true);
+    assertThatThrownBy(() -> controller.replicate(2, 2, secondFile, true))
+        .isInstanceOf(RuntimeException.class);
+
+    recordingReplication.failingChunks.clear();
+    controller.replicate(3, 2, firstFile, true);
+
+    // then
+    assertThat(recordingReplication.replicatedChunks)
+        .extracting(SnapshotChunk::getSnapshotPosition, SnapshotChunk::isContentOmitted)
+        .containsExactly(
+            tuple(1L, false), tuple(1L, false), tuple(2L, true), tuple(3L, false));
+  }
+
+  private File newChunkFile(final String name) throws IOException {
+    final File file = tempFolderRule.newFile(name);
+    Files.write(file.toPath(), name.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  /** Records the replicated chunks and fails to replicate the chunks with the given names. */
+  private static final class RecordingReplication implements SnapshotReplication {
+
+    private final List<SnapshotChunk> replicatedChunks = new ArrayList<>();
+    private final Set<String> failingChunks = new HashSet<>();
+
+    @Override
+    public void replicate(SnapshotChunk snapshot) {
+      if (failingChunks.contains(snapshot.getChunkName())) {
+        throw new RuntimeException("expected");
+      }
+      replicatedChunks.add(snapshot);
+    }
+
+    @Override
+    public void consume(Consumer<SnapshotChunk> consumer) {}
+
+    @Override
+    public void close() {}
+  }
+
+  /** Blocks on the first replicated chunk until it is released, and again after {@link #block()}. */
+  private static final class BlockingReplication implements SnapshotReplication {
+
+    private volatile CountDownLatch blocked = new CountDownLatch(1);
+    private volatile CountDownLatch release = new CountDownLatch(1);
+    private final List<SnapshotChunk> replicatedChunks = new ArrayList<>();
+
+    @Override
+    public void replicate(SnapshotChunk snapshot) {
+      blocked.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      synchronized (replicatedChunks) {
+        replicatedChunks.add(snapshot);
+      }
+    }
+
+    private void block() {
+      blocked = new CountDownLatch(1);
+      release = new CountDownLatch(1);
+    }
+
+    private List<SnapshotChunk> getReplicatedChunks() {
+      synchronized (replicatedChunks) {
+        return new ArrayList<>(replicatedChunks);
+      }
+    }
+
+    @Override
+    public void consume(Consumer<SnapshotChunk> consumer) {}
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ReplicationRateLimiterTest {
+
+  @Test
+  public void shouldNotWaitIfUnlimited() throws Exception {
+    // given
+    final ReplicationRateLimiter rateLimiter = new ReplicationRateLimiter(0);
+
+    // when
+    final long start = System.nanoTime();
+    rateLimiter.acquire(Long.MAX_VALUE);
+    rateLimiter.acquire(Long.MAX_VALUE);
+    final long duration = System.nanoTime() - start;
+
+    // then
+    assertThat(duration).isLessThan(TimeUnit.SECONDS.toNanos(1));
+  }
+
+  @Test
+  public void shouldWaitUntilSentBytesArePaidOff() throws Exception {
+    // given
+    final ReplicationRateLimiter rateLimiter = new ReplicationRateLimiter(10_000);
+
+    // when
+    final long start = System.nanoTime();
+    rateLimiter.acquire(1_000);
+    rateLimiter.acquire(1_000);
+    rateLimiter.acquire(1_000);
+    final long duration = System.nanoTime() - start;
+
+    // then
+    assertThat(duration).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+  }
+}
@@ -28,6 +28,7 @@ import java.nio.channels.FileChannel;
 import java.nio.file.CopyOption;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileStore;
+import java.nio.file.FileSystemException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -146,6 +147,22 @@ public class FileUtil {
     }
   }
 
+  /**
+   * Creates a hard link to the given file, or copies the file if the file system doesn't support
+   * hard links (e.g. the target is on a different file system). Must only be used for files which
+   * are never modified in place, since the link shares the content with the source.
+   */
+  public static void linkOrCopy(Path source, Path target) throws IOException {
+    try {
+      Files.createLink(target, source);
+    } catch (UnsupportedOperationException | FileSystemException e) {
+      if (Files.exists(target)) {
+        throw e;
+      }
+      Files.copy(source, target);
+    }
+  }
+
   public static void copySnapshot(File runtimeDirectory, File snapshotDirectory) throws Exception {
     final Path targetPath = runtimeDirectory.toPath();
     final Path sourcePath = snapshotDirectory.toPath();
@@ -154,6 +171,9 @@ public class FileUtil {
 
   public static final class SnapshotCopier extends SimpleFileVisitor<Path> {
 
+    /** SST files are never modified by RocksDB, so they can be shared with the snapshot */
+    private static final String IMMUTABLE_SNAPSHOT_FILE_SUFFIX = ".sst";
+
     private final Path targetPath;
     private final Path sourcePath;
 
@@ -181,7 +201,11 @@ public class FileUtil {
       final Path newFile = targetPath.resolve(sourcePath.relativize(file));
 
       try {
-        Files.copy(file, newFile);
+        if (file.getFileName().toString().endsWith(IMMUTABLE_SNAPSHOT_FILE_SUFFIX)) {
+          linkOrCopy(file, newFile);
+        } else {
+          Files.copy(file, newFile);
+        }
       } catch (IOException ioException) {
         LOG.error("Problem on copying {} to {}.", file, newFile, ioException);
       }
@@ -18,7 +18,11 @@ package io.zeebe.util.sched;
 import io.zeebe.util.sched.ActorScheduler.ActorSchedulerBuilder;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -29,12 +33,17 @@ import java.util.concurrent.TimeUnit;
 public class ActorExecutor {
   private final ActorThreadGroup cpuBoundThreads;
   private final ActorThreadGroup ioBoundThreads;
+  private final ActorThreadGroup pinnedThreads;
   private final ThreadPoolExecutor blockingTasksRunner;
   private Duration blockingTasksShutdownTime;
 
+  /** tasks which are scheduled and not yet closed */
+  private final Set<ActorTask> scheduledTasks = ConcurrentHashMap.newKeySet();
+
   public ActorExecutor(ActorSchedulerBuilder builder) {
     this.ioBoundThreads = builder.getIoBoundActorThreads();
     this.cpuBoundThreads = builder.getCpuBoundActorThreads();
+    this.pinnedThreads = builder.getPinnedActorThreads();
     this.blockingTasksRunner = builder.getBlockingTasksRunner();
     this.blockingTasksShutdownTime = builder.getBlockingTasksShutdownTime();
   }
@@ -52,13 +61,33 @@ public class ActorExecutor {
     return submitTask(task, ioBoundThreads);
   }
 
+  /**
+   * Submit a non-blocking actor which is pinned to a dedicated thread. Must only be called if the
+   * scheduler has {@link #getPinnedThreads() pinned threads}.
+   *
+   * @param task the task to submit
+   */
+  public ActorFuture<Void> submitPinned(ActorTask task) {
+    return submitTask(task, pinnedThreads);
+  }
+
   private ActorFuture<Void> submitTask(ActorTask task, ActorThreadGroup threadGroup) {
     final ActorFuture<Void> startingFuture = task.onTaskScheduled(this, threadGroup);
+    scheduledTasks.add(task);
 
     threadGroup.submit(task);
     return startingFuture;
   }
 
+  void onTaskClosed(ActorTask task) {
+    scheduledTasks.remove(task);
+  }
+
+  /** @return a read-only view of the tasks which are currently scheduled */
+  public Collection<ActorTask> getScheduledTasks() {
+    return Collections.unmodifiableSet(scheduledTasks);
+  }
+
   /**
    * Sumbit a blocking action to run using the scheduler's blocking thread pool
    *
@@ -71,13 +100,22 @@ public class ActorExecutor {
   public void start() {
     cpuBoundThreads.start();
     ioBoundThreads.start();
+
+    if (pinnedThreads != null) {
+      pinnedThreads.start();
+    }
   }
 
   public CompletableFuture<Void> closeAsync() {
     blockingTasksRunner.shutdown();
 
     final CompletableFuture<Void> resultFuture =
-        CompletableFuture.allOf(ioBoundThreads.closeAsync(), cpuBoundThreads.closeAsync());
+        CompletableFuture.allOf(
+            ioBoundThreads.closeAsync(),
+            cpuBoundThreads.closeAsync(),
+            pinnedThreads != null
+                ? pinnedThreads.closeAsync()
+                : CompletableFuture.completedFuture(null));
 
     try {
       blockingTasksRunner.awaitTermination(
@@ -97,6 +135,11 @@ public class ActorExecutor {
     return ioBoundThreads;
   }
 
+  /** @return the pinned thread group or null if the scheduler has no pinned threads */
+  public ActorThreadGroup getPinnedThreads() {
+    return pinnedThreads;
+  }
+
   public Duration getBlockingTasksShutdownTime() {
     return blockingTasksShutdownTime;
   }
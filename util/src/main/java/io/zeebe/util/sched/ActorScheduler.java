@@ -19,6 +19,7 @@ import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.concurrent.Future;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
@@ -57,7 +58,11 @@ public class ActorScheduler {
    *       by the actor.
    * </ul>
    *
-   * Scheduling hints can be created using the {@link SchedulingHints} class.
+   * Actors can also be pinned to a dedicated thread, which is isolated from work stealing. If the
+   * scheduler has no pinned threads, pinned actors are scheduled as CPU-bound or I/O-bound actors
+   * instead.
+   *
+   * <p>Scheduling hints can be created using the {@link SchedulingHints} class.
    *
    * @param actor the actor to submit
    * @param schedulingHints additional scheduling hint
@@ -66,7 +71,10 @@ public class ActorScheduler {
     final ActorTask task = actor.actor.task;
 
     final ActorFuture<Void> startingFuture;
-    if (SchedulingHints.isCpuBound(schedulingHints)) {
+    if (SchedulingHints.isPinned(schedulingHints) && actorTaskExecutor.getPinnedThreads() != null) {
+      task.setPinnedSlot(SchedulingHints.getPinnedSlot(schedulingHints));
+      startingFuture = actorTaskExecutor.submitPinned(task);
+    } else if (SchedulingHints.isCpuBound(schedulingHints)) {
       task.setPriority(SchedulingHints.getPriority(schedulingHints));
       startingFuture = actorTaskExecutor.submitCpuBound(task);
     } else {
@@ -97,6 +105,16 @@ public class ActorScheduler {
     }
   }
 
+  /**
+   * Returns the actor tasks which are currently scheduled, e.g. to read their {@link
+   * ActorTask#getStatistics() statistics}.
+   *
+   * @return a read-only view of the scheduled tasks
+   */
+  public Collection<ActorTask> getScheduledTasks() {
+    return actorTaskExecutor.getScheduledTasks();
+  }
+
   public void setBlockingTasksShutdownTime(Duration shutdownTime) {
     actorTaskExecutor.setBlockingTasksShutdownTime(shutdownTime);
   }
@@ -120,6 +138,9 @@ public class ActorScheduler {
     private int ioBoundThreadsCount = 2;
     private ActorThreadGroup ioBoundActorGroup;
 
+    private int pinnedThreadsCount = 0;
+    private ActorThreadGroup pinnedActorGroup;
+
     private ActorThreadFactory actorThreadFactory;
     private ThreadPoolExecutor blockingTasksRunner;
     private Duration blockingTasksShutdownTime = Duration.ofSeconds(15);
@@ -147,6 +168,15 @@ public class ActorScheduler {
       return this;
     }
 
+    /**
+     * @param pinnedThreadsCount the number of threads for pinned actors; if zero, pinned actors are
+     *     scheduled on the CPU-bound or I/O-bound threads
+     */
+    public ActorSchedulerBuilder setPinnedActorThreadCount(int pinnedThreadsCount) {
+      this.pinnedThreadsCount = pinnedThreadsCount;
+      return this;
+    }
+
     public ActorSchedulerBuilder setActorThreadFactory(ActorThreadFactory actorThreadFactory) {
       this.actorThreadFactory = actorThreadFactory;
       return this;
@@ -182,6 +212,10 @@ public class ActorScheduler {
       return ioBoundThreadsCount;
     }
 
+    public int getPinnedActorThreadCount() {
+      return pinnedThreadsCount;
+    }
+
     public double[] getPriorityQuotas() {
       return Arrays.copyOf(priorityQuotas, priorityQuotas.length);
     }
@@ -210,6 +244,10 @@ public class ActorScheduler {
       return ioBoundActorGroup;
     }
 
+    public ActorThreadGroup getPinnedActorThreads() {
+      return pinnedActorGroup;
+    }
+
     private void initActorThreadFactory() {
       if (actorThreadFactory == null) {
         actorThreadFactory = new DefaultActorThreadFactory();
@@ -241,6 +279,12 @@ public class ActorScheduler {
       }
     }
 
+    private void initPinnedActorThreadGroup() {
+      if (pinnedActorGroup == null && pinnedThreadsCount > 0) {
+        pinnedActorGroup = new PinnedThreadGroup(this);
+      }
+    }
+
     private void initActorExecutor() {
       if (actorExecutor == null) {
         actorExecutor = new ActorExecutor(this);
@@ -252,6 +296,7 @@ public class ActorScheduler {
       initBlockingTaskRunner();
       initCpuBoundActorThreadGroup();
       initIoBoundActorThreadGroup();
+      initPinnedActorThreadGroup();
       initActorExecutor();
       return new ActorScheduler(this);
     }
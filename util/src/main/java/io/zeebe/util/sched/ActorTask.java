@@ -104,6 +104,8 @@ public class ActorTask {
 
   private ActorSubscription[] subscriptions = new ActorSubscription[0];
 
+  private final ActorTaskStatistics statistics = new ActorTaskStatistics();
+
   boolean shouldYield;
 
   /**
@@ -111,6 +113,9 @@ public class ActorTask {
    */
   private int priority = ActorPriority.REGULAR.getPriorityClass();
 
+  /** the slot which selects the thread of the task. Only set if the task is scheduled as pinned */
+  private int pinnedSlot = -1;
+
   public ActorTask(Actor actor) {
     this.actor = actor;
   }
@@ -172,9 +177,14 @@ public class ActorTask {
   public boolean execute(ActorThread runner) {
     schedulingState = TaskSchedulingState.ACTIVE;
 
+    final long executionStart = System.nanoTime();
+    statistics.onExecutionStarted(executionStart);
+    long executedJobs = 0;
+
     boolean resubmit = false;
     while (!resubmit && (currentJob != null || poll())) {
       currentJob.execute(runner);
+      executedJobs++;
 
       switch (currentJob.schedulingState) {
         case TERMINATED:
@@ -213,6 +223,9 @@ public class ActorTask {
       }
     }
 
+    // once the task is waiting, it can be woken up and executed by another thread
+    statistics.onExecutionFinished(System.nanoTime() - executionStart, executedJobs);
+
     if (currentJob == null) {
       resubmit = onAllJobsDone();
     }
@@ -295,6 +308,7 @@ public class ActorTask {
 
   private void onClosed() {
     schedulingState = TaskSchedulingState.NOT_SCHEDULED;
+    actorExecutor.onTaskClosed(this);
 
     for (int i = 0; i < subscriptions.length; i++) {
       subscriptions[i].cancel();
@@ -540,6 +554,18 @@ public class ActorTask {
     this.priority = priority;
   }
 
+  public ActorTaskStatistics getStatistics() {
+    return statistics;
+  }
+
+  public int getPinnedSlot() {
+    return pinnedSlot;
+  }
+
+  public void setPinnedSlot(int pinnedSlot) {
+    this.pinnedSlot = pinnedSlot;
+  }
+
   public ActorExecutor getActorExecutor() {
     return actorExecutor;
   }
@@ -588,7 +614,10 @@ public class ActorTask {
   }
 
   public void setUpdatedSchedulingHints(int hints) {
-    if (SchedulingHints.isCpuBound(hints)) {
+    if (SchedulingHints.isPinned(hints) && actorExecutor.getPinnedThreads() != null) {
+      pinnedSlot = SchedulingHints.getPinnedSlot(hints);
+      actorThreadGroup = actorExecutor.getPinnedThreads();
+    } else if (SchedulingHints.isCpuBound(hints)) {
       priority = SchedulingHints.getPriority(hints);
       actorThreadGroup = actorExecutor.getCpuBoundThreads();
     } else {
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Cumulative scheduling statistics of an {@link ActorTask}.
+ *
+ * <p>The counters are only written by the thread which executes the task. The thread publishes
+ * them once per execution, before the task can be handed over to another thread, with an ordered
+ * store ({@link AtomicLongFieldUpdater#lazySet(Object, long)}) instead of a full fence. Other
+ * threads can read them without further synchronization, but may lag behind by the current
+ * execution.
+ */
+public class ActorTaskStatistics {
+  private static final AtomicLongFieldUpdater<ActorTaskStatistics> EXECUTION_TIME_NANOS =
+      AtomicLongFieldUpdater.newUpdater(ActorTaskStatistics.class, "executionTimeNanos");
+  private static final AtomicLongFieldUpdater<ActorTaskStatistics> EXECUTION_COUNT =
+      AtomicLongFieldUpdater.newUpdater(ActorTaskStatistics.class, "executionCount");
+  private static final AtomicLongFieldUpdater<ActorTaskStatistics> JOB_COUNT =
+      AtomicLongFieldUpdater.newUpdater(ActorTaskStatistics.class, "jobCount");
+  private static final AtomicLongFieldUpdater<ActorTaskStatistics> QUEUE_WAIT_TIME_NANOS =
+      AtomicLongFieldUpdater.newUpdater(ActorTaskStatistics.class, "queueWaitTimeNanos");
+  private static final AtomicLongFieldUpdater<ActorTaskStatistics> STEAL_COUNT =
+      AtomicLongFieldUpdater.newUpdater(ActorTaskStatistics.class, "stealCount");
+
+  private volatile long executionTimeNanos;
+  private volatile long executionCount;
+  private volatile long jobCount;
+  private volatile long queueWaitTimeNanos;
+  private volatile long stealCount;
+
+  /**
+   * time at which the task was last appended to a task queue, written by the submitting thread; the
+   * task queue orders it before the read of the executing thread
+   */
+  private long queuedAtNanos;
+
+  /** Called by the submitting thread before the task is appended to a task queue. */
+  void onQueued(long nanoTime) {
+    queuedAtNanos = nanoTime;
+  }
+
+  /** Called by the stealing thread, which executes the task next. */
+  void onStolen() {
+    STEAL_COUNT.lazySet(this, stealCount + 1);
+  }
+
+  void onExecutionStarted(long nanoTime) {
+    final long queuedAt = queuedAtNanos;
+    if (queuedAt > 0 && nanoTime > queuedAt) {
+      QUEUE_WAIT_TIME_NANOS.lazySet(this, queueWaitTimeNanos + nanoTime - queuedAt);
+    }
+    queuedAtNanos = 0;
+  }
+
+  /**
+   * Called by the executing thread before the task can be woken up or resubmitted, so that no other
+   * thread executes it at the same time.
+   */
+  void onExecutionFinished(long executionTimeNanos, long executedJobs) {
+    EXECUTION_TIME_NANOS.lazySet(this, this.executionTimeNanos + executionTimeNanos);
+    EXECUTION_COUNT.lazySet(this, executionCount + 1);
+    JOB_COUNT.lazySet(this, jobCount + executedJobs);
+  }
+
+  /** @return the total time the task was executed by an actor thread */
+  public long getExecutionTimeNanos() {
+    return executionTimeNanos;
+  }
+
+  /** @return how often the task was picked up by an actor thread */
+  public long getExecutionCount() {
+    return executionCount;
+  }
+
+  /** @return the number of executed jobs of the task */
+  public long getJobCount() {
+    return jobCount;
+  }
+
+  /** @return the total time the task was waiting in a task queue before it was executed */
+  public long getQueueWaitTimeNanos() {
+    return queueWaitTimeNanos;
+  }
+
+  /** @return how often the task was stolen from the queue of another actor thread */
+  public long getStealCount() {
+    return stealCount;
+  }
+}
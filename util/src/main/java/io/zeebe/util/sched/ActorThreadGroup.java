@@ -33,10 +33,20 @@ public abstract class ActorThreadGroup {
 
   public ActorThreadGroup(
       String groupName, int numOfThreads, int numOfQueuesPerThread, ActorSchedulerBuilder builder) {
+    this(groupName, numOfThreads, numOfQueuesPerThread, true, builder);
+  }
+
+  public ActorThreadGroup(
+      String groupName,
+      int numOfThreads,
+      int numOfQueuesPerThread,
+      boolean isWorkStealingEnabled,
+      ActorSchedulerBuilder builder) {
     this.groupName = groupName;
     this.numOfThreads = numOfThreads;
 
-    this.tasks = new MultiLevelWorkstealingGroup(numOfThreads, numOfQueuesPerThread);
+    this.tasks =
+        new MultiLevelWorkstealingGroup(numOfThreads, numOfQueuesPerThread, isWorkStealingEnabled);
 
     threads = new ActorThread[numOfThreads];
 
@@ -23,9 +23,13 @@ public class MultiLevelWorkstealingGroup {
   private final WorkStealingGroup[] workStealingGroups;
 
   public MultiLevelWorkstealingGroup(int numOfThreads, int levels) {
+    this(numOfThreads, levels, true);
+  }
+
+  public MultiLevelWorkstealingGroup(int numOfThreads, int levels, boolean isWorkStealingEnabled) {
     workStealingGroups = new WorkStealingGroup[levels];
     for (int i = 0; i < levels; i++) {
-      workStealingGroups[i] = new WorkStealingGroup(numOfThreads);
+      workStealingGroups[i] = new WorkStealingGroup(numOfThreads, isWorkStealingEnabled);
     }
   }
 
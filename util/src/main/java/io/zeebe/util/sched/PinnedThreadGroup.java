@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched;
+
+import static java.lang.Math.floorMod;
+
+import io.zeebe.util.sched.ActorScheduler.ActorSchedulerBuilder;
+
+/**
+ * Thread group for non-blocking tasks which are pinned to a dedicated thread. A task is always
+ * executed by the thread selected by its {@link ActorTask#getPinnedSlot() pinned slot}, and the
+ * threads don't steal tasks from each other. Tasks with different slots are isolated from each
+ * other as long as there are at least as many threads as slots.
+ */
+public class PinnedThreadGroup extends ActorThreadGroup {
+
+  public PinnedThreadGroup(ActorSchedulerBuilder builder) {
+    super(
+        String.format("%s-%s", builder.getSchedulerName(), "zb-pinned"),
+        builder.getPinnedActorThreadCount(),
+        1,
+        false,
+        builder);
+  }
+
+  @Override
+  protected TaskScheduler createTaskScheduler(
+      MultiLevelWorkstealingGroup tasks, ActorSchedulerBuilder builder) {
+    return now -> tasks.getNextTask(0);
+  }
+
+  @Override
+  public void submit(ActorTask actorTask) {
+    final int threadId = floorMod(actorTask.getPinnedSlot(), numOfThreads);
+    tasks.submit(actorTask, getLevel(actorTask), threadId);
+
+    if (ActorThread.current() != threads[threadId]) {
+      threads[threadId].hintWorkAvailable();
+    }
+  }
+
+  @Override
+  protected int getLevel(ActorTask actorTask) {
+    return 0;
+  }
+}
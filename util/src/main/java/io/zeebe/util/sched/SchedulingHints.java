@@ -17,6 +17,11 @@ package io.zeebe.util.sched;
 
 public class SchedulingHints {
 
+  private static final int PRIORITY_MASK = 0xFFFF;
+  private static final int PINNED_FLAG = 1 << 17;
+  private static final int PINNED_SLOT_SHIFT = 18;
+  private static final int PINNED_SLOT_MASK = 0x1FFF;
+
   public static int ioBound() {
     int hints = 0;
 
@@ -34,6 +39,27 @@ public class SchedulingHints {
     return hints;
   }
 
+  /**
+   * Hints the scheduler to run the actor on a dedicated pinned thread which is selected by the
+   * given slot (e.g. the partition id). Actors with the same slot share the same thread. Pinned
+   * threads don't take part in work stealing. If the scheduler has no pinned threads, the actor is
+   * scheduled according to the given fallback hints.
+   *
+   * @param slot the slot which selects the pinned thread
+   * @param fallbackHints the hints which are used if the scheduler has no pinned threads
+   */
+  public static int pinned(int slot, int fallbackHints) {
+    return fallbackHints | PINNED_FLAG | ((slot & PINNED_SLOT_MASK) << PINNED_SLOT_SHIFT);
+  }
+
+  public static boolean isPinned(int hints) {
+    return (hints & PINNED_FLAG) == PINNED_FLAG;
+  }
+
+  public static int getPinnedSlot(int hints) {
+    return (hints >> PINNED_SLOT_SHIFT) & PINNED_SLOT_MASK;
+  }
+
   public static int setCpuBound(int hints) {
     return hints & ~1;
   }
@@ -55,6 +81,6 @@ public class SchedulingHints {
   }
 
   public static short getPriority(int hints) {
-    return (short) (hints >> 1);
+    return (short) ((hints >> 1) & PRIORITY_MASK);
   }
 }
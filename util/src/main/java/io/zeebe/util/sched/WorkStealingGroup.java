@@ -23,9 +23,19 @@ import java.util.concurrent.ThreadLocalRandom;
 public class WorkStealingGroup {
   private final int numOfThreads;
   private final ActorTaskQueue[] taskQueues;
+  private final boolean isWorkStealingEnabled;
 
   public WorkStealingGroup(int numOfThreads) {
+    this(numOfThreads, true);
+  }
+
+  /**
+   * @param numOfThreads the number of threads
+   * @param isWorkStealingEnabled if false, a thread only executes the tasks of its own queue
+   */
+  public WorkStealingGroup(int numOfThreads, boolean isWorkStealingEnabled) {
     this.numOfThreads = numOfThreads;
+    this.isWorkStealingEnabled = isWorkStealingEnabled;
     this.taskQueues = new ActorTaskQueue[numOfThreads];
     for (int i = 0; i < numOfThreads; i++) {
       taskQueues[i] = new ActorTaskQueue();
@@ -40,6 +50,7 @@ public class WorkStealingGroup {
    */
   public void submit(ActorTask task, int threadId) {
     task.schedulingState = QUEUED;
+    task.getStatistics().onQueued(System.nanoTime());
     taskQueues[threadId].append(task);
   }
 
@@ -52,7 +63,7 @@ public class WorkStealingGroup {
     final ActorThread currentThread = ActorThread.current();
     ActorTask nextTask = taskQueues[currentThread.getRunnerId()].pop();
 
-    if (nextTask == null) {
+    if (nextTask == null && isWorkStealingEnabled) {
       nextTask = trySteal(currentThread);
     }
 
@@ -91,6 +102,7 @@ public class WorkStealingGroup {
         final ActorTask stolenActor = taskQueues[runnerId].trySteal();
 
         if (stolenActor != null) {
+          stolenActor.getStatistics().onStolen();
           return stolenActor;
         }
       }
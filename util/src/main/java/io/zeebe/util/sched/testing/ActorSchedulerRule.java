@@ -27,6 +27,7 @@ public class ActorSchedulerRule extends ExternalResource {
 
   private final int numOfIoThreads;
   private final int numOfThreads;
+  private final int numOfPinnedThreads;
   private final ActorClock clock;
 
   private ActorSchedulerBuilder builder;
@@ -37,9 +38,15 @@ public class ActorSchedulerRule extends ExternalResource {
   }
 
   public ActorSchedulerRule(int numOfThreads, int numOfIoThreads, ActorClock clock) {
+    this(numOfThreads, numOfIoThreads, 0, clock);
+  }
+
+  public ActorSchedulerRule(
+      int numOfThreads, int numOfIoThreads, int numOfPinnedThreads, ActorClock clock) {
 
     this.numOfIoThreads = numOfIoThreads;
     this.numOfThreads = numOfThreads;
+    this.numOfPinnedThreads = numOfPinnedThreads;
     this.clock = clock;
   }
 
@@ -61,6 +68,7 @@ public class ActorSchedulerRule extends ExternalResource {
         ActorScheduler.newActorScheduler()
             .setCpuBoundActorThreadCount(numOfThreads)
             .setIoBoundActorThreadCount(numOfIoThreads)
+            .setPinnedActorThreadCount(numOfPinnedThreads)
             .setActorClock(clock);
 
     actorScheduler = builder.build();
@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import org.junit.Rule;
 import org.junit.Test;
@@ -81,4 +82,19 @@ public class FileUtilTest {
     assertThat(filesInFolder).hasSize(1);
     assertThat(filesInFolder[0]).hasName(fileToCreate);
   }
+
+  @Test
+  public void shouldLinkFile() throws IOException {
+    // given
+    final File source = tempFolder.newFile("source");
+    Files.write(source.toPath(), "content".getBytes());
+    final File target = new File(tempFolder.getRoot(), "target");
+
+    // when
+    FileUtil.linkOrCopy(source.toPath(), target.toPath());
+
+    // then
+    assertThat(target).hasContent("content");
+    assertThat(Files.isSameFile(source.toPath(), target.toPath())).isTrue();
+  }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ActorTaskStatisticsTest {
+  @Rule
+  public final ControlledActorSchedulerRule schedulerRule = new ControlledActorSchedulerRule();
+
+  @Test
+  public void shouldCountExecutedJobs() {
+    // given
+    final Actor actor = new Actor() {};
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    final ActorTaskStatistics statistics = actor.actor.task.getStatistics();
+    final long jobCountAfterStart = statistics.getJobCount();
+
+    // when
+    actor.actor.call(() -> {});
+    actor.actor.call(() -> {});
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(statistics.getJobCount()).isEqualTo(jobCountAfterStart + 2);
+    assertThat(statistics.getExecutionCount()).isGreaterThanOrEqualTo(2);
+    assertThat(statistics.getExecutionTimeNanos()).isGreaterThan(0);
+    assertThat(statistics.getQueueWaitTimeNanos()).isGreaterThan(0);
+    assertThat(statistics.getStealCount()).isZero();
+  }
+
+  @Test
+  public void shouldTrackScheduledTasks() {
+    // given
+    final Actor actor = new Actor() {};
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    assertThat(schedulerRule.get().getScheduledTasks()).contains(actor.actor.task);
+
+    // when
+    actor.actor.close();
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(schedulerRule.get().getScheduledTasks()).doesNotContain(actor.actor.task);
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.sched.pinned;
+
+import static io.zeebe.util.sched.SchedulingHints.cpuBound;
+import static io.zeebe.util.sched.SchedulingHints.pinned;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorPriority;
+import io.zeebe.util.sched.ActorThread;
+import io.zeebe.util.sched.ActorThreadGroup;
+import io.zeebe.util.sched.CpuThreadGroup;
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PinnedActorsIntegrationTest {
+  @Rule public ActorSchedulerRule schedulerRule = new ActorSchedulerRule(2, 2, 2, null);
+
+  @Rule
+  public ActorSchedulerRule schedulerWithoutPinnedThreadsRule = new ActorSchedulerRule(2, 2, null);
+
+  @Test
+  public void shouldRunPinnedActorOnPinnedThread() {
+    final ActorThreadGroup pinnedActorThreads = schedulerRule.getBuilder().getPinnedActorThreads();
+
+    // given
+    final AtomicReference<ActorThreadGroup> threadGroupRef = new AtomicReference<>();
+    final Actor actor =
+        new Actor() {
+          @Override
+          protected void onActorStarting() {
+            threadGroupRef.set(ActorThread.current().getActorThreadGroup());
+          }
+        };
+
+    // when
+    schedulerRule.get().submitActor(actor, pinned(0, cpuBound(ActorPriority.REGULAR))).join();
+
+    // then
+    assertThat(threadGroupRef.get()).isEqualTo(pinnedActorThreads);
+  }
+
+  @Test
+  public void shouldRunActorsWithDifferentSlotsOnDifferentThreads() {
+    // given
+    final ThreadRecordingActor actor1 = new ThreadRecordingActor();
+    final ThreadRecordingActor actor2 = new ThreadRecordingActor();
+
+    // when
+    schedulerRule.get().submitActor(actor1, pinned(0, cpuBound(ActorPriority.REGULAR))).join();
+    schedulerRule.get().submitActor(actor2, pinned(1, cpuBound(ActorPriority.REGULAR))).join();
+
+    for (int i = 0; i < 100; i++) {
+      actor1.recordThread().join();
+      actor2.recordThread().join();
+    }
+
+    // then
+    assertThat(actor1.threads).hasSize(1);
+    assertThat(actor2.threads).hasSize(1);
+    assertThat(actor1.threads).doesNotContainAnyElementsOf(actor2.threads);
+  }
+
+  @Test
+  public void shouldStayOnPinnedThreadWhenInteractingWithCpuBound() {
+    // given
+    final ThreadRecordingActor cpuBoundActor = new ThreadRecordingActor();
+    final ThreadRecordingActor pinnedActor =
+        new ThreadRecordingActor() {
+          @Override
+          protected void onActorStarted() {
+            for (int i = 0; i < 1_000; i++) {
+              actor.runOnCompletion(cpuBoundActor.recordThread(), this::callback);
+            }
+          }
+
+          private void callback(Void res, Throwable t) {
+            threads.add(Thread.currentThread());
+          }
+        };
+
+    // when
+    schedulerRule.submitActor(cpuBoundActor).join();
+    schedulerRule.get().submitActor(pinnedActor, pinned(0, cpuBound(ActorPriority.REGULAR))).join();
+    pinnedActor.recordThread().join();
+
+    // then
+    assertThat(pinnedActor.threads).hasSize(1);
+    assertThat(pinnedActor.threads).doesNotContainAnyElementsOf(cpuBoundActor.threads);
+  }
+
+  @Test
+  public void shouldUseFallbackIfSchedulerHasNoPinnedThreads() {
+    // given
+    final AtomicReference<ActorThreadGroup> threadGroupRef = new AtomicReference<>();
+    final Actor actor =
+        new Actor() {
+          @Override
+          protected void onActorStarting() {
+            threadGroupRef.set(ActorThread.current().getActorThreadGroup());
+          }
+        };
+
+    // when
+    schedulerWithoutPinnedThreadsRule
+        .get()
+        .submitActor(actor, pinned(0, cpuBound(ActorPriority.REGULAR)))
+        .join();
+
+    // then
+    assertThat(threadGroupRef.get()).isInstanceOf(CpuThreadGroup.class);
+  }
+
+  static class ThreadRecordingActor extends Actor {
+    final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    ActorFuture<Void> recordThread() {
+      return actor.call(
+          () -> {
+            threads.add(Thread.currentThread());
+          });
+    }
+  }
+}
@@ -110,4 +110,12 @@ public interface DbContext {
    * @return the transaction object
    */
   ZeebeDbTransaction getCurrentTransaction();
+
+  /**
+   * Registers a listener which is notified before the transaction of this context is committed and
+   * after it was rolled back.
+   *
+   * @param listener the listener to add
+   */
+  void addTransactionListener(TransactionListener listener);
 }
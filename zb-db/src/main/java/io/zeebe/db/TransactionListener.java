@@ -0,0 +1,32 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db;
+
+/** Listener which is notified about the completion of the transaction of a {@link DbContext}. */
+public interface TransactionListener {
+
+  /**
+   * Called before the transaction is committed. The transaction is still open, which means the
+   * listener can write pending changes into it.
+   */
+  void beforeCommit();
+
+  /** Called after the transaction was committed successfully. */
+  void afterCommit();
+
+  /** Called after the transaction was rolled back, all changes since the last commit are lost. */
+  void afterRollback();
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb;
+
+/**
+ * Tuning options of the RocksDB instances which are created by a {@link ZeebeRocksDbFactory}. A
+ * value of zero keeps the RocksDB default of the corresponding option.
+ */
+public final class RocksDbConfiguration {
+
+  private long blockCacheSize;
+  private int bloomFilterBitsPerKey;
+  private long writeBufferSize;
+  private long writeBufferManagerSize;
+
+  public long getBlockCacheSize() {
+    return blockCacheSize;
+  }
+
+  /**
+   * @param blockCacheSize the size in bytes of the LRU block cache, which is shared by all
+   *     databases of the factory
+   */
+  public RocksDbConfiguration setBlockCacheSize(long blockCacheSize) {
+    this.blockCacheSize = blockCacheSize;
+    return this;
+  }
+
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  /** @param bloomFilterBitsPerKey the bits per key of the bloom filters of all column families */
+  public RocksDbConfiguration setBloomFilterBitsPerKey(int bloomFilterBitsPerKey) {
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    return this;
+  }
+
+  public long getWriteBufferSize() {
+    return writeBufferSize;
+  }
+
+  /** @param writeBufferSize the size in bytes of a single memtable of a column family */
+  public RocksDbConfiguration setWriteBufferSize(long writeBufferSize) {
+    this.writeBufferSize = writeBufferSize;
+    return this;
+  }
+
+  public long getWriteBufferManagerSize() {
+    return writeBufferManagerSize;
+  }
+
+  /**
+   * @param writeBufferManagerSize the size in bytes of all memtables of all databases of the
+   *     factory together; the memory is charged to the block cache, so this is only applied if a
+   *     block cache size is configured
+   */
+  public RocksDbConfiguration setWriteBufferManagerSize(long writeBufferManagerSize) {
+    this.writeBufferManagerSize = writeBufferManagerSize;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "RocksDbConfiguration{"
+        + "blockCacheSize="
+        + blockCacheSize
+        + ", bloomFilterBitsPerKey="
+        + bloomFilterBitsPerKey
+        + ", writeBufferSize="
+        + writeBufferSize
+        + ", writeBufferManagerSize="
+        + writeBufferManagerSize
+        + '}';
+  }
+}
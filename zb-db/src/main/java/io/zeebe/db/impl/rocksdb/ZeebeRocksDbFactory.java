@@ -19,15 +19,20 @@ import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.db.impl.rocksdb.transaction.ZeebeTransactionDb;
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.CompactionPriority;
 import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBufferManager;
 
 public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamilyType>>
     implements ZeebeDbFactory<ColumnFamilyType> {
@@ -37,77 +42,176 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
   }
 
   private final Class<ColumnFamilyType> columnFamilyTypeClass;
-
-  private ZeebeRocksDbFactory(Class<ColumnFamilyType> columnFamilyTypeClass) {
+  private final RocksDbConfiguration configuration;
+  private final Map<ColumnFamilyType, Integer> prefixLengths;
+
+  // shared by all open databases which are created by this factory; created with the first and
+  // closed with the last open database
+  private Cache blockCache;
+  private WriteBufferManager writeBufferManager;
+  private int openDatabases;
+
+  private ZeebeRocksDbFactory(
+      Class<ColumnFamilyType> columnFamilyTypeClass,
+      RocksDbConfiguration configuration,
+      Map<ColumnFamilyType, Integer> prefixLengths) {
     this.columnFamilyTypeClass = columnFamilyTypeClass;
+    this.configuration = configuration;
+    this.prefixLengths = prefixLengths;
   }
 
   public static <ColumnFamilyType extends Enum<ColumnFamilyType>>
       ZeebeDbFactory<ColumnFamilyType> newFactory(Class<ColumnFamilyType> columnFamilyTypeClass) {
-    return new ZeebeRocksDbFactory(columnFamilyTypeClass);
+    return newFactory(columnFamilyTypeClass, new RocksDbConfiguration(), Collections.emptyMap());
   }
 
-  @Override
-  public ZeebeTransactionDb<ColumnFamilyType> createDb(File pathName) {
-    return open(
-        pathName,
-        Arrays.stream(columnFamilyTypeClass.getEnumConstants())
-            .map(c -> c.name().toLowerCase().getBytes())
-            .collect(Collectors.toList()));
+  /**
+   * Creates a factory for databases with the given configuration.
+   *
+   * @param columnFamilyTypeClass the enum class, which contains the column family names
+   * @param configuration the RocksDB tuning options
+   * @param prefixLengths the length of the fixed key prefix per column family, which is used for
+   *     prefix bloom filters and prefix seeks; every prefix iteration on such a column family must
+   *     use a prefix which is at least this long
+   * @return the created factory
+   */
+  public static <ColumnFamilyType extends Enum<ColumnFamilyType>>
+      ZeebeDbFactory<ColumnFamilyType> newFactory(
+          Class<ColumnFamilyType> columnFamilyTypeClass,
+          RocksDbConfiguration configuration,
+          Map<ColumnFamilyType, Integer> prefixLengths) {
+    return new ZeebeRocksDbFactory<>(columnFamilyTypeClass, configuration, prefixLengths);
   }
 
-  protected ZeebeTransactionDb<ColumnFamilyType> open(
-      final File dbDirectory, List<byte[]> columnFamilyNames) {
+  @Override
+  public synchronized ZeebeTransactionDb<ColumnFamilyType> createDb(File pathName) {
+    acquireSharedResources();
 
     final ZeebeTransactionDb<ColumnFamilyType> db;
+    final List<AutoCloseable> closeables = new ArrayList<>();
     try {
-      final List<AutoCloseable> closeables = new ArrayList<>();
+      // closeables are closed in reverse order, so the shared resources are released as last
+      closeables.add(this::releaseSharedResources);
 
       // column family options have to be closed as last
-      final ColumnFamilyOptions columnFamilyOptions = createColumnFamilyOptions();
-      closeables.add(columnFamilyOptions);
-
       final List<ColumnFamilyDescriptor> columnFamilyDescriptors =
-          createFamilyDescriptors(columnFamilyNames, columnFamilyOptions);
+          createFamilyDescriptors(closeables);
+
       final DBOptions dbOptions =
           new DBOptions()
               .setCreateMissingColumnFamilies(true)
               .setErrorIfExists(false)
               .setCreateIfMissing(true)
               .setParanoidChecks(true);
+      if (writeBufferManager != null) {
+        dbOptions.setWriteBufferManager(writeBufferManager);
+      }
       closeables.add(dbOptions);
 
       db =
           ZeebeTransactionDb.openTransactionalDb(
               dbOptions,
-              dbDirectory.getAbsolutePath(),
+              pathName.getAbsolutePath(),
               columnFamilyDescriptors,
               closeables,
               columnFamilyTypeClass);
 
     } catch (final RocksDBException e) {
+      Collections.reverse(closeables);
+      closeables.forEach(ZeebeRocksDbFactory::closeQuietly);
       throw new RuntimeException("Unexpected error occurred trying to open the database", e);
     }
     return db;
   }
 
-  private List<ColumnFamilyDescriptor> createFamilyDescriptors(
-      List<byte[]> columnFamilyNames, ColumnFamilyOptions columnFamilyOptions) {
-    final List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
+  private void acquireSharedResources() {
+    if (openDatabases == 0) {
+      if (configuration.getBlockCacheSize() > 0) {
+        blockCache = new LRUCache(configuration.getBlockCacheSize());
+      }
 
-    if (columnFamilyNames != null && columnFamilyNames.size() > 0) {
-      for (byte[] name : columnFamilyNames) {
-        final ColumnFamilyDescriptor columnFamilyDescriptor =
-            new ColumnFamilyDescriptor(name, columnFamilyOptions);
-        columnFamilyDescriptors.add(columnFamilyDescriptor);
+      if (blockCache != null && configuration.getWriteBufferManagerSize() > 0) {
+        writeBufferManager =
+            new WriteBufferManager(configuration.getWriteBufferManagerSize(), blockCache);
       }
     }
+
+    openDatabases += 1;
+  }
+
+  private synchronized void releaseSharedResources() {
+    openDatabases -= 1;
+
+    if (openDatabases == 0) {
+      // the write buffer manager refers to the block cache, so it has to be closed first
+      if (writeBufferManager != null) {
+        writeBufferManager.close();
+        writeBufferManager = null;
+      }
+
+      if (blockCache != null) {
+        blockCache.close();
+        blockCache = null;
+      }
+    }
+  }
+
+  synchronized boolean hasSharedResources() {
+    return blockCache != null || writeBufferManager != null;
+  }
+
+  private static void closeQuietly(AutoCloseable closeable) {
+    try {
+      closeable.close();
+    } catch (final Exception e) {
+      // the original failure is rethrown by the caller
+    }
+  }
+
+  private List<ColumnFamilyDescriptor> createFamilyDescriptors(List<AutoCloseable> closeables) {
+    final List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
+
+    for (ColumnFamilyType columnFamily : columnFamilyTypeClass.getEnumConstants()) {
+      final ColumnFamilyOptions columnFamilyOptions =
+          createColumnFamilyOptions(columnFamily, closeables);
+      closeables.add(columnFamilyOptions);
+
+      final byte[] name = columnFamily.name().toLowerCase().getBytes();
+      columnFamilyDescriptors.add(new ColumnFamilyDescriptor(name, columnFamilyOptions));
+    }
+
     return columnFamilyDescriptors;
   }
 
-  private static ColumnFamilyOptions createColumnFamilyOptions() {
+  private ColumnFamilyOptions createColumnFamilyOptions(
+      ColumnFamilyType columnFamily, List<AutoCloseable> closeables) {
     // Options which are used on all column families
-    return new ColumnFamilyOptions()
-        .setCompactionPriority(CompactionPriority.OldestSmallestSeqFirst);
+    final ColumnFamilyOptions options =
+        new ColumnFamilyOptions().setCompactionPriority(CompactionPriority.OldestSmallestSeqFirst);
+
+    if (configuration.getWriteBufferSize() > 0) {
+      options.setWriteBufferSize(configuration.getWriteBufferSize());
+    }
+
+    final Integer prefixLength = prefixLengths.get(columnFamily);
+    if (prefixLength != null) {
+      options.useFixedLengthPrefixExtractor(prefixLength);
+    }
+
+    final BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+    if (blockCache != null) {
+      tableConfig.setBlockCache(blockCache);
+    }
+
+    if (configuration.getBloomFilterBitsPerKey() > 0) {
+      final BloomFilter bloomFilter =
+          new BloomFilter(configuration.getBloomFilterBitsPerKey(), false);
+      closeables.add(bloomFilter);
+
+      // whole key filtering serves point lookups, the prefix extractor serves prefix seeks
+      tableConfig.setFilter(bloomFilter).setWholeKeyFiltering(true);
+    }
+
+    return options.setTableFormatConfig(tableConfig);
   }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksIterator;
+
+/** An iterator of a column family which is reused within a transaction. */
+final class PooledIterator {
+
+  private final long columnFamilyHandle;
+  private final ReadOptions readOptions;
+
+  private RocksIterator iterator;
+  private long generation;
+
+  PooledIterator(long columnFamilyHandle, ReadOptions readOptions) {
+    this.columnFamilyHandle = columnFamilyHandle;
+    this.readOptions = readOptions;
+  }
+
+  boolean matches(long columnFamilyHandle, ReadOptions readOptions) {
+    return this.columnFamilyHandle == columnFamilyHandle && this.readOptions == readOptions;
+  }
+
+  RocksIterator getIterator() {
+    return iterator;
+  }
+
+  void setIterator(RocksIterator iterator) {
+    this.iterator = iterator;
+  }
+
+  long getGeneration() {
+    return generation;
+  }
+
+  void setGeneration(long generation) {
+    this.generation = generation;
+  }
+
+  void closeIterator() {
+    if (iterator != null) {
+      iterator.close();
+      iterator = null;
+    }
+  }
+}
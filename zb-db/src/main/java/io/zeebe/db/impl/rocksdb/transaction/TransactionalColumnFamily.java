@@ -117,6 +117,16 @@ class TransactionalColumnFamily<
     transactionDb.whileTrue(handle, context, key, value, visitor);
   }
 
+  @Override
+  public void whileTrue(KeyType startAtKey, KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    whileTrue(context, startAtKey, visitor);
+  }
+
+  public void whileTrue(
+      DbContext context, KeyType startAtKey, KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    transactionDb.whileTrue(handle, context, startAtKey, keyInstance, valueInstance, visitor);
+  }
+
   @Override
   public void whileEqualPrefix(DbKey keyPrefix, BiConsumer<KeyType, ValueType> visitor) {
     whileEqualPrefix(context, keyPrefix, visitor);
@@ -17,9 +17,12 @@ package io.zeebe.db.impl.rocksdb.transaction;
 
 import static io.zeebe.db.impl.rocksdb.transaction.RocksDbInternal.isRocksDbExceptionRecoverable;
 
+import io.zeebe.db.TransactionListener;
 import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbException;
 import io.zeebe.db.ZeebeDbTransaction;
+import java.util.ArrayList;
+import java.util.List;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
@@ -30,8 +33,13 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
 
   private final Transaction transaction;
   private final long nativeHandle;
+  private final List<TransactionListener> listeners = new ArrayList<>();
   private boolean inCurrentTransaction;
 
+  // iterators are only valid until the transaction is changed, committed or rolled back
+  private final List<PooledIterator> freeIterators = new ArrayList<>();
+  private long iteratorGeneration;
+
   public ZeebeTransaction(Transaction transaction) {
     this.transaction = transaction;
     try {
@@ -43,6 +51,7 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
 
   public void put(long columnFamilyHandle, byte[] key, int keyLength, byte[] value, int valueLength)
       throws Exception {
+    iteratorGeneration++;
     RocksDbInternal.putWithHandle.invoke(
         transaction, nativeHandle, key, keyLength, value, valueLength, columnFamilyHandle, false);
   }
@@ -55,6 +64,7 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
   }
 
   public void delete(long columnFamilyHandle, byte[] key, int keyLength) throws Exception {
+    iteratorGeneration++;
     RocksDbInternal.removeWithHandle.invoke(
         transaction, nativeHandle, key, keyLength, columnFamilyHandle, false);
   }
@@ -63,6 +73,41 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
     return transaction.getIterator(options, handle);
   }
 
+  /**
+   * Returns a free iterator of the given column family. If the returned iterator has no {@link
+   * RocksIterator} the caller has to create one, since the transaction was changed since the
+   * iterator was used last or no iterator was created yet.
+   */
+  PooledIterator acquireIterator(long columnFamilyHandle, ReadOptions options) {
+    PooledIterator pooledIterator = null;
+    for (int i = freeIterators.size() - 1; i >= 0; i--) {
+      if (freeIterators.get(i).matches(columnFamilyHandle, options)) {
+        pooledIterator = freeIterators.remove(i);
+        break;
+      }
+    }
+
+    if (pooledIterator == null) {
+      pooledIterator = new PooledIterator(columnFamilyHandle, options);
+    } else if (pooledIterator.getGeneration() != iteratorGeneration) {
+      pooledIterator.closeIterator();
+    }
+
+    pooledIterator.setGeneration(iteratorGeneration);
+    return pooledIterator;
+  }
+
+  void releaseIterator(PooledIterator pooledIterator) {
+    freeIterators.add(pooledIterator);
+  }
+
+  private void closeIterators() {
+    iteratorGeneration++;
+    for (int i = 0; i < freeIterators.size(); i++) {
+      freeIterators.get(i).closeIterator();
+    }
+  }
+
   void resetTransaction() {
     inCurrentTransaction = true;
   }
@@ -84,9 +129,24 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
     }
   }
 
+  void addListener(TransactionListener listener) {
+    listeners.add(listener);
+  }
+
   void commitInternal() throws RocksDBException {
-    inCurrentTransaction = false;
+    // listeners can still write into the transaction, so it must be open while they are notified
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).beforeCommit();
+    }
+
     transaction.commit();
+    // keep the transaction open if the commit fails, the following rollback notifies the listeners
+    inCurrentTransaction = false;
+    closeIterators();
+
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).afterCommit();
+    }
   }
 
   @Override
@@ -103,8 +163,17 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
   }
 
   void rollbackInternal() throws RocksDBException {
+    final boolean wasInCurrentTransaction = inCurrentTransaction;
     inCurrentTransaction = false;
     transaction.rollback();
+    closeIterators();
+
+    // a rollback after a successful commit discards nothing
+    if (wasInCurrentTransaction) {
+      for (int i = 0; i < listeners.size(); i++) {
+        listeners.get(i).afterRollback();
+      }
+    }
   }
 
   @Override
@@ -121,6 +190,7 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
   }
 
   public void close() {
+    closeIterators();
     transaction.close();
   }
 }
@@ -114,7 +114,8 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
 
     prefixReadOptions = new ReadOptions().setPrefixSameAsStart(true).setTotalOrderSeek(false);
     closables.add(prefixReadOptions);
-    defaultReadOptions = new ReadOptions();
+    // iterations which don't use a prefix have to ignore the prefix extractor of a column family
+    defaultReadOptions = new ReadOptions().setTotalOrderSeek(true);
     closables.add(defaultReadOptions);
     defaultWriteOptions = new WriteOptions();
     closables.add(defaultWriteOptions);
@@ -181,7 +182,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
   }
 
   protected boolean exists(long columnFamilyHandle, DbContext context, DbKey key) {
-    context.wrapValueView(new byte[0]);
+    context.wrapValueView(null);
     ensureInOpenTransaction(
         context,
         transaction -> {
@@ -209,6 +210,22 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     return context.newIterator(options, handle);
   }
 
+  /**
+   * Reuses an iterator of the column family within the transaction, instead of creating a new
+   * native iterator for each iteration.
+   */
+  private PooledIterator acquireIterator(
+      ZeebeTransaction transaction,
+      long columnFamilyHandle,
+      DbContext context,
+      ReadOptions options) {
+    final PooledIterator pooledIterator = transaction.acquireIterator(columnFamilyHandle, options);
+    if (pooledIterator.getIterator() == null) {
+      pooledIterator.setIterator(newIterator(columnFamilyHandle, context, options));
+    }
+    return pooledIterator;
+  }
+
   public <ValueType extends DbValue> void foreach(
       long columnFamilyHandle,
       DbContext context,
@@ -246,13 +263,17 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     ensureInOpenTransaction(
         context,
         transaction -> {
-          try (RocksIterator iterator =
-              newIterator(columnFamilyHandle, context, defaultReadOptions)) {
+          final PooledIterator pooledIterator =
+              acquireIterator(transaction, columnFamilyHandle, context, defaultReadOptions);
+          try {
+            final RocksIterator iterator = pooledIterator.getIterator();
             for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
               context.wrapKeyView(iterator.key());
               context.wrapValueView(iterator.value());
               keyValuePairConsumer.accept(context.getKeyView(), context.getValueView());
             }
+          } finally {
+            transaction.releaseIterator(pooledIterator);
           }
         });
   }
@@ -266,16 +287,55 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     ensureInOpenTransaction(
         context,
         transaction -> {
-          try (RocksIterator iterator =
-              newIterator(columnFamilyHandle, context, defaultReadOptions)) {
+          final PooledIterator pooledIterator =
+              acquireIterator(transaction, columnFamilyHandle, context, defaultReadOptions);
+          try {
+            final RocksIterator iterator = pooledIterator.getIterator();
             boolean shouldVisitNext = true;
             for (iterator.seekToFirst(); iterator.isValid() && shouldVisitNext; iterator.next()) {
               shouldVisitNext = visit(context, keyInstance, valueInstance, visitor, iterator);
             }
+          } finally {
+            transaction.releaseIterator(pooledIterator);
           }
         });
   }
 
+  public <KeyType extends DbKey, ValueType extends DbValue> void whileTrue(
+      long columnFamilyHandle,
+      DbContext context,
+      KeyType startAtKey,
+      KeyType keyInstance,
+      ValueType valueInstance,
+      KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    context.withPrefixKeyBuffer(
+        startKeyBuffer ->
+            ensureInOpenTransaction(
+                context,
+                transaction -> {
+                  final PooledIterator pooledIterator =
+                      acquireIterator(transaction, columnFamilyHandle, context, defaultReadOptions);
+                  try {
+                    final RocksIterator iterator = pooledIterator.getIterator();
+                    startAtKey.write(startKeyBuffer, 0);
+
+                    boolean shouldVisitNext = true;
+                    for (RocksDbInternal.seek(
+                            iterator,
+                            getNativeHandle(iterator),
+                            startKeyBuffer.byteArray(),
+                            startAtKey.getLength());
+                        iterator.isValid() && shouldVisitNext;
+                        iterator.next()) {
+                      shouldVisitNext =
+                          visit(context, keyInstance, valueInstance, visitor, iterator);
+                    }
+                  } finally {
+                    transaction.releaseIterator(pooledIterator);
+                  }
+                }));
+  }
+
   protected <KeyType extends DbKey, ValueType extends DbValue> void whileEqualPrefix(
       long columnFamilyHandle,
       DbContext context,
@@ -316,8 +376,10 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
             ensureInOpenTransaction(
                 context,
                 transaction -> {
-                  try (RocksIterator iterator =
-                      newIterator(columnFamilyHandle, context, prefixReadOptions)) {
+                  final PooledIterator pooledIterator =
+                      acquireIterator(transaction, columnFamilyHandle, context, prefixReadOptions);
+                  try {
+                    final RocksIterator iterator = pooledIterator.getIterator();
                     prefix.write(prefixKeyBuffer, 0);
                     final int prefixLength = prefix.getLength();
 
@@ -344,6 +406,8 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
                       shouldVisitNext =
                           visit(context, keyInstance, valueInstance, visitor, iterator);
                     }
+                  } finally {
+                    transaction.releaseIterator(pooledIterator);
                   }
                 }));
   }
@@ -370,11 +434,15 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     ensureInOpenTransaction(
         context,
         transaction -> {
-          try (RocksIterator iterator =
-              newIterator(columnFamilyHandle, context, defaultReadOptions)) {
+          final PooledIterator pooledIterator =
+              acquireIterator(transaction, columnFamilyHandle, context, defaultReadOptions);
+          try {
+            final RocksIterator iterator = pooledIterator.getIterator();
             iterator.seekToFirst();
             final boolean hasEntry = iterator.isValid();
             isEmpty.set(!hasEntry);
+          } finally {
+            transaction.releaseIterator(pooledIterator);
           }
         });
     return isEmpty.get();
@@ -232,6 +232,53 @@ public class DbCompositeKeyColumnFamilyTest {
     assertThat(secondKeyParts).containsExactly(34L, 37426L, 923113L, 255L);
   }
 
+  @Test
+  public void shouldUseWhileTrueStartingAtKey() {
+    // given
+    putKeyValuePair("foo", 12, "baring");
+    putKeyValuePair("foo", 13, "different value");
+    putKeyValuePair("this is the one", 255, "as you know");
+    putKeyValuePair("hello", 34, "world");
+    putKeyValuePair("another", 923113, "string");
+    putKeyValuePair("might", 37426, "be good");
+
+    // when
+    final List<String> values = new ArrayList<>();
+    firstKey.wrapString("foo");
+    secondKey.wrapLong(13);
+    columnFamily.whileTrue(
+        compositeKey,
+        (key, value) -> {
+          values.add(value.toString());
+          return !value.toString().equalsIgnoreCase("be good");
+        });
+
+    // then
+    assertThat(values).containsExactly("different value", "world", "be good");
+  }
+
+  @Test
+  public void shouldUseWhileTrueStartingAtNonExistingKey() {
+    // given
+    putKeyValuePair("foo", 12, "baring");
+    putKeyValuePair("foo", 13, "different value");
+    putKeyValuePair("hello", 34, "world");
+
+    // when
+    final List<String> values = new ArrayList<>();
+    firstKey.wrapString("foo");
+    secondKey.wrapLong(14);
+    columnFamily.whileTrue(
+        compositeKey,
+        (key, value) -> {
+          values.add(value.toString());
+          return true;
+        });
+
+    // then
+    assertThat(values).containsExactly("world");
+  }
+
   @Test
   public void shouldUseWhileEqualPrefix() {
     // given
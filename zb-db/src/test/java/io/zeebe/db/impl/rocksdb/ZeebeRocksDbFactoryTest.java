@@ -17,10 +17,16 @@ package io.zeebe.db.impl.rocksdb;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.DbCompositeKey;
+import io.zeebe.db.impl.DbLong;
 import io.zeebe.db.impl.DefaultColumnFamily;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -66,4 +72,89 @@ public class ZeebeRocksDbFactoryTest {
     firstDb.close();
     secondDb.close();
   }
+
+  @Test
+  public void shouldCloseSharedResourcesWithLastDb() throws Exception {
+    // given
+    final RocksDbConfiguration configuration =
+        new RocksDbConfiguration()
+            .setBlockCacheSize(8 * 1024 * 1024)
+            .setWriteBufferManagerSize(4 * 1024 * 1024);
+    final ZeebeRocksDbFactory<DefaultColumnFamily> dbFactory =
+        (ZeebeRocksDbFactory<DefaultColumnFamily>)
+            ZeebeRocksDbFactory.newFactory(
+                DefaultColumnFamily.class, configuration, Collections.emptyMap());
+    final ZeebeDb<DefaultColumnFamily> firstDb = dbFactory.createDb(temporaryFolder.newFolder());
+    final ZeebeDb<DefaultColumnFamily> secondDb = dbFactory.createDb(temporaryFolder.newFolder());
+
+    // when
+    firstDb.close();
+
+    // then
+    assertThat(dbFactory.hasSharedResources()).isTrue();
+
+    // when
+    secondDb.close();
+
+    // then
+    assertThat(dbFactory.hasSharedResources()).isFalse();
+
+    // when
+    final ZeebeDb<DefaultColumnFamily> reopenedDb = dbFactory.createDb(temporaryFolder.newFolder());
+
+    // then
+    assertThat(dbFactory.hasSharedResources()).isTrue();
+    reopenedDb.close();
+    assertThat(dbFactory.hasSharedResources()).isFalse();
+  }
+
+  @Test
+  public void shouldIterateWithPrefixExtractor() throws Exception {
+    // given
+    final RocksDbConfiguration configuration =
+        new RocksDbConfiguration()
+            .setBlockCacheSize(8 * 1024 * 1024)
+            .setBloomFilterBitsPerKey(10)
+            .setWriteBufferSize(1024 * 1024)
+            .setWriteBufferManagerSize(4 * 1024 * 1024);
+    final ZeebeDbFactory<DefaultColumnFamily> dbFactory =
+        ZeebeRocksDbFactory.newFactory(
+            DefaultColumnFamily.class,
+            configuration,
+            Collections.singletonMap(DefaultColumnFamily.DEFAULT, Long.BYTES));
+    final ZeebeDb<DefaultColumnFamily> db = dbFactory.createDb(temporaryFolder.newFolder());
+
+    final DbLong firstKey = new DbLong();
+    final DbLong secondKey = new DbLong();
+    final DbCompositeKey<DbLong, DbLong> compositeKey = new DbCompositeKey<>(firstKey, secondKey);
+    final DbLong value = new DbLong();
+    final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbLong> columnFamily =
+        db.createColumnFamily(DefaultColumnFamily.DEFAULT, db.createContext(), compositeKey, value);
+
+    for (long first = 1; first <= 3; first++) {
+      for (long second = 1; second <= 3; second++) {
+        firstKey.wrapLong(first);
+        secondKey.wrapLong(second);
+        value.wrapLong(first * 10 + second);
+        columnFamily.put(compositeKey, value);
+      }
+    }
+
+    // when
+    final List<Long> prefixValues = new ArrayList<>();
+    firstKey.wrapLong(2);
+    columnFamily.whileEqualPrefix(
+        firstKey,
+        (key, v) -> {
+          prefixValues.add(v.getValue());
+        });
+
+    final List<Long> allValues = new ArrayList<>();
+    columnFamily.forEach(v -> allValues.add(v.getValue()));
+
+    // then
+    assertThat(prefixValues).containsExactly(21L, 22L, 23L);
+    assertThat(allValues).containsExactly(11L, 12L, 13L, 21L, 22L, 23L, 31L, 32L, 33L);
+    db.close();
+  }
 }
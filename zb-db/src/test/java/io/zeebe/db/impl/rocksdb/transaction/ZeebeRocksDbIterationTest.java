@@ -15,8 +15,11 @@
  */
 package io.zeebe.db.impl.rocksdb.transaction;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.db.impl.DbCompositeKey;
 import io.zeebe.db.impl.DbLong;
@@ -24,6 +27,9 @@ import io.zeebe.db.impl.DbNil;
 import io.zeebe.db.impl.DefaultColumnFamily;
 import io.zeebe.db.impl.DefaultZeebeDbFactory;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Before;
 import org.junit.Rule;
@@ -91,4 +97,58 @@ public class ZeebeRocksDbIterationTest {
     // then
     Mockito.verify(spyIterator.get(), Mockito.times((int) suffixes)).next();
   }
+
+  @Test
+  public void shouldReuseIteratorWithinTransaction() throws Exception {
+    // given
+    final DbContext context = zeebeDb.createContext();
+    final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> columnFamily =
+        zeebeDb.createColumnFamily(
+            DefaultColumnFamily.DEFAULT, context, compositeKey, DbNil.INSTANCE);
+
+    firstKey.wrapLong(1);
+    secondKey.wrapLong(2);
+    columnFamily.put(compositeKey, DbNil.INSTANCE);
+
+    // when
+    final ZeebeDbTransaction transaction = context.getCurrentTransaction();
+    final AtomicInteger visits = new AtomicInteger();
+    columnFamily.whileEqualPrefix(firstKey, ((key, value) -> visits.incrementAndGet()));
+    columnFamily.whileEqualPrefix(firstKey, ((key, value) -> visits.incrementAndGet()));
+    transaction.commit();
+
+    // then
+    assertThat(visits.get()).isEqualTo(2);
+    Mockito.verify(zeebeDb, Mockito.times(1))
+        .newIterator(Mockito.anyLong(), Mockito.eq(context), Mockito.any(ReadOptions.class));
+  }
+
+  @Test
+  public void shouldIterateOverChangesOfTransaction() throws Exception {
+    // given
+    final DbContext context = zeebeDb.createContext();
+    final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> columnFamily =
+        zeebeDb.createColumnFamily(
+            DefaultColumnFamily.DEFAULT, context, compositeKey, DbNil.INSTANCE);
+
+    final ZeebeDbTransaction transaction = context.getCurrentTransaction();
+    firstKey.wrapLong(1);
+    columnFamily.whileEqualPrefix(firstKey, ((key, value) -> {}));
+
+    // when
+    secondKey.wrapLong(2);
+    columnFamily.put(compositeKey, DbNil.INSTANCE);
+
+    // then
+    final List<Long> keys = new ArrayList<>();
+    firstKey.wrapLong(1);
+    columnFamily.whileEqualPrefix(
+        firstKey,
+        ((key, value) -> {
+          keys.add(key.getSecond().getValue());
+        }));
+    assertThat(keys).containsExactly(2L);
+
+    transaction.commit();
+  }
 }
@@ -15,15 +15,21 @@
  */
 package io.zeebe.db.impl.rocksdb.transaction;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
+import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionListener;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbException;
 import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.db.impl.DbLong;
 import io.zeebe.db.impl.DefaultColumnFamily;
 import io.zeebe.db.impl.DefaultZeebeDbFactory;
 import io.zeebe.util.exception.RecoverableException;
@@ -44,12 +50,13 @@ public class ZeebeRocksDbTransactionTest {
   private final ZeebeDbFactory<DefaultColumnFamily> dbFactory =
       DefaultZeebeDbFactory.getDefaultFactory(DefaultColumnFamily.class);
 
+  private ZeebeDb<DefaultColumnFamily> zeebeDb;
   private DbContext dbContext;
 
   @Before
   public void setup() throws Exception {
     final File pathName = temporaryFolder.newFolder();
-    final ZeebeDb<DefaultColumnFamily> zeebeDb = dbFactory.createDb(pathName);
+    zeebeDb = dbFactory.createDb(pathName);
     dbContext = zeebeDb.createContext();
   }
 
@@ -223,4 +230,85 @@ public class ZeebeRocksDbTransactionTest {
     // when
     currentTransaction.rollback();
   }
+
+  @Test
+  public void shouldNotifyListenerBeforeCommit() throws Exception {
+    // given
+    final DbLong key = new DbLong();
+    final DbLong value = new DbLong();
+    final ColumnFamily<DbLong, DbLong> columnFamily =
+        zeebeDb.createColumnFamily(DefaultColumnFamily.DEFAULT, dbContext, key, value);
+
+    dbContext.addTransactionListener(
+        new TransactionListener() {
+          @Override
+          public void beforeCommit() {
+            key.wrapLong(1);
+            value.wrapLong(2);
+            columnFamily.put(key, value);
+          }
+
+          @Override
+          public void afterCommit() {}
+
+          @Override
+          public void afterRollback() {}
+        });
+
+    // when
+    dbContext.getCurrentTransaction().commit();
+
+    // then
+    key.wrapLong(1);
+    assertThat(columnFamily.get(key).getValue()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotifyListenerAfterRollback() throws Exception {
+    // given
+    final TransactionListener listener = mock(TransactionListener.class);
+    dbContext.addTransactionListener(listener);
+
+    // when
+    dbContext.getCurrentTransaction().rollback();
+
+    // then
+    verify(listener).afterRollback();
+    verify(listener, never()).beforeCommit();
+  }
+
+  @Test
+  public void shouldNotNotifyListenerAboutRollbackAfterCommit() {
+    // given
+    final TransactionListener listener = mock(TransactionListener.class);
+    dbContext.addTransactionListener(listener);
+
+    // when
+    dbContext.runInTransaction(() -> {});
+
+    // then
+    verify(listener).beforeCommit();
+    verify(listener, never()).afterRollback();
+  }
+
+  @Test
+  public void shouldNotifyListenerAfterFailedOperation() {
+    // given
+    final TransactionListener listener = mock(TransactionListener.class);
+    dbContext.addTransactionListener(listener);
+
+    // when
+    try {
+      dbContext.runInTransaction(
+          () -> {
+            throw new IllegalStateException("expected");
+          });
+    } catch (RuntimeException e) {
+      // expected
+    }
+
+    // then
+    verify(listener, never()).beforeCommit();
+    verify(listener).afterRollback();
+  }
 }